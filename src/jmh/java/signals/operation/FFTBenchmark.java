@@ -0,0 +1,104 @@
+package signals.operation;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the legacy radix-2 butterfly with the scalar and vectorized mixed-radix kernels.
+ *
+ * Build and run with:
+ *   mvn -P jmh,vector -DskipTests package
+ *   java -cp target/signalshow-<version>.jar org.openjdk.jmh.Main FFTBenchmark
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" } )
+public class FFTBenchmark {
+
+	@Param( { "256", "4096", "65536" } )
+	public int dimension;
+
+	protected double[] real, imag;
+	protected double[] inputReal, inputImag;
+	protected double[] workReal, workImag;
+	protected double[] realCoef, imagCoef;
+	protected int lgDimension;
+
+	protected MixedRadixFFT scalarKernel;
+	protected FFTKernel vectorKernel;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+
+		Random random = new Random( 1 );
+		inputReal = new double[dimension];
+		inputImag = new double[dimension];
+
+		for( int i = 0; i < dimension; i++ ) {
+
+			inputReal[i] = random.nextGaussian();
+			inputImag[i] = random.nextGaussian();
+		}
+
+		real = new double[dimension];
+		imag = new double[dimension];
+		workReal = new double[dimension];
+		workImag = new double[dimension];
+
+		lgDimension = Integer.numberOfTrailingZeros( dimension );
+		realCoef = FFTCoefficients.getReal( dimension, false );
+		imagCoef = FFTCoefficients.getImaginary( dimension, false );
+
+		scalarKernel = new MixedRadixFFT( dimension, false );
+		vectorKernel = FFTKernel.createMixedRadix( dimension, false );
+
+		if( !FFTKernel.isVectorized() ) {
+
+			System.err.println( "jdk.incubator.vector is not available; the vector benchmark runs the scalar kernel" );
+		}
+	}
+
+	@Setup( Level.Invocation )
+	public void reset() {
+
+		System.arraycopy( inputReal, 0, real, 0, dimension );
+		System.arraycopy( inputImag, 0, imag, 0, dimension );
+	}
+
+	@Benchmark
+	public double[][] legacyButterfly() {
+
+		return Transforms.butterfly( real, imag, realCoef, imagCoef, lgDimension, dimension );
+	}
+
+	@Benchmark
+	public double[] scalarMixedRadix() {
+
+		scalarKernel.transform( real, imag, 0, workReal, workImag );
+		return real;
+	}
+
+	@Benchmark
+	public double[] vectorMixedRadix() {
+
+		vectorKernel.transform( real, imag, 0, workReal, workImag );
+		return real;
+	}
+
+}
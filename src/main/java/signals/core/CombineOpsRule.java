@@ -3,6 +3,7 @@ package signals.core;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Stack;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Given an infix expression for a linear combination of functions,
@@ -67,6 +68,22 @@ public class CombineOpsRule {
 
 	ArrayList<Operation> postfixOps;
 
+	// the postfix rule as a tree. For each postfix position: its operation (null for a function),
+	// the positions of its operands (-1 if none) and the range of input terms it depends on
+	protected Operation[] nodeOps;
+	protected int[] operandA, operandB, firstTerm, lastTerm;
+
+	// position of the root, or -1 if the rule is not a well-formed expression
+	protected int root = -1;
+
+	private static final AtomicLong rules = new AtomicLong();
+
+	// memoized results of the operations that are not pointwise are kept in the DataCache,
+	// under this group and their node; with the inputs and input versions each was computed from
+	protected final String memoGroup = "memo" + rules.incrementAndGet();
+	protected FunctionProducer[][] memoInputs;
+	protected long[][] memoVersions;
+
 	public CombineOpsRule(int[] infix, ArrayList<Operation> infixOps) {
 
 		infix_rule = infix;
@@ -158,114 +175,181 @@ public class CombineOpsRule {
 		// parentheses
 		postfix_rule_length = postfixIndex;
 
+		buildTree();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void buildTree() {
+
+		nodeOps = new Operation[postfix_rule_length];
+		operandA = new int[postfix_rule_length];
+		operandB = new int[postfix_rule_length];
+		firstTerm = new int[postfix_rule_length];
+		lastTerm = new int[postfix_rule_length];
+		memoInputs = new FunctionProducer[postfix_rule_length][];
+		memoVersions = new long[postfix_rule_length][];
+
+		Stack<Integer> stack = new Stack<Integer>();
+		Iterator<Operation> opsIter = postfixOps.iterator();
+		int term = 0;
+
+		for (int idx = 0; idx < postfix_rule_length; idx++) {
+
+			operandA[idx] = -1;
+			operandB[idx] = -1;
+
+			switch (postfix_rule[idx]) {
+
+				case FUNCTION:
+
+					firstTerm[idx] = lastTerm[idx] = term++;
+					break;
+
+				case BINARY_OP_TIER_1:
+				case BINARY_OP_TIER_2:
+				case BINARY_OP_TIER_3:
+
+					if (stack.size() < 2)
+						return;
+					operandB[idx] = stack.pop();
+					operandA[idx] = stack.pop();
+					nodeOps[idx] = opsIter.next();
+					break;
+
+				case UNARY_OP_TIER_1:
+				case UNARY_OP_TIER_2:
+				case UNARY_OP_TIER_3:
+
+					if (stack.empty())
+						return;
+					operandA[idx] = stack.pop();
+					nodeOps[idx] = opsIter.next();
+					break;
+			}
+
+			if (operandA[idx] >= 0) {
+
+				firstTerm[idx] = firstTerm[operandA[idx]];
+				lastTerm[idx] = lastTerm[operandB[idx] >= 0 ? operandB[idx] : operandA[idx]];
+			}
+			stack.push(idx);
+		}
+
+		if (stack.size() == 1)
+			root = stack.pop();
 	}
 
 	/**
-	 * Combines images or signals according to this combination rule
-	 * Modifies the first in the list
+	 * Combines images or signals according to this combination rule.
+	 * 
+	 * Runs of pointwise operations are collected into one expression and evaluated together, in a
+	 * single pass, when a non-pointwise operation needs their result or at the end. The results of
+	 * non-pointwise operations are remembered, and reused while the inputs below them keep
+	 * their versions, so a change to one input recomputes only the operations that depend on it.
+	 * 
+	 * @return the combination, or null if the rule is not a well-formed expression
 	 */
 	public Function combine(ArrayList<FunctionProducer> terms) {
 
-		if (postfix_rule_length == 0)
+		if (root < 0)
 			return null;
 
-		// algorithm from wikipedia
-
-		// * While there are input tokens left
-		// o Read the next token from input.
-		// o If the token is a value
-		// + Push it onto the stack.
-		// o Otherwise, the token is a function. (Operators, like +, are simply
-		// functions taking two arguments.)
-		// + It is known that the function takes n arguments.
-		// + If there are fewer than n values on the stack
-		// # (Error) The user has not input sufficient values in the expression.
-		// + Else, Pop the top n values from the stack.
-		// + Evaluate the function, with the values as arguments.
-		// + Push the returned results, if any, back onto the stack.
-		// * If there is only one value in the stack
-		// o That value is the result of the calculation.
-		// * If there are more values in the stack
-		// o (Error) The user input too many values.
+		FunctionProducer[] inputs = terms.toArray(new FunctionProducer[terms.size()]);
+		long[] versions = new long[inputs.length];
+		for (int i = 0; i < inputs.length; i++) {
 
-		// stack is used in conversion process
-		Stack<Function> stack = new Stack<Function>();
+			versions[i] = inputs[i].getVersion();
+		}
 
-		Function operand1 = null;
-		Function operand2 = null;
+		return evaluate(root, inputs, versions).toFunction();
+	}
 
-		Iterator<FunctionProducer> termsIter = terms.iterator();
-		Iterator<Operation> opsIter = postfixOps.iterator();
+	protected PointwiseExpression evaluate(int node, FunctionProducer[] inputs, long[] versions) {
 
-		// for each token in the postfix rule
-		for (int idx = 0; idx < postfix_rule_length; idx++) {
+		// stop between steps if a background evaluation has been cancelled
+		EvaluationScheduler.checkCancelled();
 
-			// read the next token
-			int token = postfix_rule[idx];
+		Operation operation = nodeOps[node];
 
-			switch (token) {
+		if (operation == null)
+			return PointwiseExpression.of(inputs[firstTerm[node]].getFunction());
 
-				case FUNCTION: // function (operand): get the function from the list and push it on the stack
+		if (operation instanceof PointwiseOperation) {
 
-					stack.push(termsIter.next().getFunction());
+			PointwiseExpression operand1 = evaluate(operandA[node], inputs, versions);
+			if (operandB[node] < 0)
+				return PointwiseExpression.apply((PointwiseOperation) operation, operand1);
 
-					break;
+			return PointwiseExpression.apply((PointwiseOperation) operation, operand1,
+					evaluate(operandB[node], inputs, versions));
+		}
 
-				case BINARY_OP_TIER_1:
-				case BINARY_OP_TIER_2:
-				case BINARY_OP_TIER_3:
+		Function result = recall(node, inputs, versions);
 
-					// binary operation: get the next operation and the two operands.
-					// Perform the operation and push the result on the stack
-					// Note: Stack is LIFO, so we pop in reverse order:
-					// - operand2 was pushed second (is on top) → pop first
-					// - operand1 was pushed first → pop second
-					// Then call create(operand1, operand2) to maintain left-to-right order
+		if (result == null) {
 
-					if (!stack.empty())
-						operand2 = stack.pop();
-					if (stack.empty()) {
+			Function operand1 = evaluate(operandA[node], inputs, versions).toFunction();
 
-						return null;
+			if (operandB[node] < 0) {
 
-					} else {
+				result = ((UnaryOperation) operation).create(operand1);
 
-						BinaryOperation operator = (BinaryOperation) opsIter.next();
-						operand1 = stack.pop();
-						operand1 = operator.create(operand1, operand2);
-						stack.push(operand1);
-					}
-					break;
+			} else {
 
-				case UNARY_OP_TIER_1:
-				case UNARY_OP_TIER_2:
-				case UNARY_OP_TIER_3:
+				// operands are evaluated left to right, as in the infix expression
+				Function operand2 = evaluate(operandB[node], inputs, versions).toFunction();
+				result = ((BinaryOperation) operation).create(operand1, operand2);
+			}
 
-					if (stack.empty()) {
+			remember(node, result, inputs, versions);
+		}
 
-						return null;
+		return PointwiseExpression.of(result);
+	}
 
-					} else {
+	/**
+	 * @return the remembered result of the operation at node, if its inputs have not changed since
+	 */
+	protected synchronized Function recall(int node, FunctionProducer[] inputs, long[] versions) {
 
-						operand1 = stack.pop();
-						UnaryOperation operator = (UnaryOperation) opsIter.next();
-						operand1 = operator.create(operand1);
-						stack.push(operand1);
-					}
+		if (memoInputs[node] == null)
+			return null;
 
-					break;
+		for (int term = firstTerm[node]; term <= lastTerm[node]; term++) {
 
-			}// end of switch
+			int i = term - firstTerm[node];
+			if (memoInputs[node][i] != inputs[term] || memoVersions[node][i] != versions[term])
+				return null;
+		}
 
-		} // endfor
+		return (Function) DataCache.getCache().peek(memoGroup + " " + node);
+	}
+
+	protected synchronized void remember(int node, Function result, FunctionProducer[] inputs, long[] versions) {
+
+		int count = lastTerm[node] - firstTerm[node] + 1;
+		memoInputs[node] = new FunctionProducer[count];
+		memoVersions[node] = new long[count];
+		System.arraycopy(inputs, firstTerm[node], memoInputs[node], 0, count);
+		System.arraycopy(versions, firstTerm[node], memoVersions[node], 0, count);
+		// an operation's result holds its data in its terms, a real and an imaginary array
+		long length = (result instanceof Function2D)
+				? (long) ((Function2D) result).getDimensionX() * ((Function2D) result).getDimensionY()
+				: ((Function1D) result).getDimension();
+		DataCache.put(memoGroup + " " + node, result, 16L * length, DataCache.WEIGHT_TRANSFORM);
+	}
+
+	/**
+	 * Forgets every remembered intermediate result
+	 */
+	public synchronized void clearMemo() {
 
-		if (stack.empty())
-			return null; // empty stack
-		Function result = stack.pop();
-		if (!stack.empty())
-			return null; // too many symbols
-		return result;
+		for (int idx = 0; idx < postfix_rule_length; idx++) {
 
+			memoInputs[idx] = null;
+			memoVersions[idx] = null;
+		}
+		DataCache.evict(memoGroup);
 	}
 
 	/**
@@ -42,6 +42,18 @@ public class CombineTermsRule {
 
 	protected int postfix_rule_length;
 
+	/**
+	 * One term's samples, produced a block at a time for combine( TermBlocks[], int, int )
+	 */
+	public interface TermBlocks {
+
+		/**
+		 * Writes samples [start, start + count) of the term to output, starting at index 0.
+		 * Blocks are requested from several threads at once.
+		 */
+		void fill( int start, int count, double[] output );
+	}
+
 	public static CombineTermsRule getDefaultRule() {
 
 		int[] infix = {FUNCTION_TERM}; 
@@ -131,6 +143,9 @@ public class CombineTermsRule {
 			case ADD: 
 				equation.append(" + "); 
 				break; 
+			case SUBTRACT: 
+				equation.append(" - "); 
+				break; 
 			case MULTIPLY: 
 				equation.append( " \u00D71 " ); 
 				break; 
@@ -311,6 +326,57 @@ public class CombineTermsRule {
 
 	}
 
+	/**
+	 * Combines the terms a block of blockSize samples at a time, in parallel for large inputs.
+	 * Each block of every term is written to a buffer reused from block to block, so memory
+	 * beyond the result does not grow with the size of the data. The terms are not modified.
+	 */
+	public double[] combine( final TermBlocks[] terms, final int dimension, final int blockSize ) {
+
+		//special case: nothing to add
+		if( postfix_rule_length == 0 ) {
+
+			return Zeros.zeros(dimension);
+		}
+
+		final double[] output = new double[dimension];
+		int blocks = ( dimension + blockSize - 1 ) / blockSize;
+
+		ParallelExecutor.forEach( blocks, (long) dimension * terms.length, ( first, last ) -> {
+
+			double[][] buffers = new double[terms.length][Math.min( blockSize, dimension )];
+
+			for( int block = first; block < last; ++block ) {
+
+				int start = block * blockSize;
+				int count = Math.min( blockSize, dimension - start );
+
+				for( int t = 0; t < terms.length; ++t ) {
+
+					terms[t].fill( start, count, buffers[t] );
+				}
+
+				System.arraycopy( combine( buffers, count ), 0, output, start, count );
+			}
+		} );
+
+		return output;
+	}
+
+	/**
+	 * @return true if the rule only multiplies its terms, so that a product of separable 
+	 * terms is itself separable
+	 */
+	public boolean isProduct() {
+
+		for( int token : infix_rule ) {
+
+			if( token == ADD || token == SUBTRACT ) return false; 
+		}
+
+		return postfix_rule_length > 0;
+	}
+
 	/**
 	 * @return the infix_rule
 	 */
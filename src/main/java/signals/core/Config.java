@@ -53,6 +53,15 @@ public class Config {
 
     // Default export format: "tiff", "png", "jpg", "bmp", "txt", "csv"
     properties.setProperty("default.export.format", "tiff");
+
+    // Threads used by 2-D FFTs: 0 = all processors but one, 1 = sequential
+    properties.setProperty("fft.parallelism", "0");
+
+    // Memory budget for cached FFT tables and plans, in bytes
+    properties.setProperty("fft.cache.bytes", String.valueOf(64L << 20));
+
+    // Memory budget for cached function data, spectra and images, in bytes; 0 = a quarter of the heap
+    properties.setProperty("cache.bytes", "0");
   }
 
   /**
@@ -122,15 +131,7 @@ public class Config {
    * @return Property value as integer, or defaultValue if not found/invalid
    */
   public int getInt(String key, int defaultValue) {
-    String value = properties.getProperty(key);
-    if (value != null) {
-      try {
-        return Integer.parseInt(value);
-      } catch (NumberFormatException e) {
-        System.err.println("Invalid integer value for key '" + key + "': " + value);
-      }
-    }
-    return defaultValue;
+    return parseInt(key, properties.getProperty(key), defaultValue);
   }
 
   /**
@@ -143,6 +144,71 @@ public class Config {
     properties.setProperty(key, String.valueOf(value));
   }
 
+  /**
+   * Get a long property value
+   * 
+   * @param key          Property key
+   * @param defaultValue Default value if key not found or not a valid integer
+   * @return Property value as long, or defaultValue if not found/invalid
+   */
+  public long getLong(String key, long defaultValue) {
+    return parseLong(key, properties.getProperty(key), defaultValue);
+  }
+
+  /**
+   * Set a long property value
+   * 
+   * @param key   Property key
+   * @param value Property value
+   */
+  public void setLong(String key, long value) {
+    properties.setProperty(key, String.valueOf(value));
+  }
+
+  /**
+   * Get an integer system property, which overrides the configuration when given on the command line
+   * 
+   * @param name         System property name
+   * @param defaultValue Default value if the property is not set or not a valid integer
+   * @return Property value as integer, or defaultValue if not set/invalid
+   */
+  public static int getSystemInt(String name, int defaultValue) {
+    return parseInt(name, System.getProperty(name), defaultValue);
+  }
+
+  /**
+   * Get a long system property, which overrides the configuration when given on the command line
+   * 
+   * @param name         System property name
+   * @param defaultValue Default value if the property is not set or not a valid integer
+   * @return Property value as long, or defaultValue if not set/invalid
+   */
+  public static long getSystemLong(String name, long defaultValue) {
+    return parseLong(name, System.getProperty(name), defaultValue);
+  }
+
+  private static int parseInt(String key, String value, int defaultValue) {
+    if (value != null) {
+      try {
+        return Integer.parseInt(value.trim());
+      } catch (NumberFormatException e) {
+        System.err.println("Invalid integer value for key '" + key + "': " + value);
+      }
+    }
+    return defaultValue;
+  }
+
+  private static long parseLong(String key, String value, long defaultValue) {
+    if (value != null) {
+      try {
+        return Long.parseLong(value.trim());
+      } catch (NumberFormatException e) {
+        System.err.println("Invalid integer value for key '" + key + "': " + value);
+      }
+    }
+    return defaultValue;
+  }
+
   /**
    * Get a boolean property value
    * 
@@ -221,4 +287,58 @@ public class Config {
   public void setDefaultExportFormat(String format) {
     setString("default.export.format", format);
   }
+
+  /**
+   * Get the number of threads used by 2-D FFTs
+   * 
+   * @return thread count, or 0 to use all processors but one
+   */
+  public int getFFTParallelism() {
+    return getInt("fft.parallelism", 0);
+  }
+
+  /**
+   * Set the number of threads used by 2-D FFTs. Takes effect on the next start.
+   * 
+   * @param parallelism thread count, or 0 to use all processors but one
+   */
+  public void setFFTParallelism(int parallelism) {
+    setInt("fft.parallelism", parallelism);
+  }
+
+  /**
+   * Get the memory budget for cached FFT tables and plans
+   * 
+   * @return budget in bytes
+   */
+  public long getFFTCacheBytes() {
+    return getLong("fft.cache.bytes", 64L << 20);
+  }
+
+  /**
+   * Set the memory budget for cached FFT tables and plans. Takes effect on the next start.
+   * 
+   * @param bytes budget in bytes
+   */
+  public void setFFTCacheBytes(long bytes) {
+    setLong("fft.cache.bytes", bytes);
+  }
+
+  /**
+   * Get the memory budget for cached function data, spectra and images
+   * 
+   * @return budget in bytes, or 0 for a quarter of the maximum heap
+   */
+  public long getDataCacheBytes() {
+    return getLong("cache.bytes", 0);
+  }
+
+  /**
+   * Set the memory budget for cached function data, spectra and images. Takes effect on the next start.
+   * 
+   * @param bytes budget in bytes, or 0 for a quarter of the maximum heap
+   */
+  public void setDataCacheBytes(long bytes) {
+    setLong("cache.bytes", bytes);
+  }
 }
@@ -0,0 +1,112 @@
+package signals.core;
+
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import signals.operation.PlanCache;
+
+/**
+ * The one cache for computed data: function parts, spectra, loaded images and icons.
+ *
+ * It replaces the SoftReferences each of these used to keep, which left eviction to the garbage
+ * collector: under memory pressure everything was cleared at once, otherwise nothing was released
+ * until the heap was full. Here every entry is counted in bytes against one budget, taken from the
+ * system property signals.cache.bytes, or else the cache.bytes configuration key, or else a quarter
+ * of the maximum heap. Entries are weighted by what they cost to rebuild (the WEIGHT_ constants),
+ * and the data of the function on display is pinned. See PlanCache for the eviction policy.
+ *
+ * Keys start with their group: a function's entries, for instance, start with its ID.
+ */
+public class DataCache {
+
+	public static final String CACHE_BYTES_PROPERTY = "signals.cache.bytes";
+
+	/**
+	 * Weight of data that is cheap to regenerate: function terms, copies, magnitude and phase
+	 */
+	public static final double WEIGHT_GENERATED = 1.0;
+
+	/**
+	 * Weight of data read from files
+	 */
+	public static final double WEIGHT_LOADED = 4.0;
+
+	/**
+	 * Weight of Fourier transforms
+	 */
+	public static final double WEIGHT_TRANSFORM = 8.0;
+
+	protected PlanCache cache;
+
+	// Protected constructor is sufficient to suppress unauthorized calls to the constructor
+	protected DataCache() {
+
+		cache = new PlanCache( readCacheBytes() );
+	}
+
+	/**
+	 * SingletonHolder is loaded on the first execution of Singleton.getInstance()
+	 * or the first access to SingletonHolder.instance , not before.
+	 */
+	private static class SingletonHolder {
+		private final static DataCache INSTANCE = new DataCache();
+	}
+
+	public static DataCache getInstance() {
+		return SingletonHolder.INSTANCE;
+	}
+
+	/**
+	 * @return the shared cache, for its hit, miss, eviction and memory counters
+	 */
+	public static PlanCache getCache() {
+		return getInstance().cache;
+	}
+
+	public static <T> T get( String key, Supplier<T> factory, ToLongFunction<T> sizer, double weight ) {
+
+		return getCache().get( key, factory, sizer, weight );
+	}
+
+	public static void put( String key, Object value, long bytes, double weight ) {
+
+		getCache().put( key, value, bytes, weight );
+	}
+
+	/**
+	 * @return the bytes held by an array; none for the shared zero arrays, which are not the cache's to free
+	 */
+	public static long sizeOf( double[] array ) {
+
+		return Zeros.isZero( array ) ? 0 : 8L * array.length;
+	}
+
+	/**
+	 * Drops every entry in the group
+	 */
+	public static void evict( String group ) {
+
+		String prefix = group + " ";
+		getCache().removeIf( key -> key.startsWith( prefix ) );
+	}
+
+	public static void setPinned( String group, boolean pinned ) {
+
+		getCache().setPinned( group, pinned );
+	}
+
+	public static boolean isPinned( String group ) {
+
+		return getCache().isPinned( group );
+	}
+
+	protected static long readCacheBytes() {
+
+		//the configuration is only loaded once the application has started
+		Config config = Core.getConfig();
+		long bytes = ( config != null ) ? config.getDataCacheBytes() : 0;
+		if( bytes <= 0 ) bytes = Runtime.getRuntime().maxMemory() / 4;
+
+		return Config.getSystemLong( CACHE_BYTES_PROPERTY, bytes );
+	}
+}
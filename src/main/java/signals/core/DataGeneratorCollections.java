@@ -241,6 +241,7 @@ public class DataGeneratorCollections {
 		unary1DList.add( TranslateOp1D.class );
 		unary1DList.add( InvertOp.class );
 		unary1DList.add( CepstrumOp.class );
+		unary1DList.add( DCTOp.class );
 		unary1DList.add( ComplementFilterOp.class );
 		unary1DList.add( RealOp.class );
 
@@ -286,6 +287,7 @@ public class DataGeneratorCollections {
 		unary2DList.add( TranslateOp2D.class );
 		unary2DList.add( InvertOp.class );
 		unary2DList.add( CepstrumOp.class );
+		unary2DList.add( DCTOp.class );
 		unary2DList.add( PhaseDetourHologramOp.class );
 		unary2DList.add( HologramEncoderOp.class );
 		unary2DList.add( ComplementFilterOp.class );
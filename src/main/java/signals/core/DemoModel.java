@@ -30,6 +30,12 @@ public abstract class DemoModel implements ThumbnailProducer, Showable {
 	
 	public abstract DemoModel clone(); 
 	
+	/**
+	 * Demos keep their data in their own panels, so there is nothing to pin
+	 */
+	public void setPinned( boolean pinned ) {
+	}
+	
 	public void paintLargeGraphic(Graphics2D g) {
 		graphic.paintLargeGraphic((Graphics2D)g); 
 
@@ -0,0 +1,96 @@
+package signals.core;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * Evaluates function producers on a small pool of background threads, so that the
+ * event dispatch thread never waits for a large computation.
+ * 
+ * Cancelling a returned future interrupts the evaluation; long computations call
+ * checkCancelled between steps to stop early.
+ * 
+ * The pool size is read from the "signals.evaluation.threads" system property. A couple of
+ * threads suffice, since the transforms inside an evaluation run on the ParallelExecutor pool.
+ * 
+ * A caller that needs a result now, possibly from an evaluation thread, must not wait for a task
+ * that has not started: it may be queued behind the very thread that waits. It calls run on the
+ * returned future before get instead, which evaluates the task in place unless it is already
+ * running or done.
+ */
+public class EvaluationScheduler {
+
+	public static final String THREADS_PROPERTY = "signals.evaluation.threads";
+
+	public static final int DEFAULT_THREADS = 2;
+
+	private static class SingletonHolder {
+		private final static ExecutorService EXECUTOR = createExecutor();
+	}
+
+	protected static ExecutorService createExecutor() {
+
+		int threads = Math.max( 1, Integer.getInteger( THREADS_PROPERTY, DEFAULT_THREADS ) );
+		AtomicInteger count = new AtomicInteger();
+
+		return Executors.newFixedThreadPool( threads, runnable -> {
+
+			Thread thread = new Thread( runnable, "signals-evaluation-" + count.incrementAndGet() );
+			thread.setDaemon( true );
+			thread.setPriority( Thread.NORM_PRIORITY - 1 );
+			return thread;
+		} );
+	}
+
+	/**
+	 * Runs task in the background. Unless the returned future is cancelled first,
+	 * the result is then passed to onResult (if not null) on the event dispatch thread.
+	 */
+	public static <T> RunnableFuture<T> submit( Callable<T> task, final Consumer<T> onResult ) {
+
+		FutureTask<T> future = new FutureTask<T>( task ) {
+
+			@Override
+			protected void done() {
+
+				if( isCancelled() || onResult == null ) return;
+
+				try {
+
+					final T result = get();
+					SwingUtilities.invokeLater( () -> {
+						if( !isCancelled() ) onResult.accept( result );
+					} );
+
+				} catch( InterruptedException e ) {
+
+					Thread.currentThread().interrupt();
+
+				} catch( ExecutionException e ) {
+
+					if( !( e.getCause() instanceof CancellationException ) ) e.getCause().printStackTrace();
+				}
+			}
+		};
+
+		SingletonHolder.EXECUTOR.execute( future );
+		return future;
+	}
+
+	/**
+	 * @throws CancellationException if the evaluation running on this thread has been cancelled
+	 */
+	public static void checkCancelled() {
+
+		if( Thread.currentThread().isInterrupted() ) throw new CancellationException();
+	}
+}
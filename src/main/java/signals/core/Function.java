@@ -2,12 +2,13 @@ package signals.core;
 
 import java.awt.Dimension;
 import java.awt.Graphics2D;
-import java.lang.ref.SoftReference;
+import java.util.function.Supplier;
 
 import signals.gui.ThumbnailGraphic;
 import signals.gui.ThumbnailProducer;
 import signals.gui.datagenerator.FunctionToolBar;
 import signals.operation.ArrayMath;
+import signals.operation.SpectralProduct;
 
 /**
  * Represents a 1D or 2D complex function in terms of real and imaginary parts or magnitude and phase. 
@@ -15,10 +16,6 @@ import signals.operation.ArrayMath;
  */
 public abstract class Function implements ThumbnailProducer, Showable, FunctionProducer {
 	
-	//cached data
-	@SuppressWarnings("unchecked")
-	protected SoftReference real, imaginary, magnitude, phase; 
-	
 	//descriptor for tool tips
 	protected String descriptor;
 	
@@ -36,6 +33,9 @@ public abstract class Function implements ThumbnailProducer, Showable, FunctionP
 	String customEquation; 
 	
 	long ID;  
+
+	//operator systems computed from this function, told when its ID changes
+	protected final ProducerListeners dependents = new ProducerListeners(); 
 	
 	//if the function is defined as complex, real and imaginary parts are edited together
 	Constants.FunctionType type; 
@@ -76,13 +76,21 @@ public abstract class Function implements ThumbnailProducer, Showable, FunctionP
 		return this;
 	}
 
+	/**
+	 * Drops this function's parts and spectra from the DataCache, and unpins them
+	 */
 	public void freeMemory() {
 		
-		real = null; 
-		imaginary = null; 
-		magnitude = null; 
-		phase = null; 
+		setPinned( false ); 
+		SpectralProduct.evict( ID ); 
+	}
 	
+	/**
+	 * Pins this function's parts and spectra in the DataCache while it is on display
+	 */
+	public void setPinned( boolean pinned ) {
+		
+		DataCache.setPinned( String.valueOf( ID ), pinned ); 
 	}
 
 	public long getID() {
@@ -91,7 +99,24 @@ public abstract class Function implements ThumbnailProducer, Showable, FunctionP
 	
 	public void modifyID() {
 		
+		//parts and spectra cached under the old ID are stale now
+		boolean pinned = DataCache.isPinned( String.valueOf( ID ) ); 
+		freeMemory(); 
 		ID = Core.getFunctionCreationOptions().getNextID(); 
+		if( pinned ) setPinned( true ); 
+		dependents.fire( this ); 
+	}
+
+	public long getVersion() {
+		return ID;
+	}
+
+	public void addProducerListener( ProducerListener listener ) {
+		dependents.add( listener ); 
+	}
+
+	public void removeProducerListener( ProducerListener listener ) {
+		dependents.remove( listener ); 
 	}
 
 	/**
@@ -161,17 +186,9 @@ public abstract class Function implements ThumbnailProducer, Showable, FunctionP
 	 * 
 	 * @return the real part of this function
 	 */
-	@SuppressWarnings("unchecked")
 	public double[] getReal() {
 		
-		double[] re = null; 
-		if( real == null || real.get() == null ) {
-			
-			re = createReal(); 
-			real = new SoftReference( re ); 
-			
-		} else re = (double[]) real.get(); 
-		return re; 
+		return getCached( "real", this::createReal ); 
 	}
 	
 	
@@ -179,51 +196,56 @@ public abstract class Function implements ThumbnailProducer, Showable, FunctionP
 	 * 
 	 * @return the imaginary part of this function
 	 */
-	@SuppressWarnings("unchecked")
 	public double[] getImaginary() {
 		
-		double[] im = null; 
-		if( imaginary == null || imaginary.get() == null ) {
-			
-			im = createImaginary(); 
-			imaginary = new SoftReference( im ); 
-			
-		} else im = (double[]) imaginary.get(); 
-		return im; 
+		return getCached( "imaginary", this::createImaginary ); 
 	}
 	
 	/**
 	 * 
 	 * @return the magnitude of this function
 	 */
-	@SuppressWarnings("unchecked")
 	public double[] getMagnitude() {
 		
-		double[] ma = null; 
-		if( magnitude == null || magnitude.get() == null ) {
-			
-			ma = createMagnitude(); 
-			magnitude = new SoftReference( ma ); 
-			
-		} else ma = (double[]) magnitude.get(); 
-		return ma; 
+		return getCached( "magnitude", this::createMagnitude ); 
 	}
 	
 	/**
 	 * 
 	 * @return the phase of this function
 	 */
-	@SuppressWarnings("unchecked")
 	public double[] getPhase() { 
 		
-		double[] ph = null; 
-		if( phase == null || phase.get() == null ) {
-			
-			ph = createPhase(); 
-			phase = new SoftReference( ph ); 
-			
-		} else ph = (double[]) phase.get(); 
-		return ph; 
+		return getCached( "phase", this::createPhase ); 
+	}
+	
+	/**
+	 * @return a part of this function, kept in the DataCache under this function's ID until evicted
+	 */
+	protected double[] getCached( String part, Supplier<double[]> factory ) {
+		
+		return DataCache.get( ID + " " + part, factory, DataCache::sizeOf, DataCache.WEIGHT_GENERATED ); 
+	}
+	
+	/**
+	 * The Fourier transform of this function, laid out like the function itself. Spectra are kept 
+	 * in a memory-bounded cache until this function's ID changes, and the arrays are shared: 
+	 * do not modify them. 
+	 * @param normalization one of the Transforms.NORMALIZE_ constants
+	 * @return { real, imaginary }
+	 */
+	public double[][] getSpectrum( int normalization, boolean inverse ) {
+		
+		return SpectralProduct.spectrum( this, normalization, inverse ); 
+	}
+	
+	/**
+	 * @return true if this function is known to be real: its imaginary part is the shared zero 
+	 * array (see Zeros), as for functions created from real data by FunctionFactory
+	 */
+	public boolean isReal() {
+		
+		return Zeros.isZero( getImaginary() ); 
 	}
 	
 	public abstract double[] getUnwrappedPhase(); 
@@ -34,10 +34,6 @@ public abstract class Function1D extends Function {
 
 	public void setDimension(int dimension) {
 		this.dimension = dimension;
-		real = null; 
-		imaginary = null; 
-		magnitude = null; 
-		phase = null;
 		((Function1DThumbnailGraphic)thumbnailGraphic).setIndices(Indices.indices1D(dimension, zeroCentered)); 
 		thumbnailGraphic.setDirty();
 		modifyID();  
@@ -46,10 +42,6 @@ public abstract class Function1D extends Function {
 	public void setZeroCentered(boolean zeroCentered ) {
 		
 		this.zeroCentered = zeroCentered;
-		real = null; 
-		imaginary = null; 
-		magnitude = null; 
-		phase = null;
 		((Function1DThumbnailGraphic)thumbnailGraphic).setIndices(Indices.indices1D(dimension, zeroCentered)); 
 		thumbnailGraphic.setDirty();
 		modifyID(); 
@@ -11,6 +11,10 @@ public abstract class Function2D extends Function {
 	//dimensions of this function
 	int dimensionX, dimensionY; 
 	
+	//the function as an outer product of 1D factors, if known to be one, and the ID it belongs to
+	SeparableFactors factors; 
+	long factorsID = -1; 
+	
 	public Function2D( FunctionPart2D partA, FunctionPart2D partB, String descriptor,  int dimensionX,
 			int dimensionY, boolean zeroCentered ) {
 		super(descriptor, zeroCentered);
@@ -47,10 +51,6 @@ public abstract class Function2D extends Function {
 
 	public void setDimensionX(int dimensionX) {
 		this.dimensionX = dimensionX;
-		real = null; 
-		imaginary = null; 
-		magnitude = null; 
-		phase = null;
 		thumbnailGraphic.setDirty();
 		modifyID(); 
 	}
@@ -61,10 +61,6 @@ public abstract class Function2D extends Function {
 
 	public void setDimensionY(int dimensionY) {
 		this.dimensionY = dimensionY;
-		real = null; 
-		imaginary = null; 
-		magnitude = null; 
-		phase = null;
 		thumbnailGraphic.setDirty();
 		modifyID(); 
 	}
@@ -72,15 +68,44 @@ public abstract class Function2D extends Function {
 	@Override
 	public void setZeroCentered(boolean zeroCentered) {
 		super.setZeroCentered(zeroCentered);
-		real = null; 
-		imaginary = null; 
-		magnitude = null; 
-		phase = null;
 		thumbnailGraphic.setDirty();
 		modifyID(); 
 	}
 
 	
+	/**
+	 * @return this function as the outer product of a horizontal and a vertical 1D function, 
+	 * or null if it is not known to be one. Operations that preserve separability (products, 
+	 * scaling, the Fourier transform) then work on the factors, not on the image. 
+	 */
+	public synchronized SeparableFactors getFactors() {
+		
+		if( factorsID != ID ) {
+			
+			factors = findFactors(); 
+			factorsID = ID; 
+		}
+		
+		return factors; 
+	}
+	
+	/**
+	 * Records the factors of a function created from them; they last until its ID changes 
+	 */
+	public synchronized void setFactors( SeparableFactors factors ) {
+		
+		this.factors = factors; 
+		factorsID = ID; 
+	}
+	
+	/**
+	 * @return the factors of this function, worked out from its parts, or null
+	 */
+	protected SeparableFactors findFactors() {
+		
+		return null; 
+	}
+	
 	@Override
 	public String getIndependentVariables() {
 		return "x, y";
@@ -1,5 +1,7 @@
 package signals.core;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Contains default values for options. These can get updated
  * when the user selects a new default
@@ -14,8 +16,9 @@ public class FunctionCreationOptions {
 	//number of functions currently created
 	int numFunctions; 
 	
-	//ID used for functions
-	long ID; 
+	//ID used for functions; functions are built on the evaluation threads as well as the 
+	//event thread, and an ID names a function's entries in the DataCache, so it must be unique
+	final AtomicLong ID = new AtomicLong(); 
 
 	//available array sizes
 	private final Integer[] availableDimensions =  
@@ -109,12 +112,11 @@ public class FunctionCreationOptions {
 		
 		
 		numFunctions = 0; 
-		ID = 0; 
 	}
 
 	public long getNextID() {
 		
-		return ID++; 
+		return ID.getAndIncrement(); 
 	}
 	
 
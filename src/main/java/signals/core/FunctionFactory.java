@@ -7,8 +7,10 @@ import signals.functionterm.ConstantFunctionTerm1D;
 import signals.functionterm.DataFunctionTerm1D;
 import signals.functionterm.DataFunctionTerm2D;
 import signals.functionterm.PolarFunctionTerm2D;
+import signals.functionterm.XYFunctionTerm2D;
 import signals.functionterm.ZeroFunctionTerm1D;
 import signals.functionterm.ZeroFunctionTerm2D;
+import signals.operation.ArrayMath;
 
 public class FunctionFactory {
 
@@ -151,27 +153,33 @@ public class FunctionFactory {
 				options.getDefaultDimension1D(), options.isZeroCentered1D() );
 	}
 	
-	public static Function createFunction1D( double[] real, double[] imag, boolean zeroCentered, String name ) {
+	/**
+	 * @return a term that reproduces data at its own dimension
+	 */
+	public static DataFunctionTerm1D createDataTerm1D( double[] data, boolean zeroCentered ) {
 
 		DataFunctionTerm1D dataTerm = new DataFunctionTerm1D( null ); 
 
-		ParameterBlock pbr = dataTerm.getDefaultParamBlock(); 
-		pbr.addSource( real ); 
+		ParameterBlock pb = dataTerm.getDefaultParamBlock(); 
+		pb.addSource( data ); 
 
-		ParameterBlock pbi = dataTerm.getDefaultParamBlock(); 
-		pbi.addSource( imag );
+		DataFunctionTerm1D term = new DataFunctionTerm1D( pb ); 
+		term.setWidth( zeroCentered ? data.length/2.0 : data.length );
+		return term; 
+	}
+
+	public static Function createFunction1D( double[] real, double[] imag, boolean zeroCentered, String name ) {
 
-		DataFunctionTerm1D realTerm = new DataFunctionTerm1D( pbr ); 
-		double width = zeroCentered ? real.length/2.0 : real.length; 
-		realTerm.setWidth(width);
-		DataFunctionTerm1D imagTerm = new DataFunctionTerm1D( pbi );
-		imagTerm.setWidth(width);
+		DataFunctionTerm1D realTerm = createDataTerm1D( real, zeroCentered ); 
+		DataFunctionTerm1D imagTerm = createDataTerm1D( imag, zeroCentered );
 
 		ArrayList<FunctionTerm1D> realList = new ArrayList<FunctionTerm1D>(); 
 		ArrayList<FunctionTerm1D> imagList = new ArrayList<FunctionTerm1D>();
 
 		realList.add( realTerm ); 
-		imagList.add( imagTerm );
+		//a data term would copy the shared zero array, and the function would no longer be known to be real
+		if( Zeros.isZero( imag ) ) imagList.add( (ZeroFunctionTerm1D) new ZeroFunctionTerm1D(null).getDefaultInstance() );
+		else imagList.add( imagTerm );
 
 		int[] rule = {1};
 		CombineTermsRule ctrule = new CombineTermsRule( rule );
@@ -248,7 +256,9 @@ public class FunctionFactory {
 		ArrayList<FunctionTerm2D> imagList = new ArrayList<FunctionTerm2D>();
 
 		realList.add( realTerm ); 
-		imagList.add( imagTerm );
+		//as in createFunction1D, keep a real function's imaginary part shared
+		if( Zeros.isZero( imag ) ) imagList.add( (ZeroFunctionTerm2D) new ZeroFunctionTerm2D(null).getDefaultInstance() );
+		else imagList.add( imagTerm );
 
 		int[] rule = {1};
 		CombineTermsRule ctrule = new CombineTermsRule( rule );
@@ -261,4 +271,70 @@ public class FunctionFactory {
 		return function; 
 	}
 
+	/**
+	 * A 2D function that is the outer product of two 1D factors. Its parts are XY terms over the 
+	 * factors, so the image is only computed when a part is asked for, and the factors are kept 
+	 * for the operations that can work on them directly (see SeparableFactors). 
+	 */
+	public static Function createSeparableFunction2D( SeparableFactors factors, boolean zeroCentered, String name ) {
+
+		double[] xr = factors.getXReal(), xi = factors.getXImaginary(); 
+		double[] yr = factors.getYReal(), yi = factors.getYImaginary(); 
+
+		//(xr + i xi)(yr + i yi) = xr yr - xi yi + i( xr yi + xi yr )
+		FunctionPart2D realPart = createProductPart( xr, yr, CombineTermsRule.SUBTRACT, xi, yi, zeroCentered ); 
+		FunctionPart2D imagPart = createProductPart( xr, yi, CombineTermsRule.ADD, xi, yr, zeroCentered ); 
+
+		Function2D function = new RealImagFunction2D( realPart, imagPart, "", 
+				factors.getDimensionX(), factors.getDimensionY(), zeroCentered );
+		function.setEquation(name); 
+		function.setFactors( factors ); 
+		return function; 
+	}
+
+	/**
+	 * @return the part x1 y1 + x2 y2 (or x1 y1 - x2 y2) as XY terms, leaving out the products of 
+	 * shared zero arrays, so that the imaginary part of a real function stays known to be zero
+	 */
+	private static FunctionPart2D createProductPart( double[] x1, double[] y1, int operator, 
+			double[] x2, double[] y2, boolean zeroCentered ) {
+
+		boolean hasFirst = !Zeros.isZero( x1 ) && !Zeros.isZero( y1 ); 
+		boolean hasSecond = !Zeros.isZero( x2 ) && !Zeros.isZero( y2 ); 
+
+		ArrayList<FunctionTerm2D> terms = new ArrayList<FunctionTerm2D>(); 
+		int[] rule = { CombineTermsRule.FUNCTION_TERM };
+
+		if( hasFirst && hasSecond ) {
+
+			terms.add( createXYTerm( x1, y1, zeroCentered ) ); 
+			terms.add( createXYTerm( x2, y2, zeroCentered ) ); 
+			rule = new int[] { CombineTermsRule.FUNCTION_TERM, operator, CombineTermsRule.FUNCTION_TERM };
+
+		} else if( hasFirst ) {
+
+			terms.add( createXYTerm( x1, y1, zeroCentered ) ); 
+
+		} else if( hasSecond ) {
+
+			//a lone subtracted product is negated instead
+			if( operator == CombineTermsRule.SUBTRACT ) x2 = ArrayMath.negate( x2 ); 
+			terms.add( createXYTerm( x2, y2, zeroCentered ) ); 
+
+		} else {
+
+			terms.add( (ZeroFunctionTerm2D) new ZeroFunctionTerm2D(null).getDefaultInstance() ); 
+		}
+
+		return new FunctionPart2D( terms, new CombineTermsRule( rule ) ); 
+	}
+
+	private static XYFunctionTerm2D createXYTerm( double[] x, double[] y, boolean zeroCentered ) {
+
+		ParameterBlock pb = new ParameterBlock(); 
+		pb.addSource( createDataTerm1D( x, zeroCentered ) ); 
+		pb.addSource( createDataTerm1D( y, zeroCentered ) ); 
+		return new XYFunctionTerm2D( pb ); 
+	}
+
 }
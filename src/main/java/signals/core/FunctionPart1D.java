@@ -44,9 +44,13 @@ public class FunctionPart1D {
 		return combineTermsRule.combine(termData, indices.length);
 	}
 
+	/**
+	 * Samples per block when a combination of terms is evaluated block by block
+	 */
+	public static final int BLOCK_SIZE = 4096;
+
 	public double[] create( int dimension, boolean zeroCentered ) {
 
-		//		create each term and store in a 2D array
 		int numTerms = termsList.size();
 
 		if( numTerms == 0 ) {
@@ -54,15 +58,23 @@ public class FunctionPart1D {
 			return Zeros.zeros(dimension); 
 		}
 
-		double[][] termData = new double[numTerms][];
+		//a single term is returned as created, so that shared data (such as Zeros) stays shared
+		if( numTerms == 1 ) {
+
+			double[][] termData = { termsList.get(0).create( dimension, zeroCentered ) };
+			return combineTermsRule.combine(termData, dimension );
+		}
+
+		//otherwise combine the terms a block at a time, instead of creating every term in full
+		CombineTermsRule.TermBlocks[] termBlocks = new CombineTermsRule.TermBlocks[numTerms];
 		int idx = 0; 
 		for( FunctionTerm1D term : termsList ) {
 
-			termData[idx++] = term.create( dimension, zeroCentered );
+			termBlocks[idx++] = term.createBlocks( dimension, zeroCentered );
 		}
 
 		//create linear combination of terms
-		return combineTermsRule.combine(termData, dimension );
+		return combineTermsRule.combine(termBlocks, dimension, BLOCK_SIZE );
 	}
 
 	/**
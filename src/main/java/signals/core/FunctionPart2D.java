@@ -5,6 +5,10 @@ package signals.core;
 
 import java.util.ArrayList;
 
+import signals.functionterm.XYFunctionTerm2D;
+import signals.functionterm.ZeroFunctionTerm2D;
+import signals.operation.ArrayMath;
+
 /**
  * A sum of 1D function terms that represents a real part, imaginary part, 
  * magnitude, or phase component of a 1D Function
@@ -39,21 +43,74 @@ public class FunctionPart2D {
 		return combineTermsRule;
 	}
 	
+	/**
+	 * Rows per block when a combination of terms is evaluated block by block
+	 */
+	public static final int BLOCK_ROWS = 64;
+
 	public double[] create( int x_dimension, int y_dimension, boolean zeroCentered ) {
 		
-		//create each term and store in a 2D array
 		int numTerms = termsList.size();
-		double[][] termData = new double[numTerms][];
+
+		//a single term is returned as created, so that shared data (such as Zeros) stays shared
+		if( numTerms <= 1 ) {
+
+			double[][] termData = new double[numTerms][];
+			if( numTerms == 1 ) termData[0] = termsList.get(0).create( x_dimension, y_dimension, zeroCentered );
+
+			return combineTermsRule.combine(termData, x_dimension*y_dimension);
+		}
+
+		//otherwise combine the terms a few rows at a time, instead of creating every term in full
+		CombineTermsRule.TermBlocks[] termBlocks = new CombineTermsRule.TermBlocks[numTerms];
 		int idx = 0; 
 		for( FunctionTerm2D term : termsList ) {
 			
-			termData[idx++] = term.create( x_dimension, y_dimension, zeroCentered );
+			termBlocks[idx++] = term.createBlocks( x_dimension, y_dimension, zeroCentered );
 		}
 		
 		//create linear combination of terms
-		return combineTermsRule.combine(termData, x_dimension*y_dimension);
+		return combineTermsRule.combine(termBlocks, x_dimension*y_dimension, Math.max( 1, BLOCK_ROWS*x_dimension ));
 	}
 	
+	/**
+	 * @return { horizontal factor, vertical factor } if this part is a product of separable 
+	 * (XY) terms, so that it is their outer product; otherwise null
+	 */
+	public double[][] getFactors( int x_dimension, int y_dimension, boolean zeroCentered ) {
+
+		if( termsList.isEmpty() || !combineTermsRule.isProduct() ) return null;
+
+		for( FunctionTerm2D term : termsList ) {
+
+			if( !( term instanceof XYFunctionTerm2D ) ) return null;
+		}
+
+		double[][] factors = ( (XYFunctionTerm2D) termsList.get(0) ).createFactors( x_dimension, y_dimension, zeroCentered );
+
+		for( int t = 1; t < termsList.size(); ++t ) {
+
+			double[][] next = ( (XYFunctionTerm2D) termsList.get(t) ).createFactors( x_dimension, y_dimension, zeroCentered );
+			factors[0] = ArrayMath.modulate( factors[0], next[0] );
+			factors[1] = ArrayMath.modulate( factors[1], next[1] );
+		}
+
+		return factors;
+	}
+
+	/**
+	 * @return true if this part is known to be zero
+	 */
+	public boolean isZero() {
+
+		for( FunctionTerm2D term : termsList ) {
+
+			if( !( term instanceof ZeroFunctionTerm2D ) ) return false;
+		}
+
+		return true;
+	}
+
 	public String getEquation() {
 		
 		String[] variables = { "x", "y" }; //independent variable list
@@ -4,4 +4,17 @@ public interface FunctionProducer {
 	
 	public Function getFunction(); 
 
+	/**
+	 * @return a number that changes whenever the produced function does; unlike getFunction,
+	 * this never computes anything
+	 */
+	public long getVersion();
+
+	/**
+	 * Registers a dependent to be told when the produced function changes. Held weakly.
+	 */
+	public void addProducerListener( ProducerListener listener );
+
+	public void removeProducerListener( ProducerListener listener );
+
 }
@@ -51,4 +51,15 @@ public abstract class FunctionTerm1D extends DataGenerator implements FunctionTe
 	 */
 	public abstract void setWidthScale( double scale );
 
+	/**
+	 * The samples of create, a block at a time, for FunctionPart1D. By default the whole term
+	 * is created once and copied from; terms that can compute any block directly override this.
+	 */
+	public CombineTermsRule.TermBlocks createBlocks( int dimension, boolean zeroCentered ) {
+
+		final double[] data = create( dimension, zeroCentered );
+
+		return ( start, count, output ) -> System.arraycopy( data, start, output, 0, count );
+	}
+
 } //FunctionTerm1D
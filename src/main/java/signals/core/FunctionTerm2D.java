@@ -29,6 +29,52 @@ public abstract class FunctionTerm2D extends DataGenerator implements FunctionTe
 	 * @return the output array with the sum stored in it
 	 */
 	public abstract double[] create( int x_dimension, int y_dimension, boolean zeroCentered );
+
+	/**
+	 * The samples of create, a block at a time, for FunctionPart2D. By default the whole term
+	 * is created once and copied from; terms that can compute any block directly override this.
+	 */
+	public CombineTermsRule.TermBlocks createBlocks( int x_dimension, int y_dimension, boolean zeroCentered ) {
+
+		final double[] data = create( x_dimension, y_dimension, zeroCentered );
+
+		return ( start, count, output ) -> System.arraycopy( data, start, output, 0, count );
+	}
+
+	/**
+	 * Rows of a term's samples (row-major, largest y first), for terms that compute any rows directly
+	 */
+	public interface RowSource {
+
+		/**
+		 * Writes every sample of rows [firstRow, lastRow) to output, starting at index 0.
+		 * Rows are requested from several threads at once.
+		 */
+		void fillRows( int firstRow, int lastRow, double[] output );
+	}
+
+	/**
+	 * @return the blocks of a term that computes its samples a row at a time; blocks that
+	 * do not start and end on a row go through a buffer of whole rows
+	 */
+	public static CombineTermsRule.TermBlocks rowBlocks( final int x_dimension, final RowSource source ) {
+
+		return ( start, count, output ) -> {
+
+			int firstRow = start / x_dimension;
+			int lastRow = ( start + count + x_dimension - 1 ) / x_dimension;
+
+			if( start == firstRow * x_dimension && count == ( lastRow - firstRow ) * x_dimension ) {
+
+				source.fillRows( firstRow, lastRow, output );
+				return;
+			}
+
+			double[] rows = new double[( lastRow - firstRow ) * x_dimension];
+			source.fillRows( firstRow, lastRow, rows );
+			System.arraycopy( rows, start - firstRow * x_dimension, output, 0, count );
+		};
+	}
 	
 
 } //FunctionTerm1D
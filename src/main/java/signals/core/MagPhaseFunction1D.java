@@ -51,21 +51,6 @@ public class MagPhaseFunction1D extends Function1D {
 		return partB.create(dimension, zeroCentered); 
 	}
 	
-	@Override
-	public void setPartA(FunctionPart1D partA) {
-		super.setPartA(partA);
-		real = null; 
-		magnitude = null; 
-		imaginary = null; 
-	}
-
-	@Override
-	public void setPartB(FunctionPart1D partB) {
-		super.setPartB(partB);
-		imaginary = null; 
-		real = null; 
-		phase = null; 
-	}
 	
 	public String getEquation() {
 		
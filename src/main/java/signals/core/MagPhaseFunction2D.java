@@ -53,21 +53,6 @@ public class MagPhaseFunction2D extends Function2D {
 		return partB.create(dimensionX, dimensionY, zeroCentered); 
 	}
 	
-	@Override
-	public void setPartA(FunctionPart2D partA) {
-		super.setPartA(partA);
-		real = null; 
-		magnitude = null; 
-		imaginary = null; 
-	}
-
-	@Override
-	public void setPartB(FunctionPart2D partB) {
-		super.setPartB(partB);
-		imaginary = null; 
-		real = null; 
-		phase = null; 
-	}
 	
 	public String getEquation() {
 		
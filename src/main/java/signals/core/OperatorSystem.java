@@ -2,8 +2,11 @@ package signals.core;
 
 import java.awt.Dimension;
 import java.awt.Graphics2D;
-import java.lang.ref.SoftReference;
 import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 import signals.gui.GUIDimensions;
 import signals.gui.IconCache;
@@ -14,10 +17,21 @@ import signals.gui.datagenerator.OperatorSystemToolBar;
 /**
  * A series of operations and input functions combined together in an equation 
  * Analogous to a "Function" made of many "function terms" 
+ * 
+ * Systems form a graph through their inputs: each registers with its inputs as a ProducerListener,
+ * and a change is pushed down the graph by marking the output of each dependent stale.
+ * Nothing is recomputed until the output is asked for, and then CombineOpsRule reuses
+ * the intermediate results whose inputs did not change.
+ * 
+ * Thumbnails never compute on the event dispatch thread: they ask for the output with
+ * getFunctionLater, which evaluates in the background and repaints when the result arrives.
+ * A further change to an input cancels an evaluation that is still running.
  * @author Juliet
  *
  */
-public abstract class OperatorSystem implements ThumbnailProducer, FunctionProducer, Showable {
+public abstract class OperatorSystem implements ThumbnailProducer, FunctionProducer, Showable, ProducerListener {
+
+	private static final AtomicLong versions = new AtomicLong(); 
 
 	//input functions
 	ArrayList<FunctionProducer> inputList;
@@ -25,6 +39,7 @@ public abstract class OperatorSystem implements ThumbnailProducer, FunctionProdu
 	//list of operations
 	ArrayList<Operation> opList; 
 	
+	//input versions the output was computed from
 	ArrayList<Long> inputID; 
 	
 	//rule dictating how to combine operations to produce the correct output
@@ -32,9 +47,24 @@ public abstract class OperatorSystem implements ThumbnailProducer, FunctionProdu
 	
 	IconThumbnailGraphic graphic; 
 	
-	@SuppressWarnings("unchecked")
-	//soft reference to output object
-	SoftReference output; 
+	//output object, null when stale or freed
+	Function output; 
+	
+	//changes whenever the output does
+	volatile long version = versions.incrementAndGet(); 
+	
+	//background evaluation of the output for version pendingVersion, if one is running
+	RunnableFuture<Function> pending; 
+	long pendingVersion; 
+	
+	//systems that take this one as an input
+	protected final ProducerListeners dependents = new ProducerListeners(); 
+	
+	//set while a change is being passed on, so a cycle of systems cannot loop
+	boolean invalidating; 
+	
+	//true while on display: the output's data is then pinned in the DataCache
+	boolean pinned; 
 	
 	String showState; 
 
@@ -52,7 +82,8 @@ public abstract class OperatorSystem implements ThumbnailProducer, FunctionProdu
 		inputID = new ArrayList<Long>(); 
 		for( FunctionProducer function: inputList ) {
 			
-			inputID.add(function.getFunction().getID()); 
+			inputID.add(function.getVersion()); 
+			function.addProducerListener(this); 
 		}
 		graphic = new IconThumbnailGraphic( IconCache.getIcon("/guiIcons/operator.png"), 
 				getSmallThumbnailSize(), getLargeThumbailSize() );
@@ -66,9 +97,67 @@ public abstract class OperatorSystem implements ThumbnailProducer, FunctionProdu
 		graphic.setDirty(); 
 	}
 	
-	public void freeMemory() {
+	public synchronized void freeMemory() {
 		
+		if( output != null ) output.freeMemory(); 
 		output = null; 
+		combineOpsRule.clearMemo(); 
+	}
+	
+	public synchronized void setPinned( boolean pinned ) {
+		
+		this.pinned = pinned; 
+		if( output != null ) output.setPinned( pinned ); 
+	}
+	
+	//replaces the output, moving the pin from the old one to the new one
+	protected void setOutput( Function out ) {
+		
+		if( output != null && output != out ) output.setPinned( false ); 
+		output = out; 
+		if( out != null && pinned ) out.setPinned( true ); 
+	}
+	
+	/**
+	 * Marks the output stale and passes the change on to the systems that depend on this one
+	 */
+	public void invalidate() {
+		
+		if( invalidating ) return; 
+		invalidating = true; 
+		try {
+			
+			synchronized( this ) {
+				
+				setOutput( null ); 
+				version = versions.incrementAndGet(); 
+				if( pending != null ) pending.cancel( true ); 
+				pending = null; 
+			}
+			graphic.setDirty(); 
+			dependents.fire( this ); 
+			
+		} finally {
+			
+			invalidating = false; 
+		}
+	}
+	
+	public void producerChanged( FunctionProducer producer ) {
+		
+		invalidate(); 
+	}
+	
+	public long getVersion() {
+		return version;
+	}
+
+	public void addProducerListener( ProducerListener listener ) {
+		dependents.add( listener ); 
+	}
+
+	public void removeProducerListener( ProducerListener listener ) {
+		dependents.remove( listener ); 
 	}
 	
 	public OperatorSystem() {
@@ -111,54 +200,148 @@ public abstract class OperatorSystem implements ThumbnailProducer, FunctionProdu
 
 	public void paintLargeGraphic(Graphics2D g) {
 		
-		Function out = getFunction(); 
+		Function out = getFunctionLater(); 
 		if( out != null ) out.paintLargeGraphic((Graphics2D)g); 
+		graphic.setBusy( out == null && isEvaluating() ); 
 		graphic.paintSmallGraphic((Graphics2D)g); 
 
 	}
 	
 	public void paintGraphic( Graphics2D g, int w, int h ) {
 		
-		Function out = getFunction(); 
+		Function out = getFunctionLater(); 
 		if( out != null ) {
 			out.setDirty(); 
 			out.paintGraphic((Graphics2D)g, w, h); 
 		}
+		graphic.setBusy( out == null && isEvaluating() ); 
 		graphic.paintGraphic(g, w, h);
 	}
 	
-	public void checkDirtyInputs() {
+	/**
+	 * Drops the output if an input changed without telling this system. Compares versions only,
+	 * so no input is computed
+	 */
+	public synchronized void checkDirtyInputs() {
 		
 		if( output == null ) return; 
 		for( int i = 0; i < inputList.size(); i++ ) {
 			
-			if( (inputList.get(i).getFunction() == null) || 
-					(inputList.get(i).getFunction().getID() != inputID.get(i))) {
-				output = null;
+			if( inputList.get(i).getVersion() != inputID.get(i) ) {
+				setOutput( null );
 				return; 
 			}
 		}
 	}
 	
-	@SuppressWarnings("unchecked")
+	/**
+	 * @return the output, computed only if an input has changed or the memory was freed since it was last asked for.
+	 * Waits for a background evaluation of the current version if one is running, and runs
+	 * one that is still queued on this thread, so an evaluation thread never waits on a task behind it
+	 */
 	public Function getFunction() {
 		
+		RunnableFuture<Function> task = null; 
+		synchronized( this ) {
+			
+			checkDirtyInputs(); 
+			if( output != null ) return output; 
+			if( pending != null && pendingVersion == version ) task = pending; 
+		}
+		
+		if( task != null ) {
+			
+			//does nothing if the task has started elsewhere
+			boolean interrupted = Thread.currentThread().isInterrupted(); 
+			task.run(); 
+			
+			try {
+				
+				return task.get(); 
+				
+			} catch( InterruptedException e ) {
+				
+				Thread.currentThread().interrupt(); 
+				
+			} catch( ExecutionException | CancellationException e ) {
+				
+				//cancelled or failed in the background: evaluate here instead, 
+				//without the interrupt a cancel sent while the task ran on this thread
+				if( !interrupted && task.isCancelled() ) Thread.interrupted(); 
+			}
+		}
+		
+		return evaluate(); 
+	}
+	
+	/**
+	 * @return the output if it is up to date; otherwise null, after starting a background
+	 * evaluation that repaints the function list when it finishes
+	 */
+	public synchronized Function getFunctionLater() {
+		
 		checkDirtyInputs(); 
-		Function out = null; 
-		if( output == null || output.get() == null ) {
+		if( output != null || ( pending != null && pendingVersion == version ) ) return output; 
+		
+		pendingVersion = version; 
+		pending = EvaluationScheduler.submit( this::evaluate, out -> {
 			
-			out = combineOpsRule.combine(inputList); 
-			output = new SoftReference( out ); 
+			graphic.setDirty(); 
+			if( Core.getGUI() != null ) Core.getFunctionList().refresh(); 
+		} ); 
+		
+		return null; 
+	}
+	
+	/**
+	 * @return true while a background evaluation of the current output is running
+	 */
+	public synchronized boolean isEvaluating() {
+		
+		return output == null && pending != null && pendingVersion == version && !pending.isDone(); 
+	}
+	
+	/**
+	 * Computes the output for the current inputs, on the calling thread. The result is kept
+	 * unless an input changed in the meantime
+	 */
+	protected Function evaluate() {
+		
+		long evaluating; 
+		ArrayList<FunctionProducer> inputs; 
+		ArrayList<Long> versions = new ArrayList<Long>(); 
+		CombineOpsRule rule; 
+		
+		synchronized( this ) {
 			
-		} else out = (Function) output.get(); 
+			evaluating = version; 
+			inputs = inputList; 
+			rule = combineOpsRule; 
+			for( FunctionProducer input : inputs ) {
+				
+				versions.add(input.getVersion()); 
+			}
+		}
+		
+		Function out = rule.combine(inputs); 
+		
+		synchronized( this ) {
+			
+			if( version == evaluating ) {
+				
+				setOutput( out ); 
+				inputID = versions; 
+			}
+		}
 		
 		return out; 
 	}
 
 	public void paintSmallGraphic(Graphics2D g) {
 		
-		Function out = getFunction(); 
+		Function out = getFunctionLater(); 
 		if( out != null ) out.paintSmallGraphic((Graphics2D)g); 
+		graphic.setBusy( out == null && isEvaluating() ); 
 		graphic.paintSmallGraphic((Graphics2D)g); 
 
 	}
@@ -168,13 +351,18 @@ public abstract class OperatorSystem implements ThumbnailProducer, FunctionProdu
 	}
 
 	public void setInputList(ArrayList<FunctionProducer> inputList) {
+		for( FunctionProducer function: this.inputList ) {
+			
+			function.removeProducerListener(this); 
+		}
 		this.inputList = inputList;
 		inputID = new ArrayList<Long>(); 
 		for( FunctionProducer function: inputList ) {
 			
-			inputID.add(function.getFunction().getID()); 
+			inputID.add(function.getVersion()); 
+			function.addProducerListener(this); 
 		}
-		output = null;
+		invalidate();
 	
 	}
 
@@ -184,7 +372,7 @@ public abstract class OperatorSystem implements ThumbnailProducer, FunctionProdu
 
 	public void setOpList(ArrayList<Operation> opList) {
 		this.opList = opList;
-		output = null;
+		invalidate();
 	}
 
 	public CombineOpsRule getCombineOpsRule() {
@@ -192,8 +380,10 @@ public abstract class OperatorSystem implements ThumbnailProducer, FunctionProdu
 	}
 
 	public void setCombineOpsRule(CombineOpsRule combineOpsRule) {
+		//the replaced rule's intermediate results can never be reused
+		if( this.combineOpsRule != null && this.combineOpsRule != combineOpsRule ) this.combineOpsRule.clearMemo();
 		this.combineOpsRule = combineOpsRule;
-		output = null; 
+		invalidate(); 
 	}
 
 	public IconThumbnailGraphic getGraphic() {
@@ -202,7 +392,7 @@ public abstract class OperatorSystem implements ThumbnailProducer, FunctionProdu
 
 	public void setGraphic(IconThumbnailGraphic graphic) {
 		this.graphic = graphic; 
-		output = null;
+		setOutput( null );
 	}
 
 }
@@ -0,0 +1,149 @@
+package signals.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The shared parallel executor: splits data-parallel work over a range of independent items
+ * (rows and columns of 2D transforms, batches of signals, chunks of samples or terms) across
+ * one ForkJoinPool. Each item is computed by exactly the same code whichever thread runs it,
+ * so parallel results are bit-identical to sequential ones.
+ *
+ * The number of threads comes from the system property signals.fft.parallelism, or else
+ * the fft.parallelism configuration key (named for the transforms, which used the pool first).
+ * 0 (the default) uses all processors but one, leaving a core free for the event dispatch
+ * thread; 1 runs everything on the calling thread.
+ */
+public class ParallelExecutor {
+
+	public static final String PARALLELISM_PROPERTY = "signals.fft.parallelism";
+
+	//work on fewer values than this runs on the calling thread
+	public static final int MIN_PARALLEL_SIZE = 1 << 14;
+
+	//chunks per thread, so that uneven progress still balances
+	protected static final int CHUNKS_PER_THREAD = 4;
+
+	/**
+	 * Work on the items in [start, end). Implementations allocate their scratch buffers
+	 * per call (or per thread), never share them between calls.
+	 */
+	public interface RangeTask {
+
+		void run( int start, int end );
+	}
+
+	protected int parallelism;
+	protected ForkJoinPool pool;
+
+	protected ParallelExecutor() {
+
+		setParallelismInternal( readParallelism() );
+	}
+
+	private static class SingletonHolder {
+		private final static ParallelExecutor INSTANCE = new ParallelExecutor();
+	}
+
+	public static ParallelExecutor getInstance() {
+		return SingletonHolder.INSTANCE;
+	}
+
+	public static int getParallelism() {
+
+		return getInstance().parallelism;
+	}
+
+	/**
+	 * Replaces the pool with one of the given size; 0 uses all processors but one
+	 */
+	public static void setParallelism( int parallelism ) {
+
+		getInstance().setParallelismInternal( parallelism );
+	}
+
+	/**
+	 * Runs task over [0, count), split into chunks across the pool when the work
+	 * (on totalSize values, counted in long since the product of sizes can pass Integer.MAX_VALUE)
+	 * is large enough to benefit
+	 */
+	public static void forEach( int count, long totalSize, RangeTask task ) {
+
+		getInstance().run( count, totalSize, task );
+	}
+
+	protected void run( int count, long totalSize, RangeTask task ) {
+
+		ForkJoinPool pool;
+		int threads;
+
+		synchronized( this ) {
+
+			pool = this.pool;
+			threads = parallelism;
+		}
+
+		if( pool == null || count < 2 || totalSize < MIN_PARALLEL_SIZE ) {
+
+			task.run( 0, count );
+			return;
+		}
+
+		int chunks = Math.min( count, threads * CHUNKS_PER_THREAD );
+		int grain = ( count + chunks - 1 ) / chunks;
+		pool.invoke( new RangeAction( task, 0, count, grain ) );
+	}
+
+	private synchronized void setParallelismInternal( int parallelism ) {
+
+		if( parallelism <= 0 ) {
+
+			parallelism = Math.max( 1, Runtime.getRuntime().availableProcessors() - 1 );
+		}
+
+		if( pool != null ) pool.shutdown();
+
+		this.parallelism = parallelism;
+		pool = ( parallelism > 1 ) ? new ForkJoinPool( parallelism ) : null;
+	}
+
+	protected static int readParallelism() {
+
+		//the configuration is only loaded once the application has started
+		Config config = Core.getConfig();
+		int parallelism = ( config != null ) ? config.getFFTParallelism() : 0;
+
+		return Config.getSystemInt( PARALLELISM_PROPERTY, parallelism );
+	}
+
+	//splits [start, end) in halves until a piece is no larger than grain
+	protected static class RangeAction extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		protected transient RangeTask task;
+		protected int start, end, grain;
+
+		public RangeAction( RangeTask task, int start, int end, int grain ) {
+
+			this.task = task;
+			this.start = start;
+			this.end = end;
+			this.grain = grain;
+		}
+
+		@Override
+		protected void compute() {
+
+			if( end - start <= grain ) {
+
+				task.run( start, end );
+				return;
+			}
+
+			int middle = ( start + end ) >>> 1;
+			invokeAll( new RangeAction( task, start, middle, grain ), new RangeAction( task, middle, end, grain ) );
+		}
+	}
+
+}
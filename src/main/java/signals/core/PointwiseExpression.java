@@ -0,0 +1,314 @@
+package signals.core;
+
+/**
+ * A tree of pointwise operations over functions, evaluated in one pass.
+ *
+ * The samples are processed in chunks of CHUNK_SIZE: every leaf is copied into a small
+ * buffer, the operations run on the buffers while they are still in cache, and only the root
+ * is written to a full-size array. An expression such as 2*(A+B)*C - D therefore allocates its
+ * result and nothing else. Chunks run in parallel on the ParallelExecutor pool for large inputs.
+ *
+ * As with the operations themselves, the result takes its shape from the leftmost operand.
+ * If every leaf is real (its imaginary part is the shared zero array, see Zeros) and every operation
+ * keeps real operands real, only the real parts are evaluated and the result shares the zero array.
+ * If every leaf is a separable 2D function and every operation keeps it separable, toFunction
+ * works on the factors instead (see SeparableFactors). A leaf over a function therefore fetches
+ * the function's parts only when compute runs, so a separable input is never made into an image.
+ */
+public class PointwiseExpression {
+
+	/**
+	 * Samples per chunk; small enough for a chunk's buffers to stay in the L1/L2 cache
+	 */
+	public static final int CHUNK_SIZE = 2048;
+
+	// a leaf holds a function, whose parts are fetched by compute, or bare data; other nodes an operation
+	protected final Function function;
+	protected double[] real, imag;
+
+	protected final PointwiseOperation operation;
+	protected final PointwiseExpression operandA, operandB;
+
+	// number of chunk buffers, as {real, imag} pairs, needed to evaluate this node
+	protected final int depth;
+
+	// number of operations in the tree
+	protected final int size;
+
+	protected PointwiseExpression( Function function, double[] real, double[] imag ) {
+
+		this.function = function;
+		this.real = real;
+		this.imag = imag;
+		operation = null;
+		operandA = null;
+		operandB = null;
+		depth = 1;
+		size = 0;
+	}
+
+	protected PointwiseExpression( PointwiseOperation operation, PointwiseExpression operandA, PointwiseExpression operandB ) {
+
+		function = null;
+		real = null;
+		imag = null;
+		this.operation = operation;
+		this.operandA = operandA;
+		this.operandB = operandB;
+
+		if( operandB == null ) {
+
+			depth = operandA.depth;
+			size = operandA.size + 1;
+
+		} else {
+
+			depth = Math.max( operandA.depth, operandB.depth + 1 );
+			size = operandA.size + operandB.size + 1;
+		}
+	}
+
+	public static PointwiseExpression of( Function function ) {
+
+		return new PointwiseExpression( function, null, null );
+	}
+
+	/**
+	 * A leaf over bare arrays; the expression can be computed but not turned into a function
+	 */
+	public static PointwiseExpression of( double[] real, double[] imag ) {
+
+		return new PointwiseExpression( null, real, imag );
+	}
+
+	public static PointwiseExpression apply( PointwiseOperation operation, PointwiseExpression operand ) {
+
+		return new PointwiseExpression( operation, operand, null );
+	}
+
+	public static PointwiseExpression apply( PointwiseOperation operation,
+			PointwiseExpression operandA, PointwiseExpression operandB ) {
+
+		return new PointwiseExpression( operation, operandA, operandB );
+	}
+
+	public boolean isLeaf() {
+
+		return operation == null;
+	}
+
+	/**
+	 * @return true if the result is known to be real, and will share the zero array
+	 */
+	public boolean isReal() {
+
+		if( isLeaf() ) return ( function != null && imag == null ) ? function.isReal() : Zeros.isZero( imag );
+
+		return operandA.isReal() && ( operandB == null || operandB.isReal() ) && operation.keepsReal();
+	}
+
+	/**
+	 * @return the number of operations in the expression
+	 */
+	public int getSize() {
+
+		return size;
+	}
+
+	/**
+	 * @return the leftmost leaf, which gives the result its length and shape
+	 */
+	protected PointwiseExpression getShape() {
+
+		PointwiseExpression shape = this;
+		while( !shape.isLeaf() ) shape = shape.operandA;
+		return shape;
+	}
+
+	public int getLength() {
+
+		PointwiseExpression shape = getShape();
+		if( shape.real != null ) return shape.real.length;
+
+		if( shape.function instanceof Function2D ) {
+
+			return ( (Function2D) shape.function ).getDimensionX() * ( (Function2D) shape.function ).getDimensionY();
+		}
+
+		return ( (Function1D) shape.function ).getDimension();
+	}
+
+	/**
+	 * @return the name the result would have if each operation were applied in turn
+	 */
+	public String getDescriptor() {
+
+		if( isLeaf() ) return function.getCompactDescriptor();
+
+		return operation.describe( operandA.getDescriptor(),
+				operandB == null ? null : operandB.getDescriptor() );
+	}
+
+	/**
+	 * @return the factors of the result if it is a separable 2D function, found without
+	 * evaluating any samples; otherwise null
+	 */
+	public SeparableFactors getFactors() {
+
+		if( isLeaf() ) return ( function instanceof Function2D ) ? ( (Function2D) function ).getFactors() : null;
+
+		SeparableFactors factorsA = operandA.getFactors();
+		if( factorsA == null ) return null;
+
+		SeparableFactors factorsB = null;
+		if( operandB != null ) {
+
+			factorsB = operandB.getFactors();
+			if( factorsB == null ) return null;
+		}
+
+		return operation.applyFactors( factorsA, factorsB );
+	}
+
+	/**
+	 * Evaluates the expression into new arrays
+	 * @return { real, imaginary }
+	 */
+	public double[][] compute() {
+
+		fetch();
+
+		final boolean realValued = isReal();
+		final int length = getLength();
+		final double[] realOut = new double[length];
+		final double[] imagOut = realValued ? Zeros.zeros( length ) : new double[length];
+
+		int chunks = ( length + CHUNK_SIZE - 1 ) / CHUNK_SIZE;
+
+		ParallelExecutor.forEach( chunks, (long) length * Math.max( 1, size ), ( first, last ) -> {
+
+			double[][] buffers = new double[2 * depth][Math.min( CHUNK_SIZE, length )];
+
+			for( int chunk = first; chunk < last; ++chunk ) {
+
+				int start = chunk * CHUNK_SIZE;
+				int count = Math.min( CHUNK_SIZE, length - start );
+
+				if( realValued ) {
+
+					evaluateReal( start, count, buffers, 0 );
+					System.arraycopy( buffers[0], 0, realOut, start, count );
+					continue;
+				}
+
+				evaluate( start, count, buffers, 0 );
+				System.arraycopy( buffers[0], 0, realOut, start, count );
+				System.arraycopy( buffers[1], 0, imagOut, start, count );
+			}
+		} );
+
+		double[][] output = { realOut, imagOut };
+		return output;
+	}
+
+	/**
+	 * Fetches the parts of the functions at the leaves
+	 */
+	protected void fetch() {
+
+		if( isLeaf() ) {
+
+			if( real == null ) {
+
+				real = function.getReal();
+				imag = function.getImaginary();
+			}
+			return;
+		}
+
+		operandA.fetch();
+		if( operandB != null ) operandB.fetch();
+	}
+
+	/**
+	 * Evaluates samples [start, start + count) into the buffer pair at level,
+	 * using the deeper pairs for operand B
+	 */
+	protected void evaluate( int start, int count, double[][] buffers, int level ) {
+
+		double[] realBuffer = buffers[2 * level];
+		double[] imagBuffer = buffers[2 * level + 1];
+
+		if( isLeaf() ) {
+
+			System.arraycopy( real, start, realBuffer, 0, count );
+			System.arraycopy( imag, start, imagBuffer, 0, count );
+			return;
+		}
+
+		operandA.evaluate( start, count, buffers, level );
+
+		if( operandB == null ) {
+
+			operation.apply( realBuffer, imagBuffer, null, null, count );
+			return;
+		}
+
+		operandB.evaluate( start, count, buffers, level + 1 );
+		operation.apply( realBuffer, imagBuffer, buffers[2 * level + 2], buffers[2 * level + 3], count );
+	}
+
+	/**
+	 * As evaluate, for a real expression: only the real buffer of each pair is used
+	 */
+	protected void evaluateReal( int start, int count, double[][] buffers, int level ) {
+
+		double[] realBuffer = buffers[2 * level];
+
+		if( isLeaf() ) {
+
+			System.arraycopy( real, start, realBuffer, 0, count );
+			return;
+		}
+
+		operandA.evaluateReal( start, count, buffers, level );
+
+		if( operandB == null ) {
+
+			operation.applyReal( realBuffer, null, count );
+			return;
+		}
+
+		operandB.evaluateReal( start, count, buffers, level + 1 );
+		operation.applyReal( realBuffer, buffers[2 * level + 2], count );
+	}
+
+	/**
+	 * Evaluates the expression into a function shaped like its leftmost operand;
+	 * a bare leaf is returned as it is
+	 */
+	public Function toFunction() {
+
+		if( isLeaf() ) return function;
+
+		Function shape = getShape().function;
+		String name = getDescriptor();
+
+		//a separable result keeps its factors, and its samples are left until they are needed
+		SeparableFactors factors = getFactors();
+		if( factors != null ) return FunctionFactory.createSeparableFunction2D( factors, shape.isZeroCentered(), name );
+
+		double[][] output = compute();
+
+		if( shape instanceof Function2D ) {
+
+			int x_dimension = ( (Function2D) shape ).getDimensionX();
+			int y_dimension = ( (Function2D) shape ).getDimensionY();
+
+			return FunctionFactory.createFunction2D( output[0], output[1], shape.isZeroCentered(), name,
+					x_dimension, y_dimension );
+		}
+
+		return FunctionFactory.createFunction1D( output[0], output[1], shape.isZeroCentered(), name );
+	}
+}
@@ -0,0 +1,44 @@
+package signals.core;
+
+/**
+ * An operation whose output sample i depends only on sample i of its inputs.
+ * CombineOpsRule fuses runs of these into a single pass over the data (see PointwiseExpression),
+ * so only the result of the run is allocated.
+ *
+ * Implemented by UnaryOperation and BinaryOperation subclasses; unary operations ignore operand B.
+ */
+public interface PointwiseOperation {
+
+	/**
+	 * Applies the operation to the first length samples of real and imag, in place
+	 * @param realB the second operand, or null for a unary operation
+	 */
+	public void apply( double[] real, double[] imag, double[] realB, double[] imagB, int length );
+
+	/**
+	 * @return true if real operands give a real result, which applyReal computes
+	 */
+	public boolean keepsReal();
+
+	/**
+	 * Applies the operation to real operands, in place; only called if keepsReal()
+	 * @param realB the second operand, or null for a unary operation
+	 */
+	public void applyReal( double[] real, double[] realB, int length );
+
+	/**
+	 * @param operandB null for a unary operation
+	 * @return the name of the result, built from the compact descriptors of the operands
+	 */
+	public String describe( String operandA, String operandB );
+
+	/**
+	 * Applies the operation to separable functions through their factors
+	 * @param factorsB null for a unary operation
+	 * @return the factors of the result, or null if it is not separable (a sum, for instance)
+	 */
+	public default SeparableFactors applyFactors( SeparableFactors factorsA, SeparableFactors factorsB ) {
+
+		return null;
+	}
+}
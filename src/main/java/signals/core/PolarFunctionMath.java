@@ -1,99 +1,88 @@
 package signals.core;
 
-import signals.operation.ArrayUtilities;
+import java.util.Arrays;
 
+/**
+ * Radially symmetric images from their values on one eighth of the plane.
+ *
+ * A radial function is evaluated once for each point (x, y) with 0 <= x <= y, in the order
+ * of Indices.sliceRadius, and the image is filled from that slice by its 8-fold symmetry:
+ * the pixel at offset (dx, dy) from the center takes the value at (min(|dx|,|dy|), max(|dx|,|dy|)).
+ * The pixels are gathered a row at a time, straight into the row-major image (largest y first),
+ * in parallel for large images, or into a block of rows at a time with reflectRows.
+ */
 public class PolarFunctionMath {
 
+	/**
+	 * @return the index in the slice of the point (x, y), 0 <= x <= y
+	 */
+	public static int sliceIndex( int x, int y ) {
+
+		return y*(y+1)/2 + x;
+	}
+
 	public static double[] reflect( double[] eigth, int x_dimension, int y_dimension, boolean zeroCentered ) {
-	
-		return( zeroCentered ? PolarFunctionMath.refelectZeroCentered( eigth, x_dimension, y_dimension ) : 
-			PolarFunctionMath.reflectZeroStart( eigth, x_dimension, y_dimension ) );
+
+		return reflect( eigth, null, x_dimension, y_dimension, zeroCentered );
 	}
 
-	public static double[] refelectZeroCentered( double[] eigth, int x_dimension, int y_dimension ) {
-	
-		int center_x = x_dimension/2; 
-		int center_y = y_dimension/2;
-	
-		int max_dimension = Math.max( center_x, center_y ); 
-		
-		center_y -= 1;
-	
-		double[][] data = new double[x_dimension][y_dimension];
-	
-		int idx = 0; 
-		for( int y = 0; y <= max_dimension; ++y ) {
-	
-			for( int x = 0; x <= y; ++x ) {
-	
-				double value = eigth[idx++];
-	
-				//lower portion of first quadrant
-				if( (center_x+x) < x_dimension && (center_y-y) >= 0 )
-					data[center_x+x][center_y-y] = value;
-	
-				//upper portion of first quadrant
-				if( (center_x+y) < x_dimension && (center_y-x) >= 0 )
-					data[center_x+y][center_y-x] = value; 
-	
-	
-				//upper portion of second quadrant
-				if( (center_x-y) >= 0 && (center_y-x) >= 0 )
-					data[center_x-y][center_y-x] = value; 
-	
-				//lower portion of second quadrant
-				if( (center_x-x) >= 0 && (center_y-y) >= 0 )
-					data[center_x-x][center_y-y] = value;	
-	
-	
-				//lower portion of third quadrant
-				if( (center_x-y) >= 0 && (center_y+x) < y_dimension )
-					data[center_x-y][center_y+x] = value; 
-	
-				//upper portion of third quadrant
-				if( (center_x-x) >= 0 && (center_y+y) < y_dimension )
-					data[center_x-x][center_y+y] = value;			
-	
-	
-				//lower portion of fourth quadrant
-				if( (center_x+y) < x_dimension && (center_y+x) < y_dimension )
-					data[center_x+y][center_y+x] = value; 
-	
-				//upper portion of fourth quadrant
-				if( (center_x+x) < x_dimension && (center_y+y) < y_dimension )
-					data[center_x+x][center_y+y] = value;
-	
-			}
-		}
-	
-		return ArrayUtilities.flattenTranspose(data); 
+	/**
+	 * @param factor an image multiplied in pixel by pixel (the angular part of a polar term), or null
+	 */
+	public static double[] reflect( final double[] eigth, final double[] factor,
+			final int x_dimension, final int y_dimension, final boolean zeroCentered ) {
+
+		final double[] output = new double[x_dimension*y_dimension];
+
+		ParallelExecutor.forEach( y_dimension, x_dimension*y_dimension, ( firstRow, lastRow ) ->
+			reflectRows( eigth, factor, x_dimension, y_dimension, zeroCentered, firstRow, lastRow, output, firstRow*x_dimension ) );
+
+		return output;
 	}
 
-	public static double[] reflectZeroStart( double[] half, int x_dimension, int y_dimension ) {
-	
-		int dimension = Math.max( x_dimension, y_dimension ); 
-	
-		double[][] data = new double[x_dimension][y_dimension];
-	
-		int idx = 0; 
-	
-		for( int y = 0; y < dimension; ++y ) {
-	
-			for( int x = 0; x <= y; ++x ) {
-	
-				double value = half[idx++];
-	
-				//upper portion of first quadrant
-				if( x < x_dimension && (y_dimension-1-y) >= 0 )
-					data[x][y_dimension-1-y] = value;
-	
-				//upper portion of first quadrant
-				if( y < x_dimension && (y_dimension-1-x) >= 0 )
-					data[y][y_dimension-1-x] = value; 
+	/**
+	 * Writes every pixel of rows [firstRow, lastRow) of the image, row by row from output[offset];
+	 * factor, if not null, is indexed like output
+	 */
+	public static void reflectRows( double[] eigth, double[] factor, int x_dimension, int y_dimension, boolean zeroCentered,
+			int firstRow, int lastRow, double[] output, int offset ) {
+
+		//column and row of the origin; zero centered, the origin is at row y_dimension/2 - 1
+		int center_x = zeroCentered ? x_dimension/2 : 0;
+		int center_y = zeroCentered ? y_dimension/2 - 1 : y_dimension - 1;
+
+		//pixels farther out than the last complete row of the slice are zero
+		int rows = 0;
+		while( sliceIndex( 0, rows + 1 ) <= eigth.length ) ++rows;
+		int limit = rows - 1;
+
+		int first = Math.max( 0, center_x - limit );
+		int last = Math.min( x_dimension - 1, center_x + limit );
+
+		for( int row = firstRow; row < lastRow; ++row ) {
+
+			int idx = offset + ( row - firstRow )*x_dimension;
+
+			int dy = Math.abs( center_y - row );
+			if( dy > limit || first > last ) {
+
+				Arrays.fill( output, idx, idx + x_dimension, 0 );
+				continue;
+			}
+
+			Arrays.fill( output, idx, idx + first, 0 );
+			Arrays.fill( output, idx + last + 1, idx + x_dimension, 0 );
+
+			int rowStart = dy*(dy+1)/2;
+
+			for( int i = first; i <= last; ++i ) {
+
+				int dx = Math.abs( i - center_x );
+				double value = ( dx <= dy ) ? eigth[rowStart + dx] : eigth[sliceIndex( dy, dx )];
+
+				output[idx + i] = ( factor == null ) ? value : value * factor[idx + i];
 			}
 		}
-	
-		return ArrayUtilities.flattenTranspose(data);
 	}
 
 	/**
@@ -103,16 +92,16 @@ public class PolarFunctionMath {
 	 * @return
 	 */
 	public static double[] radius( double[] xIndices, double[] yIndices ) {
-	
-		int dimension = xIndices.length; 
-		double[] radius = new double[dimension]; 
-	
+
+		int dimension = xIndices.length;
+		double[] radius = new double[dimension];
+
 		for( int i = 0; i < dimension; ++i ) {
-	
+
 			radius[i] = Math.sqrt( xIndices[i]*xIndices[i] + yIndices[i]*yIndices[i] );
 		}
-	
-		return radius; 
+
+		return radius;
 	}
 
 }
@@ -0,0 +1,10 @@
+package signals.core;
+
+/**
+ * Told when the function a FunctionProducer produces has changed, so that whatever
+ * was computed from it can be marked stale without polling
+ */
+public interface ProducerListener {
+
+	public void producerChanged( FunctionProducer producer );
+}
@@ -0,0 +1,56 @@
+package signals.core;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+
+/**
+ * The dependents of a FunctionProducer. Listeners are held weakly, so a system
+ * that is no longer used does not stay reachable through its inputs.
+ */
+public class ProducerListeners {
+
+	protected final ArrayList<WeakReference<ProducerListener>> listeners = new ArrayList<WeakReference<ProducerListener>>();
+
+	public synchronized void add( ProducerListener listener ) {
+
+		for( WeakReference<ProducerListener> reference : listeners ) {
+
+			if( reference.get() == listener ) return;
+		}
+		listeners.add( new WeakReference<ProducerListener>( listener ) );
+	}
+
+	public synchronized void remove( ProducerListener listener ) {
+
+		listeners.removeIf( reference -> reference.get() == null || reference.get() == listener );
+	}
+
+	/**
+	 * Tells every live listener that producer changed; listeners that have been collected are dropped
+	 */
+	public void fire( FunctionProducer producer ) {
+
+		ArrayList<ProducerListener> live = new ArrayList<ProducerListener>();
+
+		synchronized( this ) {
+
+			listeners.removeIf( reference -> reference.get() == null );
+			for( WeakReference<ProducerListener> reference : listeners ) {
+
+				ProducerListener listener = reference.get();
+				if( listener != null ) live.add( listener );
+			}
+		}
+
+		for( ProducerListener listener : live ) {
+
+			listener.producerChanged( producer );
+		}
+	}
+
+	public synchronized int size() {
+
+		listeners.removeIf( reference -> reference.get() == null );
+		return listeners.size();
+	}
+}
@@ -75,22 +75,6 @@ public class RealImagFunction1D extends Function1D {
 
 	}
 
-	@Override
-	public void setPartA(FunctionPart1D partA) {
-		super.setPartA(partA);
-		real = null; 
-		magnitude = null; 
-		phase = null; 
-	}
-
-	@Override
-	public void setPartB(FunctionPart1D partB) {
-		super.setPartB(partB);
-		imaginary = null; 
-		magnitude = null; 
-		phase = null; 
-	}
-
 	public String getEquation() {
 
 		return partA.getEquation() + " + i(" + partB.getEquation() + ")"; 
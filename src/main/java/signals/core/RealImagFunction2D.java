@@ -63,6 +63,21 @@ public class RealImagFunction2D extends Function2D {
 
 	}
 
+	/**
+	 * A real part that is a product of XY terms, with no imaginary part, is separable
+	 * @see signals.core.Function2D#findFactors()
+	 */
+	@Override
+	protected SeparableFactors findFactors() {
+		
+		if( !partB.isZero() ) return null; 
+		
+		double[][] real = partA.getFactors( dimensionX, dimensionY, zeroCentered ); 
+		if( real == null ) return null; 
+		
+		return SeparableFactors.real( real[0], real[1] ); 
+	}
+
 	@Override
 	protected double[] createMagnitude() {
 
@@ -78,22 +93,6 @@ public class RealImagFunction2D extends Function2D {
 
 	}
 
-	@Override
-	public void setPartA(FunctionPart2D partA) {
-		super.setPartA(partA);
-		real = null; 
-		magnitude = null; 
-		phase = null; 
-	}
-
-	@Override
-	public void setPartB(FunctionPart2D partB) {
-		super.setPartB(partB);
-		imaginary = null; 
-		magnitude = null; 
-		phase = null; 
-	}
-
 	public String getEquation() {
 
 		return partA.getEquation() + " + i(" + partB.getEquation() + ")"; 
@@ -0,0 +1,191 @@
+package signals.core;
+
+import signals.operation.ArrayMath;
+import signals.operation.Transforms;
+
+/**
+ * A 2D function that is the outer product of a horizontal and a vertical 1D function,
+ * f(x, y) = fx(x) fy(y), kept as its two factors.
+ *
+ * Products, scaling and the 2D Fourier transform of such a function are products, scaling
+ * and 1D transforms of its factors, so they cost O(X + Y) (or O(X log X + Y log Y)) rather
+ * than O(XY). The dense image is only built by materialize, when a part is asked for.
+ *
+ * Each factor is complex; an imaginary part may be the shared zero array (see Zeros). The
+ * vertical factor is indexed by increasing y, while the rows of the dense image are stored
+ * from the largest y down, as XYFunctionTerm2D creates them. The arrays are shared: do not
+ * modify them.
+ */
+public class SeparableFactors {
+
+	protected final double[] xReal, xImag, yReal, yImag;
+
+	public SeparableFactors( double[] xReal, double[] xImag, double[] yReal, double[] yImag ) {
+
+		this.xReal = xReal;
+		this.xImag = xImag;
+		this.yReal = yReal;
+		this.yImag = yImag;
+	}
+
+	/**
+	 * Factors of a real function
+	 */
+	public static SeparableFactors real( double[] x, double[] y ) {
+
+		return new SeparableFactors( x, Zeros.zeros( x.length ), y, Zeros.zeros( y.length ) );
+	}
+
+	public int getDimensionX() {
+
+		return xReal.length;
+	}
+
+	public int getDimensionY() {
+
+		return yReal.length;
+	}
+
+	public double[] getXReal() {
+		return xReal;
+	}
+
+	public double[] getXImaginary() {
+		return xImag;
+	}
+
+	public double[] getYReal() {
+		return yReal;
+	}
+
+	public double[] getYImaginary() {
+		return yImag;
+	}
+
+	/**
+	 * @return true if both factors are known to be real
+	 */
+	public boolean isReal() {
+
+		return Zeros.isZero( xImag ) && Zeros.isZero( yImag );
+	}
+
+	/**
+	 * @return the pointwise product of two separable functions, or null if their dimensions differ
+	 */
+	public SeparableFactors times( SeparableFactors other ) {
+
+		if( getDimensionX() != other.getDimensionX() || getDimensionY() != other.getDimensionY() ) return null;
+
+		double[][] x = ArrayMath.multiply( xReal, xImag, other.xReal, other.xImag );
+		double[][] y = ArrayMath.multiply( yReal, yImag, other.yReal, other.yImag );
+
+		return new SeparableFactors( x[0], x[1], y[0], y[1] );
+	}
+
+	/**
+	 * @return the function multiplied by a complex scalar, which is applied to the horizontal factor
+	 */
+	public SeparableFactors scale( double scaleReal, double scaleImag ) {
+
+		int length = xReal.length;
+		double[] real = new double[length];
+
+		if( scaleImag == 0 && Zeros.isZero( xImag ) ) {
+
+			for( int i = 0; i < length; ++i ) {
+
+				real[i] = xReal[i] * scaleReal;
+			}
+
+			return new SeparableFactors( real, xImag, yReal, yImag );
+		}
+
+		double[] imag = new double[length];
+		for( int i = 0; i < length; ++i ) {
+
+			real[i] = xReal[i] * scaleReal - xImag[i] * scaleImag;
+			imag[i] = xImag[i] * scaleReal + xReal[i] * scaleImag;
+		}
+
+		return new SeparableFactors( real, imag, yReal, yImag );
+	}
+
+	/**
+	 * @return the complex conjugate, which is the product of the conjugated factors
+	 */
+	public SeparableFactors conjugate() {
+
+		return new SeparableFactors( xReal, negate( xImag ), yReal, negate( yImag ) );
+	}
+
+	private static double[] negate( double[] imag ) {
+
+		if( Zeros.isZero( imag ) ) return imag;
+
+		double[] negated = new double[imag.length];
+		for( int i = 0; i < imag.length; ++i ) {
+
+			negated[i] = -imag[i];
+		}
+
+		return negated;
+	}
+
+	/**
+	 * @return the 2D Fourier transform, computed as the 1D transforms of the factors. The 2D
+	 * normalizations are products of the 1D ones along each axis, so they carry over.
+	 */
+	public SeparableFactors transform( boolean zeroCentered, boolean inverse, int normalization ) {
+
+		double[][] x = Transforms.computeFFT1D( xReal, xImag, zeroCentered, inverse, normalization );
+		double[][] y = Transforms.computeFFT1D( yReal, yImag, zeroCentered, inverse, normalization );
+
+		return new SeparableFactors( x[0], x[1], y[0], y[1] );
+	}
+
+	/**
+	 * Builds the dense image, a row at a time, in parallel for large images
+	 * @return { real, imaginary }, row-major with the largest y first; the imaginary part
+	 * is the shared zero array if both factors are real
+	 */
+	public double[][] materialize() {
+
+		final int x_dimension = getDimensionX();
+		final int y_dimension = getDimensionY();
+		final boolean real = isReal();
+
+		final double[] realOut = new double[x_dimension * y_dimension];
+		final double[] imagOut = real ? Zeros.zeros( x_dimension * y_dimension ) : new double[x_dimension * y_dimension];
+
+		ParallelExecutor.forEach( y_dimension, x_dimension * y_dimension, ( firstRow, lastRow ) -> {
+
+			for( int row = firstRow; row < lastRow; ++row ) {
+
+				int k = y_dimension - 1 - row;
+				int idx = row * x_dimension;
+
+				if( real ) {
+
+					double yr = yReal[k];
+					for( int i = 0; i < x_dimension; ++i ) {
+
+						realOut[idx + i] = xReal[i] * yr;
+					}
+					continue;
+				}
+
+				double yr = yReal[k];
+				double yi = yImag[k];
+				for( int i = 0; i < x_dimension; ++i ) {
+
+					realOut[idx + i] = xReal[i] * yr - xImag[i] * yi;
+					imagOut[idx + i] = xReal[i] * yi + xImag[i] * yr;
+				}
+			}
+		} );
+
+		double[][] output = { realOut, imagOut };
+		return output;
+	}
+}
@@ -10,5 +10,10 @@ public interface Showable {
 	
 	public void freeMemory(); 
 	
+	/**
+	 * Keeps this item's data in the DataCache while it is on display
+	 */
+	public void setPinned( boolean pinned ); 
+	
 	public Object clone(); 
 }
@@ -38,21 +38,27 @@ public class Zeros {
 	public static double[] zeros( int dimension ) {
 		
 		//return new double[dimension];
-		return (double[]) getInstance().getZeros(dimension).get();
+		return getInstance().getZeros(dimension);
 	}
 	
+	/*
+	 * Zero arrays are recognized by identity, so unlike other data they cannot be evicted by the 
+	 * DataCache while still in use: a SoftReference is only cleared once nothing holds the array. 
+	 * Synchronized, as parallel operations ask for zeros too. 
+	 */
 	@SuppressWarnings("unchecked")
-	private SoftReference getZeros( int key ) {
+	private synchronized double[] getZeros( int key ) {
 		
-		SoftReference zeroArray = null; 
-		if( !zeros.containsKey(key) || zeros.get(key).get() == null ) {
-			
-			zeroArray = new SoftReference( new double[key] );
-			zeros.put( key, zeroArray );
+		SoftReference zeroArray = zeros.get(key); 
+		double[] array = ( zeroArray == null ) ? null : (double[]) zeroArray.get(); 
+		
+		if( array == null ) {
 			
-		} else zeroArray = zeros.get(key); 
+			array = new double[key]; 
+			zeros.put( key, new SoftReference( array ) );
+		}
 		
-		return zeroArray; 
+		return array; 
 	}
 	
 }
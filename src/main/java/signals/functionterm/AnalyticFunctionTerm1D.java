@@ -2,14 +2,17 @@ package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
 import java.text.NumberFormat;
+import java.util.Arrays;
 
 import javax.swing.SpinnerNumberModel;
 
 import signals.core.Constants;
+import signals.core.CombineTermsRule;
 import signals.core.Core;
 import signals.core.DataGenerator;
 import signals.core.DataGeneratorTypeModel;
 import signals.core.FunctionTerm1D;
+import signals.core.ParallelExecutor;
 
 /**
  * Abstract base class for analytic 1D special functions
@@ -224,11 +227,76 @@ implements AnalyticFunctionTerm {
 	
 	public void setOrder( int order ) {}  
 	
+	/**
+	 * Samples per chunk when create( int, boolean ) fills the output in parallel
+	 */
+	public static final int CHUNK_SIZE = 4096;
+
+	/**
+	 * @return true if each sample depends only on its own index, so that fill can be called 
+	 * on any part of the output. Terms placed relative to the first index (deltas), defined 
+	 * by the dimension (noise, data) return false. 
+	 */
+	public boolean isPointwise() {
+
+		return true; 
+	}
+
+	/**
+	 * Writes the function at firstIndex, firstIndex + step, ... to out[offset, offset + count), 
+	 * without an array of indices. For a pointwise term, calls on disjoint parts of out may run 
+	 * concurrently. 
+	 */
+	public void fill( double[] out, int offset, int count, double firstIndex, double step ) {
+
+		evaluate( null, firstIndex, step, out, offset, count );
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see signals.core.FunctionTerm1D#create(double[])
+	 */
+	public double[] create( double[] indices ) {
+
+		double[] out = new double[indices.length];
+		evaluate( indices, 0, 0, out, 0, indices.length );
+
+		return out;
+	}
+
+	/**
+	 * Writes the function at x = index( indices, firstIndex, step, i ) to out[offset + i], i in [0, count): 
+	 * at the given indices, or along the range when indices is null. create( double[] ) and fill both 
+	 * come here, so a term states its formula once, in one loop over its hoisted parameters. Terms 
+	 * that override create( double[] ) instead keep this default, which evaluates create over the range. 
+	 */
+	protected void evaluate( double[] indices, double firstIndex, double step, double[] out, int offset, int count ) {
+
+		if( indices == null ) {
+
+			indices = new double[count];
+			for( int i = 0; i < count; ++i ) {
+
+				indices[i] = firstIndex + i * step;
+			}
+		}
+
+		System.arraycopy( create(indices), 0, out, offset, count );
+	}
+
+	/**
+	 * @return the i-th index evaluated: indices[i], or firstIndex + i * step when there are no indices
+	 */
+	protected static double index( double[] indices, double firstIndex, double step, int i ) {
+
+		return ( indices != null ) ? indices[i] : firstIndex + i * step;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see signals.core.FunctionTerm1D#create(int)
 	 */
-	public double[] create(int dimension, boolean zeroCentered ) {
+	public double[] create( final int dimension, boolean zeroCentered ) {
 
 		//create indices based on dimension and first index
 		int firstIndex = 0; 
@@ -237,13 +305,94 @@ implements AnalyticFunctionTerm {
 			firstIndex = -dimension/2;
 		}
 
-		double[] indices = new double[dimension];
-		for( int i = 0; i < dimension; ++i ) {
+		if( !isPointwise() ) {
+
+			double[] indices = new double[dimension];
+			for( int i = 0; i < dimension; ++i ) {
+
+				indices[i] = firstIndex + i;
+			}
+
+			return create(indices);
+		}
+
+		final double[] output = new double[dimension];
+		final int first = firstIndex; 
+		int chunks = ( dimension + CHUNK_SIZE - 1 ) / CHUNK_SIZE;
+
+		ParallelExecutor.forEach( chunks, dimension, ( firstChunk, lastChunk ) -> {
+
+			int start = firstChunk * CHUNK_SIZE;
+			int end = Math.min( dimension, lastChunk * CHUNK_SIZE );
+			fill( output, start, end - start, first + start, 1 );
+		} );
+
+		return output;
+	}
+
+	/**
+	 * As create( double[] ), in parallel chunks for a pointwise term; for the long index 
+	 * arrays of 2D terms, such as the radii of a polar term 
+	 */
+	public double[] createInChunks( final double[] indices ) {
+
+		final int dimension = indices.length; 
+		if( !isPointwise() || dimension <= CHUNK_SIZE ) return create( indices );
+
+		final double[] output = new double[dimension];
+		int chunks = ( dimension + CHUNK_SIZE - 1 ) / CHUNK_SIZE;
+
+		ParallelExecutor.forEach( chunks, dimension, ( firstChunk, lastChunk ) -> {
+
+			for( int chunk = firstChunk; chunk < lastChunk; ++chunk ) {
+
+				int start = chunk * CHUNK_SIZE;
+				int end = Math.min( dimension, start + CHUNK_SIZE );
+				System.arraycopy( create( Arrays.copyOfRange( indices, start, end ) ), 0, output, start, end - start );
+			}
+		} );
+
+		return output;
+	}
+
+	/**
+	 * Pointwise terms fill each block directly
+	 * @see signals.core.FunctionTerm1D#createBlocks(int, boolean)
+	 */
+	@Override
+	public CombineTermsRule.TermBlocks createBlocks( int dimension, boolean zeroCentered ) {
+
+		if( !isPointwise() ) return super.createBlocks( dimension, zeroCentered );
+
+		final int firstIndex = zeroCentered ? -dimension/2 : 0;
+
+		return ( start, count, output ) -> fill( output, 0, count, firstIndex + start, 1 );
+	}
+
+	/**
+	 * x^n by repeated squaring; much faster than Math.pow for the small integer 
+	 * exponents of the monomial, Gaussian and chirp terms 
+	 */
+	public static double power( double x, int n ) {
+
+		if( n < 0 ) return 1 / power( x, -n );
+
+		switch( n ) {
+		case 0: return 1; 
+		case 1: return x; 
+		case 2: return x * x; 
+		case 3: return x * x * x; 
+		}
+
+		double result = 1; 
+		while( n > 0 ) {
 
-			indices[i] = firstIndex + i;
+			if( ( n & 1 ) != 0 ) result *= x;
+			x *= x; 
+			n >>= 1;
 		}
 
-		return create(indices);
+		return result;
 	}
 
 	/* (non-Javadoc)
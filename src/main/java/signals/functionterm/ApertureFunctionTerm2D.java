@@ -0,0 +1,51 @@
+package signals.functionterm;
+
+import java.awt.image.renderable.ParameterBlock;
+import java.util.Arrays;
+
+import signals.core.CombineTermsRule;
+
+/**
+ * A term made of apertures set on a zero background, which can set any rows of its image
+ * directly: create and createBlocks both go through setRows.
+ */
+public abstract class ApertureFunctionTerm2D extends AnalyticFunctionTerm2D {
+
+	public ApertureFunctionTerm2D() {
+		super();
+	}
+
+	public ApertureFunctionTerm2D(ParameterBlock paramBlock) {
+		super(paramBlock);
+	}
+
+	/**
+	 * Sets the apertures in rows [firstRow, lastRow) of the image (row-major, largest y first), 
+	 * stored in image from index 0 and already zero
+	 */
+	protected abstract void setRows( double[] image, int x_dimension, int y_dimension, boolean zeroCentered, 
+			int firstRow, int lastRow ); 
+
+	@Override
+	public double[] create(int x_dimension, int y_dimension, boolean zeroCentered) {
+		
+		double[] array = new double[x_dimension*y_dimension]; 
+		setRows( array, x_dimension, y_dimension, zeroCentered, 0, y_dimension ); 
+		
+		return array;
+	}
+
+	/**
+	 * Any rows of the apertures are set directly
+	 * @see signals.core.FunctionTerm2D#createBlocks(int, int, boolean)
+	 */
+	@Override
+	public CombineTermsRule.TermBlocks createBlocks(final int x_dimension, final int y_dimension, final boolean zeroCentered) {
+		
+		return rowBlocks( x_dimension, ( firstRow, lastRow, output ) -> {
+			
+			Arrays.fill( output, 0, ( lastRow - firstRow )*x_dimension, 0 ); 
+			setRows( output, x_dimension, y_dimension, zeroCentered, firstRow, lastRow ); 
+		} ); 
+	}
+}
@@ -1,37 +1,67 @@
 package signals.functionterm;
 
+import java.util.Arrays;
+
 public class Apertures {
 
 	public static void setFilledAperture( double[][] array, int x_dimension, int y_dimension, boolean zeroCentered, 
 			double xCenter, double yCenter, double radius, double amplitude) {
 
-		int offsetX = zeroCentered ? x_dimension / 2 : 0; 
-		int offsetY = zeroCentered ? y_dimension / 2 : 0; 
+		setAperture( array, null, x_dimension, y_dimension, zeroCentered, xCenter, yCenter, radius, 0, amplitude, 0, y_dimension ); 
+	}
 
-		int xStart = Math.max( 0, (int)(xCenter - radius - 1 + offsetX )); 
-		int yStart = Math.max( 0, (int)(yCenter - radius - 1 + offsetY )); 
+	/**
+	 * As setFilledAperture, on a row-major image with the largest y first
+	 */
+	public static void setFilledAperture( double[] image, int x_dimension, int y_dimension, boolean zeroCentered, 
+			double xCenter, double yCenter, double radius, double amplitude) {
 
-		int xEnd = Math.min( x_dimension - 1, (int)(xCenter + radius + 1 + offsetX )); 
-		int yEnd = Math.min( y_dimension - 1, (int)(yCenter + radius + 1 + offsetY ));
+		setAperture( null, image, x_dimension, y_dimension, zeroCentered, xCenter, yCenter, radius, 0, amplitude, 0, y_dimension ); 
+	}
 
-		for( int y = yStart; y <= yEnd; y++ ) {
+	/**
+	 * As setFilledAperture, on rows [firstRow, lastRow) of a row-major image with the largest y first,
+	 * stored from index 0 of image
+	 */
+	public static void setFilledAperture( double[] image, int x_dimension, int y_dimension, boolean zeroCentered, 
+			double xCenter, double yCenter, double radius, double amplitude, int firstRow, int lastRow ) {
 
-			for( int x = xStart; x <= xEnd; x++ ) {
+		setAperture( null, image, x_dimension, y_dimension, zeroCentered, xCenter, yCenter, radius, 0, amplitude, firstRow, lastRow ); 
+	}
 
-				double x_shift = x - xCenter - offsetX; 
-				double y_shift = y - yCenter - offsetY; 
+	public static void setCassegrainAperture( double[][] array, int x_dimension, int y_dimension, boolean zeroCentered, 
+			double xCenter, double yCenter, double radius, double innerRadius, double amplitude) {
 
-				double r = Math.sqrt(x_shift*x_shift + y_shift*y_shift); 
-				if( r <= radius ) array[y_dimension-1-y][x] = amplitude; 
-			}
+		setAperture( array, null, x_dimension, y_dimension, zeroCentered, xCenter, yCenter, radius, innerRadius, amplitude, 0, y_dimension ); 
+	}
 
-		}
-		
+	/**
+	 * As setCassegrainAperture, on a row-major image with the largest y first
+	 */
+	public static void setCassegrainAperture( double[] image, int x_dimension, int y_dimension, boolean zeroCentered, 
+			double xCenter, double yCenter, double radius, double innerRadius, double amplitude) {
 
+		setAperture( null, image, x_dimension, y_dimension, zeroCentered, xCenter, yCenter, radius, innerRadius, amplitude, 0, y_dimension ); 
 	}
 
-	public static void setCassegrainAperture( double[][] array, int x_dimension, int y_dimension, boolean zeroCentered, 
-			double xCenter, double yCenter, double radius, double innerRadius, double amplitude) {
+	/**
+	 * As setCassegrainAperture, on rows [firstRow, lastRow) of a row-major image with the largest y first,
+	 * stored from index 0 of image
+	 */
+	public static void setCassegrainAperture( double[] image, int x_dimension, int y_dimension, boolean zeroCentered, 
+			double xCenter, double yCenter, double radius, double innerRadius, double amplitude, int firstRow, int lastRow ) {
+
+		setAperture( null, image, x_dimension, y_dimension, zeroCentered, xCenter, yCenter, radius, innerRadius, amplitude, firstRow, lastRow ); 
+	}
+
+	/**
+	 * Sets the pixels with innerRadius <= r <= radius in rows [firstRow, lastRow), into either rows 
+	 * or image (which holds those rows from index 0). Rather than test every pixel of the bounding box, 
+	 * each row is filled over the span where its chord crosses the ring; the ends of the span are 
+	 * checked with the per-pixel test. 
+	 */
+	private static void setAperture( double[][] rows, double[] image, int x_dimension, int y_dimension, boolean zeroCentered, 
+			double xCenter, double yCenter, double radius, double innerRadius, double amplitude, int firstRow, int lastRow ) {
 
 		int offsetX = zeroCentered ? x_dimension / 2 : 0; 
 		int offsetY = zeroCentered ? y_dimension / 2 : 0; 
@@ -42,19 +72,64 @@ public class Apertures {
 		int xEnd = Math.min( x_dimension - 1, (int)(xCenter + radius + 1 + offsetX )); 
 		int yEnd = Math.min( y_dimension - 1, (int)(yCenter + radius + 1 + offsetY ));
 
+		//row y_dimension-1-y holds y
+		yStart = Math.max( yStart, y_dimension - lastRow ); 
+		yEnd = Math.min( yEnd, y_dimension - 1 - firstRow ); 
+
 		for( int y = yStart; y <= yEnd; y++ ) {
 
-			for( int x = xStart; x <= xEnd; x++ ) {
+			double y_shift = y - yCenter - offsetY; 
 
-				double x_shift = x - xCenter - offsetX; 
-				double y_shift = y - yCenter - offsetY; 
+			double[] row = ( rows != null ) ? rows[y_dimension-1-y] : image; 
+			int rowStart = ( rows != null ) ? 0 : (y_dimension-1-y-firstRow)*x_dimension; 
 
-				double r = Math.sqrt(x_shift*x_shift + y_shift*y_shift); 
-				if( (r >= innerRadius) && (r <= radius) ) array[y_dimension-1-y][x] = amplitude;
+			//r <= radius over [first, last], except r < innerRadius over [holeFirst, holeLast]
+			int[] outer = span( y_shift, xCenter, offsetX, radius, false, xStart, xEnd ); 
+			if( outer[0] > outer[1] ) continue; 
+
+			int[] hole = span( y_shift, xCenter, offsetX, innerRadius, true, outer[0], outer[1] ); 
+
+			if( hole[0] > hole[1] ) {
+
+				Arrays.fill( row, rowStart + outer[0], rowStart + outer[1] + 1, amplitude ); 
+				continue; 
 			}
 
+			Arrays.fill( row, rowStart + outer[0], rowStart + hole[0], amplitude ); 
+			Arrays.fill( row, rowStart + hole[1] + 1, rowStart + outer[1] + 1, amplitude ); 
 		}
 	}
+
+	/**
+	 * @return { first, last }, the columns in [xStart, xEnd] whose pixels in the row are within 
+	 * radius of the center (closer than radius if strict); first > last if there are none
+	 */
+	private static int[] span( double y_shift, double xCenter, int offsetX, double radius, boolean strict, 
+			int xStart, int xEnd ) {
+
+		double half = Math.sqrt( Math.max( 0, radius*radius - y_shift*y_shift ) ); 
+		double center = xCenter + offsetX; 
+
+		int first = (int) Math.max( xStart, Math.ceil( center - half ) ); 
+		int last = (int) Math.min( xEnd, Math.floor( center + half ) ); 
+
+		//the chord is rounded, so settle its ends with the test each pixel would get
+		while( first > xStart && inside( first - 1, y_shift, xCenter, offsetX, radius, strict ) ) first--; 
+		while( first <= last && !inside( first, y_shift, xCenter, offsetX, radius, strict ) ) first++; 
+		while( last < xEnd && inside( last + 1, y_shift, xCenter, offsetX, radius, strict ) ) last++; 
+		while( last >= first && !inside( last, y_shift, xCenter, offsetX, radius, strict ) ) last--; 
+
+		int[] span = { first, last }; 
+		return span; 
+	}
+
+	private static boolean inside( int x, double y_shift, double xCenter, int offsetX, double radius, boolean strict ) {
+
+		double x_shift = x - xCenter - offsetX; 
+
+		double r = Math.sqrt(x_shift*x_shift + y_shift*y_shift); 
+		return strict ? ( r < radius ) : ( r <= radius ); 
+	}
 	
 	public static void setRectangularAperture( double[][] array, int x_dimension, int y_dimension, boolean zeroCentered, 
 			double xCenter, double yCenter, double width, double height, double amplitude) {
@@ -79,6 +154,31 @@ public class Apertures {
 		
 
 	}
+
+	/**
+	 * As setRectangularAperture, on rows [firstRow, lastRow) of a row-major image with the largest y first,
+	 * stored from index 0 of image
+	 */
+	public static void setRectangularAperture( double[] image, int x_dimension, int y_dimension, boolean zeroCentered, 
+			double xCenter, double yCenter, double width, double height, double amplitude, int firstRow, int lastRow ) {
+
+		int offsetX = zeroCentered ? x_dimension / 2 : 0; 
+		int offsetY = zeroCentered ? y_dimension / 2 : 0; 
+
+		int xStart = Math.max( 0, (int)(xCenter - width - 1 + offsetX )); 
+		int yStart = Math.max( y_dimension - lastRow, (int)(yCenter - height - 1 + offsetY )); 
+
+		int xEnd = Math.min( x_dimension - 1, (int)(xCenter + width + 1 + offsetX )); 
+		int yEnd = Math.min( y_dimension - 1 - firstRow, (int)(yCenter + height + 1 + offsetY ));
+
+		if( xStart > xEnd ) return; 
+
+		for( int y = yStart; y <= yEnd; y++ ) {
+
+			int rowStart = (y_dimension-1-y-firstRow)*x_dimension; 
+			Arrays.fill( image, rowStart + xStart, rowStart + xEnd + 1, amplitude ); 
+		}
+	}
 	
 	
 	
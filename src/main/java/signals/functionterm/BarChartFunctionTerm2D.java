@@ -1,7 +1,6 @@
 package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
-import java.lang.ref.SoftReference;
 
 import javax.media.jai.PlanarImage;
 
@@ -22,7 +21,6 @@ public class BarChartFunctionTerm2D extends PredefinedImageFunctionTerm2D {
 		super(paramBlock);
 	}
 	
-	@SuppressWarnings("unchecked")
 	public PlanarImage getResizedImage(int x_dimension, int y_dimension, boolean zeroCentered ) {  
 		
 		int dim = Math.min( x_dimension, y_dimension ); 
@@ -43,10 +41,11 @@ public class BarChartFunctionTerm2D extends PredefinedImageFunctionTerm2D {
 			break;
 		}
 		
-		image = new SoftReference( ResourceLoader.loadImage(getFilename( file_idx )) );
+		PlanarImage image = ResourceLoader.loadImage(getFilename( file_idx ));
+		setImage( image ); 
 
 		//scale the image with a bilinear interpolator 
-		return (PlanarImage) ImageDisplayMath.getResizedImage( getImage(), 
+		return (PlanarImage) ImageDisplayMath.getResizedImage( image, 
 				x_dimension, y_dimension, getInterpolation() );
 	}
 
@@ -28,36 +28,23 @@ public class BesincFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double width = getWidth(); 
 		double center = getCenter();
 		double amplitude = getAmplitude();
+		double twiceAmplitudeWidth = 2 * amplitude * width; 
+		double inverseWidth = 1 / width; 
 		
-		int dimension = indices.length; 
-		double[] besinc = new double[ dimension ];	
-		
-		for ( int i = 0; i < dimension; i++ )  { //i in array coordinates
-			
-			double argument = Math.PI * (indices[i] - center); 
-			
-			if( argument ==0 ) { //special case
-				
-				besinc[i] = amplitude; 
-				
-			} else {
-				
-				besinc[i] = amplitude * 2 * 
-					(width / ((Math.abs(argument))) * Bessel.J1( (Math.abs(argument) / width))); 
-			}
+		for ( int i = 0; i < count; i++ )  {
 			
+			double argument = Math.abs( Math.PI * (index( indices, firstIndex, step, i ) - center) ); 
+			out[offset + i] = ( argument == 0 ) ? amplitude 
+					: twiceAmplitudeWidth / argument * SpecialFunctions.J1( argument * inverseWidth ); 
 		}
-		
-		return besinc;
-		
 	}
 
 	/* (non-Javadoc)
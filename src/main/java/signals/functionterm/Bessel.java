@@ -1,7 +1,8 @@
 package signals.functionterm;
 
 /**
- * Utility class for creating bessel functions
+ * Utility class for creating bessel functions: polynomial approximations of J0 and J1 for 
+ * x >= 0, accurate to about 1e-7. The generators use the tables of SpecialFunctions instead. 
  * @author Juliet
  *
  */
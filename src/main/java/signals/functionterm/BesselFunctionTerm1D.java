@@ -48,82 +48,30 @@ public class BesselFunctionTerm1D extends AnalyticFunctionTerm1D {
 
 	}
 
+	/**
+	 * J_order( c ) for c >= 0
+	 */
+	protected static double bessel( double c, int order ) {
+
+		return SpecialFunctions.Jn( order, c );
+	}
+
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
 
-		double width = getWidth(); 
 		double center = getCenter();
 		double amplitude = getAmplitude();
+		double piOverWidth = Math.PI / getWidth(); 
 		int order = getOrder();
 
-		int dimension = indices.length; 
-		double[] bessel = new double[ dimension ];	
-
-		for ( int i = 0; i < dimension; i++ )  { //i in array coordinates
-
-			double c = Math.PI * Math.abs( ( indices[i] - center ) / width ); 
-			double besselF = 0;
-
-			if( order == 0 ) {
-
-				besselF = Bessel.J0( c ); 
-
-			} else if ( order == 1 ) {
-
-				besselF = Bessel.J1( c );
-
-			} else { //recursive case
-
-				//special case, don't bother to calculate
-				if( c == 0 ) {
-
-					besselF = 0; 
-
-				} else {
-
-					double besselF1 = Bessel.J1( c ); 
-					double besselF0 = Bessel.J0( c ); 
-
-					for( int j = 2; j <= order; j++ ) {
-
-						besselF = 2 * ( j - 1) / c * besselF1 - besselF0; 
-						besselF0 = besselF1; 
-						besselF1 = besselF; 
-
-					} //end for
-
-				} //end else
-
-			} //end recursive case
-
-			//
-			// Fix round-off errors
-			//
-
-			if( besselF > 1) {
-
-				besselF = 0; 
-			}
-
-			if( order > 5 ) {
-
-				if( ( ( 3 * c / order < 1 ) && ( Math.abs( besselF ) > .0001 ) ) ||
-						( c < 8.6 ) && ( besselF < 0 ) ) {
-
-					besselF = 0; 
-				} 
-			}
-
-			//multiply by amplitude and store in array
-			bessel[i] = amplitude * besselF;
-
-		}	
-
-		return bessel;
+		for ( int i = 0; i < count; i++ )  {
 
+			double c = Math.abs( ( index( indices, firstIndex, step, i ) - center ) * piOverWidth ); 
+			out[offset + i] = amplitude * bessel( c, order );
+		}
 	}
 
 	/* (non-Javadoc)
@@ -4,7 +4,7 @@
 package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import javax.swing.SpinnerNumberModel;
 
@@ -26,31 +26,27 @@ public class BinomialNoiseFunctionTerm1D extends NoiseFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.NoiseFunctionTerm1D#generate(double[], int, int, java.util.SplittableRandom)
 	 */
 	@Override
-	public double[] create( int dimension ) {		
+	protected void generate( double[] out, int offset, int count, SplittableRandom random ) {		
 		
 		//probability of a single trial
 		double p = getP();
 		int n = getN();
-		int seed = getSeed(); 
 		
-		double[] noise = new double[ dimension ];	
-		
-		Random rand = new Random( seed ); 
-		
-		for ( int i = 0; i < dimension; i++ )  {
+		for ( int i = offset; i < offset + count; i++ )  {
+			
+			int successes = 0; 
 			for ( int j = 0; j < n; j++ )  {
 				
-				if( rand.nextDouble() <= p ) {
+				if( random.nextDouble() <= p ) {
 
-					noise[i] += 1;
+					successes++;
 				}					
 			}
+			out[i] = successes; 
 		}	
-		
-		return noise;
 	}
 
 	/* (non-Javadoc)
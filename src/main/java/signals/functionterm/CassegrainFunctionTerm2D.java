@@ -6,9 +6,8 @@ import javax.swing.SpinnerNumberModel;
 
 import signals.core.Constants;
 import signals.core.DataGeneratorTypeModel;
-import signals.operation.ArrayUtilities;
 
-public class CassegrainFunctionTerm2D extends AnalyticFunctionTerm2D {
+public class CassegrainFunctionTerm2D extends ApertureFunctionTerm2D {
 
 	public CassegrainFunctionTerm2D() {
 		super();
@@ -53,11 +52,12 @@ public class CassegrainFunctionTerm2D extends AnalyticFunctionTerm2D {
 		model.setDocPath("/functiondoc/cassegrain.html");
 	}
 	
+	/* (non-Javadoc)
+	 * @see signals.functionterm.ApertureFunctionTerm2D#setRows(double[], int, int, boolean, int, int)
+	 */
 	@Override
-	public double[] create(int x_dimension, int y_dimension,
-			boolean zeroCentered) {
-		
-		double[][] array = new double[y_dimension][x_dimension]; 
+	protected void setRows(double[] image, int x_dimension, int y_dimension,
+			boolean zeroCentered, int firstRow, int lastRow) {
 		
 		double xCenter = getCenterX(); 
 		double yCenter = getCenterY(); 
@@ -65,10 +65,8 @@ public class CassegrainFunctionTerm2D extends AnalyticFunctionTerm2D {
 		double amplitude = getAmplitude(); 
 		double innerRadius = getHeight(); 
 		
-		Apertures.setCassegrainAperture(array, x_dimension, y_dimension, zeroCentered, 
-				xCenter, yCenter, radius, innerRadius, amplitude); 
-		
-		return ArrayUtilities.flatten(array);
+		Apertures.setCassegrainAperture(image, x_dimension, y_dimension, zeroCentered, 
+				xCenter, yCenter, radius, innerRadius, amplitude, firstRow, lastRow); 
 	}
 
 	@Override
@@ -6,9 +6,8 @@ import javax.swing.SpinnerNumberModel;
 
 import signals.core.Constants;
 import signals.core.DataGeneratorTypeModel;
-import signals.operation.ArrayUtilities;
 
-public class CassegrainMultiArmFunctionTerm2D extends AnalyticFunctionTerm2D {
+public class CassegrainMultiArmFunctionTerm2D extends ApertureFunctionTerm2D {
 	
 	public CassegrainMultiArmFunctionTerm2D() {
 		super();
@@ -89,11 +88,12 @@ public class CassegrainMultiArmFunctionTerm2D extends AnalyticFunctionTerm2D {
 		return paramBlock.getIntParameter(numApertures_idx);
 	}
 	
+	/* (non-Javadoc)
+	 * @see signals.functionterm.ApertureFunctionTerm2D#setRows(double[], int, int, boolean, int, int)
+	 */
 	@Override
-	public double[] create(int x_dimension, int y_dimension,
-			boolean zeroCentered) {
-		
-		double[][] array = new double[y_dimension][x_dimension]; 
+	protected void setRows(double[] image, int x_dimension, int y_dimension,
+			boolean zeroCentered, int firstRow, int lastRow) {
 		
 		double xCenter = getCenterX(); 
 		double yCenter = getCenterY(); 
@@ -117,14 +117,12 @@ public class CassegrainMultiArmFunctionTerm2D extends AnalyticFunctionTerm2D {
 			//for each aperture on the arm 
 			for( int aperture = 1; aperture <= numApertures; aperture++ ) {
 				
-				Apertures.setCassegrainAperture(array, x_dimension, y_dimension, zeroCentered, 
-					 xCenter - spacing*aperture*sin, yCenter - spacing*aperture*cos, radius, innerRadius, amplitude); 
+				Apertures.setCassegrainAperture(image, x_dimension, y_dimension, zeroCentered, 
+					 xCenter - spacing*aperture*sin, yCenter - spacing*aperture*cos, radius, innerRadius, amplitude, firstRow, lastRow); 
 				
 			}
 			
 		}
-		
-		return ArrayUtilities.flatten(array);
 	}
 	
 	@Override
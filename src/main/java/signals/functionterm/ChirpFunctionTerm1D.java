@@ -76,35 +76,23 @@ public class ChirpFunctionTerm1D extends AnalyticFunctionTerm1D {
 		return true;
 	}
 
-	/*
-	 * (non-Javadoc)
-	 * 
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	/* (non-Javadoc)
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
 
 		double width = getWidth();
 		double center = getCenter();
 		double amplitude = getAmplitude();
 		int Order = getOrder();
-		double initialPhase = getInitialPhase();
-
-		int dimension = indices.length;
-		double[] chirp = new double[dimension];
-
-		// get the value of the center in math coordinates
+		double phase = Math.toRadians(getInitialPhase());
 		double piOverBPow = Math.PI / (Math.pow(width, Order));
 
-		for (int i = 0; i < dimension; i++) {
-
-			chirp[i] = amplitude
-					* Math.cos(piOverBPow * Math.pow((indices[i] - center), Order) + Math.toRadians(initialPhase));
+		for (int i = 0; i < count; i++) {
 
+			out[offset + i] = amplitude * Math.cos(piOverBPow * power(index( indices, firstIndex, step, i ) - center, Order) + phase);
 		}
-
-		return chirp;
-
 	}
 
 	/*
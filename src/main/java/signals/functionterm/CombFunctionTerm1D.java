@@ -30,27 +30,20 @@ public class CombFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] comb = new double[ dimension ];		
-		
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		int width = (int) Math.round(getWidth()); 
 		double center = (int)Math.round(getCenter());
 		double amplitude = getAmplitude();
 									
-		for ( int i = 0; i < dimension; ++i )  { 
-			
-			double argument = indices[i] - center; 
-			comb[i] = ( ( argument )/width == (int)( ( argument )/width ) ) ? amplitude : 0;
+		for ( int i = 0; i < count; ++i )  { 
 			
+			double argument = index( indices, firstIndex, step, i ) - center; 
+			out[offset + i] = ( ( argument )/width == (int)( ( argument )/width ) ) ? amplitude : 0;
 		}	
-		
-		return comb;
-		
 	}
 
 	/* (non-Javadoc)
@@ -4,6 +4,7 @@
 package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
+import java.util.Arrays;
 import javax.swing.SpinnerNumberModel;
 
 import signals.core.DataGeneratorTypeModel;
@@ -29,22 +30,12 @@ public class ConstantFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] constant = new double[ dimension ];		
-		
-		double amplitude = getAmplitude();
-								
-		for ( int i = 0; i < dimension; ++i )  { 
-			constant[i] = amplitude; 
-		}	
-		
-		return constant;
-		
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
+		Arrays.fill( out, offset, offset + count, getAmplitude() );
 	}
 
 	/* (non-Javadoc)
@@ -6,9 +6,8 @@ import javax.swing.SpinnerNumberModel;
 
 import signals.core.Constants;
 import signals.core.DataGeneratorTypeModel;
-import signals.operation.ArrayUtilities;
 
-public class CylinderFunctionTerm2D extends AnalyticFunctionTerm2D {
+public class CylinderFunctionTerm2D extends ApertureFunctionTerm2D {
 
 	public CylinderFunctionTerm2D() {
 		super();
@@ -53,21 +52,20 @@ public class CylinderFunctionTerm2D extends AnalyticFunctionTerm2D {
 		model.setDocPath("/functiondoc/cylinder.html");
 	}
 	
+	/* (non-Javadoc)
+	 * @see signals.functionterm.ApertureFunctionTerm2D#setRows(double[], int, int, boolean, int, int)
+	 */
 	@Override
-	public double[] create(int x_dimension, int y_dimension,
-			boolean zeroCentered) {
-		
-		double[][] array = new double[y_dimension][x_dimension]; 
+	protected void setRows(double[] image, int x_dimension, int y_dimension,
+			boolean zeroCentered, int firstRow, int lastRow) {
 		
 		double xCenter = getCenterX(); 
 		double yCenter = getCenterY(); 
 		double radius = getWidth(); 
 		double amplitude = getAmplitude(); 
 	
-		Apertures.setFilledAperture(array, x_dimension, y_dimension, zeroCentered, 
-					xCenter, yCenter, radius, amplitude); 
-		
-		return ArrayUtilities.flatten(array);
+		Apertures.setFilledAperture(image, x_dimension, y_dimension, zeroCentered, 
+					xCenter, yCenter, radius, amplitude, firstRow, lastRow); 
 	}
 
 	@Override
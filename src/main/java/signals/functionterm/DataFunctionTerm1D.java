@@ -70,6 +70,16 @@ public class DataFunctionTerm1D extends AnalyticFunctionTerm1D {
 		return create( dimension, zeroCentered );
 	}
 
+	/**
+	 * Not pointwise: the data is resized to the dimension
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#isPointwise()
+	 */
+	@Override
+	public boolean isPointwise() {
+		
+		return false; 
+	}
+
 	public double[] getResizedData(int dimension, boolean zeroCentered) {
 
 		double[] data = getOriginalData(); 
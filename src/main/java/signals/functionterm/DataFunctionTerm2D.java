@@ -4,11 +4,13 @@
 package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
+import java.util.Arrays;
 
 import javax.media.jai.Interpolation;
 import javax.media.jai.InterpolationBilinear;
 import javax.media.jai.PlanarImage;
 
+import signals.core.CombineTermsRule;
 import signals.core.DataGeneratorTypeModel;
 import signals.gui.plot.ImageDisplayMath;
 
@@ -49,6 +51,24 @@ public class DataFunctionTerm2D extends ImageFunctionTerm2D {
 		return super.create(x_dimension, y_dimension, zeroCentered);
 	}
 
+	/**
+	 * Data at its own size is copied from directly
+	 * @see signals.functionterm.ImageFunctionTerm2D#createBlocks(int, int, boolean)
+	 */
+	@Override
+	public CombineTermsRule.TermBlocks createBlocks(int x_dimension, int y_dimension, boolean zeroCentered) {
+		
+		if (!hasData()) return ( start, count, output ) -> Arrays.fill( output, 0, count, 0 );
+		
+		if( x_dimension == getXDimension() && y_dimension == getYDimension() ) {
+			
+			final double[] data = getOriginalData(); 
+			return ( start, count, output ) -> System.arraycopy( data, start, output, 0, count );
+		}
+		
+		return super.createBlocks(x_dimension, y_dimension, zeroCentered);
+	}
+
 	@SuppressWarnings("unchecked")
 	public void initTypeModel( DataGeneratorTypeModel model ) {
 		
@@ -50,6 +50,16 @@ public class DeltaFunctionTerm1D extends AnalyticFunctionTerm1D {
 
 	}
 
+	/**
+	 * Not pointwise: the delta is placed relative to the first index
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#isPointwise()
+	 */
+	@Override
+	public boolean isPointwise() {
+		
+		return false; 
+	}
+
 	/* (non-Javadoc)
 	 * @see signals.core.AnalyticFunctionTerm1D#initTypeModel(signals.core.DataGeneratorTypeModel)
 	 */
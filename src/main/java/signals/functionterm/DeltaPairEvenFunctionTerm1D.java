@@ -60,6 +60,16 @@ public class DeltaPairEvenFunctionTerm1D extends AnalyticFunctionTerm1D {
 		
 	}
 
+	/**
+	 * Not pointwise: the deltas are placed relative to the first index
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#isPointwise()
+	 */
+	@Override
+	public boolean isPointwise() {
+		
+		return false; 
+	}
+
 	/* (non-Javadoc)
 	 * @see signals.core.AnalyticFunctionTerm1D#isHalfWidthDefined()
 	 */
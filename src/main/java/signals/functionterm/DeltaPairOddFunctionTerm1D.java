@@ -61,6 +61,16 @@ public class DeltaPairOddFunctionTerm1D extends AnalyticFunctionTerm1D {
 		return deltaPairOdd;
 		
 	}
+
+	/**
+	 * Not pointwise: the deltas are placed relative to the first index
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#isPointwise()
+	 */
+	@Override
+	public boolean isPointwise() {
+		
+		return false; 
+	}
 	
 	/* (non-Javadoc)
 	 * @see signals.core.AnalyticFunctionTerm1D#isHalfWidthDefined()
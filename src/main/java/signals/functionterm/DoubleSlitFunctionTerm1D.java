@@ -57,39 +57,22 @@ public class DoubleSlitFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 	
-		
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double width = getWidth();
 		double center = getCenter();
 		double amplitude = getAmplitude();
 		double slitWidth = getSlitWidth() / 2.0;
-		
-		double[] rect = new double[ dimension ];	
 									
-		for ( int i = 0; i < dimension; i++ )  {
-			
-			double argument =  Math.abs( indices[i] - center - width );
+		for ( int i = 0; i < count; i++ )  {
 			
-			if( argument <= slitWidth ) {
-				
-				rect[i] = amplitude; 
-			}
-			
-			argument =  Math.abs( indices[i] - center + width );
-			
-			if( argument <= slitWidth ) {
-				
-				rect[i] = amplitude; 
-			}
+			double x = index( indices, firstIndex, step, i ) - center; 
+			boolean inside = ( Math.abs( x - width ) <= slitWidth ) || ( Math.abs( x + width ) <= slitWidth ); 
+			out[offset + i] = inside ? amplitude : 0; 
 		}	
-		
-		return rect;
-		
 	}
 
 	/* (non-Javadoc)
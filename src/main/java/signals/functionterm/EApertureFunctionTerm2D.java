@@ -5,9 +5,8 @@ import java.awt.image.renderable.ParameterBlock;
 import javax.swing.SpinnerNumberModel;
 
 import signals.core.DataGeneratorTypeModel;
-import signals.operation.ArrayUtilities;
 
-public class EApertureFunctionTerm2D extends AnalyticFunctionTerm2D {
+public class EApertureFunctionTerm2D extends ApertureFunctionTerm2D {
 
 	public EApertureFunctionTerm2D() {
 		super();
@@ -47,11 +46,12 @@ public class EApertureFunctionTerm2D extends AnalyticFunctionTerm2D {
 		model.setDocPath("/functiondoc/E.html");
 	}
 	
+	/* (non-Javadoc)
+	 * @see signals.functionterm.ApertureFunctionTerm2D#setRows(double[], int, int, boolean, int, int)
+	 */
 	@Override
-	public double[] create(int x_dimension, int y_dimension,
-			boolean zeroCentered) {
-		
-		double[][] array = new double[y_dimension][x_dimension]; 
+	protected void setRows(double[] image, int x_dimension, int y_dimension,
+			boolean zeroCentered, int firstRow, int lastRow) {
 		
 		double xCenter = getCenterX(); 
 		double yCenter = getCenterY(); 
@@ -59,16 +59,14 @@ public class EApertureFunctionTerm2D extends AnalyticFunctionTerm2D {
 		double amplitude = getAmplitude(); 
 		double height = getHeight(); 
 		
-		Apertures.setRectangularAperture(array, x_dimension, y_dimension, zeroCentered, 
-				xCenter, yCenter, width, height, amplitude);
-		
-		Apertures.setRectangularAperture(array, x_dimension, y_dimension, zeroCentered, 
-				xCenter + (2/5.)*width, yCenter, (3/5.)*width, (3/5.)*height, 0);
+		Apertures.setRectangularAperture(image, x_dimension, y_dimension, zeroCentered, 
+				xCenter, yCenter, width, height, amplitude, firstRow, lastRow);
 		
-		Apertures.setRectangularAperture(array, x_dimension, y_dimension, zeroCentered, 
-				xCenter, yCenter, (1/2.)*width, (1/5.)*height, amplitude); 
+		Apertures.setRectangularAperture(image, x_dimension, y_dimension, zeroCentered, 
+				xCenter + (2/5.)*width, yCenter, (3/5.)*width, (3/5.)*height, 0, firstRow, lastRow);
 		
-		return ArrayUtilities.flatten(array);
+		Apertures.setRectangularAperture(image, x_dimension, y_dimension, zeroCentered, 
+				xCenter, yCenter, (1/2.)*width, (1/5.)*height, amplitude, firstRow, lastRow); 
 	}
 
 	@Override
@@ -40,13 +40,10 @@ public class ErrorFunctionFunctionTerm1D extends AnalyticFunctionTerm1D {
 
 		int NOver2 = dimension / 2;
 		
-		double[] polyCoef = {1, .0705230784, .0422820123, .0092705272, 
-						.0001520143,  .000276572, .0000430638 }; 
-		
 		for( int i = 0; i < NOver2; i++ ) {
 			
 			double x = 4.0 * Math.abs(i - NOver2) / (double)dimension;
-			double errF = 1.0 -  1.0 / Math.pow( Polynomial.calcPoly( x, polyCoef, 6 ), 16 );
+			double errF = SpecialFunctions.erf( x );
 			errorFunction[i] = -errF;
 			
 			if( i != 0 )  {
@@ -59,6 +56,16 @@ public class ErrorFunctionFunctionTerm1D extends AnalyticFunctionTerm1D {
 	
 	}
 
+	/**
+	 * Not pointwise: the samples depend on the dimension
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#isPointwise()
+	 */
+	@Override
+	public boolean isPointwise() {
+		
+		return false; 
+	}
+
 	/* (non-Javadoc)
 	 * @see signals.core.AnalyticFunctionTerm1D#initTypeModel(signals.core.DataGeneratorTypeModel)
 	 */
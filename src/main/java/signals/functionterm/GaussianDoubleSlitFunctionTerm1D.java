@@ -74,32 +74,25 @@ public class GaussianDoubleSlitFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 	
-		
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double width = getWidth();
 		double center = getCenter();
 		double amplitude = getAmplitude();
-		double slitWidth = getSlitWidth();
+		double inverseSlitWidth = 1 / getSlitWidth();
 		int exponent = getExponent();
 		
-		double[] gaussian = new double[ dimension ];		
-
-		for ( int i = 0; i < dimension; ++i )  { 
-			
-			double argument1 = Math.abs( (indices[i] - (center+width)) / slitWidth ); 
-			double argument2 = Math.abs( (indices[i] - (center-width)) / slitWidth ); 
-			gaussian[i] = amplitude * ( Math.exp( -Math.PI * Math.pow(argument1, exponent) )
-										+ Math.exp( -Math.PI * Math.pow(argument2, exponent) ) ); 
+		for ( int i = 0; i < count; ++i )  { 
 			
+			double x = index( indices, firstIndex, step, i ); 
+			double argument1 = Math.abs( (x - (center+width)) * inverseSlitWidth ); 
+			double argument2 = Math.abs( (x - (center-width)) * inverseSlitWidth ); 
+			out[offset + i] = amplitude * ( Math.exp( -Math.PI * power(argument1, exponent) )
+										+ Math.exp( -Math.PI * power(argument2, exponent) ) ); 
 		}	
-		
-		return gaussian;
-		
 	}
 
 	/* (non-Javadoc)
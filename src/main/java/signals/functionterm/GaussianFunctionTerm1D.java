@@ -41,28 +41,31 @@ public class GaussianFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] gaussian = new double[ dimension ];		
-		
-		double width = getWidth(); 
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double center = getCenter();
+		double inverseWidth = 1 / getWidth(); 
 		double amplitude = getAmplitude();
 		int exponent = getExponent();
-									
-		for ( int i = 0; i < dimension; ++i )  { 
+		
+		if( exponent == 2 ) { //the usual case: no powers or absolute values
 			
-			double argument = Math.abs((indices[i] - center) / width); 
-			gaussian[i] = amplitude * Math.exp( -Math.PI * Math.pow(argument, exponent) ); 
+			for ( int i = 0; i < count; ++i )  { 
+				
+				double argument = (index( indices, firstIndex, step, i ) - center) * inverseWidth; 
+				out[offset + i] = amplitude * Math.exp( -Math.PI * argument * argument ); 
+			}
+			return; 
+		}
+									
+		for ( int i = 0; i < count; ++i )  { 
 			
+			double argument = Math.abs((index( indices, firstIndex, step, i ) - center) * inverseWidth); 
+			out[offset + i] = amplitude * Math.exp( -Math.PI * power(argument, exponent) ); 
 		}	
-		
-		return gaussian;
-		
 	}
 	
 	/* (non-Javadoc)
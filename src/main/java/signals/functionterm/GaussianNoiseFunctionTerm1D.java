@@ -5,7 +5,7 @@ package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
 import java.text.NumberFormat;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import signals.core.Core;
 import signals.core.DataGeneratorTypeModel;
@@ -26,26 +26,18 @@ public class GaussianNoiseFunctionTerm1D extends NoiseFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.NoiseFunctionTerm1D#generate(double[], int, int, java.util.SplittableRandom)
 	 */
 	@Override
-	public double[] create( int dimension ) {	
+	protected void generate( double[] out, int offset, int count, SplittableRandom random ) {		
 		
 		double stDev = getStDev(); 
 		double mean = getMean();
-		int seed = getSeed(); 
 		
-		double[] noise = new double[ dimension ];	
-		
-		Random rand = new Random( seed ); 
-		
-		for ( int i = 0; i < dimension; i++ )  {
-			
-			noise[i] = rand.nextGaussian() * stDev + mean;
+		for ( int i = offset; i < offset + count; i++ )  {
 			
+			out[i] = random.nextGaussian() * stDev + mean;
 		}	
-		
-		return noise;
 	}
 
 	/* (non-Javadoc)
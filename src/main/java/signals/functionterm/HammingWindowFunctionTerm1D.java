@@ -28,29 +28,29 @@ public class HammingWindowFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] window = new double[ dimension ];		
-		
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double width = getWidth(); 
 		double center = getCenter();
 		double amplitude = getAmplitude();
+		double left = center - width; 
+		double right = center + width; 
 		
-		for ( int i = 0; i < dimension; ++i )  {
+		for ( int i = 0; i < count; ++i )  {
 			
-			if( (indices[i] >= center - width) && (indices[i] <= center + width) ) { 
+			double x = index( indices, firstIndex, step, i ); 
+			if( (x < left) || (x > right) ) { 
 				
-				double arg = ( indices[i] - center ) / width;
-				window[i] = amplitude * ( 0.54 + 0.46 * Math.cos(  Math.PI * arg ) );
+				out[offset + i] = 0; 
+				continue; 
 			}
+			
+			double arg = ( x - center ) / width;
+			out[offset + i] = amplitude * ( 0.54 + 0.46 * Math.cos(  Math.PI * arg ) );
 		}
-		
-		return window;
-		
 	}
 
 	/* (non-Javadoc)
@@ -29,33 +29,38 @@ public class HighPassFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	@Override
-	public double[] create(double[] indices) {
-		
-		double[] basedata = base.create(indices); 
-		double amplitude = base.getAmplitude(); 
+	public double[] create(int dimension, boolean zeroCentered) {
 		
-		for( int i = 0; i < indices.length; i++ ) {
-			
-			basedata[i] = amplitude - basedata[i]; 
-		}
+		double[] basedata = base.create(dimension, zeroCentered); 
+		complement(basedata, 0, dimension); 
 		
 		return basedata;
 	}
 
 	@Override
-	public double[] create(int dimension, boolean zeroCentered) {
+	public boolean isPointwise() {
+		
+		return base.isPointwise(); 
+	}
+	
+	@Override
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+		
+		base.evaluate(indices, firstIndex, step, out, offset, count); 
+		complement(out, offset, count); 
+	}
+	
+	//the base's amplitude minus the base, in place
+	private void complement(double[] data, int offset, int count) {
 		
-		double[] basedata = base.create(dimension, zeroCentered); 
 		double amplitude = base.getAmplitude(); 
 		
-		for( int i = 0; i < dimension; i++ ) {
+		for( int i = offset; i < offset + count; i++ ) {
 			
-			basedata[i] = amplitude - basedata[i]; 
+			data[i] = amplitude - data[i]; 
 		}
-		
-		return basedata;
 	}
-
+	
 	@Override
 	public void setWidthScale(double scale) {
 		base.setWidthScale(scale); 
@@ -3,15 +3,20 @@
  */
 package signals.functionterm;
 
-import java.awt.image.Raster;
+import java.awt.Rectangle;
+import java.awt.image.DataBuffer;
+import java.awt.image.SampleModel;
 import java.awt.image.renderable.ParameterBlock;
-import java.lang.ref.SoftReference;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.media.jai.Interpolation;
 import javax.media.jai.PlanarImage;
 import javax.swing.SpinnerNumberModel;
 
+import signals.core.CombineTermsRule;
 import signals.core.Constants;
+import signals.core.DataCache;
 import signals.core.DataGeneratorTypeModel;
 import signals.gui.plot.ImageDisplayMath;
 
@@ -28,9 +33,10 @@ public abstract class ImageFunctionTerm2D extends AnalyticFunctionTerm2D {
 
 	int mode; 
 	
-	//soft reference to the image (PlanarImage) 
-	@SuppressWarnings("unchecked")
-	protected SoftReference image; 
+	private static final AtomicLong instances = new AtomicLong(); 
+	
+	//key of the image (PlanarImage) in the DataCache
+	protected final String imageKey = "image " + instances.incrementAndGet(); 
 	
 	public ImageFunctionTerm2D(ParameterBlock paramBlock) {
 		super(paramBlock);		
@@ -69,13 +75,24 @@ public abstract class ImageFunctionTerm2D extends AnalyticFunctionTerm2D {
 	 * 
 	 * @return the image with no processing 
 	 */
-	@SuppressWarnings("unchecked")
 	public PlanarImage getImage() {
 		
-		if( image != null && image.get() != null ) return ( PlanarImage ) image.get(); 
-		PlanarImage img = loadImage(); 
-		image = new SoftReference( img ); 
-		return img; 
+		return DataCache.get( imageKey, this::loadImage, ImageFunctionTerm2D::getImageBytes, DataCache.WEIGHT_LOADED ); 
+	}
+	
+	/**
+	 * Replaces the image returned by getImage, until the DataCache evicts it
+	 */
+	protected void setImage( PlanarImage img ) {
+		
+		DataCache.put( imageKey, img, getImageBytes( img ), DataCache.WEIGHT_LOADED ); 
+	}
+	
+	public static long getImageBytes( PlanarImage img ) {
+		
+		SampleModel sm = img.getSampleModel(); 
+		return (long) img.getWidth() * img.getHeight() * sm.getNumBands() 
+				* DataBuffer.getDataTypeSize( sm.getDataType() ) / 8; 
 	}
 	
 	
@@ -84,7 +101,10 @@ public abstract class ImageFunctionTerm2D extends AnalyticFunctionTerm2D {
 		return Math.max( min, Math.min( value, max ) );
 	}
 	
-	public double[] createScaledPadded( int x_dimension, int y_dimension, boolean zeroCentered ) {
+	/**
+	 * @return { left, right, top, bottom }, the box the image is placed in, clipped to the output
+	 */
+	protected int[] getBox( int x_dimension, int y_dimension, boolean zeroCentered ) {
 		
 		int centerX = (int)getCenterX(); 
 		int centerY = (int)getCenterY(); 
@@ -99,105 +119,87 @@ public abstract class ImageFunctionTerm2D extends AnalyticFunctionTerm2D {
 		
 		centerY = y_dimension - 1 - centerY; 
 		
-		int left = boundValue( centerX - width/2, 0, x_dimension-1 ); 
-		int right = boundValue( centerX + width/2, 0, x_dimension-1 );
-		int top = boundValue( centerY - height/2, 0, y_dimension-1 ); 
-		int bottom = boundValue( centerY + height/2, 0, y_dimension-1 ); 
+		int[] box = { boundValue( centerX - width/2, 0, x_dimension-1 ), boundValue( centerX + width/2, 0, x_dimension-1 ), 
+				boundValue( centerY - height/2, 0, y_dimension-1 ), boundValue( centerY + height/2, 0, y_dimension-1 ) }; 
+		return box; 
+	}
+	
+	public double[] createScaledPadded( int x_dimension, int y_dimension, boolean zeroCentered ) {
 		
-		int w = right-left;
-		int h = bottom-top;
+		return createWhole( createScaledPaddedRows( x_dimension, y_dimension, zeroCentered ), x_dimension, y_dimension ); 
+	}
+	
+	public double[] createCropped( int x_dimension, int y_dimension, boolean zeroCentered ) {
+		
+		return createWhole( createCroppedRows( x_dimension, y_dimension, zeroCentered ), x_dimension, y_dimension ); 
+	}
+	
+	/**
+	 * The image scaled into its box, with zeros around it
+	 */
+	protected RowSource createScaledPaddedRows( final int x_dimension, int y_dimension, boolean zeroCentered ) {
 		
-		PlanarImage scaledImage = getScaledResizedImage( w, h );
-		Raster outputRaster = scaledImage.getData();
-		double[] content_pixels = new double[w*h];
-		outputRaster.getPixels(0,0,w,h,content_pixels);
+		int[] box = getBox( x_dimension, y_dimension, zeroCentered ); 
+		final int left = box[0]; 
+		final int top = box[2]; 
+		final int w = box[1]-left;
+		final int h = box[3]-top;
 		
-		double[] pixels = new double[x_dimension*y_dimension];
+		final PlanarImage scaledImage = ( w > 0 && h > 0 ) ? getScaledResizedImage( w, h ) : null;
 		
-		//set the correct pixels
-		int c_idx = 0; 
-		int idx = 0;
-		for( int j = top; j < bottom; ++j ) {
+		return ( firstRow, lastRow, output ) -> {
 			
-			idx = j*x_dimension+left;
-			for( int i=left; i < right; ++i ) {
+			Arrays.fill( output, 0, (lastRow-firstRow)*x_dimension, 0 ); 
 			
-				pixels[idx++] = content_pixels[c_idx++];
+			int first = Math.max( firstRow, top ); 
+			int last = Math.min( lastRow, top + h ); 
+			if( scaledImage == null || first >= last ) return; 
+			
+			double[] content_pixels = readRows( scaledImage, w, first - top, last - first, null ); 
+			
+			//set the correct pixels
+			for( int j = first; j < last; ++j ) {
 				
+				System.arraycopy( content_pixels, (j-first)*w, output, (j-firstRow)*x_dimension + left, w ); 
 			}
-		}
-		
-		return pixels;
+		}; 
 	}
 	
-	
-	public double[] createCropped( int x_dimension, int y_dimension, boolean zeroCentered ) {
-		
-		int centerX = (int)getCenterX(); 
-		int centerY = (int)getCenterY(); 
-		int width = (int)getWidth(); 
-		int height = (int)getHeight(); 
-		
-		if( zeroCentered ) {
-			
-			centerX += x_dimension/2; 
-			centerY += y_dimension/2; 
-		}
-		
-		centerY = y_dimension - 1 - centerY; 
+	/**
+	 * The image scaled to the output, with the pixels outside its box set to 0
+	 */
+	protected RowSource createCroppedRows( final int x_dimension, int y_dimension, boolean zeroCentered ) {
 		
-		int left = boundValue( centerX - width/2, 0, x_dimension-1 ); 
-		int right = boundValue( centerX + width/2, 0, x_dimension-1 );
-		int top = boundValue( centerY - height/2, 0, y_dimension-1 ); 
-		int bottom = boundValue( centerY + height/2, 0, y_dimension-1 ); 
+		int[] box = getBox( x_dimension, y_dimension, zeroCentered ); 
+		final int left = box[0]; 
+		final int right = box[1]; 
+		final int top = box[2]; 
+		final int bottom = box[3]; 
 		
-		PlanarImage scaledImage = getScaledResizedImage( x_dimension, y_dimension );
-		Raster outputRaster = scaledImage.getData();
-		double[] pixels = new double[x_dimension*y_dimension];
-		outputRaster.getPixels(0,0,x_dimension,y_dimension,pixels);
+		final PlanarImage scaledImage = getScaledResizedImage( x_dimension, y_dimension );
 		
-		//set the top pixels to 0 
-		int idx = 0;
-		for( int j = 0; j < top; ++j ) {
+		return ( firstRow, lastRow, output ) -> {
 			
-			for( int i=0; i < x_dimension; ++i ) {
-				
-				pixels[idx++] = 0; 
-			}
-		}
-		
-		//set the left and right pixels to 0 
-		for( int j = top; j <= bottom; ++j ) {
+			Arrays.fill( output, 0, (lastRow-firstRow)*x_dimension, 0 ); 
 			
-			idx = j*x_dimension; 
-			for( int i=0; i < left; ++i ) {
-				
-				pixels[idx++] = 0; 
-			}
+			int first = Math.max( firstRow, top ); 
+			int last = Math.min( lastRow, bottom + 1 ); 
+			if( first >= last ) return; 
 			
-			idx = j*x_dimension + right+1; 
-			for( int i=right+1; i < x_dimension; ++i ) {
-				
-				pixels[idx++] = 0; 
-			}
-		}
-		
-		//set the bottom pixels to 0 
-		idx = (bottom+1)*x_dimension;
-		for( int j = bottom+1; j < y_dimension; ++j ) {
+			double[] pixels = readRows( scaledImage, x_dimension, first, last - first, null ); 
 			
-			for( int i=0; i < x_dimension; ++i ) {
+			//keep the pixels in the box
+			for( int j = first; j < last; ++j ) {
 				
-				pixels[idx++] = 0; 
+				System.arraycopy( pixels, (j-first)*x_dimension + left, output, (j-firstRow)*x_dimension + left, right - left + 1 ); 
 			}
-		}
-		
-		
-		return pixels;
+		}; 
 	}
 	
-	@Override
-	public double[] create(int x_dimension, int y_dimension, boolean zeroCentered) {
+	/**
+	 * @return the rows of this term, or null in the modes that are not implemented 
+	 */
+	protected RowSource createRows( final int x_dimension, int y_dimension, boolean zeroCentered ) {
 		
 		int centerX = (int)getCenterX(); 
 		int centerY = (int)getCenterY(); 
@@ -213,31 +215,65 @@ public abstract class ImageFunctionTerm2D extends AnalyticFunctionTerm2D {
 		//do nothing if scaling or cropping is not needed
 		if( x_dimension == width && y_dimension == height && centerX == 0 && centerY == 0 ) {
 			
-			PlanarImage scaledImage = getScaledResizedImage( x_dimension, y_dimension );
-			Raster outputRaster = scaledImage.getData();
-			double[] pixels = new double[x_dimension*y_dimension];
-			outputRaster.getPixels(0,0,x_dimension,y_dimension,pixels);
-			return pixels;
+			final PlanarImage scaledImage = getScaledResizedImage( x_dimension, y_dimension );
+			return ( firstRow, lastRow, output ) -> readRows( scaledImage, x_dimension, firstRow, lastRow - firstRow, output ); 
 		}
 		
-		double[] output = null; 
-		
 		switch( mode ) {
 		
 		case Constants.CROP_MODE: 
-			output = createCropped(x_dimension, y_dimension, zeroCentered); 
-			break; 
+			return createCroppedRows(x_dimension, y_dimension, zeroCentered); 
 		case Constants.SCALE_AND_PAD_MODE: 
-			output = createScaledPadded(x_dimension, y_dimension, zeroCentered);
-			break; 
+			return createScaledPaddedRows(x_dimension, y_dimension, zeroCentered);
 		case Constants.SCALE_AND_WRAP_MODE:
 			break; 
 		case Constants.SCALE_AND_MIRROR_MODE: 
 			break; 
 		}
 		
-		return output;
+		return null;
+	}
+	
+	@Override
+	public double[] create(int x_dimension, int y_dimension, boolean zeroCentered) {
+		
+		RowSource rows = createRows( x_dimension, y_dimension, zeroCentered ); 
+		if( rows == null ) return null; 
+		
+		return createWhole( rows, x_dimension, y_dimension ); 
+	}
 	
+	/**
+	 * Rows are read from the scaled image as they are asked for, so the term is never held whole
+	 * @see signals.core.FunctionTerm2D#createBlocks(int, int, boolean)
+	 */
+	@Override
+	public CombineTermsRule.TermBlocks createBlocks(int x_dimension, int y_dimension, boolean zeroCentered) {
+		
+		RowSource rows = createRows( x_dimension, y_dimension, zeroCentered ); 
+		if( rows == null ) return super.createBlocks( x_dimension, y_dimension, zeroCentered ); 
+		
+		return rowBlocks( x_dimension, rows ); 
+	}
+	
+	protected static double[] createWhole( RowSource rows, int x_dimension, int y_dimension ) {
+		
+		double[] pixels = new double[x_dimension*y_dimension];
+		rows.fillRows( 0, y_dimension, pixels ); 
+		
+		return pixels; 
+	}
+	
+	/**
+	 * @return rows [firstRow, firstRow + rows) of an image width pixels wide, in pixels if it is not null
+	 */
+	protected static double[] readRows( PlanarImage image, int width, int firstRow, int rows, double[] pixels ) {
+		
+		//the image computes its tiles on demand, and blocks are read from several threads
+		synchronized( image ) {
+			
+			return image.getData( new Rectangle( 0, firstRow, width, rows ) ).getPixels( 0, firstRow, width, rows, pixels ); 
+		}
 	}
 	
 	/**
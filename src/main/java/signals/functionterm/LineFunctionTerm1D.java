@@ -28,25 +28,18 @@ public class LineFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] line = new double[ dimension ];		
-		
-		double width = getWidth();
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double center = getCenter(); //intercept
-		double amplitude = getAmplitude();
+		double slope = getAmplitude() / getWidth();
 						
-		for ( int i = 0; i < dimension; i++ )  { 			
+		for ( int i = 0; i < count; i++ )  { 			
 		
-			line[i] = amplitude * ( indices[i]-center ) / (width); 
+			out[offset + i] = slope * ( index( indices, firstIndex, step, i ) - center ); 
 		}
-		
-		return line;
-		
 	}
 
 	/* (non-Javadoc)
@@ -28,27 +28,20 @@ public class LorentzianFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] lorentzian = new double[ dimension ];		
-		
-		double width = getWidth(); 
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double center = getCenter();
 		double amplitude = getAmplitude();
+		double twoPiOverWidth = 2 * Math.PI / getWidth(); 
 								
-		for ( int i = 0; i < dimension; ++i )  { 
-			
-			double quantity = 2 * Math.PI * (indices[i]-center) / width;
-			lorentzian[i] =  amplitude / (1 + ( quantity * quantity ) );
+		for ( int i = 0; i < count; ++i )  { 
 			
+			double quantity = twoPiOverWidth * (index( indices, firstIndex, step, i ) - center);
+			out[offset + i] = amplitude / (1 + ( quantity * quantity ) );
 		}	
-	
-		return lorentzian;
-		
 	}
 
 	/* (non-Javadoc)
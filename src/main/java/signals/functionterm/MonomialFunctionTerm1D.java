@@ -49,27 +49,21 @@ public class MonomialFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] monomial = new double[ dimension ];		
-		
-		double width = getWidth(); 
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double center = getCenter();
+		double inverseWidth = 1 / getWidth(); 
 		double amplitude = getAmplitude();
 		int exponent = getExponent();
 		
-		for ( int i = 0; i < dimension; ++i )  {
-				
-				double arg = ( indices[i] - center ) / ( width );
-				monomial[i] = amplitude * Math.pow(arg, exponent);
+		for ( int i = 0; i < count; ++i )  {
+			
+			double arg = ( index( indices, firstIndex, step, i ) - center ) * inverseWidth;
+			out[offset + i] = amplitude * power( arg, exponent );
 		}
-		
-		return monomial;
-		
 	}
 
 	/* (non-Javadoc)
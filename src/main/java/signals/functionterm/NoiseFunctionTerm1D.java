@@ -4,10 +4,13 @@
 package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
+import java.util.SplittableRandom;
 
 import javax.swing.SpinnerNumberModel;
 
+import signals.core.CombineTermsRule;
 import signals.core.DataGeneratorTypeModel;
+import signals.core.ParallelExecutor;
 
 /**
  * @author Juliet
@@ -34,8 +37,75 @@ public abstract class NoiseFunctionTerm1D extends AnalyticFunctionTerm1D {
 		
 	}
 	
-	public abstract double[] create( int dimension );
+	/**
+	 * Samples per block of noise; each block draws from a generator of its own
+	 */
+	public static final int BLOCK_SIZE = 4096;
+	
+	/**
+	 * Writes count samples to out, starting at offset, drawing from random in sequence
+	 */
+	protected abstract void generate( double[] out, int offset, int count, SplittableRandom random );
 	
+	public double[] create( int dimension ) {
+		
+		double[] noise = new double[ dimension ];
+		fillSamples( noise, 0, dimension );
+		return noise;
+	}
+	
+	/**
+	 * Writes samples [start, start + count) of the noise to out, starting at index 0.
+	 * 
+	 * Sample i belongs to block i / BLOCK_SIZE, and each block draws from its own generator, 
+	 * keyed by the seed and the block's index. Any range can therefore be generated on its own, 
+	 * blocks are generated in parallel for large ranges, and for a given seed the samples do 
+	 * not depend on the range, the dimension or the number of threads. 
+	 */
+	public void fillSamples( final double[] out, final int start, final int count ) {
+		
+		if( count <= 0 ) return; 
+		
+		final long seed = getSeed(); 
+		final int end = start + count; 
+		final int firstBlock = start / BLOCK_SIZE; 
+		int blocks = ( end - 1 ) / BLOCK_SIZE - firstBlock + 1; 
+		
+		ParallelExecutor.forEach( blocks, count, ( first, last ) -> {
+			
+			for( int block = firstBlock + first; block < firstBlock + last; ++block ) {
+				
+				int blockStart = block * BLOCK_SIZE; 
+				int from = Math.max( blockStart, start ); 
+				int to = (int)Math.min( (long)blockStart + BLOCK_SIZE, end ); 
+				SplittableRandom random = blockRandom( seed, block ); 
+				
+				if( from == blockStart ) {
+					
+					generate( out, from - start, to - from, random ); 
+					
+				} else { //the range starts partway into the block: draw its first samples and discard them 
+					
+					double[] samples = new double[ to - blockStart ]; 
+					generate( samples, 0, samples.length, random ); 
+					System.arraycopy( samples, from - blockStart, out, from - start, to - from ); 
+				}
+			}
+		} );
+	}
+	
+	/**
+	 * @return a generator for one block of noise. The seed and block index are combined and 
+	 * scrambled (with the SplitMix64 finalizer), so that neighbouring blocks, and neighbouring 
+	 * seeds, start from unrelated points of the generator's sequence 
+	 */
+	protected static SplittableRandom blockRandom( long seed, long block ) {
+		
+		long key = seed * 0x9E3779B97F4A7C15L + block; 
+		key = ( key ^ ( key >>> 30 ) ) * 0xBF58476D1CE4E5B9L; 
+		key = ( key ^ ( key >>> 27 ) ) * 0x94D049BB133111EBL; 
+		return new SplittableRandom( key ^ ( key >>> 31 ) ); 
+	}
 	
 	/* (non-Javadoc)
 	 * @see signals.core.FunctionTerm1D#create(double[])
@@ -45,6 +115,26 @@ public abstract class NoiseFunctionTerm1D extends AnalyticFunctionTerm1D {
 	
 		return create( indices.length );
 	}
+	
+	/**
+	 * Any block of noise is generated directly
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#createBlocks(int, boolean)
+	 */
+	@Override
+	public CombineTermsRule.TermBlocks createBlocks( int dimension, boolean zeroCentered ) {
+		
+		return ( start, count, output ) -> fillSamples( output, start, count );
+	}
+
+	/**
+	 * Not pointwise: the samples are numbered from the start of the array, not placed by their indices
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#isPointwise()
+	 */
+	@Override
+	public boolean isPointwise() {
+		
+		return false; 
+	}
 
 	/**
 	 * @return the center
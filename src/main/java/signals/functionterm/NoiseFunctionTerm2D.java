@@ -7,6 +7,7 @@ import java.awt.image.renderable.ParameterBlock;
 import java.text.NumberFormat;
 import java.util.Vector;
 
+import signals.core.CombineTermsRule;
 import signals.core.Core;
 import signals.core.DataGeneratorTypeModel;
 import signals.core.FunctionTerm2D;
@@ -238,6 +239,16 @@ public abstract class NoiseFunctionTerm2D extends FunctionTerm2D
 	public double[] create(int x_dimension, int y_dimension, boolean zeroCentered) {
 		return noise1D.create(x_dimension*y_dimension);
 	}
+
+	/**
+	 * Any block of noise is generated directly
+	 * @see signals.core.FunctionTerm2D#createBlocks(int, int, boolean)
+	 */
+	@Override
+	public CombineTermsRule.TermBlocks createBlocks(int x_dimension, int y_dimension, boolean zeroCentered) {
+		
+		return noise1D.createBlocks(x_dimension*y_dimension, zeroCentered);
+	}
 	
 	@Override
 	public String getEquation(String[] variables) {
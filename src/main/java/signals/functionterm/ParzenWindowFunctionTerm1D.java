@@ -28,37 +28,39 @@ public class ParzenWindowFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] window = new double[ dimension ];		
-		
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double width = getWidth(); 
 		double center = getCenter();
 		double amplitude = getAmplitude();
+		double left = center - width; 
+		double right = center + width; 
 		
-		for ( int i = 0; i < dimension; ++i )  {
+		for ( int i = 0; i < count; ++i )  {
 			
-			if( (indices[i] >= center - width) && (indices[i] <= center + width) ) { 
+			double x = index( indices, firstIndex, step, i ); 
+			if( (x < left) || (x > right) ) { 
 				
-				double arg = ( indices[i] - center ) / width;
+				out[offset + i] = 0; 
+				continue; 
+			}
+			
+			double arg = ( x - center ) / width;
+			double abs = Math.abs( arg );
 			
-				if( ( arg < -0.5 ) || ( arg > 0.5 ) ) {
-					
-					window[i] = amplitude * 2 * Math.pow( ( 1 - Math.abs( arg )  ) ,  3 ); 
-					
-				} else {
-					
-					window[i] = amplitude * (1 - 6 * ( arg * arg ) + 6 * Math.pow( Math.abs(arg),  3 ) );
-				}
+			if( abs > 0.5 ) {
+				
+				double complement = 1 - abs; 
+				out[offset + i] = amplitude * 2 * complement * complement * complement; 
+				
+			} else {
+				
+				out[offset + i] = amplitude * (1 - 6 * ( arg * arg ) + 6 * abs * abs * abs );
 			}
 		}
-		
-		return window;
-		
 	}
 
 	/* (non-Javadoc)
@@ -5,7 +5,7 @@ package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
 import java.text.NumberFormat;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import javax.swing.SpinnerNumberModel;
 
@@ -29,23 +29,17 @@ public class PoissonNoiseFunctionTerm1D extends NoiseFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.NoiseFunctionTerm1D#generate(double[], int, int, java.util.SplittableRandom)
 	 */
 	@Override
-	public double[] create( int dimension ) {		
+	protected void generate( double[] out, int offset, int count, SplittableRandom random ) {		
 	
 		double mean = getCenter();
-		int seed = getSeed(); 
-		
-		double[] noise = new double[ dimension ];	
-		
-		Random rand = new Random( seed ); 
-		
 		double ea = Math.exp( mean ); 
 		
-		for ( int i = 0; i < dimension; i++ )  {
+		for ( int i = offset; i < offset + count; i++ )  {
 			
-			double alpha = ea * rand.nextDouble();  //mean ^ ( n/n! )
+			double alpha = ea * random.nextDouble();  //mean ^ ( n/n! )
 			double sum = 1; 
 			double product = 1; 
 			double index = 1;
@@ -57,11 +51,8 @@ public class PoissonNoiseFunctionTerm1D extends NoiseFunctionTerm1D {
 				index++; 
 			}
 			
-			noise[i] = index - 1; 
-			
+			out[i] = index - 1; 
 		}	
-		
-		return noise;
 	}
 
 	/* (non-Javadoc)
@@ -111,6 +111,16 @@ public class PoissonProcessFunctionTerm1D extends AnalyticFunctionTerm1D {
 		
 	}
 
+	/**
+	 * Not pointwise: the events are drawn in sequence from one seeded generator
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#isPointwise()
+	 */
+	@Override
+	public boolean isPointwise() {
+		
+		return false; 
+	}
+
 	/* (non-Javadoc)
 	 * @see signals.core.AnalyticFunctionTerm1D#initTypeModel(signals.core.DataGeneratorTypeModel)
 	 */
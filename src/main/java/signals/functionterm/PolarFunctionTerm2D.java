@@ -4,13 +4,16 @@
 package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
+import java.util.Arrays;
 
 import javax.swing.ImageIcon;
 
+import signals.core.CombineTermsRule;
 import signals.core.DataGenerator;
 import signals.core.PolarFunctionMath;
 import signals.gui.IconCache;
 import signals.gui.plot.Indices;
+import signals.operation.ArrayMath;
 
 /**
  * @author Juliet
@@ -30,27 +33,67 @@ public class PolarFunctionTerm2D extends SeparableFunctionTerm2D {
 		super(paramBlock);
 	}
 
+	/**
+	 * The radial part is evaluated once for each point of an eighth of the plane and reflected 
+	 * into the image (see PolarFunctionMath); a constant angular part only scales that slice. 
+	 */
 	@Override
 	public double[] create( int x_dimension, int y_dimension, boolean zeroCentered ) {
 		
 		double[] radius = Indices.sliceRadius( x_dimension, y_dimension, zeroCentered ); 		
-		double[] r_data = PolarFunctionMath.reflect( functionTerm1DA.create( radius ), x_dimension, y_dimension, zeroCentered );
+		double[] r_data = createRadial( radius ); 
+		
+		if( functionTerm1DB instanceof ConstantFunctionTerm1D ) {
+			
+			double amplitude = ((ConstantFunctionTerm1D) functionTerm1DB).getAmplitude(); 
+			return PolarFunctionMath.reflect( ArrayMath.scale( r_data, amplitude ), x_dimension, y_dimension, zeroCentered ); 
+		}
+		
 		double[] angle = Indices.angleIndices(x_dimension, y_dimension, zeroCentered );
-		double[] angle_data = functionTerm1DB.create( angle );
+		double[] angle_data = ( functionTerm1DB instanceof AnalyticFunctionTerm1D ) ? 
+				((AnalyticFunctionTerm1D) functionTerm1DB).createInChunks( angle ) : functionTerm1DB.create( angle );
 				
-		int dimension = x_dimension*y_dimension;
+		return PolarFunctionMath.reflect( r_data, angle_data, x_dimension, y_dimension, zeroCentered ); 
+	}
+	
+	/**
+	 * The radial slice is computed once and reflected into each block of rows; a pointwise angular 
+	 * part is evaluated a block at a time, any other once for the whole image. 
+	 * @see signals.core.FunctionTerm2D#createBlocks(int, int, boolean)
+	 */
+	@Override
+	public CombineTermsRule.TermBlocks createBlocks( final int x_dimension, final int y_dimension, final boolean zeroCentered ) {
 		
-		double[] output = new double[dimension];
-
-		int idx = 0; 
-
-		for( int i = 0; i < dimension; ++i ) {
-
-			output[idx++] = r_data[i]*angle_data[i];
-
+		double[] r_data = createRadial( Indices.sliceRadius( x_dimension, y_dimension, zeroCentered ) ); 
+		
+		if( functionTerm1DB instanceof ConstantFunctionTerm1D ) {
+			
+			final double[] slice = ArrayMath.scale( r_data, ((ConstantFunctionTerm1D) functionTerm1DB).getAmplitude() ); 
+			return rowBlocks( x_dimension, ( firstRow, lastRow, output ) -> 
+				PolarFunctionMath.reflectRows( slice, null, x_dimension, y_dimension, zeroCentered, firstRow, lastRow, output, 0 ) ); 
 		}
 		
-		return output; 
+		final double[] slice = r_data; 
+		final boolean pointwise = ( functionTerm1DB instanceof AnalyticFunctionTerm1D ) 
+				&& ((AnalyticFunctionTerm1D) functionTerm1DB).isPointwise(); 
+		final double[] angle = pointwise ? Indices.angleIndices( x_dimension, y_dimension, zeroCentered ) 
+				: functionTerm1DB.create( Indices.angleIndices( x_dimension, y_dimension, zeroCentered ) ); 
+		
+		return rowBlocks( x_dimension, ( firstRow, lastRow, output ) -> {
+			
+			double[] angle_data = Arrays.copyOfRange( angle, firstRow*x_dimension, lastRow*x_dimension ); 
+			if( pointwise ) angle_data = functionTerm1DB.create( angle_data ); 
+			
+			PolarFunctionMath.reflectRows( slice, angle_data, x_dimension, y_dimension, zeroCentered, firstRow, lastRow, output, 0 ); 
+		} ); 
+	}
+	
+	protected double[] createRadial( double[] radius ) {
+		
+		if( functionTerm1DA instanceof AnalyticFunctionTerm1D ) 
+			return ((AnalyticFunctionTerm1D) functionTerm1DA).createInChunks( radius ); 
+		
+		return functionTerm1DA.create( radius ); 
 	}
 
 	/** 
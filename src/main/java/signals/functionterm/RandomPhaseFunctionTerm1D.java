@@ -4,7 +4,7 @@
 package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import javax.swing.SpinnerNumberModel;
 
@@ -27,24 +27,15 @@ public class RandomPhaseFunctionTerm1D extends NoiseFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.NoiseFunctionTerm1D#generate(double[], int, int, java.util.SplittableRandom)
 	 */
 	@Override
-	public double[] create( int dimension ) {		
+	protected void generate( double[] out, int offset, int count, SplittableRandom random ) {		
 		
-		int seed = getSeed(); 
-		
-		double[] noise = new double[ dimension ];	
-		
-		Random rand = new Random( seed ); 
-		
-		for ( int i = 0; i < dimension; i++ )  {
-			
-			noise[i] = 2*Math.PI*rand.nextDouble() - Math.PI;
+		for ( int i = offset; i < offset + count; i++ )  {
 			
+			out[i] = 2*Math.PI*random.nextDouble() - Math.PI;
 		}	
-		
-		return noise;
 	}
 	
 	@Override
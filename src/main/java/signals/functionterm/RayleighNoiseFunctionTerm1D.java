@@ -5,7 +5,7 @@ package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
 import java.text.NumberFormat;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import javax.swing.SpinnerNumberModel;
 
@@ -34,27 +34,18 @@ public class RayleighNoiseFunctionTerm1D extends NoiseFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.NoiseFunctionTerm1D#generate(double[], int, int, java.util.SplittableRandom)
 	 */
 	@Override
-	public double[] create( int dimension ) {		
+	protected void generate( double[] out, int offset, int count, SplittableRandom random ) {		
 		
 		double sigma = getSigma(); 
-		int seed = getSeed(); 
-		
-		double[] noise = new double[ dimension ];	
-		
-		Random rand = new Random( seed ); 
-		
 		double multiplier = -2 * sigma * sigma; 
 		
-		for ( int i = 0; i < dimension; i++ )  {
-			
-			noise[i] = Math.sqrt(  multiplier * Math.log( 1 - rand.nextDouble() ) );
+		for ( int i = offset; i < offset + count; i++ )  {
 			
+			out[i] = Math.sqrt(  multiplier * Math.log( 1 - random.nextDouble() ) );
 		}	
-		
-		return noise;
 	}
 
 	/* (non-Javadoc)
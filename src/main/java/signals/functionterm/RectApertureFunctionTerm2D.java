@@ -5,9 +5,8 @@ import java.awt.image.renderable.ParameterBlock;
 import javax.swing.SpinnerNumberModel;
 
 import signals.core.DataGeneratorTypeModel;
-import signals.operation.ArrayUtilities;
 
-public class RectApertureFunctionTerm2D extends AnalyticFunctionTerm2D {
+public class RectApertureFunctionTerm2D extends ApertureFunctionTerm2D {
 
 	public RectApertureFunctionTerm2D() {
 		super();
@@ -47,11 +46,12 @@ public class RectApertureFunctionTerm2D extends AnalyticFunctionTerm2D {
 		model.setDocPath("/functiondoc/RectAperture.html");
 	}
 	
+	/* (non-Javadoc)
+	 * @see signals.functionterm.ApertureFunctionTerm2D#setRows(double[], int, int, boolean, int, int)
+	 */
 	@Override
-	public double[] create(int x_dimension, int y_dimension,
-			boolean zeroCentered) {
-		
-		double[][] array = new double[y_dimension][x_dimension]; 
+	protected void setRows(double[] image, int x_dimension, int y_dimension,
+			boolean zeroCentered, int firstRow, int lastRow) {
 		
 		double xCenter = getCenterX(); 
 		double yCenter = getCenterY(); 
@@ -59,10 +59,8 @@ public class RectApertureFunctionTerm2D extends AnalyticFunctionTerm2D {
 		double amplitude = getAmplitude(); 
 		double height = getHeight(); 
 		
-		Apertures.setRectangularAperture(array, x_dimension, y_dimension, zeroCentered, 
-				xCenter, yCenter, width, height, amplitude);
-		
-		return ArrayUtilities.flatten(array);
+		Apertures.setRectangularAperture(image, x_dimension, y_dimension, zeroCentered, 
+				xCenter, yCenter, width, height, amplitude, firstRow, lastRow);
 	}
 
 	@Override
@@ -35,35 +35,20 @@ public class RectangleFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 	
-		
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double bound = getWidth();
 		double center = getCenter();
 		double amplitude = getAmplitude();
-		
-		double[] rect = new double[ dimension ];	
 									
-		for ( int i = 0; i < dimension; i++ )  {
+		for ( int i = 0; i < count; i++ )  {
 			
-			double argument =  Math.abs( indices[i] - center );
-			
-			if( argument < bound ) { //inside rectangle
-				
-				rect[i] = amplitude; 
-				
-			} else if ( argument == bound ) { //on border of rectangle
-				
-				rect[i] = amplitude / 2.0; 
-			}
+			double argument =  Math.abs( index( indices, firstIndex, step, i ) - center );
+			out[offset + i] = ( argument < bound ) ? amplitude : ( argument == bound ) ? amplitude / 2.0 : 0; 
 		}	
-		
-		return rect;
-		
 	}
 
 	/* (non-Javadoc)
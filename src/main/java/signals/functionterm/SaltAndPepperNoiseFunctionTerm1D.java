@@ -5,7 +5,7 @@ package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
 import java.text.NumberFormat;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import javax.swing.SpinnerNumberModel;
 
@@ -32,12 +32,11 @@ public class SaltAndPepperNoiseFunctionTerm1D extends NoiseFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.NoiseFunctionTerm1D#generate(double[], int, int, java.util.SplittableRandom)
 	 */
 	@Override
-	public double[] create( int dimension ) {		
+	protected void generate( double[] out, int offset, int count, SplittableRandom random ) {		
 	
-		int seed = getSeed(); 
 		double noiseFraction = getNoiseFraction(); 
 		double amplitude = getAmplitude();
 		double center = getCenter();
@@ -48,20 +47,13 @@ public class SaltAndPepperNoiseFunctionTerm1D extends NoiseFunctionTerm1D {
 		double upperThresh = 1 - noiseFraction/2.0; 
 		double lowerThresh = noiseFraction/2.0;
 		
-		double[] noise = new double[ dimension ];	
-		
-		Random rand = new Random( seed ); 
-		
-		for ( int i = 0; i < dimension; i++ )  {
-			
-			double num = rand.nextDouble(); 
-			if( num > upperThresh ) noise[i] = upper; 
-			else if ( num < lowerThresh ) noise[i] = lower;
-			else noise[i] = center;
+		for ( int i = offset; i < offset + count; i++ )  {
 			
+			double num = random.nextDouble(); 
+			if( num > upperThresh ) out[i] = upper; 
+			else if ( num < lowerThresh ) out[i] = lower;
+			else out[i] = center;
 		}	
-		
-		return noise;
 	}
 
 	/* (non-Javadoc)
@@ -42,36 +42,19 @@ public class SignumFunctionTerm1D extends AnalyticFunctionTerm1D {
 
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
 
 		double center = getCenter();
 		double amplitude = getAmplitude();
 
-		int dimension = indices.length; 
-		double[] signum = new double[ dimension ];	
-		
-		for( int i = 0; i<dimension; i++ ) {
+		for( int i = 0; i < count; i++ ) {
 			
-			if( indices[i] > center ) { 
-
-				signum[i] = amplitude; 
-
-			} else if( indices[i] < center ) { 
-
-				signum[i] = -amplitude; 
-
-			} else { //equal
-
-				signum[i] = 0;
-			}
-
+			double x = index( indices, firstIndex, step, i ); 
+			out[offset + i] = ( x > center ) ? amplitude : ( x < center ) ? -amplitude : 0; 
 		}
-
-		return signum;
-
 	}
 
 	/* (non-Javadoc)
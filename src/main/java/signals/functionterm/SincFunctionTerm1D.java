@@ -35,27 +35,20 @@ public class SincFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] sinc = new double[ dimension ];		
-		
-		double width = getWidth(); 
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double center = getCenter();
 		double amplitude = getAmplitude();
+		double piOverHalfWidth = Math.PI / getWidth(); 
 		
-		double piOverHalfWidth = Math.PI / width; 							
-		for ( int i = 0; i < dimension; ++i )  { 
+		for ( int i = 0; i < count; ++i )  { 
 			
-			double argument = piOverHalfWidth * (indices[i] - center); 
-			sinc[i] = ( argument == 0 ? amplitude : amplitude * Math.sin( argument ) / argument );	
+			double argument = piOverHalfWidth * (index( indices, firstIndex, step, i ) - center); 
+			out[offset + i] = amplitude * SpecialFunctions.sinc( argument );	
 		}	
-		
-		return sinc;
-		
 	}
 
 	/* (non-Javadoc)
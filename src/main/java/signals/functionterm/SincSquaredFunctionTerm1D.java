@@ -35,28 +35,21 @@ public class SincSquaredFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] sinc = new double[ dimension ];		
-		
-		double width = getWidth(); 
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double center = getCenter();
 		double amplitude = getAmplitude();
+		double piOverHalfWidth = Math.PI / getWidth(); 
 		
-		double piOverHalfWidth = Math.PI / width; 							
-		for ( int i = 0; i < dimension; ++i )  { 
+		for ( int i = 0; i < count; ++i )  { 
 			
-			double argument = piOverHalfWidth * (indices[i] - center); 
-			double sinc1 = ( argument == 0 ? 1 : Math.sin( argument ) / argument );
-			sinc[i] = amplitude * sinc1 * sinc1;
+			double argument = piOverHalfWidth * (index( indices, firstIndex, step, i ) - center); 
+			double sinc1 = SpecialFunctions.sinc( argument );
+			out[offset + i] = amplitude * sinc1 * sinc1;
 		}	
-		
-		return sinc;
-		
 	}
 
 	/* (non-Javadoc)
@@ -24,28 +24,20 @@ public class SineFunctionTerm1D extends CosineFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] sine = new double[ dimension ];		
-		
-		double width = getWidth(); 
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double center = getCenter();
 		double amplitude = getAmplitude();
-		double initialPhase = getInitialPhase();
+		double phase = Math.toRadians(getInitialPhase());
+		double twoPiOverPeriod = 2 * Math.PI / getWidth();
 		
-		double twoPiOverPeriod = 2 * Math.PI / width;					
-		for ( int i = 0; i < dimension; ++i )  { 
-			
-			sine[i] = amplitude * Math.sin( twoPiOverPeriod * (indices[i] - center) + Math.toRadians(initialPhase) );  
+		for ( int i = 0; i < count; ++i )  { 
 			
+			out[offset + i] = amplitude * Math.sin( twoPiOverPeriod * (index( indices, firstIndex, step, i ) - center) + phase );  
 		}	
-		
-		return sine;
-		
 	}
 	
 	@Override
@@ -0,0 +1,260 @@
+package signals.functionterm;
+
+/**
+ * Special functions for the generators, evaluated from precomputed tables.
+ *
+ * J0, J1 and erf are interpolated (cubic Hermite, from values and derivatives) on uniform tables,
+ * so an evaluation is an index computation, four loads and a few multiplies, with no branches on
+ * the argument. Beyond the tables J0 and J1 follow the Hankel asymptotic expansion and erf is 1.
+ * The tables are built once, by Miller's backward recurrence for the Bessel functions and a
+ * series of positive terms for erf, both accurate to rounding. Jn comes from J0 and J1 by forward
+ * recurrence where that is stable (|x| > n), and by backward recurrence otherwise.
+ *
+ * The absolute error of every function here is below ERROR_BOUND. Bessel holds the polynomial
+ * approximations used before, which are accurate to about 1e-7.
+ */
+public class SpecialFunctions {
+
+	/**
+	 * Bound on the absolute error of J0, J1, Jn and erf
+	 */
+	public static final double ERROR_BOUND = 1e-10;
+
+	//table samples per unit of x; the interpolation error is below max|f''''| / (384 density^4)
+	protected static final int BESSEL_DENSITY = 64;
+	protected static final int ERF_DENSITY = 128;
+
+	//J0 and J1 are tabulated on [0, BESSEL_LIMIT), erf on [0, ERF_LIMIT)
+	protected static final double BESSEL_LIMIT = 64;
+	protected static final double ERF_LIMIT = 6;
+
+	//terms of the asymptotic expansion; the first one left out is below 1e-16 at BESSEL_LIMIT
+	protected static final int ASYMPTOTIC_TERMS = 10;
+
+	/**
+	 * The tables are built when a function is first evaluated
+	 */
+	private static class Tables {
+
+		private final static double[] J0 = new double[(int) BESSEL_LIMIT * BESSEL_DENSITY + 1];
+		private final static double[] J0_SLOPE = new double[J0.length];
+		private final static double[] J1 = new double[J0.length];
+		private final static double[] J1_SLOPE = new double[J0.length];
+
+		private final static double[] ERF = new double[(int) ERF_LIMIT * ERF_DENSITY + 1];
+		private final static double[] ERF_SLOPE = new double[ERF.length];
+
+		//coefficients of the asymptotic expansion of J0 and J1
+		private final static double[][] ASYMPTOTIC = { asymptoticCoefficients( 0 ), asymptoticCoefficients( 1 ) };
+
+		static {
+
+			for( int k = 0; k < J0.length; ++k ) {
+
+				double x = k / (double) BESSEL_DENSITY;
+				J0[k] = miller( 0, x );
+				J1[k] = miller( 1, x );
+
+				//J0' = -J1, J1' = J0 - J1/x
+				J0_SLOPE[k] = -J1[k];
+				J1_SLOPE[k] = ( k == 0 ) ? 0.5 : J0[k] - J1[k] / x;
+			}
+
+			double scale = 2 / Math.sqrt( Math.PI );
+			for( int k = 0; k < ERF.length; ++k ) {
+
+				double x = k / (double) ERF_DENSITY;
+				ERF[k] = erfSeries( x );
+				ERF_SLOPE[k] = scale * Math.exp( -x * x );
+			}
+		}
+	}
+
+	public static double J0( double x ) {
+
+		x = Math.abs( x );
+		if( x < BESSEL_LIMIT ) return interpolate( Tables.J0, Tables.J0_SLOPE, BESSEL_DENSITY, x );
+
+		return asymptotic( 0, x );
+	}
+
+	public static double J1( double x ) {
+
+		double a = Math.abs( x );
+		double value = ( a < BESSEL_LIMIT ) ? interpolate( Tables.J1, Tables.J1_SLOPE, BESSEL_DENSITY, a ) : asymptotic( 1, a );
+
+		return ( x < 0 ) ? -value : value;
+	}
+
+	/**
+	 * Bessel function of the first kind of integer order n
+	 */
+	public static double Jn( int n, double x ) {
+
+		//J_-n = (-1)^n J_n
+		if( n < 0 ) return ( ( n & 1 ) == 0 ) ? Jn( -n, x ) : -Jn( -n, x );
+
+		if( n == 0 ) return J0( x );
+		if( n == 1 ) return J1( x );
+
+		double a = Math.abs( x );
+		if( a == 0 ) return 0;
+
+		double value;
+
+		if( a > n ) {
+
+			//upward from J0 and J1: the recurrence is stable while the order is below x
+			double previous = J0( a );
+			value = J1( a );
+
+			for( int j = 1; j < n; ++j ) {
+
+				double next = 2 * j / a * value - previous;
+				previous = value;
+				value = next;
+			}
+
+		} else {
+
+			value = miller( n, a );
+		}
+
+		//J_n is odd for odd n
+		return ( x < 0 && ( n & 1 ) == 1 ) ? -value : value;
+	}
+
+	/**
+	 * sin(x) / x, and 1 at 0
+	 */
+	public static double sinc( double x ) {
+
+		return ( x == 0 ) ? 1 : Math.sin( x ) / x;
+	}
+
+	/**
+	 * The error function, 2/sqrt(pi) times the integral of exp(-t^2) from 0 to x
+	 */
+	public static double erf( double x ) {
+
+		double a = Math.abs( x );
+		double value = ( a < ERF_LIMIT ) ? interpolate( Tables.ERF, Tables.ERF_SLOPE, ERF_DENSITY, a ) : 1;
+
+		return ( x < 0 ) ? -value : value;
+	}
+
+	/**
+	 * Cubic Hermite interpolation on a table with samples at k / density, 0 <= x < (length - 1) / density
+	 */
+	private static double interpolate( double[] values, double[] slopes, int density, double x ) {
+
+		double position = x * density;
+		int k = (int) position;
+		double t = position - k;
+		double s = 1 - t;
+		double step = 1.0 / density;
+
+		return s * s * ( ( 1 + 2 * t ) * values[k] + t * step * slopes[k] )
+				+ t * t * ( ( 3 - 2 * t ) * values[k + 1] - s * step * slopes[k + 1] );
+	}
+
+	/**
+	 * Hankel's expansion, J(x) = sqrt(2/(pi x)) (P cos chi - Q sin chi), for large x
+	 */
+	private static double asymptotic( int order, double x ) {
+
+		if( Double.isInfinite( x ) ) return 0;
+
+		double[] coefficients = Tables.ASYMPTOTIC[order];
+		double z = 1 / ( 8 * x );
+		double z2 = z * z;
+
+		//P takes the even terms, Q the odd ones, with alternating signs
+		double p = 0, q = 0;
+		for( int k = ASYMPTOTIC_TERMS - 2; k >= 0; k -= 2 ) {
+
+			p = p * z2 + coefficients[k];
+			q = q * z2 + coefficients[k + 1];
+		}
+		q *= z;
+
+		double chi = x - ( 0.5 * order + 0.25 ) * Math.PI;
+		return Math.sqrt( 2 / ( Math.PI * x ) ) * ( p * Math.cos( chi ) - q * Math.sin( chi ) );
+	}
+
+	/**
+	 * @return the coefficient of z^k, z = 1/(8x), in the expansions of P and Q for the order,
+	 * (-1)^floor(k/2) (mu - 1)(mu - 9)...(mu - (2k-1)^2) / k!, mu = 4 order^2
+	 */
+	private static double[] asymptoticCoefficients( int order ) {
+
+		double mu = 4.0 * order * order;
+		double[] coefficients = new double[ASYMPTOTIC_TERMS];
+
+		double a = 1;
+		for( int k = 0; k < ASYMPTOTIC_TERMS; ++k ) {
+
+			if( k > 0 ) a *= ( mu - ( 2 * k - 1 ) * ( 2 * k - 1 ) ) / k;
+			coefficients[k] = ( ( k / 2 ) % 2 == 0 ) ? a : -a;
+		}
+
+		return coefficients;
+	}
+
+	/**
+	 * J_order(x), x >= 0, by Miller's backward recurrence from an order well above both order
+	 * and x, normalized by J0 + 2 (J2 + J4 + ...) = 1. Accurate to rounding, but its cost grows with x.
+	 */
+	protected static double miller( int order, double x ) {
+
+		if( x == 0 ) return ( order == 0 ) ? 1 : 0;
+
+		double top = Math.max( order, x );
+		int start = 2 * ( ( (int) top + 20 + (int) Math.sqrt( 40 * top ) ) / 2 );
+
+		//J_(j+1) and J_j, up to a common scale
+		double above = 0, current = 1;
+		double sum = ( start % 2 == 0 ) ? 2 : 0;
+		double value = ( start == order ) ? 1 : 0;
+
+		for( int j = start; j > 0; --j ) {
+
+			double below = 2 * j / x * current - above;
+			above = current;
+			current = below;
+
+			//current is now J_(j-1)
+			if( j - 1 == order ) value = current;
+			if( j - 1 > 0 && ( j - 1 ) % 2 == 0 ) sum += 2 * current;
+
+			//keep the unnormalized values in range
+			if( Math.abs( current ) > 1e250 ) {
+
+				above *= 1e-250;
+				current *= 1e-250;
+				sum *= 1e-250;
+				value *= 1e-250;
+			}
+		}
+
+		sum += current;
+		return value / sum;
+	}
+
+	/**
+	 * erf(x), x >= 0, from 2/sqrt(pi) exp(-x^2) (x + 2x^3/3 + 4x^5/15 + ...), a series of positive terms
+	 */
+	protected static double erfSeries( double x ) {
+
+		double term = x;
+		double sum = 0;
+
+		for( int n = 1; term > 1e-17 * sum || n < 3; ++n ) {
+
+			sum += term;
+			term *= 2 * x * x / ( 2 * n + 1 );
+		}
+
+		return Math.min( 1, 2 / Math.sqrt( Math.PI ) * Math.exp( -x * x ) * sum );
+	}
+}
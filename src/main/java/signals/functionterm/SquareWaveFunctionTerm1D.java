@@ -57,41 +57,21 @@ public class SquareWaveFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 	
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] squareWave = new double[ dimension ];		
-		
-		double width = getWidth(); 
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double center = getCenter();
 		double amplitude = getAmplitude();
-		double initialPhase = getInitialPhase();
+		double phase = Math.toRadians(getInitialPhase());
+		double twoPiOverPeriod = 2 * Math.PI / getWidth();
 		
-		double twoPiOverPeriod = 2 * Math.PI / width;					
-		for ( int i = 0; i < dimension; ++i )  { 
-			
-			double argument = Math.cos( twoPiOverPeriod * (indices[i] - center) + Math.toRadians(initialPhase) );  
-			
-			if( argument > 0 ) { 
-				
-				squareWave[i] = amplitude; 
-				
-			} else if( argument < 0 ) { 
-				
-				squareWave[i] = -amplitude; 
-				
-			} else { //equal
-				
-				squareWave[i] = 0;
-			}
+		for ( int i = 0; i < count; ++i )  { 
 			
+			double argument = Math.cos( twoPiOverPeriod * (index( indices, firstIndex, step, i ) - center) + phase );  
+			out[offset + i] = ( argument > 0 ) ? amplitude : ( argument < 0 ) ? -amplitude : 0; 
 		}	
-		
-		return squareWave;
-		
 	}
 
 	/* (non-Javadoc)
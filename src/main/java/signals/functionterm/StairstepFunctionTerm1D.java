@@ -35,25 +35,19 @@ public class StairstepFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] stairstep = new double[ dimension ];		
-		
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double width = getWidth()*2; //width of a single step
 		double center = getCenter(); //intercept
 		double amplitude = getAmplitude();	
 						
-		for ( int i = 0; i < dimension; i++ )  { 			
+		for ( int i = 0; i < count; i++ )  { 			
 		
-			stairstep[i] = amplitude * Math.floor((( indices[i]-center + width/2 ) / width )); 
+			out[offset + i] = amplitude * Math.floor((( index( indices, firstIndex, step, i ) - center + width/2 ) / width )); 
 		}
-		
-		return stairstep;
-		
 	}
 	
 	/* (non-Javadoc)
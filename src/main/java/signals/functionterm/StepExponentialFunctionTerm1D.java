@@ -37,38 +37,27 @@ public class StepExponentialFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] stepExponential = new double[ dimension ];		
-		
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double width = getWidth(); 
 		double center = getCenter();
 		double amplitude = getAmplitude();
 								
-		for ( int i = 0; i < dimension; ++i )  { 
+		for ( int i = 0; i < count; ++i )  { 
 			
-			double argument = amplitude * Math.exp( (center - indices[i]) / width ); 
-			if( indices[i] > center ) { 
-				
-				stepExponential[i] = argument; 
-				
-			} else if( indices[i] < center ) { 
+			double x = index( indices, firstIndex, step, i ); 
+			if( x < center ) { 
 				
-				stepExponential[i] = 0; 
-				
-			} else { //equal
-				
-				stepExponential[i] = argument / 2.0; 
-			} 
+				out[offset + i] = 0; 
+				continue; 
+			}
 			
+			double argument = amplitude * Math.exp( (center - x) / width ); 
+			out[offset + i] = ( x > center ) ? argument : argument / 2.0; 
 		}	
-		
-		return stepExponential;
-		
 	}
 
 	/* (non-Javadoc)
@@ -40,33 +40,19 @@ public class StepFunctionTerm1D extends AnalyticFunctionTerm1D {
 
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
 
 		double center = getCenter();
 		double amplitude = getAmplitude();
 
-		int dimension = indices.length; 
-		double[] step = new double[ dimension ];	
-		
-		for( int i = 0; i<dimension; i++ ) {
+		for( int i = 0; i < count; i++ ) {
 			
-			if( indices[i] > center ) { 
-
-				step[i] = amplitude; 
-
-			} else if( indices[i] == center ) { 
-
-				step[i] = amplitude / 2.0; 
-
-			} 
-
+			double x = index( indices, firstIndex, step, i ); 
+			out[offset + i] = ( x > center ) ? amplitude : ( x == center ) ? amplitude / 2.0 : 0; 
 		}
-
-		return step;
-
 	}
 
 	/* (non-Javadoc)
@@ -35,27 +35,21 @@ public class TriangleFunctionTerm1D extends AnalyticFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#evaluate(double[], double, double, double[], int, int)
 	 */
 	@Override
-	public double[] create(double[] indices) {
-		
-		int dimension = indices.length; 
-		double[] triangle = new double[ dimension ];		
-		
+	protected void evaluate(double[] indices, double firstIndex, double step, double[] out, int offset, int count) {
+
 		double width = getWidth(); 
 		double center = getCenter();
 		double amplitude = getAmplitude();
+		double slope = amplitude / width; 
 									
-		for ( int i = 0; i < dimension; ++i )  { 
-			
-			double argument = Math.abs(indices[i] - center); 
-			if( argument < width ) triangle[i] = amplitude * ( 1 - argument / width );
+		for ( int i = 0; i < count; ++i )  { 
 			
+			double argument = Math.abs(index( indices, firstIndex, step, i ) - center); 
+			out[offset + i] = ( argument < width ) ? amplitude - argument * slope : 0;
 		}	
-		
-		return triangle;
-		
 	}
 
 	/* (non-Javadoc)
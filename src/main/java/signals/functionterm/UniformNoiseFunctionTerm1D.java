@@ -5,7 +5,7 @@ package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
 import java.text.NumberFormat;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 import signals.core.Core;
 import signals.core.DataGeneratorTypeModel;
@@ -26,26 +26,18 @@ public class UniformNoiseFunctionTerm1D extends NoiseFunctionTerm1D {
 	}
 
 	/* (non-Javadoc)
-	 * @see signals.core.FunctionTerm1D#create(double[])
+	 * @see signals.functionterm.NoiseFunctionTerm1D#generate(double[], int, int, java.util.SplittableRandom)
 	 */
 	@Override
-	public double[] create( int dimension ) {		
+	protected void generate( double[] out, int offset, int count, SplittableRandom random ) {		
 		
 		double halfwidth = getStDev(); 
 		double mean = getMean();
-		int seed = getSeed(); 
 		
-		double[] noise = new double[ dimension ];	
-		
-		Random rand = new Random( seed ); 
-		
-		for ( int i = 0; i < dimension; i++ )  {
-			
-			noise[i] = 2*halfwidth*rand.nextDouble() + mean-halfwidth;
+		for ( int i = offset; i < offset + count; i++ )  {
 			
+			out[i] = 2*halfwidth*random.nextDouble() + mean-halfwidth;
 		}	
-		
-		return noise;
 	}
 
 	/* (non-Javadoc)
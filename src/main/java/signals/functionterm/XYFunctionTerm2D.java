@@ -7,6 +7,7 @@ import java.awt.image.renderable.ParameterBlock;
 
 import javax.swing.ImageIcon;
 
+import signals.core.CombineTermsRule;
 import signals.core.DataGenerator;
 import signals.gui.IconCache;
 
@@ -33,11 +34,22 @@ public class XYFunctionTerm2D extends SeparableFunctionTerm2D {
 		return new XYFunctionTerm2D( paramBlock );
 	}
 
+	/**
+	 * @return { horizontal factor, vertical factor }, the second indexed by increasing y 
+	 */
+	public double[][] createFactors(int x_dimension, int y_dimension, boolean zeroCentered) {
+		
+		double[][] factors = { functionTerm1DA.create( x_dimension, zeroCentered ), 
+				functionTerm1DB.create( y_dimension, zeroCentered ) };
+		return factors; 
+	}
+
 	@Override
 	public double[] create(int x_dimension, int y_dimension, boolean zeroCentered) {
 		
-		double[] x_data = functionTerm1DA.create( x_dimension, zeroCentered );
-		double[] y_data = functionTerm1DB.create( y_dimension, zeroCentered );
+		double[][] factors = createFactors( x_dimension, y_dimension, zeroCentered );
+		double[] x_data = factors[0];
+		double[] y_data = factors[1];
 		
 		double[] output = new double[x_dimension*y_dimension];
 		
@@ -56,6 +68,35 @@ public class XYFunctionTerm2D extends SeparableFunctionTerm2D {
 	}
 
 
+	/**
+	 * Computes any block from the two 1D terms, without creating the whole product
+	 */
+	@Override
+	public CombineTermsRule.TermBlocks createBlocks( final int x_dimension, final int y_dimension, boolean zeroCentered ) {
+
+		double[][] factors = createFactors( x_dimension, y_dimension, zeroCentered );
+		final double[] x_data = factors[0];
+		final double[] y_data = factors[1];
+
+		return ( start, count, output ) -> {
+
+			int row = start / x_dimension;
+			int i = start % x_dimension;
+
+			for( int k = 0; k < count; ++k ) {
+
+				output[k] = x_data[i]*y_data[y_dimension-1-row];
+
+				if( ++i == x_dimension ) {
+
+					i = 0;
+					++row;
+				}
+			}
+		};
+	}
+
+
 	public double[] create(double[] x_indices, double[] y_indices) {
 		
 		int dimension = x_indices.length;
@@ -4,6 +4,7 @@
 package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
+import java.util.Arrays;
 
 import javax.swing.SpinnerNumberModel;
 
@@ -37,6 +38,24 @@ public class ZeroFunctionTerm1D extends AnalyticFunctionTerm1D {
 		int dimension = indices.length; 
 		return Zeros.zeros(dimension);	
 	}
+
+	/* (non-Javadoc)
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#create(int, boolean)
+	 */
+	@Override
+	public double[] create(int dimension, boolean zeroCentered) {
+		
+		return Zeros.zeros(dimension);	
+	}
+
+	/* (non-Javadoc)
+	 * @see signals.functionterm.AnalyticFunctionTerm1D#fill(double[], int, int, double, double)
+	 */
+	@Override
+	public void fill(double[] out, int offset, int count, double firstIndex, double step) {
+
+		Arrays.fill( out, offset, offset + count, 0 );
+	}
 	
 	/* (non-Javadoc)
 	 * @see signals.core.AnalyticFunctionTerm1D#initTypeModel(signals.core.DataGeneratorTypeModel)
@@ -1,11 +1,13 @@
 package signals.functionterm;
 
 import java.awt.image.renderable.ParameterBlock;
+import java.util.Arrays;
 
 import javax.media.jai.Interpolation;
 import javax.media.jai.InterpolationNearest;
 import javax.media.jai.PlanarImage;
 
+import signals.core.CombineTermsRule;
 import signals.core.DataGeneratorTypeModel;
 import signals.core.Zeros;
 import signals.gui.plot.ImageDisplayMath;
@@ -45,6 +47,12 @@ public class ZeroFunctionTerm2D extends ImageFunctionTerm2D {
 		return Zeros.zeros(x_dimension*y_dimension); 
 	}
 
+	@Override
+	public CombineTermsRule.TermBlocks createBlocks(int x_dimension, int y_dimension, boolean zeroCentered) {
+		
+		return ( start, count, output ) -> Arrays.fill( output, 0, count, 0 ); 
+	}
+
 	public double[] createCropped( int x_dimension, int y_dimension, boolean zeroCentered ) {
 		
 		return create( x_dimension, y_dimension, zeroCentered ); 
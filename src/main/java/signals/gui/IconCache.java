@@ -1,21 +1,16 @@
 package signals.gui;
 
-import java.lang.ref.SoftReference;
-import java.util.HashMap;
-
 import javax.swing.ImageIcon;
 
+import signals.core.DataCache;
 import signals.io.ResourceLoader;
 
+/**
+ * Icons loaded from resources, kept in the DataCache
+ */
 public class IconCache {
 	
-	@SuppressWarnings("unchecked")
-	protected HashMap<String, SoftReference> icons; 
-	
-	@SuppressWarnings("unchecked")
 	protected IconCache() {
-		
-		icons = new HashMap<String, SoftReference>(); 
 	}
 	
 	public static class SingletonHolder { 
@@ -28,21 +23,14 @@ public class IconCache {
 	
 	public static ImageIcon getIcon( String path ) {
 		
-		return (ImageIcon) getInstance().loadIcon(path).get();
+		return getInstance().loadIcon(path);
 	}
 	
-	@SuppressWarnings("unchecked")
-	private SoftReference loadIcon( String key ) {
-		
-		SoftReference icon = null; 
-		if( !icons.containsKey(key) || icons.get(key).get() == null ) {
-			
-			icon = new SoftReference( ResourceLoader.createImageIcon(key) );
-			icons.put( key, icon );
-			
-		} else icon = icons.get(key); 
+	private ImageIcon loadIcon( String key ) {
 		
-		return icon; 
+		return DataCache.get( "icon " + key, () -> ResourceLoader.createImageIcon(key), 
+				icon -> ( icon == null ) ? 0 : 4L * icon.getIconWidth() * icon.getIconHeight(), 
+				DataCache.WEIGHT_LOADED ); 
 	}
 	
 }
@@ -3,7 +3,9 @@
  */
 package signals.gui;
 
+import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.FontMetrics;
 import java.awt.Graphics2D;
 import java.awt.Image;
 import java.awt.RenderingHints;
@@ -22,6 +24,9 @@ public class IconThumbnailGraphic extends ThumbnailGraphic {
 	int imageHeight; 
 	Dimension smallSize, largeSize; 
 	
+	//true while the data this icon stands for is being computed
+	boolean busy; 
+	
 	public IconThumbnailGraphic( ImageIcon icon, Dimension smallSize, Dimension largeSize ) {
 		
 		image = icon.getImage(); 
@@ -40,6 +45,16 @@ public class IconThumbnailGraphic extends ThumbnailGraphic {
 		paintGraphic( g2, largeSize );
 	}
 
+	public void setBusy( boolean busy ) {
+		
+		this.busy = busy; 
+	}
+	
+	public boolean isBusy() {
+		
+		return busy; 
+	}
+
 	/* (non-Javadoc)
 	 * @see signals.gui.ThumbnailProducer#paintSmallGraphic(java.awt.Graphics2D)
 	 */
@@ -63,6 +78,16 @@ public class IconThumbnailGraphic extends ThumbnailGraphic {
 		
 		g2.drawImage(image, xPos, yPos, null);
 		
+		//placeholder caption until the result arrives
+		if( busy ) {
+			
+			String caption = "Computing\u2026"; 
+			FontMetrics metrics = g2.getFontMetrics(); 
+			g2.setColor( Color.GRAY ); 
+			g2.drawString( caption, Math.max( 0, ( size.width - metrics.stringWidth( caption ) )/2 ), 
+					size.height - metrics.getDescent() - 2 ); 
+		}
+		
 	}
 
 }
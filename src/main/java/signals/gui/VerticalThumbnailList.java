@@ -113,26 +113,24 @@ public class VerticalThumbnailList extends JList {
 
 	public void select( int index ) {
 
-		//select this function, free up memory in other functions
+		//select this function and pin its data; the DataCache evicts from the others as memory is needed
 		for( int i = 0; i < model.size(); ++i ) {
 
 			Object item = getItemAt(index);
 
 			if( i == index ) {
 
+				((Showable)item).setPinned( true ); 
 				((Showable)item).show();
 
 			} else {
 
-				((Showable)model.get(i)).freeMemory(); 
+				((Showable)model.get(i)).setPinned( false ); 
 
 			}
 
 		}           
 
-		System.runFinalization(); 
-		System.gc(); 
-
 	}
 
 	public int getMouseOver() {
@@ -342,6 +340,7 @@ public class VerticalThumbnailList extends JList {
 	 public void removeItem( Object toRemove ) {
 
 		 model.removeElement( toRemove ); 
+		 if( toRemove instanceof Showable ) ((Showable)toRemove).setPinned( false ); 
 
 	 } 
 
@@ -3,7 +3,6 @@ package signals.gui.datagenerator;
 import java.util.ArrayList;
 
 import signals.core.CombineOpsRule;
-import signals.core.Function;
 import signals.core.FunctionProducer;
 import signals.core.Operation;
 import signals.core.OperatorSystem;
@@ -44,16 +43,13 @@ public class CreateOperationSystem2DPanel extends CreateOperationSystemPanel {
 	}
 
 	@Override
-	public Function getFunction() {
+	public OperatorSystem createSystem() {
 		
 		ArrayList<FunctionProducer> inputList = calculator.getFunctionList();
 		ArrayList<Operation> opList = calculator.getOperationList(); 
 		int[] rule = calculator.getCodeList();
 		CombineOpsRule combineRule = new CombineOpsRule( rule, opList );
-		OperatorSystem system = new OperatorSystem2D(combineRule, inputList, opList );
-		Function output = system.getFunction();
-	
-		return output;
+		return new OperatorSystem2D(combineRule, inputList, opList );
 	}
 
 	@Override
@@ -6,6 +6,7 @@ import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.util.ArrayList;
+import java.util.concurrent.Future;
 
 import javax.swing.JButton;
 import javax.swing.JComponent;
@@ -15,6 +16,7 @@ import javax.swing.JScrollPane;
 import signals.core.BinaryOperation;
 import signals.core.CombineOpsRule;
 import signals.core.Core;
+import signals.core.EvaluationScheduler;
 import signals.core.Function;
 import signals.core.FunctionProducer;
 import signals.core.Operation;
@@ -49,6 +51,12 @@ public abstract class CreateOperationSystemPanel extends JPanel implements GUIEv
 	// Preview panel for showing operation output
 	OperationPreviewPanel systemPreviewPanel;
 
+	// background evaluation for the preview, cancelled when the system changes again
+	Future<Function> previewTask;
+
+	// the system previewTask evaluates; its remembered intermediate results are dropped once it is replaced
+	volatile OperatorSystem previewSystem;
+
 	public CreateOperationSystemPanel(OperatorSystem system) {
 		this(system, false); // Default to 1D mode
 	}
@@ -166,7 +174,15 @@ public abstract class CreateOperationSystemPanel extends JPanel implements GUIEv
 		calculator.setList(functionList, operationList, rule);
 	}
 
-	public abstract Function getFunction();
+	/**
+	 * @return a new system for the functions and operations in the calculator
+	 */
+	public abstract OperatorSystem createSystem();
+
+	public Function getFunction() {
+
+		return createSystem().getFunction();
+	}
 
 	public abstract void createUnaryPanel();
 
@@ -229,15 +245,34 @@ public abstract class CreateOperationSystemPanel extends JPanel implements GUIEv
 	}
 
 	/**
-	 * Updates the system preview panel with the current output
+	 * Updates the system preview panel with the current output, computed in the background
 	 */
 	protected void updateSystemPreview() {
 		if (systemPreviewPanel != null) {
+			if (previewTask != null) {
+				previewTask.cancel(true);
+			}
+			if (previewSystem != null) {
+				previewSystem.getCombineOpsRule().clearMemo();
+				previewSystem = null;
+			}
 			try {
-				Function output = getFunction();
-				systemPreviewPanel.updatePreview(output);
+				final OperatorSystem preview = createSystem();
+				previewSystem = preview;
+				previewTask = EvaluationScheduler.submit(() -> {
+					try {
+						return preview.getFunction();
+					} catch (RuntimeException e) {
+						// If we can't generate output, clear the preview
+						return null;
+					} finally {
+						// replaced while evaluating, after its results were cleared
+						if (preview != previewSystem) {
+							preview.getCombineOpsRule().clearMemo();
+						}
+					}
+				}, output -> systemPreviewPanel.updatePreview(output));
 			} catch (Exception e) {
-				// If we can't generate output, clear the preview
 				systemPreviewPanel.clearPreview();
 			}
 		}
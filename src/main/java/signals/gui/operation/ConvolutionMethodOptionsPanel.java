@@ -0,0 +1,77 @@
+package signals.gui.operation;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+import javax.swing.BorderFactory;
+import javax.swing.BoxLayout;
+import javax.swing.ButtonGroup;
+import javax.swing.JCheckBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JRadioButton;
+import javax.swing.border.Border;
+import javax.swing.border.EtchedBorder;
+
+import signals.core.Operation;
+import signals.operation.Convolution;
+import signals.operation.ConvolutionMethodUser;
+
+@SuppressWarnings("serial")
+public final class ConvolutionMethodOptionsPanel extends OperationOptionsPanel implements ActionListener {
+	
+	JCheckBox linearCB; 
+
+	public ConvolutionMethodOptionsPanel( Operation dependent ) {
+		
+		super( dependent );
+		
+		JPanel methodPanel = new JPanel(); 
+		methodPanel.setLayout(new BoxLayout( methodPanel, BoxLayout.PAGE_AXIS ) ); 
+		ButtonGroup methodGroup = new ButtonGroup(); 
+		
+		for( int method = Convolution.AUTOMATIC; method <= Convolution.FFT; method++ ) {
+			
+			JRadioButton methodRB = new JRadioButton( Convolution.METHOD_NAMES[method] ); 
+			methodRB.setActionCommand( ""+method ); 
+			methodRB.addActionListener( this ); 
+			methodRB.setSelected( method == getConvolutionMethod() ); 
+			
+			methodGroup.add( methodRB ); 
+			methodPanel.add( methodRB ); 
+		}
+		
+		int last = ((ConvolutionMethodUser)dependent).getLastConvolutionMethod(); 
+		if( last != Convolution.AUTOMATIC ) methodPanel.add( new JLabel( "Last used: " + Convolution.METHOD_NAMES[last] ) ); 
+		methodPanel.add( new JLabel( "Runs: " + Convolution.describeUses() ) ); 
+		
+		Border loweredetched = BorderFactory.createEtchedBorder(EtchedBorder.LOWERED);
+		Border title = BorderFactory.createTitledBorder(
+			       loweredetched, "Method");
+		methodPanel.setBorder(title);
+
+		add( methodPanel ); 
+		
+		linearCB = new JCheckBox( "linear (zero-padded)" ); 
+		linearCB.setSelected( ((ConvolutionMethodUser)dependent).isLinear() ); 
+		linearCB.addActionListener( this ); 
+		add( linearCB ); 
+	}
+
+	public void actionPerformed(ActionEvent e) {
+		
+		if( e.getSource() == linearCB ) ((ConvolutionMethodUser)dependent).setLinear( linearCB.isSelected() ); 
+		else setConvolutionMethod( (Integer.parseInt(e.getActionCommand())) );
+		updateInterface();
+	}
+	
+	public void setConvolutionMethod( int method ) {
+		
+		((ConvolutionMethodUser)dependent).setConvolutionMethod( method ); 
+	}
+	
+	public int getConvolutionMethod() {
+		
+		return ((ConvolutionMethodUser)dependent).getConvolutionMethod(); 
+	}
+}
@@ -3,27 +3,21 @@ package signals.gui.plot;
 import java.awt.image.ColorModel;
 import java.awt.image.DataBuffer;
 import java.awt.image.SampleModel;
-import java.lang.ref.SoftReference;
-import java.util.HashMap;
 
 import javax.media.jai.PlanarImage;
 import javax.media.jai.RasterFactory;
 
+import signals.core.DataCache;
+
+/**
+ * Sample and color models for double images, kept in the DataCache by image size
+ */
 public class ImageModelCache {
 	
-	@SuppressWarnings("unchecked")
-	protected HashMap<String, SoftReference> sampleModelsDouble; 
-	
-	@SuppressWarnings("unchecked")
-	protected HashMap<String, SoftReference> colorModelsDouble;
-
+	//models hold no pixel data, only a few small tables
+	protected static final long MODEL_BYTES = 256; 
 	
-	@SuppressWarnings("unchecked")
 	protected ImageModelCache() {
-		
-		sampleModelsDouble = new HashMap<String, SoftReference>(); 
-		colorModelsDouble = new HashMap<String, SoftReference>(); 
-		
 	}
 	
 	private static class SingletonHolder { 
@@ -36,47 +30,28 @@ public class ImageModelCache {
 	
 	public static SampleModel getSampleModelDouble( int x_dim, int y_dim ) {
 		
-		return (SampleModel) getInstance().loadSampleModelDouble( x_dim, y_dim).get();
+		return getInstance().loadSampleModelDouble( x_dim, y_dim);
 	}
 	
-	@SuppressWarnings("unchecked")
-	private SoftReference loadSampleModelDouble( int x_dim, int y_dim ) {
+	private SampleModel loadSampleModelDouble( int x_dim, int y_dim ) {
 		
-		String key = "" + x_dim + ' ' + y_dim; 
+		String key = "sampleModel " + x_dim + ' ' + y_dim; 
 		
-		SoftReference ref = null; 
-		if( !sampleModelsDouble.containsKey(key) || sampleModelsDouble.get(key).get() == null ) {
-			
-			ref = new SoftReference( RasterFactory.createBandedSampleModel( 
-					DataBuffer.TYPE_DOUBLE, x_dim, y_dim, 1 ) );
-			sampleModelsDouble.put( key, ref );
-			
-		} else ref = sampleModelsDouble.get(key); 
-		
-		return ref; 
+		return DataCache.get( key, () -> RasterFactory.createBandedSampleModel( 
+					DataBuffer.TYPE_DOUBLE, x_dim, y_dim, 1 ), model -> MODEL_BYTES, DataCache.WEIGHT_GENERATED ); 
 	}
 	
 	public static ColorModel getColorModelDouble( int x_dim, int y_dim ) {
 		
-		return (ColorModel) getInstance().loadColorModelDouble( x_dim, y_dim).get();
+		return getInstance().loadColorModelDouble( x_dim, y_dim);
 	}
 	
-	@SuppressWarnings("unchecked")
-	private SoftReference loadColorModelDouble(int x_dim, int y_dim ) {
-		
+	private ColorModel loadColorModelDouble(int x_dim, int y_dim ) {
 		
-		String key = "" + x_dim + ' ' + y_dim; 
-		
-		SoftReference ref = null; 
-		if( !colorModelsDouble.containsKey(key) || colorModelsDouble.get(key).get() == null ) {
-			
-			ref = new SoftReference( PlanarImage.createColorModel( getSampleModelDouble( x_dim, y_dim ) ) );
-			colorModelsDouble.put( key, ref );
-	
-			
-		} else ref = colorModelsDouble.get(key); 
+		String key = "colorModel " + x_dim + ' ' + y_dim; 
 		
-		return ref; 
+		return DataCache.get( key, () -> PlanarImage.createColorModel( getSampleModelDouble( x_dim, y_dim ) ), 
+				model -> MODEL_BYTES, DataCache.WEIGHT_GENERATED ); 
 	}
 	
 }
@@ -9,6 +9,7 @@ import signals.core.Function1D;
 import signals.core.Function2D;
 import signals.core.FunctionFactory;
 import signals.core.UnaryOperation;
+import signals.core.Zeros;
 
 public class AbsoluteValueOp extends UnaryOperation {
 
@@ -39,7 +40,7 @@ public class AbsoluteValueOp extends UnaryOperation {
 		String name = "|" + input.getCompactDescriptor() + "|"; 
 	
 		double[] realOut = ArrayMath.abs(real);
-		double[] imagOut = ArrayMath.abs(imag);
+		double[] imagOut = Zeros.isZero(imag) ? imag : ArrayMath.abs(imag);
 		
 		if( input instanceof Function1D ) {
 			
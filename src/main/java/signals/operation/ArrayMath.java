@@ -2,23 +2,26 @@ package signals.operation;
 
 import java.util.Arrays;
 
+import signals.core.Zeros;
+
 public class ArrayMath {
 
 	/**
 	 * Logarithm
-	 * calculates natural logarithm of the magnitude of the array values
+	 * calculates natural logarithm of the magnitude of the array values;
+	 * the result is real, with the shared zero array as its imaginary part
 	 */
 	public static double[][] logarithm(double[] real, double[] imaginary) {
 
 		int dimension = real.length;
 
 		double[] logR = new double[dimension];
-		double[] logI = new double[dimension];
+		double[] logI = Zeros.zeros(dimension);
+		boolean isReal = Zeros.isZero(imaginary);
 
 		for (int i = 0; i < dimension; i++) {
 
-			double magnitude = Math.sqrt(real[i] * real[i] + imaginary[i] * imaginary[i]);
-			logI[i] = 0;
+			double magnitude = Math.sqrt(isReal ? real[i] * real[i] : real[i] * real[i] + imaginary[i] * imaginary[i]);
 			logR[i] = (magnitude == 0) ? -100 : Math.log(magnitude);
 
 		}
@@ -36,6 +39,25 @@ public class ArrayMath {
 		int dimension = real.length;
 
 		double[] outR = new double[dimension];
+
+		if (Zeros.isZero(imaginary)) {
+
+			for (int i = 0; i < dimension; i++) {
+
+				double denom = magnitude(real[i], 0);
+
+				denom = (denom > 1E70) ? 0 : (denom * denom);
+
+				if (denom != 0) {
+
+					outR[i] = real[i] / denom;
+				}
+			}
+
+			double[][] output = { outR, Zeros.zeros(dimension) };
+			return output;
+		}
+
 		double[] outI = new double[dimension];
 
 		// question add overflow checks
@@ -111,9 +133,17 @@ public class ArrayMath {
 	}
 
 	// complex multiplication of 2 arrays. will only multiply to first input.length
+	// the product of two real arrays (imaginary parts from Zeros) is real, and keeps the shared zero array
 	public static double[][] multiply(double[] real1, double[] imag1, double[] real2, double[] imag2) {
 
 		int dimension = real1.length;
+
+		if (Zeros.isZero(imag1) && Zeros.isZero(imag2)) {
+
+			double[][] output = { modulate(real1, real2), Zeros.zeros(dimension) };
+			return output;
+		}
+
 		double[] productR = new double[dimension];
 		double[] productI = new double[dimension];
 
@@ -207,6 +237,12 @@ public class ArrayMath {
 
 		int dimension = real1.length;
 
+		if (Zeros.isZero(imag1) && Zeros.isZero(imag2)) {
+
+			double[][] output = { divideReal(real1, real2), Zeros.zeros(dimension) };
+			return output;
+		}
+
 		double[] realOut = new double[dimension];
 		double[] imagOut = new double[dimension];
 
@@ -252,6 +288,37 @@ public class ArrayMath {
 
 	} // divide
 
+	/*
+	 * divide for real arrays, with the same treatment of zero divisors
+	 */
+	private static double[] divideReal(double[] real1, double[] real2) {
+
+		int dimension = real1.length;
+		double[] realOut = new double[dimension];
+
+		for (int i = 0; i < dimension; i++) {
+
+			double denom = real2[i] * real2[i];
+
+			if (denom != 0) {
+
+				realOut[i] = (real1[i] * real2[i]) / denom;
+
+			} else if ((i >= 1) && (i < dimension - 1)) {
+
+				double dreal1 = real1[i + 1] - real1[i - 1];
+				double dreal2 = real2[i + 1] - real2[i - 1];
+				denom = dreal2 * dreal2;
+
+				if (denom != 0) {
+					realOut[i] = (dreal1 * dreal2) / denom;
+				}
+			}
+		}
+
+		return realOut;
+	}
+
 	/*
 	 * Magnitude
 	 */
@@ -307,6 +374,18 @@ public class ArrayMath {
 		double threshold = 1E-10;
 		double phase[] = new double[dimension];
 
+		if (Zeros.isZero(imag)) {
+
+			// a real value has phase -pi if negative, 0 otherwise
+			for (int i = 0; i < dimension; ++i) {
+
+				if (real[i] <= -threshold)
+					phase[i] = -Math.PI;
+			}
+
+			return phase;
+		}
+
 		for (int i = 0; i < dimension; ++i) {
 
 			double dreal = 0;
@@ -352,6 +431,16 @@ public class ArrayMath {
 		int dimension = real.length;
 		double magnitude[] = new double[dimension];
 
+		if (Zeros.isZero(imaginary)) {
+
+			for (int i = 0; i < dimension; i++) {
+				double magSq = real[i] * real[i];
+				magnitude[i] = (magSq > 3E76) ? 1.7E38 : Math.sqrt(magSq);
+			}
+
+			return magnitude;
+		}
+
 		for (int i = 0; i < dimension; i++) {
 			double magSq = imaginary[i] * imaginary[i] + real[i] * real[i];
 			magnitude[i] = (magSq > 3E76) ? 1.7E38 : Math.sqrt(magSq);
@@ -366,6 +455,15 @@ public class ArrayMath {
 		int dimension = real.length;
 		double magnitude[] = new double[dimension];
 
+		if (Zeros.isZero(imaginary)) {
+
+			for (int i = 0; i < dimension; i++) {
+				magnitude[i] = real[i] * real[i];
+			}
+
+			return magnitude;
+		}
+
 		for (int i = 0; i < dimension; i++) {
 			magnitude[i] = imaginary[i] * imaginary[i] + real[i] * real[i];
 		}
@@ -448,24 +546,28 @@ public class ArrayMath {
 
 		double[][] log = logarithm(real, imag);
 
+		// the logarithm is real, so a real power gives a real result
 		double[] pwrR = new double[dimension];
-		double[] pwrI = new double[dimension];
+		double[] pwrI = (imagpower == 0) ? Zeros.zeros(dimension) : new double[dimension];
 
 		for (int i = 0; i < dimension; i++) {
 
-			pwrR[i] = realpower * log[0][i] - imagpower * log[1][i];
-			pwrI[i] = imagpower * log[0][i] + realpower * log[1][i];
+			pwrR[i] = realpower * log[0][i];
+			if (imagpower != 0)
+				pwrI[i] = imagpower * log[0][i];
 
 		}
 
 		double[][] exp = exponent(pwrR, pwrI);
+		boolean isReal = Zeros.isZero(exp[1]);
 
 		for (int i = 0; i < dimension; i++) {
 
 			if (real[i] == 0 && imag[i] == 0) {
 
 				exp[0][i] = 0;
-				exp[1][i] = 0;
+				if (!isReal)
+					exp[1][i] = 0;
 			}
 		}
 
@@ -482,6 +584,21 @@ public class ArrayMath {
 		int dimension = real.length;
 
 		double[] exponentR = new double[dimension];
+
+		if (Zeros.isZero(imaginary)) {
+
+			for (int i = 0; i < dimension; i++) {
+
+				// as below, values out of range are left at 0
+				double re = real[i];
+				if (!(re > 709.78 || re < -700))
+					exponentR[i] = Math.exp(re);
+			}
+
+			double[][] output = { exponentR, Zeros.zeros(dimension) };
+			return output;
+		}
+
 		double[] exponentI = new double[dimension];
 
 		for (int i = 0; i < dimension; i++) {
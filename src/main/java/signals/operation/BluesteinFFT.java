@@ -0,0 +1,121 @@
+package signals.operation;
+
+/**
+ * Bluestein (chirp-z) FFT for lengths with a large prime factor. The length N transform
+ * is rewritten as a circular convolution with a chirp, which is evaluated with
+ * mixed-radix transforms of a fast length M >= 2N-1.
+ */
+public class BluesteinFFT extends FFTKernel {
+
+	//padded convolution length
+	protected int convolutionLength;
+
+	//chirp exp( sign * i * pi * n^2 / N )
+	protected double[] chirpReal, chirpImag;
+
+	//forward transform of the conjugate chirp, prescaled by 1/M
+	protected double[] filterReal, filterImag;
+
+	protected MixedRadixFFT convolutionFFT;
+
+	public BluesteinFFT( int dimension, boolean inverse ) {
+
+		super( dimension, inverse );
+
+		convolutionLength = nextFastSize( 2 * dimension - 1 );
+		convolutionFFT = createMixedRadix( convolutionLength, false );
+
+		double sign = inverse ? 1.0 : -1.0;
+		long twoN = 2L * dimension;
+
+		chirpReal = new double[dimension];
+		chirpImag = new double[dimension];
+
+		for( int i = 0; i < dimension; i++ ) {
+
+			//n^2 mod 2N keeps the phase small and accurate for large N
+			double phase = sign * Math.PI * ( ( (long) i * i ) % twoN ) / dimension;
+			chirpReal[i] = Math.cos( phase );
+			chirpImag[i] = Math.sin( phase );
+		}
+
+		//conjugate chirp, wrapped so that negative lags sit at the end of the array
+		filterReal = new double[convolutionLength];
+		filterImag = new double[convolutionLength];
+
+		filterReal[0] = chirpReal[0];
+		filterImag[0] = -chirpImag[0];
+
+		for( int i = 1; i < dimension; i++ ) {
+
+			filterReal[i] = filterReal[convolutionLength - i] = chirpReal[i];
+			filterImag[i] = filterImag[convolutionLength - i] = -chirpImag[i];
+		}
+
+		convolutionFFT.transform( filterReal, filterImag );
+
+		double scale = 1.0 / convolutionLength;
+		for( int i = 0; i < convolutionLength; i++ ) {
+
+			filterReal[i] *= scale;
+			filterImag[i] *= scale;
+		}
+	}
+
+	/**
+	 * Needs room for the padded sequence plus the work space of the convolution transform
+	 */
+	@Override
+	public int getWorkLength() {
+		return 2 * convolutionLength;
+	}
+
+	@Override
+	public long getTableBytes() {
+		return 16L * ( dimension + convolutionLength ) + convolutionFFT.getTableBytes();
+	}
+
+	@Override
+	public void transform( double[] real, double[] imag, int offset,
+			double[] workReal, double[] workImag, int workOffset ) {
+
+		int M = convolutionLength;
+		int a = workOffset;
+		int scratch = workOffset + M;
+
+		//a_n = x_n * chirp_n, zero padded to M
+		for( int i = 0; i < dimension; i++ ) {
+
+			double xr = real[offset + i], xi = imag[offset + i];
+			workReal[a + i] = xr * chirpReal[i] - xi * chirpImag[i];
+			workImag[a + i] = xr * chirpImag[i] + xi * chirpReal[i];
+		}
+
+		for( int i = dimension; i < M; i++ ) {
+
+			workReal[a + i] = 0;
+			workImag[a + i] = 0;
+		}
+
+		convolutionFFT.transform( workReal, workImag, a, workReal, workImag, scratch );
+
+		//multiply by the filter and conjugate, so the forward FFT below acts as an inverse
+		for( int i = 0; i < M; i++ ) {
+
+			double xr = workReal[a + i], xi = workImag[a + i];
+			workReal[a + i] = xr * filterReal[i] - xi * filterImag[i];
+			workImag[a + i] = -( xr * filterImag[i] + xi * filterReal[i] );
+		}
+
+		convolutionFFT.transform( workReal, workImag, a, workReal, workImag, scratch );
+
+		//undo the conjugation and apply the output chirp
+		for( int i = 0; i < dimension; i++ ) {
+
+			double yr = workReal[a + i], yi = -workImag[a + i];
+			real[offset + i] = yr * chirpReal[i] - yi * chirpImag[i];
+			imag[offset + i] = yr * chirpImag[i] + yi * chirpReal[i];
+		}
+	}
+
+}
@@ -81,18 +81,13 @@ public class ComplementFilterOp extends UnaryOperation implements ParametricOper
 		int xDimension = 0; 
 		int yDimension = 0; 
 		
-		double[][] transformed = null; 
+		double[][] transformed = input.getSpectrum( Transforms.NORMALIZE_ROOT_N, false ); 
 		
-		if( input instanceof Function1D ) {
-			
-			transformed = Transforms.computeFFT1D( real, imag, zeroCentered, false, Transforms.NORMALIZE_ROOT_N );
-			
-		} else {
+		if( input instanceof Function2D ) {
 			
 			Function2D function2D = (Function2D)input; 
 			xDimension = function2D.getDimensionX(); 
 			yDimension = function2D.getDimensionY(); 
-			transformed = Transforms.computeFFT2D(real, imag, zeroCentered, false, xDimension, yDimension, Transforms.NORMALIZE_ROOT_N );
 		}
 
 		int dimension = real.length; 
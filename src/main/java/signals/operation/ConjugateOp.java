@@ -5,12 +5,12 @@ import java.awt.image.renderable.ParameterBlock;
 import signals.core.CombineOpsRule;
 import signals.core.DataGeneratorTypeModel;
 import signals.core.Function;
-import signals.core.Function1D;
-import signals.core.Function2D;
-import signals.core.FunctionFactory;
+import signals.core.PointwiseExpression;
+import signals.core.PointwiseOperation;
+import signals.core.SeparableFactors;
 import signals.core.UnaryOperation;
 
-public class ConjugateOp extends UnaryOperation {
+public class ConjugateOp extends UnaryOperation implements PointwiseOperation {
 
 	public ConjugateOp() {
 		super();
@@ -30,34 +30,36 @@ public class ConjugateOp extends UnaryOperation {
 	
 	
 	public Function create( Function input ) {
-		
-		double[] real = input.getReal(); 
-		double[] imag = input.getImaginary(); 
-		
-		boolean zeroCentered = input.isZeroCentered();
-		
-		String name = "("+ input.getCompactDescriptor() + ")*"; 
-	
-		double[] realOut = new double[real.length];
-		double[] imagOut = new double[real.length];
-		
-		for( int i = 0; i < real.length; ++i ) {
-			
-			realOut[i] = real[i]; 
-			imagOut[i] = -imag[i];
+
+		return PointwiseExpression.apply( this, PointwiseExpression.of( input ) ).toFunction();
+	}
+
+	public void apply( double[] real, double[] imag, double[] realB, double[] imagB, int length ) {
+
+		for( int i = 0; i < length; ++i ) {
+
+			imag[i] = -imag[i];
 		}
-		
-		if( input instanceof Function1D ) {
-			
-			return FunctionFactory.createFunction1D( realOut, imagOut, zeroCentered, name ); 
-			
-		} 
-		
-		int x_dimension = ((Function2D)input).getDimensionX();
-		int y_dimension = ((Function2D)input).getDimensionY();
+	}
+
+	public boolean keepsReal() {
+
+		return true;
+	}
+
+	public void applyReal( double[] real, double[] realB, int length ) {
+
+		//the conjugate of a real value is itself
+	}
+
+	public String describe( String operandA, String operandB ) {
+
+		return "("+ operandA + ")*";
+	}
+
+	public SeparableFactors applyFactors( SeparableFactors factorsA, SeparableFactors factorsB ) {
 
-		return FunctionFactory.createFunction2D( realOut, imagOut, zeroCentered, name, 
-				x_dimension, y_dimension ); 
+		return factorsA.conjugate();
 	}
 		
 
@@ -0,0 +1,691 @@
+package signals.operation;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import signals.core.Function;
+import signals.core.Function2D;
+import signals.core.FunctionFactory;
+import signals.core.Zeros;
+
+/**
+ * Circular convolution and correlation by whichever of three methods is cheapest:
+ * a direct sum over the nonzero samples of the sparser input, overlap-add with small FFT
+ * blocks around the sparser input's support, or the full-size spectral product.
+ * All three give the same wrap-around result; they differ only in rounding.
+ *
+ * The cost model counts floating point operations: about 5 N log2 N per complex FFT,
+ * 8 per complex multiply-add and half of each for real data.
+ * Overlap-add is only implemented in 1D; 2D inputs choose between direct and FFT.
+ *
+ * The linear variants do not wrap around: the inputs are embedded, at the same positions, in zero
+ * arrays just long enough per axis that no wrapped product lands in the window that is cropped back.
+ * For a kernel of extent M around the origin that is N + M - 1, and never more than 2N - 1.
+ */
+public class Convolution {
+
+	public static final int AUTOMATIC = 0, DIRECT = 1, OVERLAP_ADD = 2, FFT = 3;
+
+	public static final String[] METHOD_NAMES = { "Automatic", "Direct", "Overlap-add", "FFT" };
+
+	//how often each method has run, shown in the convolution options
+	protected static final AtomicLongArray uses = new AtomicLongArray( METHOD_NAMES.length );
+
+	/**
+	 * Nonzero samples of a signal. In 1D, start and length give the shortest circular run holding all of them.
+	 */
+	public static class Support {
+
+		public int count;
+		public int start, length;
+	}
+
+	/**
+	 * @return the number of times method has been used since start up
+	 */
+	public static long getUses( int method ) {
+		return uses.get( method );
+	}
+
+	/**
+	 * @return the use counts of the three methods, as "Direct 3, Overlap-add 0, FFT 12"
+	 */
+	public static String describeUses() {
+
+		StringBuilder description = new StringBuilder();
+
+		for( int method = DIRECT; method <= FFT; method++ ) {
+
+			if( method > DIRECT ) description.append( ", " );
+			description.append( METHOD_NAMES[method] ).append( ' ' ).append( uses.get( method ) );
+		}
+
+		return description.toString();
+	}
+
+	public static Support support( double[] real, double[] imag ) {
+
+		return support( real, imag, true );
+	}
+
+	/**
+	 * @param circular let the run wrap around the end; otherwise it runs from the first nonzero sample to the last
+	 */
+	public static Support support( double[] real, double[] imag, boolean circular ) {
+
+		int n = real.length;
+		boolean complex = !Zeros.isZero( imag );
+
+		Support support = new Support();
+		int first = -1, previous = -1;
+		int largestGap = 0, gapEnd = 0;
+
+		for( int i = 0; i < n; i++ ) {
+
+			if( real[i] == 0 && ( !complex || imag[i] == 0 ) ) continue;
+
+			support.count++;
+
+			if( first < 0 ) first = i;
+			else if( i - previous - 1 > largestGap ) {
+
+				largestGap = i - previous - 1;
+				gapEnd = i;
+			}
+
+			previous = i;
+		}
+
+		if( first < 0 ) return support;
+
+		if( !circular ) {
+
+			support.start = first;
+			support.length = previous - first + 1;
+			return support;
+		}
+
+		//the gap that wraps around the end
+		if( first + n - previous - 1 >= largestGap ) {
+
+			largestGap = first + n - previous - 1;
+			gapEnd = first;
+		}
+
+		support.start = gapEnd;
+		support.length = n - largestGap;
+		return support;
+	}
+
+	/**
+	 * Picks the cheapest method for 1D inputs of dimension n, where kernel is the support of the sparser one
+	 */
+	public static int choose1D( int n, Support kernel, boolean real ) {
+
+		double direct = directCost( n, kernel.count, real );
+		double fft = fftCost( n, real );
+		double overlapAdd = ( 2 * kernel.length <= n ) ? overlapAddCost( n, kernel.length, real, blockSize( n, kernel.length, real ) )
+				: Double.MAX_VALUE;
+
+		if( direct <= fft && direct <= overlapAdd ) return DIRECT;
+		return ( overlapAdd < fft ) ? OVERLAP_ADD : FFT;
+	}
+
+	/**
+	 * Picks the cheapest method for 2D inputs of x_dimension * y_dimension samples
+	 */
+	public static int choose2D( int x_dimension, int y_dimension, Support kernel, boolean real ) {
+
+		int n = x_dimension * y_dimension;
+		return ( directCost( n, kernel.count, real ) <= fftCost( n, real ) ) ? DIRECT : FFT;
+	}
+
+	protected static double directCost( int n, int count, boolean real ) {
+
+		return ( real ? 2.0 : 8.0 ) * n * count;
+	}
+
+	//two forward transforms and one inverse
+	protected static double fftCost( int n, boolean real ) {
+
+		double cost = 3 * transformCost( n );
+		return real ? cost / 2 : cost;
+	}
+
+	protected static double transformCost( int n ) {
+
+		return 5.0 * n * Math.max( 1.0, Math.log( n ) / Math.log( 2 ) );
+	}
+
+	//real data is transformed two blocks at a time, one in each part of a complex block
+	protected static double overlapAddCost( int n, int length, boolean real, int fftSize ) {
+
+		int block = fftSize - length + 1;
+		int blocks = ( n + block - 1 ) / block;
+		if( real ) blocks = ( blocks + 1 ) / 2;
+
+		return transformCost( fftSize ) + blocks * ( 2 * transformCost( fftSize ) + 10.0 * fftSize );
+	}
+
+	//the cheapest power of two FFT size for blocks around a kernel of the given length
+	protected static int blockSize( int n, int length, boolean real ) {
+
+		int best = Integer.highestOneBit( Math.max( 1, 2 * length - 1 ) ) << 1;
+		double bestCost = overlapAddCost( n, length, real, best );
+
+		for( int size = best << 1; size < 2 * ( n + length ); size <<= 1 ) {
+
+			double cost = overlapAddCost( n, length, real, size );
+
+			if( cost < bestCost ) {
+
+				best = size;
+				bestCost = cost;
+			}
+		}
+
+		return best;
+	}
+
+	/**
+	 * The method create would use for these inputs
+	 * @param conjugate correlation, which pads differently from convolution when linear
+	 * @param method AUTOMATIC, or a method to force
+	 * @param linear estimate for the padded arrays of linear convolution
+	 */
+	public static int choose( Function inputA, Function inputB, boolean conjugate, int method, boolean linear ) {
+
+		Support supportA = support( inputA.getReal(), inputA.getImaginary(), !linear );
+		Support supportB = support( inputB.getReal(), inputB.getImaginary(), !linear );
+		Support kernel = ( supportA.length < supportB.length ) ? supportA : supportB;
+		if( inputA instanceof Function2D ) kernel = ( supportA.count < supportB.count ) ? supportA : supportB;
+
+		boolean real = Transforms.isReal( inputA ) && Transforms.isReal( inputB );
+
+		if( inputA instanceof Function2D ) {
+
+			int dimensionX = ( (Function2D) inputA ).getDimensionX();
+			int dimensionY = ( (Function2D) inputA ).getDimensionY();
+
+			//overlap-add is not implemented in 2D
+			if( method != AUTOMATIC ) return ( method == OVERLAP_ADD ) ? FFT : method;
+			if( !linear ) return choose2D( dimensionX, dimensionY, kernel, real );
+
+			int[] padded = paddedSizes( inputA.getReal(), inputA.getImaginary(), inputB.getReal(), inputB.getImaginary(),
+					inputA.isZeroCentered(), conjugate, dimensionX, dimensionY );
+			return choose2D( padded[0], padded[1], kernel, real );
+		}
+
+		int n = inputA.getReal().length;
+		if( method != AUTOMATIC ) return method;
+		if( !linear ) return choose1D( n, kernel, real );
+
+		int[] padded = paddedSizes( inputA.getReal(), inputA.getImaginary(), inputB.getReal(), inputB.getImaginary(),
+				inputA.isZeroCentered(), conjugate, n, 1 );
+		return choose1D( padded[0], kernel, real );
+	}
+
+	/**
+	 * Convolution, or correlation with conjugate, of two functions of the same shape
+	 * @param linear zero-pad instead of wrapping around
+	 * @param method DIRECT, OVERLAP_ADD or FFT, as returned by choose
+	 */
+	public static Function create( Function inputA, Function inputB, boolean conjugate, boolean linear, int method,
+			String name ) {
+
+		//only unpadded spectra are cached
+		if( method == FFT && !linear ) {
+
+			uses.incrementAndGet( FFT );
+			return SpectralProduct.product( inputA, inputB, conjugate, name );
+		}
+
+		boolean zeroCentered = inputA.isZeroCentered();
+
+		if( inputA instanceof Function2D ) {
+
+			int dimensionX = ( (Function2D) inputA ).getDimensionX();
+			int dimensionY = ( (Function2D) inputA ).getDimensionY();
+
+			double[][] output = linear
+					? computeLinear2D( inputA.getReal(), inputA.getImaginary(), inputB.getReal(), inputB.getImaginary(),
+							zeroCentered, conjugate, method, dimensionX, dimensionY )
+					: compute2D( inputA.getReal(), inputA.getImaginary(), inputB.getReal(), inputB.getImaginary(),
+							zeroCentered, conjugate, method, dimensionX, dimensionY );
+			return FunctionFactory.createFunction2D( output[0], output[1], zeroCentered, name, dimensionX, dimensionY );
+		}
+
+		double[][] output = linear
+				? computeLinear1D( inputA.getReal(), inputA.getImaginary(), inputB.getReal(), inputB.getImaginary(),
+						zeroCentered, conjugate, method )
+				: compute1D( inputA.getReal(), inputA.getImaginary(), inputB.getReal(), inputB.getImaginary(),
+						zeroCentered, conjugate, method );
+		return FunctionFactory.createFunction1D( output[0], output[1], zeroCentered, name );
+	}
+
+	/**
+	 * @return the { x, y } lengths linear convolution pads to: the next fast FFT lengths that keep every wrapped
+	 * product out of the cropped window, or the dimensions themselves when either input is zero
+	 */
+	public static int[] paddedSizes( double[] realA, double[] imagA, double[] realB, double[] imagB,
+			boolean zeroCentered, boolean conjugate, int x_dimension, int y_dimension ) {
+
+		int[] extentA = extent( realA, imagA, x_dimension, y_dimension );
+		int[] extentB = extent( realB, imagB, x_dimension, y_dimension );
+
+		int[] sizes = { x_dimension, y_dimension };
+		if( extentA == null || extentB == null ) return sizes;
+
+		//rows are stored top (largest y) first, which moves the row origin
+		int originX = zeroCentered ? x_dimension / 2 : 0;
+		int originY = y_dimension - 1 - ( zeroCentered ? y_dimension / 2 : 0 );
+
+		sizes[0] = paddedSize( x_dimension, originX, extentA[0], extentA[1], extentB[0], extentB[1], conjugate );
+		sizes[1] = paddedSize( y_dimension, originY, extentA[2], extentA[3], extentB[2], extentB[3], conjugate );
+		return sizes;
+	}
+
+	/**
+	 * The padded length along one axis of n samples, where a and b are nonzero from first to last (inclusive).
+	 * Products of a and b fall from firstA + firstB - origin to lastA + lastB - origin; the padded length
+	 * has to move both ends clear of the n cropped samples when they wrap.
+	 * @param conjugate b is reflected about origin first
+	 */
+	protected static int paddedSize( int n, int origin, int firstA, int lastA, int firstB, int lastB, boolean conjugate ) {
+
+		if( conjugate ) {
+
+			int reflected = 2 * origin - lastB;
+			lastB = 2 * origin - firstB;
+			firstB = reflected;
+		}
+
+		int length = Math.max( n, Math.max( n + origin - firstA - firstB, lastA + lastB - origin + 1 ) );
+		return FFTKernel.nextFastSize( length );
+	}
+
+	//{ first column, last column, first row, last row } holding nonzero samples, or null if there are none
+	protected static int[] extent( double[] real, double[] imag, int width, int height ) {
+
+		boolean complex = !Zeros.isZero( imag );
+		int[] extent = null;
+
+		for( int row = 0; row < height; row++ ) {
+
+			for( int column = 0; column < width; column++ ) {
+
+				int i = row * width + column;
+				if( real[i] == 0 && ( !complex || imag[i] == 0 ) ) continue;
+
+				if( extent == null ) extent = new int[] { column, column, row, row };
+
+				extent[0] = Math.min( extent[0], column );
+				extent[1] = Math.max( extent[1], column );
+				extent[3] = row;
+			}
+		}
+
+		return extent;
+	}
+
+	/**
+	 * 1D convolution or correlation without wrap-around, see compute1D. The result covers the same positions as the inputs.
+	 */
+	public static double[][] computeLinear1D( double[] realA, double[] imagA, double[] realB, double[] imagB,
+			boolean zeroCentered, boolean conjugate, int method ) {
+
+		int n = realA.length;
+		int padded = paddedSizes( realA, imagA, realB, imagB, zeroCentered, conjugate, n, 1 )[0];
+
+		//the same position in the padded array, which is centered the same way
+		int offset = zeroCentered ? padded / 2 - n / 2 : 0;
+
+		double[][] output = compute1D( pad( realA, n, 1, padded, 1, offset, 0 ), pad( imagA, n, 1, padded, 1, offset, 0 ),
+				pad( realB, n, 1, padded, 1, offset, 0 ), pad( imagB, n, 1, padded, 1, offset, 0 ),
+				zeroCentered, conjugate, method );
+
+		double[][] cropped = { crop( output[0], n, 1, padded, offset, 0 ), crop( output[1], n, 1, padded, offset, 0 ) };
+		return cropped;
+	}
+
+	/**
+	 * 2D convolution or correlation without wrap-around, see compute2D
+	 */
+	public static double[][] computeLinear2D( double[] realA, double[] imagA, double[] realB, double[] imagB,
+			boolean zeroCentered, boolean conjugate, int method, int x_dimension, int y_dimension ) {
+
+		int[] padded = paddedSizes( realA, imagA, realB, imagB, zeroCentered, conjugate, x_dimension, y_dimension );
+		int paddedX = padded[0];
+		int paddedY = padded[1];
+
+		int offsetX = zeroCentered ? paddedX / 2 - x_dimension / 2 : 0;
+
+		//rows are stored top (largest y) first, so rows keep their distance from the bottom instead
+		int offsetY = ( paddedY - ( zeroCentered ? paddedY / 2 : 0 ) ) - ( y_dimension - ( zeroCentered ? y_dimension / 2 : 0 ) );
+
+		double[][] output = compute2D(
+				pad( realA, x_dimension, y_dimension, paddedX, paddedY, offsetX, offsetY ),
+				pad( imagA, x_dimension, y_dimension, paddedX, paddedY, offsetX, offsetY ),
+				pad( realB, x_dimension, y_dimension, paddedX, paddedY, offsetX, offsetY ),
+				pad( imagB, x_dimension, y_dimension, paddedX, paddedY, offsetX, offsetY ),
+				zeroCentered, conjugate, method, paddedX, paddedY );
+
+		double[][] cropped = { crop( output[0], x_dimension, y_dimension, paddedX, offsetX, offsetY ),
+				crop( output[1], x_dimension, y_dimension, paddedX, offsetX, offsetY ) };
+		return cropped;
+	}
+
+	//copies width x height values into a zero paddedWidth x paddedHeight array at the given offsets; zero arrays stay shared
+	protected static double[] pad( double[] array, int width, int height, int paddedWidth, int paddedHeight,
+			int offsetX, int offsetY ) {
+
+		if( Zeros.isZero( array ) ) return Zeros.zeros( paddedWidth * paddedHeight );
+
+		double[] padded = new double[paddedWidth * paddedHeight];
+
+		for( int row = 0; row < height; row++ ) {
+
+			System.arraycopy( array, row * width, padded, ( row + offsetY ) * paddedWidth + offsetX, width );
+		}
+
+		return padded;
+	}
+
+	//inverse of pad
+	protected static double[] crop( double[] padded, int width, int height, int paddedWidth, int offsetX, int offsetY ) {
+
+		if( Zeros.isZero( padded ) ) return Zeros.zeros( width * height );
+
+		double[] array = new double[width * height];
+
+		for( int row = 0; row < height; row++ ) {
+
+			System.arraycopy( padded, ( row + offsetY ) * paddedWidth + offsetX, array, row * width, width );
+		}
+
+		return array;
+	}
+
+	/**
+	 * 1D circular convolution of a and b, or correlation of a with reference b if conjugate
+	 * @param method any method, including AUTOMATIC
+	 * @return { real, imaginary }, with a shared zero imaginary part when both inputs are real
+	 */
+	public static double[][] compute1D( double[] realA, double[] imagA, double[] realB, double[] imagB,
+			boolean zeroCentered, boolean conjugate, int method ) {
+
+		int n = realA.length;
+		boolean real = Zeros.isZero( imagA ) && Zeros.isZero( imagB );
+
+		Support supportA = support( realA, imagA );
+		Support supportB = support( realB, imagB );
+		Support kernel = ( supportA.length < supportB.length ) ? supportA : supportB;
+
+		if( method == AUTOMATIC ) method = choose1D( n, kernel, real );
+		uses.incrementAndGet( method );
+
+		if( method == FFT ) return SpectralProduct.computeProduct1D( realA, imagA, realB, imagB, zeroCentered, conjugate );
+
+		int origin = zeroCentered ? n / 2 : 0;
+
+		//correlation is convolution with the reflected conjugate of the reference
+		if( conjugate ) {
+
+			double[][] reflected = reflect( realB, imagB, origin, n, 1 );
+			realB = reflected[0];
+			imagB = reflected[1];
+			supportB = support( realB, imagB );
+		}
+
+		//the sparser input is the kernel
+		if( supportA.length < supportB.length ) {
+
+			double[] temp = realA; realA = realB; realB = temp;
+			temp = imagA; imagA = imagB; imagB = temp;
+			supportB = supportA;
+		}
+
+		double[] realOutput = new double[n];
+		double[] imagOutput = real ? Zeros.zeros( n ) : new double[n];
+
+		//an all-zero kernel has no support to build blocks around; the output stays zero
+		if( method == OVERLAP_ADD && supportB.count > 0 ) {
+
+			overlapAdd( realA, imagA, realB, imagB, realOutput, imagOutput, supportB, origin, real );
+
+		} else {
+
+			for( int t = 0; t < supportB.length; t++ ) {
+
+				int k = ( supportB.start + t ) % n;
+				if( realB[k] == 0 && ( real || imagB[k] == 0 ) ) continue;
+
+				directRow( realA, imagA, 0, realB[k], imagB[k], realOutput, imagOutput, 0, n, ( origin - k + n ) % n, real );
+			}
+		}
+
+		double[][] output = { realOutput, imagOutput };
+		return output;
+	}
+
+	/**
+	 * 2D circular convolution or correlation of flat row-major arrays, see compute1D.
+	 * OVERLAP_ADD is done as FFT.
+	 */
+	public static double[][] compute2D( double[] realA, double[] imagA, double[] realB, double[] imagB,
+			boolean zeroCentered, boolean conjugate, int method, int x_dimension, int y_dimension ) {
+
+		int n = x_dimension * y_dimension;
+		boolean real = Zeros.isZero( imagA ) && Zeros.isZero( imagB );
+
+		Support supportA = support( realA, imagA );
+		Support supportB = support( realB, imagB );
+
+		if( method == AUTOMATIC ) method = choose2D( x_dimension, y_dimension,
+				( supportA.count < supportB.count ) ? supportA : supportB, real );
+		if( method == OVERLAP_ADD ) method = FFT;
+		uses.incrementAndGet( method );
+
+		if( method == FFT ) return SpectralProduct.computeProduct2D( realA, imagA, realB, imagB, zeroCentered, conjugate,
+				x_dimension, y_dimension );
+
+		//rows are stored top (largest y) first, which moves the row origin
+		int originX = zeroCentered ? x_dimension / 2 : 0;
+		int originY = y_dimension - 1 - ( zeroCentered ? y_dimension / 2 : 0 );
+
+		if( conjugate ) {
+
+			double[][] reflected = reflect( realB, imagB, originY, y_dimension, x_dimension );
+			reflected = reflectRows( reflected[0], reflected[1], originX, x_dimension, y_dimension );
+			realB = reflected[0];
+			imagB = reflected[1];
+			supportB = support( realB, imagB );
+		}
+
+		if( supportA.count < supportB.count ) {
+
+			double[] temp = realA; realA = realB; realB = temp;
+			temp = imagA; imagA = imagB; imagB = temp;
+		}
+
+		double[] realOutput = new double[n];
+		double[] imagOutput = real ? Zeros.zeros( n ) : new double[n];
+
+		for( int ky = 0; ky < y_dimension; ky++ ) {
+
+			for( int kx = 0; kx < x_dimension; kx++ ) {
+
+				int k = ky * x_dimension + kx;
+				if( realB[k] == 0 && ( real || imagB[k] == 0 ) ) continue;
+
+				int shiftX = ( originX - kx + x_dimension ) % x_dimension;
+				int shiftY = ( originY - ky + y_dimension ) % y_dimension;
+
+				for( int y = 0; y < y_dimension; y++ ) {
+
+					int sourceRow = ( ( y + shiftY ) % y_dimension ) * x_dimension;
+					directRow( realA, imagA, sourceRow, realB[k], imagB[k], realOutput, imagOutput, y * x_dimension,
+							x_dimension, shiftX, real );
+				}
+			}
+		}
+
+		double[][] output = { realOutput, imagOutput };
+		return output;
+	}
+
+	//one row of width samples: out[outOffset + i] += b * a[aOffset + (i + shift) mod width]
+	protected static void directRow( double[] realA, double[] imagA, int aOffset, double realB, double imagB,
+			double[] realOut, double[] imagOut, int outOffset, int width, int shift, boolean real ) {
+
+		//two runs, so no index wraps inside a loop
+		int split = width - shift;
+
+		if( real ) {
+
+			for( int i = 0; i < split; i++ ) realOut[outOffset + i] += realB * realA[aOffset + i + shift];
+			for( int i = split; i < width; i++ ) realOut[outOffset + i] += realB * realA[aOffset + i - split];
+			return;
+		}
+
+		for( int i = 0; i < width; i++ ) {
+
+			int a = aOffset + ( ( i < split ) ? i + shift : i - split );
+			double ar = realA[a], ai = imagA[a];
+
+			realOut[outOffset + i] += ar * realB - ai * imagB;
+			imagOut[outOffset + i] += ar * imagB + ai * realB;
+		}
+	}
+
+	//c[m] = conj( b[(2 origin - m) mod n] ) along runs of count samples spaced stride apart
+	protected static double[][] reflect( double[] real, double[] imag, int origin, int count, int stride ) {
+
+		boolean complex = !Zeros.isZero( imag );
+		double[] reflectedReal = new double[real.length];
+		double[] reflectedImag = complex ? new double[real.length] : imag;
+
+		for( int m = 0; m < count; m++ ) {
+
+			int source = ( ( ( 2 * origin - m ) % count ) + count ) % count;
+			System.arraycopy( real, source * stride, reflectedReal, m * stride, stride );
+
+			if( complex ) {
+
+				for( int i = 0; i < stride; i++ ) reflectedImag[m * stride + i] = -imag[source * stride + i];
+			}
+		}
+
+		double[][] output = { reflectedReal, reflectedImag };
+		return output;
+	}
+
+	//reflects every row of width samples about origin, without conjugating again
+	protected static double[][] reflectRows( double[] real, double[] imag, int origin, int width, int height ) {
+
+		boolean complex = !Zeros.isZero( imag );
+		double[] reflectedReal = new double[real.length];
+		double[] reflectedImag = complex ? new double[real.length] : imag;
+
+		for( int row = 0; row < height * width; row += width ) {
+
+			for( int m = 0; m < width; m++ ) {
+
+				int source = row + ( ( ( 2 * origin - m ) % width ) + width ) % width;
+				reflectedReal[row + m] = real[source];
+				if( complex ) reflectedImag[row + m] = imag[source];
+			}
+		}
+
+		double[][] output = { reflectedReal, reflectedImag };
+		return output;
+	}
+
+	/*
+	 * Overlap-add around the kernel's support: y[i] = sum_t h[t] a[(i - s - t + origin) mod n] with
+	 * h[t] = b[s + t], so each block of a is linearly convolved with h in a small FFT and added
+	 * into the output shifted by s - origin. Real data packs two blocks into one complex FFT.
+	 */
+	protected static void overlapAdd( double[] realA, double[] imagA, double[] realB, double[] imagB,
+			double[] realOut, double[] imagOut, Support kernel, int origin, boolean real ) {
+
+		int n = realA.length;
+		int length = kernel.length;
+		if( kernel.count == 0 ) return;
+
+		int fftSize = blockSize( n, length, real );
+		int block = fftSize - length + 1;
+
+		FFTPlan forward = FFTPlan.get( fftSize, false, Transforms.NORMALIZE_NONE, false );
+		FFTPlan inverse = FFTPlan.get( fftSize, true, Transforms.NORMALIZE_N, false );
+
+		double[] kernelReal = new double[fftSize];
+		double[] kernelImag = new double[fftSize];
+
+		for( int t = 0; t < length; t++ ) {
+
+			int k = ( kernel.start + t ) % n;
+			kernelReal[t] = realB[k];
+			if( !real ) kernelImag[t] = imagB[k];
+		}
+
+		forward.transform( kernelReal, kernelImag );
+
+		double[] bufferReal = new double[fftSize];
+		double[] bufferImag = new double[fftSize];
+		int shift = ( ( kernel.start - origin ) % n + n ) % n;
+
+		for( int first = 0; first < n; first += ( real ? 2 : 1 ) * block ) {
+
+			//a second real block rides in the imaginary part
+			int second = first + block;
+
+			Arrays.fill( bufferReal, 0 );
+			Arrays.fill( bufferImag, 0 );
+
+			int count = Math.min( block, n - first );
+			System.arraycopy( realA, first, bufferReal, 0, count );
+
+			if( real ) {
+
+				if( second < n ) System.arraycopy( realA, second, bufferImag, 0, Math.min( block, n - second ) );
+
+			} else {
+
+				System.arraycopy( imagA, first, bufferImag, 0, count );
+			}
+
+			forward.transform( bufferReal, bufferImag );
+
+			for( int i = 0; i < fftSize; i++ ) {
+
+				double re = bufferReal[i] * kernelReal[i] - bufferImag[i] * kernelImag[i];
+				bufferImag[i] = bufferReal[i] * kernelImag[i] + bufferImag[i] * kernelReal[i];
+				bufferReal[i] = re;
+			}
+
+			inverse.transform( bufferReal, bufferImag );
+
+			int outputLength = Math.min( fftSize, count + length - 1 );
+
+			if( real ) {
+
+				accumulate( bufferReal, realOut, first + shift, outputLength, n );
+				if( second < n ) accumulate( bufferImag, realOut, second + shift,
+						Math.min( fftSize, Math.min( block, n - second ) + length - 1 ), n );
+
+			} else {
+
+				accumulate( bufferReal, realOut, first + shift, outputLength, n );
+				accumulate( bufferImag, imagOut, first + shift, outputLength, n );
+			}
+		}
+	}
+
+	//output[(start + v) mod n] += values[v]
+	protected static void accumulate( double[] values, double[] output, int start, int count, int n ) {
+
+		for( int v = 0; v < count; v++ ) output[( start + v ) % n] += values[v];
+	}
+
+}
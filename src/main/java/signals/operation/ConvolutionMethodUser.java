@@ -0,0 +1,18 @@
+package signals.operation;
+
+public interface ConvolutionMethodUser {
+
+	public int getConvolutionMethod(); 
+	public void setConvolutionMethod( int method );
+	
+	/**
+	 * @return true to zero-pad instead of wrapping around the ends
+	 */
+	public boolean isLinear(); 
+	public void setLinear( boolean linear ); 
+	
+	/**
+	 * @return the method used by the last evaluation, or Convolution.AUTOMATIC if there was none
+	 */
+	public int getLastConvolutionMethod(); 
+}
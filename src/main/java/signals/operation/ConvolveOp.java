@@ -6,11 +6,10 @@ import signals.core.BinaryOperation;
 import signals.core.CombineOpsRule;
 import signals.core.DataGeneratorTypeModel;
 import signals.core.Function;
-import signals.core.Function1D;
-import signals.core.Function2D;
-import signals.core.FunctionFactory;
+import signals.gui.operation.ConvolutionMethodOptionsPanel;
+import signals.gui.operation.OperationOptionsPanel;
 
-public class ConvolveOp extends BinaryOperation {
+public class ConvolveOp extends BinaryOperation implements ConvolutionMethodUser {
 
 	public ConvolveOp() {
 		super();
@@ -26,61 +25,45 @@ public class ConvolveOp extends BinaryOperation {
 		super(paramBlock, CombineOpsRule.BINARY_OP_TIER_2);
 	}
 	
+	//Convolution.AUTOMATIC picks the cheapest method
+	int method; 
+	int lastMethod; 
+	
+	//zero-pad instead of wrapping around
+	boolean linear; 
+	
+	@Override
+	public OperationOptionsPanel getOptionsInterface() {
+		return new ConvolutionMethodOptionsPanel( this );
+	}
+
+	public int getConvolutionMethod() {
+		return method;
+	}
+
+	public void setConvolutionMethod(int method) {
+		this.method = method;
+	}
+
+	public boolean isLinear() {
+		return linear;
+	}
+
+	public void setLinear(boolean linear) {
+		this.linear = linear;
+	}
+
+	public int getLastConvolutionMethod() {
+		return lastMethod;
+	}
+	
 	@Override
 	public Function create(Function inputA, Function inputB) {
 		
-		boolean zeroCentered = inputA.isZeroCentered();
-		
 		String name = inputA.getCompactDescriptor() + " * " + inputB.getCompactDescriptor();
 		
-		double[][] fdA, fdB; 
-		
-		int dimensionX = 0; 
-		int dimensionY = 0; 
-		
-		if( inputA instanceof Function1D ) {
-			
-			fdA = Transforms.computeFFT1D(inputA.getReal(), inputA.getImaginary(), zeroCentered, false, Transforms.NORMALIZE_NONE); 
-			fdB = Transforms.computeFFT1D(inputB.getReal(), inputB.getImaginary(), zeroCentered, false, Transforms.NORMALIZE_NONE); 
-			
-		} else {
-			
-			dimensionX = ((Function2D)inputA).getDimensionX(); 
-			dimensionY = ((Function2D)inputA).getDimensionY();
-			
-			fdA = Transforms.computeFFT2D(inputA.getReal(), inputA.getImaginary(), zeroCentered, false, 
-					dimensionX, dimensionY, Transforms.NORMALIZE_NONE); 
-			fdB = Transforms.computeFFT2D(inputB.getReal(), inputB.getImaginary(), zeroCentered, false, 
-					dimensionX, dimensionY, Transforms.NORMALIZE_NONE);
-		}
-		
-		double[] realA = fdA[0]; 
-		double[] imagA = fdA[1]; 
-		
-		double[] realB = fdB[0]; 
-		double[] imagB = fdB[1]; 
-		
-		double[] real = new double[realA.length]; 
-		double[] imag = new double[realA.length]; 
-		
-		for( int i = 0; i < realA.length; ++i ) {
-			
-			real[i] = realA[i] * realB[i] - imagA[i] * imagB[i]; 
-			imag[i] = realA[i] * imagB[i] + imagA[i] * realB[i]; 
-		}
-		
-		if( inputA instanceof Function1D ) {
-			
-			double[][] output = Transforms.computeFFT1D(real, imag, zeroCentered, true, Transforms.NORMALIZE_N); 
-			return FunctionFactory.createFunction1D( output[0], output[1], zeroCentered, name ); 
-			
-		} 
-
-		//2D
-		double[][] output = Transforms.computeFFT2D( real, imag, zeroCentered, true, dimensionX, dimensionY, Transforms.NORMALIZE_N );
-		return FunctionFactory.createFunction2D( output[0], output[1], zeroCentered, 
-				name, dimensionX, dimensionY ); 
-		
+		lastMethod = Convolution.choose( inputA, inputB, false, method, linear ); 
+		return Convolution.create( inputA, inputB, false, linear, lastMethod, name ); 
 	}
 
 	/* (non-Javadoc)
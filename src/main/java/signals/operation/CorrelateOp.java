@@ -6,11 +6,10 @@ import signals.core.BinaryOperation;
 import signals.core.CombineOpsRule;
 import signals.core.DataGeneratorTypeModel;
 import signals.core.Function;
-import signals.core.Function1D;
-import signals.core.Function2D;
-import signals.core.FunctionFactory;
+import signals.gui.operation.ConvolutionMethodOptionsPanel;
+import signals.gui.operation.OperationOptionsPanel;
 
-public class CorrelateOp extends BinaryOperation {
+public class CorrelateOp extends BinaryOperation implements ConvolutionMethodUser {
 
 	public CorrelateOp() {
 		super();
@@ -26,69 +25,49 @@ public class CorrelateOp extends BinaryOperation {
 		super(paramBlock, CombineOpsRule.BINARY_OP_TIER_2);
 	}
 
-	@Override
-	public Function create(Function inputA, Function inputB) {
-
-		// Roger Easton's definition: f ⋆ m = IFFT(FFT(f) · conj(FFT(m)))
-		// inputA = f (input function)
-		// inputB = m (reference function, will be conjugated)
-
-		boolean zeroCentered = inputA.isZeroCentered();
-
-		String name = inputA.getCompactDescriptor() + " * " + inputB.getCompactDescriptor();
-
-		double[][] fdA, fdB;
-
-		int dimensionX = 0;
-		int dimensionY = 0;
-
-		if (inputA instanceof Function1D) {
-
-			fdA = Transforms.computeFFT1D(inputA.getReal(), inputA.getImaginary(), zeroCentered, false,
-					Transforms.NORMALIZE_NONE);
-			fdB = Transforms.computeFFT1D(inputB.getReal(), inputB.getImaginary(), zeroCentered, false,
-					Transforms.NORMALIZE_NONE);
-
-		} else {
+	// Convolution.AUTOMATIC picks the cheapest method
+	int method;
+	int lastMethod;
 
-			dimensionX = ((Function2D) inputA).getDimensionX();
-			dimensionY = ((Function2D) inputA).getDimensionY();
+	// zero-pad instead of wrapping around
+	boolean linear;
 
-			fdA = Transforms.computeFFT2D(inputA.getReal(), inputA.getImaginary(), zeroCentered, false,
-					dimensionX, dimensionY, Transforms.NORMALIZE_NONE);
-			fdB = Transforms.computeFFT2D(inputB.getReal(), inputB.getImaginary(), zeroCentered, false,
-					dimensionX, dimensionY, Transforms.NORMALIZE_NONE);
-		}
-
-		double[] realA = fdA[0];
-		double[] imagA = fdA[1];
+	@Override
+	public OperationOptionsPanel getOptionsInterface() {
+		return new ConvolutionMethodOptionsPanel(this);
+	}
 
-		double[] realB = fdB[0];
-		double[] imagB = fdB[1];
+	public int getConvolutionMethod() {
+		return method;
+	}
 
-		double[] real = new double[realA.length];
-		double[] imag = new double[realA.length];
+	public void setConvolutionMethod(int method) {
+		this.method = method;
+	}
 
-		// multiplication, but take conjugate of array B
-		for (int i = 0; i < realA.length; ++i) {
+	public boolean isLinear() {
+		return linear;
+	}
 
-			real[i] = realA[i] * realB[i] + imagA[i] * imagB[i];
-			imag[i] = imagA[i] * realB[i] - realA[i] * imagB[i];
-		}
+	public void setLinear(boolean linear) {
+		this.linear = linear;
+	}
 
-		if (inputA instanceof Function1D) {
+	public int getLastConvolutionMethod() {
+		return lastMethod;
+	}
 
-			double[][] output = Transforms.computeFFT1D(real, imag, zeroCentered, true, Transforms.NORMALIZE_N);
-			return FunctionFactory.createFunction1D(output[0], output[1], zeroCentered, name);
+	@Override
+	public Function create(Function inputA, Function inputB) {
 
-		}
+		// Roger Easton's definition: f ⋆ m = IFFT(FFT(f) · conj(FFT(m)))
+		// inputA = f (input function)
+		// inputB = m (reference function, will be conjugated)
 
-		// 2D
-		double[][] output = Transforms.computeFFT2D(real, imag, zeroCentered, true, dimensionX, dimensionY,
-				Transforms.NORMALIZE_N);
-		return FunctionFactory.createFunction2D(output[0], output[1], zeroCentered,
-				name, dimensionX, dimensionY);
+		String name = inputA.getCompactDescriptor() + " * " + inputB.getCompactDescriptor();
 
+		lastMethod = Convolution.choose(inputA, inputB, true, method, linear);
+		return Convolution.create(inputA, inputB, true, linear, lastMethod, name);
 	}
 
 	/*
@@ -0,0 +1,71 @@
+package signals.operation;
+
+import java.awt.image.renderable.ParameterBlock;
+
+import signals.core.CombineOpsRule;
+import signals.core.DataGeneratorTypeModel;
+import signals.core.Function;
+import signals.core.Function1D;
+import signals.core.UnaryOperation;
+import signals.gui.operation.CheckBoxOptionsPanel;
+import signals.gui.operation.OperationOptionsPanel;
+
+public class DCTOp extends UnaryOperation implements BooleanOperation {
+	
+	public DCTOp() {
+		super();
+	}
+
+	public DCTOp(ParameterBlock paramBlock, int priority) {
+		super(paramBlock, priority);
+	}
+
+	boolean inverse; 
+
+	public DCTOp(ParameterBlock paramBlock) {
+		super(paramBlock, CombineOpsRule.UNARY_OP_TIER_2); 
+	}
+	
+	@Override
+	public OperationOptionsPanel getOptionsInterface() {
+		return new CheckBoxOptionsPanel( this, "inverse" );
+	}
+
+	public boolean isSelected() {
+		return inverse;
+	}
+
+	public void setSelected(boolean inverse) {
+		this.inverse = inverse;
+	}
+
+	@Override
+	public Function create(Function input) {
+		
+		if( input instanceof Function1D ) {
+			
+			return Transforms.dct1D( input, inverse ); 
+		} 
+		
+		return Transforms.dct2D( input, inverse ); 
+	}
+
+	/* (non-Javadoc)
+	 * @see signals.core.AnalyticFunctionTerm1D#initTypeModel(signals.core.DataGeneratorTypeModel)
+	 */
+	@Override
+	public void initTypeModel(DataGeneratorTypeModel model) {
+		
+		super.initTypeModel(model);
+		model.setName("DCT");
+		
+		model.setDocPath("/operationdoc/dct.html");
+	}
+
+	@Override
+	public String getOpIconPath() {
+
+		return inverse ? "/operationIcons/DCTInvOp.png" : "/operationIcons/DCTOp.png"; 
+	}
+
+}
@@ -0,0 +1,132 @@
+package signals.operation;
+
+/**
+ * N-point DCT-II and its inverse (DCT-III) of real data via Makhoul's reordering:
+ * the even samples followed by the odd samples in reverse order are transformed with one
+ * N-point real FFT, and each pair of outputs k, N-k is recovered from FFT bin k with one
+ * cached twiddle. This replaces the 2N-point mirrored complex FFT.
+ *
+ * Scaling follows Transforms.computeDCT1D: X[k] = 2 c(k) sum x[n] cos( pi k (2n+1) / 2N ),
+ * with c(0) = 1 and c(k) = sqrt(2) otherwise, and inverse undoes it exactly.
+ *
+ * Plans are immutable and can be shared between threads.
+ */
+public class DCTPlan {
+
+	protected int dimension;
+	protected RealFFTPlan realPlan;
+
+	//exp( -i pi k / 2N ) for k in [0, N/2]
+	protected double[] twiddleReal, twiddleImag;
+
+	//per-thread workspace { reordered samples, spectrum real, spectrum imag }
+	protected ThreadLocal<double[][]> workspace;
+
+	public DCTPlan( int dimension ) {
+
+		this.dimension = dimension;
+		realPlan = RealFFTPlan.get( dimension );
+
+		int half = dimension / 2;
+		twiddleReal = new double[half + 1];
+		twiddleImag = new double[half + 1];
+
+		for( int k = 0; k <= half; k++ ) {
+
+			double phase = -Math.PI * k / ( 2.0 * dimension );
+			twiddleReal[k] = Math.cos( phase );
+			twiddleImag[k] = Math.sin( phase );
+		}
+
+		workspace = ThreadLocal.withInitial( () -> {
+
+			double[][] work = { new double[dimension], new double[half + 1], new double[half + 1] };
+			return work;
+		} );
+	}
+
+	/**
+	 * @return a shared plan
+	 */
+	public static DCTPlan get( int dimension ) {
+
+		return FFTCoefficients.getDCTPlan( dimension );
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * @return the approximate memory held by the twiddles, in bytes; the real FFT plan is counted separately
+	 */
+	public long getTableBytes() {
+		return 16L * twiddleReal.length;
+	}
+
+	/**
+	 * DCT-II of dimension values starting at inputOffset. Output may be the same array as input.
+	 */
+	public void forward( double[] input, int inputOffset, double[] output, int outputOffset ) {
+
+		int n = dimension;
+		int half = n / 2;
+		double[][] work = workspace.get();
+		double[] v = work[0], spectrumReal = work[1], spectrumImag = work[2];
+
+		//even samples in order, then odd samples reversed
+		for( int i = 0, j = inputOffset; 2 * i < n; i++, j += 2 ) v[i] = input[j];
+		for( int i = 0, j = inputOffset + 1; 2 * i + 1 < n; i++, j += 2 ) v[n - 1 - i] = input[j];
+
+		realPlan.forward( v, 0, spectrumReal, spectrumImag, 0 );
+
+		double sqrt2 = Math.sqrt( 2.0 );
+
+		//C[k] = Re( w^k V[k] ), C[N-k] = -Im( w^k V[k] )
+		for( int k = 0; k <= half; k++ ) {
+
+			double wr = twiddleReal[k], wi = twiddleImag[k];
+			double vr = spectrumReal[k], vi = spectrumImag[k];
+
+			double re = wr * vr - wi * vi;
+			double im = wr * vi + wi * vr;
+
+			output[outputOffset + k] = ( k == 0 ) ? 2 * re : 2 * sqrt2 * re;
+			if( k > 0 && k < n - k ) output[outputOffset + n - k] = -2 * sqrt2 * im;
+		}
+	}
+
+	/**
+	 * Inverse of forward (a scaled DCT-III). Output may be the same array as input.
+	 */
+	public void inverse( double[] input, int inputOffset, double[] output, int outputOffset ) {
+
+		int n = dimension;
+		int half = n / 2;
+		double[][] work = workspace.get();
+		double[] v = work[0], spectrumReal = work[1], spectrumImag = work[2];
+
+		//undo the output scaling: C[k] = X[k] / 2c(k)
+		double scale = 0.5 / Math.sqrt( 2.0 );
+
+		//V[k] = conj( w^k ) ( C[k] - i C[N-k] ), with C[N] = 0
+		for( int k = 0; k <= half; k++ ) {
+
+			double c = input[inputOffset + k] * ( ( k == 0 ) ? 0.5 : scale );
+			double s = ( k == 0 ) ? 0 : input[inputOffset + n - k] * scale;
+
+			double wr = twiddleReal[k], wi = -twiddleImag[k];
+
+			spectrumReal[k] = wr * c + wi * s;
+			spectrumImag[k] = wi * c - wr * s;
+		}
+
+		realPlan.inverse( spectrumReal, spectrumImag, 0, v, 0 );
+
+		double normalizer = 1.0 / n;
+
+		for( int i = 0, j = outputOffset; 2 * i < n; i++, j += 2 ) output[j] = v[i] * normalizer;
+		for( int i = 0, j = outputOffset + 1; 2 * i + 1 < n; i++, j += 2 ) output[j] = v[n - 1 - i] * normalizer;
+	}
+
+}
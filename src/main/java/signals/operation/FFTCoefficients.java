@@ -1,24 +1,27 @@
 package signals.operation;
 
-import java.util.HashMap;
+import signals.core.Config;
+import signals.core.Core;
 
 /**
- * Creates and stores FFT twiddle factors
+ * Creates and stores FFT twiddle factors, kernels and plans.
+ * Everything is kept in one thread-safe PlanCache, bounded by a byte budget taken from the
+ * system property signals.fft.cacheBytes, or else the fft.cache.bytes configuration key.
  * @author Juliet
  *
  */
 public class FFTCoefficients {
 	
-	protected HashMap<Integer, double[]> realCoefficients; 
-	protected HashMap<Integer, double[]> imagCoefficients; 
-	protected HashMap<Integer, int[]> bitReverseIndices; 
+	public static final String CACHE_BYTES_PROPERTY = "signals.fft.cacheBytes"; 
+	
+	public static final long DEFAULT_CACHE_BYTES = 64L << 20; 
+	
+	protected PlanCache cache; 
 
 	// Protected constructor is sufficient to suppress unauthorized calls to the constructor
 	protected FFTCoefficients() {
 		
-		realCoefficients = new HashMap<Integer, double[]>(); 
-		imagCoefficients = new HashMap<Integer, double[]>();
-		bitReverseIndices = new HashMap<Integer, int[]>();
+		cache = new PlanCache( readCacheBytes() ); 
 	}
 
 	/**
@@ -33,6 +36,13 @@ public class FFTCoefficients {
 		return SingletonHolder.INSTANCE;
 	}
 	
+	/**
+	 * @return the shared cache, for its hit, miss and memory counters
+	 */
+	public static PlanCache getCache() {
+		return getInstance().cache; 
+	}
+	
 	public static double[] getReal( int dimension, boolean inverse ) {
 		
 		return getInstance().getRealCoefficients(dimension, inverse);
@@ -48,39 +58,103 @@ public class FFTCoefficients {
 		return getInstance().calculateBitReverseIndices(dimension);
 	}
 	
-	public int[] calculateBitReverseIndices( int key ) {
-		 
-		if( !bitReverseIndices.containsKey(key) ) {
-			
-			createBitReverseIndices( key );
-		}
+	/**
+	 * @return a shared FFT kernel for any positive dimension
+	 */
+	public static FFTKernel getKernel( int dimension, boolean inverse ) {
 		
-		return bitReverseIndices.get( key ); 
+		return getInstance().calculateKernel(dimension, inverse, false);
 	}
 	
-	public double[] getRealCoefficients( int dimension, boolean inverse ) {
+	/**
+	 * @return a shared FFT kernel that folds the zero-centered rotations in where it can
+	 */
+	public static FFTKernel getCenteredKernel( int dimension, boolean inverse ) {
 		
-		int key = inverse ? -dimension : dimension; 
-		if( !realCoefficients.containsKey(key) ) {
-			
-			createCoefficients( dimension, inverse );
-		}
+		return getInstance().calculateKernel(dimension, inverse, true);
+	}
+	
+	public FFTKernel calculateKernel( int dimension, boolean inverse, boolean centered ) {
+		
+		return cache.get( "kernel " + dimension + " " + inverse + ( centered ? " centered" : "" ), 
+				() -> FFTKernel.create( dimension, inverse, centered ), FFTKernel::getTableBytes ); 
+	}
+	
+	/**
+	 * @return a shared FFT plan 
+	 */
+	public static FFTPlan getPlan( int dimension, boolean inverse, int normalization, boolean zeroCentered ) {
+		
+		return getInstance().calculatePlan(dimension, inverse, normalization, zeroCentered);
+	}
+	
+	public FFTPlan calculatePlan( int dimension, boolean inverse, int normalization, boolean zeroCentered ) {
+		
+		String key = "plan " + dimension + " " + inverse + " " + normalization + " " + zeroCentered; 
+		return cache.get( key, () -> new FFTPlan( dimension, inverse, normalization, zeroCentered ), 
+				FFTPlan::getTableBytes ); 
+	}
+	
+	/**
+	 * @return a shared real-input FFT plan 
+	 */
+	public static RealFFTPlan getRealPlan( int dimension ) {
+		
+		return getInstance().calculateRealPlan(dimension);
+	}
+	
+	public RealFFTPlan calculateRealPlan( int dimension ) {
+		
+		return cache.get( "real plan " + dimension, () -> new RealFFTPlan( dimension ), 
+				RealFFTPlan::getTableBytes ); 
+	}
+	
+	/**
+	 * @return a shared DCT plan 
+	 */
+	public static DCTPlan getDCTPlan( int dimension ) {
 		
-		return realCoefficients.get( key );
+		return getInstance().calculateDCTPlan(dimension);
+	}
+	
+	public DCTPlan calculateDCTPlan( int dimension ) {
+		
+		return cache.get( "dct plan " + dimension, () -> new DCTPlan( dimension ), DCTPlan::getTableBytes ); 
+	}
+	
+	public int[] calculateBitReverseIndices( int dimension ) {
+		 
+		return cache.get( "bit reverse " + dimension, () -> createBitReverseIndices( dimension ), 
+				indices -> 4L * indices.length ); 
+	}
+	
+	public double[] getRealCoefficients( int dimension, boolean inverse ) {
+		
+		return calculateCoefficients( dimension, inverse )[0];
 	}
 	
 	public double[] getImaginaryCoefficients( int dimension, boolean inverse ) {
 		
-		int key = inverse ? -dimension : dimension; 
-		if( !imagCoefficients.containsKey(key) ) {
-			
-			createCoefficients( dimension, inverse );
-		}
+		return calculateCoefficients( dimension, inverse )[1];
+	}
+	
+	//real and imaginary twiddles are built and cached together
+	protected double[][] calculateCoefficients( int dimension, boolean inverse ) {
+		
+		return cache.get( "coefficients " + dimension + " " + inverse, () -> createCoefficients( dimension, inverse ), 
+				coefficients -> 16L * coefficients[0].length ); 
+	}
+	
+	protected static long readCacheBytes() {
+		
+		//the configuration is only loaded once the application has started
+		Config config = Core.getConfig(); 
+		long bytes = ( config != null ) ? config.getFFTCacheBytes() : DEFAULT_CACHE_BYTES; 
 		
-		return imagCoefficients.get( key );
+		return Config.getSystemLong( CACHE_BYTES_PROPERTY, bytes ); 
 	}
 	
-	public void createBitReverseIndices( int dimension ) {
+	public static int[] createBitReverseIndices( int dimension ) {
 
 		int lgDimension = (int)( Math.log( dimension ) / Math.log( 2 ) ); 
 		
@@ -92,7 +166,7 @@ public class FFTCoefficients {
 			indices[i] = reversedIndex; 
 		} 
 
-		bitReverseIndices.put(dimension, indices); 
+		return indices; 
 
 	} 
 	
@@ -113,7 +187,7 @@ public class FFTCoefficients {
 
 	} //reverseBits
 	
-	public void createCoefficients( int dimension, boolean inverse ) {
+	public static double[][] createCoefficients( int dimension, boolean inverse ) {
 		
 		int multiplier = inverse ? 2 : -2; 
 		double twoPi = multiplier * Math.PI;
@@ -145,8 +219,8 @@ public class FFTCoefficients {
 
 		} //end s loop
 		
-		realCoefficients.put( inverse ? -dimension : dimension, realArray );
-		imagCoefficients.put( inverse ? -dimension : dimension, imagArray );
+		double[][] coefficients = { realArray, imagArray }; 
+		return coefficients; 
 	}
 	
 }
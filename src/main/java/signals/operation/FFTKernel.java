@@ -0,0 +1,214 @@
+package signals.operation;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * An unnormalized, uncentered complex FFT of one fixed length and direction.
+ * Kernels hold only read-only tables, so one instance can be shared between threads;
+ * all scratch space is supplied by the caller.
+ *
+ * Lengths whose prime factors are all small are transformed by a mixed-radix
+ * Stockham algorithm, and any other length falls back to Bluestein's chirp-z algorithm,
+ * so every length transforms in O(N log N).
+ *
+ * When the optional VectorMixedRadixFFT (built by the vector profile) is on the class path and
+ * the jdk.incubator.vector module is loaded, mixed-radix kernels use it. Setting the system
+ * property signals.fft.vector to false forces the scalar kernels.
+ */
+public abstract class FFTKernel {
+
+	//largest prime factor handled directly by the mixed-radix algorithm
+	public static final int MAX_RADIX = 31;
+
+	public static final String VECTOR_PROPERTY = "signals.fft.vector";
+
+	protected static final String VECTOR_KERNEL = "signals.operation.VectorMixedRadixFFT";
+
+	//constructor of the vectorized mixed-radix kernel, or null if it is unavailable
+	private static final Constructor<? extends MixedRadixFFT> vectorConstructor = findVectorConstructor();
+
+	protected int dimension;
+	protected boolean inverse;
+
+	//true if the kernel itself rotates its input (output) by N/2, as zero-centered transforms need
+	protected boolean inputRotated, outputRotated;
+
+	protected FFTKernel( int dimension, boolean inverse ) {
+
+		this.dimension = dimension;
+		this.inverse = inverse;
+	}
+
+	/**
+	 * Creates the fastest kernel available for a given length
+	 * @param dimension the transform length (any positive integer)
+	 * @param inverse true for the inverse (positive exponent) transform
+	 */
+	public static FFTKernel create( int dimension, boolean inverse ) {
+
+		return create( dimension, inverse, false );
+	}
+
+	/**
+	 * @param centered fold the rotations of zero-centered transforms into the kernel where possible;
+	 * see isInputRotated and isOutputRotated for what the kernel ends up doing
+	 */
+	public static FFTKernel create( int dimension, boolean inverse, boolean centered ) {
+
+		if( dimension < 1 ) throw new IllegalArgumentException( "FFT dimension must be positive: " + dimension );
+
+		if( largestPrimeFactor( dimension ) <= MAX_RADIX ) {
+
+			return createMixedRadix( dimension, inverse, centered );
+		}
+
+		return new BluesteinFFT( dimension, inverse );
+	}
+
+	/**
+	 * Creates a mixed-radix kernel, vectorized if possible
+	 */
+	public static MixedRadixFFT createMixedRadix( int dimension, boolean inverse ) {
+
+		return createMixedRadix( dimension, inverse, false );
+	}
+
+	public static MixedRadixFFT createMixedRadix( int dimension, boolean inverse, boolean centered ) {
+
+		if( vectorConstructor != null ) {
+
+			try {
+				return vectorConstructor.newInstance( dimension, inverse, centered );
+			} catch( ReflectiveOperationException e ) {
+				//fall through to the scalar kernel
+			}
+		}
+
+		return new MixedRadixFFT( dimension, inverse, centered );
+	}
+
+	/**
+	 * @return true if mixed-radix kernels are vectorized
+	 */
+	public static boolean isVectorized() {
+		return vectorConstructor != null;
+	}
+
+	private static Constructor<? extends MixedRadixFFT> findVectorConstructor() {
+
+		if( !Boolean.parseBoolean( System.getProperty( VECTOR_PROPERTY, "true" ) ) ) return null;
+
+		if( !ModuleLayer.boot().findModule( "jdk.incubator.vector" ).isPresent() ) return null;
+
+		try {
+			return Class.forName( VECTOR_KERNEL ).asSubclass( MixedRadixFFT.class )
+					.getConstructor( int.class, boolean.class, boolean.class );
+		} catch( ReflectiveOperationException | LinkageError e ) {
+			return null;
+		}
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	public boolean isInverse() {
+		return inverse;
+	}
+
+	/**
+	 * @return true if the kernel transforms its input as if rotated by N/2 (input[N/2] first)
+	 */
+	public boolean isInputRotated() {
+		return inputRotated;
+	}
+
+	/**
+	 * @return true if the kernel rotates its output by N/2 (output[0] holds bin N/2)
+	 */
+	public boolean isOutputRotated() {
+		return outputRotated;
+	}
+
+	/**
+	 * @return the minimum length of each of the two work arrays passed to transform
+	 */
+	public abstract int getWorkLength();
+
+	/**
+	 * @return the approximate memory held by the kernel's tables, in bytes
+	 */
+	public abstract long getTableBytes();
+
+	/**
+	 * Transforms dimension complex values starting at offset, in place.
+	 * @param real real part, overwritten with the transform
+	 * @param imag imaginary part, overwritten with the transform
+	 * @param offset index of the first sample
+	 * @param workReal scratch space of at least getWorkLength() values
+	 * @param workImag scratch space of at least getWorkLength() values
+	 */
+	public void transform( double[] real, double[] imag, int offset, double[] workReal, double[] workImag ) {
+
+		transform( real, imag, offset, workReal, workImag, 0 );
+	}
+
+	public abstract void transform( double[] real, double[] imag, int offset,
+			double[] workReal, double[] workImag, int workOffset );
+
+	/**
+	 * Convenience method that allocates its own scratch space
+	 */
+	public void transform( double[] real, double[] imag ) {
+
+		int workLength = getWorkLength();
+		transform( real, imag, 0, new double[workLength], new double[workLength], 0 );
+	}
+
+	public static int largestPrimeFactor( int n ) {
+
+		int largest = 1;
+
+		for( int p = 2; p * p <= n; p++ ) {
+
+			while( n % p == 0 ) {
+
+				largest = p;
+				n /= p;
+			}
+		}
+
+		return ( n > 1 ) ? n : largest;
+	}
+
+	public static boolean isPowerOfTwo( int n ) {
+
+		return n > 0 && ( n & ( n - 1 ) ) == 0;
+	}
+
+	/**
+	 * @return the smallest length >= n whose only prime factors are 2, 3, 5 and 7
+	 */
+	public static int nextFastSize( int n ) {
+
+		if( n <= 1 ) return 1;
+
+		long best = Long.highestOneBit( n );
+		if( best < n ) best <<= 1;
+
+		for( long p7 = 1; p7 < best; p7 *= 7 ) {
+			for( long p5 = p7; p5 < best; p5 *= 5 ) {
+				for( long p3 = p5; p3 < best; p3 *= 3 ) {
+
+					//smallest power of two that brings p3 up to n
+					long candidate = p3;
+					while( candidate < n ) candidate <<= 1;
+					if( candidate < best ) best = candidate;
+				}
+			}
+		}
+
+		return (int) best;
+	}
+
+}
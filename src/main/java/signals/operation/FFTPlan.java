@@ -0,0 +1,273 @@
+package signals.operation;
+
+import signals.core.ParallelExecutor;
+
+/**
+ * A reusable 1D FFT for one (dimension, direction, normalization, zeroCentered) combination.
+ * A plan transforms caller-owned arrays in place: zero-centered reordering and normalization
+ * are applied in place as well, so once the caller holds a workspace (see createWorkspace)
+ * a transform allocates nothing.
+ *
+ * Plans are immutable and can be shared between threads as long as each thread
+ * uses its own workspace.
+ */
+public class FFTPlan {
+
+	//signals gathered per tile by strided batch transforms
+	public static final int BATCH_BLOCK = 16;
+
+	protected int dimension;
+	protected boolean inverse;
+	protected int normalization;
+	protected boolean zeroCentered;
+
+	protected FFTKernel kernel;
+	protected boolean rotateInput, rotateOutput;
+
+	//1 / normalizer, or 1 for NORMALIZE_NONE
+	protected double scale;
+
+	//per-thread workspace used by transform( real, imag )
+	protected ThreadLocal<double[][]> workspace;
+
+	public FFTPlan( int dimension, boolean inverse, int normalization, boolean zeroCentered ) {
+
+		this.dimension = dimension;
+		this.inverse = inverse;
+		this.normalization = normalization;
+		this.zeroCentered = zeroCentered;
+
+		kernel = zeroCentered ? FFTCoefficients.getCenteredKernel( dimension, inverse )
+				: FFTCoefficients.getKernel( dimension, inverse );
+
+		//whatever reordering the kernel does not fold in is done here
+		rotateInput = zeroCentered && !kernel.isInputRotated();
+		rotateOutput = zeroCentered && !kernel.isOutputRotated();
+
+		switch( normalization ) {
+
+		case Transforms.NORMALIZE_N:
+			scale = 1.0 / dimension;
+			break;
+		case Transforms.NORMALIZE_ROOT_N:
+			scale = 1.0 / Math.sqrt( dimension );
+			break;
+		default:
+			scale = 1.0;
+		}
+
+		//the initializer captures the length, not the plan under construction
+		final int workLength = getWorkLength();
+		workspace = ThreadLocal.withInitial( () -> createWorkspace( workLength ) );
+	}
+
+	/**
+	 * @return a shared plan
+	 */
+	public static FFTPlan get( int dimension, boolean inverse, int normalization, boolean zeroCentered ) {
+
+		return FFTCoefficients.getPlan( dimension, inverse, normalization, zeroCentered );
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	public boolean isInverse() {
+		return inverse;
+	}
+
+	public int getNormalization() {
+		return normalization;
+	}
+
+	public boolean isZeroCentered() {
+		return zeroCentered;
+	}
+
+	/**
+	 * @return the minimum length of each workspace array
+	 */
+	public final int getWorkLength() {
+		return kernel.getWorkLength();
+	}
+
+	/**
+	 * @return the approximate memory held by the plan itself (one per-thread workspace), in bytes;
+	 * the kernel is shared and counted separately
+	 */
+	public long getTableBytes() {
+		return 16L * getWorkLength();
+	}
+
+	/**
+	 * @return a new workspace { real, imag } for use with this plan
+	 */
+	public double[][] createWorkspace() {
+
+		return createWorkspace( getWorkLength() );
+	}
+
+	private static double[][] createWorkspace( int workLength ) {
+
+		double[][] work = { new double[workLength], new double[workLength] };
+		return work;
+	}
+
+	/**
+	 * Transforms real and imag in place using a per-thread workspace
+	 */
+	public void transform( double[] real, double[] imag ) {
+
+		transform( real, imag, 0, workspace.get() );
+	}
+
+	public void transform( double[] real, double[] imag, double[][] work ) {
+
+		transform( real, imag, 0, work );
+	}
+
+	/**
+	 * Transforms dimension values of real and imag starting at offset, in place
+	 * @param work a workspace created by createWorkspace (or any two arrays of at least getWorkLength() values)
+	 */
+	public void transform( double[] real, double[] imag, int offset, double[][] work ) {
+
+		//move the origin from the center to the first sample
+		if( rotateInput ) {
+
+			rotate( real, offset, dimension, dimension >> 1 );
+			rotate( imag, offset, dimension, dimension >> 1 );
+		}
+
+		kernel.transform( real, imag, offset, work[0], work[1] );
+
+		//and back again
+		if( rotateOutput ) {
+
+			rotate( real, offset, dimension, dimension - ( dimension >> 1 ) );
+			rotate( imag, offset, dimension, dimension - ( dimension >> 1 ) );
+		}
+
+		if( scale != 1.0 ) {
+
+			int end = offset + dimension;
+
+			for( int i = offset; i < end; i++ ) {
+
+				real[i] *= scale;
+				imag[i] *= scale;
+			}
+		}
+	}
+
+	/**
+	 * Transforms count contiguous signals stored one after another, starting at offset
+	 */
+	public void transformBatch( double[] real, double[] imag, int offset, int count ) {
+
+		transformBatch( real, imag, offset, count, dimension, 1 );
+	}
+
+	/**
+	 * Transforms count signals in place, in parallel for large batches. Sample j of signal i
+	 * is at offset + i * distance + j * stride; stride may be negative (e.g. to read columns
+	 * bottom up). Strided signals are gathered BATCH_BLOCK at a time into contiguous tiles,
+	 * which keeps memory access sequential when neighbouring signals are adjacent (distance 1).
+	 */
+	public void transformBatch( final double[] real, final double[] imag, final int offset, final int count,
+			final int distance, final int stride ) {
+
+		if( stride == 1 ) {
+
+			ParallelExecutor.forEach( count, count * dimension, ( start, end ) -> {
+
+				double[][] work = createWorkspace();
+
+				for( int i = start; i < end; i++ ) {
+
+					transform( real, imag, offset + i * distance, work );
+				}
+			} );
+
+			return;
+		}
+
+		int blocks = ( count + BATCH_BLOCK - 1 ) / BATCH_BLOCK;
+
+		ParallelExecutor.forEach( blocks, count * dimension, ( start, end ) -> {
+
+			double[] tileReal = new double[BATCH_BLOCK * dimension];
+			double[] tileImag = new double[BATCH_BLOCK * dimension];
+			double[][] work = createWorkspace();
+
+			for( int block = start; block < end; block++ ) {
+
+				int first = offset + block * BATCH_BLOCK * distance;
+				int signals = Math.min( BATCH_BLOCK, count - block * BATCH_BLOCK );
+
+				//gather: signal c of the block becomes tile row c
+				for( int j = 0, source = first; j < dimension; j++, source += stride ) {
+
+					for( int c = 0, t = j, i = source; c < signals; c++, t += dimension, i += distance ) {
+
+						tileReal[t] = real[i];
+						tileImag[t] = imag[i];
+					}
+				}
+
+				for( int c = 0; c < signals; c++ ) {
+
+					transform( tileReal, tileImag, c * dimension, work );
+				}
+
+				//scatter
+				for( int j = 0, destination = first; j < dimension; j++, destination += stride ) {
+
+					for( int c = 0, t = j, i = destination; c < signals; c++, t += dimension, i += distance ) {
+
+						real[i] = tileReal[t];
+						imag[i] = tileImag[t];
+					}
+				}
+			}
+		} );
+	}
+
+	/**
+	 * Rotates count values in place so that array[offset + shift] moves to array[offset]
+	 */
+	public static void rotate( double[] array, int offset, int count, int shift ) {
+
+		if( shift == 0 || shift == count ) return;
+
+		if( 2 * shift == count ) {
+
+			//even length: swap halves
+			for( int i = offset, j = offset + shift; i < offset + shift; i++, j++ ) {
+
+				double temp = array[i];
+				array[i] = array[j];
+				array[j] = temp;
+			}
+
+			return;
+		}
+
+		//odd length: three reversals
+		reverse( array, offset, offset + shift - 1 );
+		reverse( array, offset + shift, offset + count - 1 );
+		reverse( array, offset, offset + count - 1 );
+	}
+
+	private static void reverse( double[] array, int first, int last ) {
+
+		while( first < last ) {
+
+			double temp = array[first];
+			array[first++] = array[last];
+			array[last--] = temp;
+		}
+	}
+
+}
@@ -9,6 +9,7 @@ import signals.core.Function1D;
 import signals.core.Function2D;
 import signals.core.FunctionFactory;
 import signals.core.UnaryOperation;
+import signals.core.Zeros;
 
 public class MagnitudeOp extends UnaryOperation {
 
@@ -39,7 +40,7 @@ public class MagnitudeOp extends UnaryOperation {
 		String name = "||" + input.getCompactDescriptor() + "||"; 
 	
 		double[] realOut = ArrayMath.magnitude(real, imag);
-		double[] imagOut = new double[real.length]; 
+		double[] imagOut = Zeros.zeros(real.length); 
 		
 		if( input instanceof Function1D ) {
 			
@@ -0,0 +1,473 @@
+package signals.operation;
+
+/**
+ * Mixed-radix Stockham FFT for lengths whose prime factors are at most FFTKernel.MAX_RADIX.
+ * Radix 4, 2, 3 and 5 stages have dedicated butterflies; any other prime factor (7, 11, ...)
+ * uses a generic odd-radix butterfly. The Stockham formulation ping-pongs between the data
+ * and a work buffer, so no bit-reversal permutation is needed.
+ *
+ * A centered kernel of even length also applies the half-length rotations of zero-centered
+ * transforms at no extra cost. The input rotation is folded into the first stage's twiddles,
+ * since rotating the inputs of an even radix-p butterfly by p/2 multiplies its output k by (-1)^k.
+ * The output rotation is folded into an even last stage by writing output k to slot (k + p/2) mod p.
+ */
+public class MixedRadixFFT extends FFTKernel {
+
+	protected int[] radices;
+
+	//per-stage twiddles: w_n^(j*k) for j in [0, n/p), k in [1, p), stored at j*(p-1) + k-1
+	protected double[][] twiddleReal, twiddleImag;
+
+	//per-stage p-th roots of unity, used only by generic radix stages
+	protected double[][] rootReal, rootImag;
+
+	//sign of the exponent: -1 forward, +1 inverse
+	protected double sign;
+
+	public MixedRadixFFT( int dimension, boolean inverse ) {
+
+		this( dimension, inverse, false );
+	}
+
+	/**
+	 * @param centered fold the rotations by N/2 of zero-centered transforms into the kernel where possible
+	 */
+	public MixedRadixFFT( int dimension, boolean inverse, boolean centered ) {
+
+		super( dimension, inverse );
+		sign = inverse ? 1.0 : -1.0;
+
+		boolean even = ( dimension % 2 == 0 );
+		radices = ( centered && even ) ? factorCentered( dimension ) : factor( dimension );
+
+		inputRotated = centered && even;
+		outputRotated = centered && even && ( radices[radices.length - 1] % 2 == 0 );
+
+		createTables();
+	}
+
+	@Override
+	public int getWorkLength() {
+		return dimension;
+	}
+
+	@Override
+	public long getTableBytes() {
+
+		long values = 0;
+
+		for( int stage = 0; stage < radices.length; stage++ ) {
+
+			values += twiddleReal[stage].length;
+			if( rootReal[stage] != null ) values += rootReal[stage].length;
+		}
+
+		//real and imaginary parts
+		return 16 * values;
+	}
+
+	public int[] getRadices() {
+		return radices;
+	}
+
+	/**
+	 * Splits n into radix 4 stages first, then 2, 3, 5 and any remaining primes
+	 */
+	public static int[] factor( int n ) {
+
+		int[] buffer = new int[32];
+		int numFactors = 0;
+
+		while( n % 4 == 0 ) { buffer[numFactors++] = 4; n /= 4; }
+
+		for( int p = 2; n > 1; p++ ) {
+
+			while( n % p == 0 ) {
+
+				buffer[numFactors++] = p;
+				n /= p;
+			}
+		}
+
+		int[] factors = new int[numFactors];
+		System.arraycopy( buffer, 0, factors, 0, numFactors );
+		return factors;
+	}
+
+	/**
+	 * Like factor, but for n divisible by 4 an even radix is moved to the last stage
+	 * so that both the first and the last stages are even
+	 */
+	public static int[] factorCentered( int n ) {
+
+		int[] factors = factor( n );
+		int last = factors.length - 1;
+
+		if( n % 4 != 0 || factors[last] % 2 == 0 ) return factors;
+
+		//the even radices come first
+		int evens = 0;
+		while( factors[evens] % 2 == 0 ) evens++;
+
+		if( evens >= 2 ) {
+
+			int moved = factors[evens - 1];
+			System.arraycopy( factors, evens, factors, evens - 1, factors.length - evens );
+			factors[last] = moved;
+			return factors;
+		}
+
+		//a single radix 4: split it into a first and a last radix 2
+		int[] split = new int[factors.length + 1];
+		split[0] = 2;
+		System.arraycopy( factors, 1, split, 1, factors.length - 1 );
+		split[split.length - 1] = 2;
+		return split;
+	}
+
+	private void createTables() {
+
+		int numStages = radices.length;
+		twiddleReal = new double[numStages][];
+		twiddleImag = new double[numStages][];
+		rootReal = new double[numStages][];
+		rootImag = new double[numStages][];
+
+		int n = dimension;
+
+		for( int stage = 0; stage < numStages; stage++ ) {
+
+			int p = radices[stage];
+			int m = n / p;
+
+			double[] tr = new double[m * ( p - 1 )];
+			double[] ti = new double[m * ( p - 1 )];
+			int idx = 0;
+
+			for( int j = 0; j < m; j++ ) {
+
+				for( int k = 1; k < p; k++ ) {
+
+					//reduce the exponent before scaling to keep the phase accurate
+					double phase = sign * 2 * Math.PI * ( ( (long) j * k ) % n ) / n;
+					tr[idx] = Math.cos( phase );
+					ti[idx++] = Math.sin( phase );
+				}
+			}
+
+			//rotated input: negate the odd outputs of every first-stage butterfly
+			if( stage == 0 && inputRotated ) {
+
+				for( int i = 0; i < tr.length; i++ ) {
+
+					if( ( i % ( p - 1 ) ) % 2 == 0 ) {
+
+						tr[i] = -tr[i];
+						ti[i] = -ti[i];
+					}
+				}
+			}
+
+			twiddleReal[stage] = tr;
+			twiddleImag[stage] = ti;
+
+			if( p != 2 && p != 3 && p != 4 && p != 5 ) {
+
+				double[] rr = new double[p];
+				double[] ri = new double[p];
+
+				for( int r = 0; r < p; r++ ) {
+
+					double phase = sign * 2 * Math.PI * r / p;
+					rr[r] = Math.cos( phase );
+					ri[r] = Math.sin( phase );
+				}
+
+				rootReal[stage] = rr;
+				rootImag[stage] = ri;
+			}
+
+			n = m;
+		}
+	}
+
+	@Override
+	public void transform( double[] real, double[] imag, int offset,
+			double[] workReal, double[] workImag, int workOffset ) {
+
+		double[] xr = real, xi = imag, yr = workReal, yi = workImag;
+		int xo = offset, yo = workOffset;
+
+		int n = dimension;
+		int s = 1;
+
+		for( int stage = 0; stage < radices.length; stage++ ) {
+
+			int p = radices[stage];
+			int m = n / p;
+
+			//rotated output: the even last stage writes its outputs half a butterfly further on
+			int rotation = ( outputRotated && stage == radices.length - 1 ) ? p / 2 : 0;
+
+			switch( p ) {
+
+			case 2:
+				radix2( xr, xi, xo, yr, yi, yo, s, m, twiddleReal[stage], twiddleImag[stage], rotation );
+				break;
+			case 3:
+				radix3( xr, xi, xo, yr, yi, yo, s, m, twiddleReal[stage], twiddleImag[stage] );
+				break;
+			case 4:
+				radix4( xr, xi, xo, yr, yi, yo, s, m, twiddleReal[stage], twiddleImag[stage], rotation );
+				break;
+			case 5:
+				radix5( xr, xi, xo, yr, yi, yo, s, m, twiddleReal[stage], twiddleImag[stage] );
+				break;
+			default:
+				radixGeneric( xr, xi, xo, yr, yi, yo, s, m, p, twiddleReal[stage], twiddleImag[stage],
+						rootReal[stage], rootImag[stage] );
+			}
+
+			//swap source and destination
+			double[] tempR = xr, tempI = xi;
+			int tempO = xo;
+			xr = yr; xi = yi; xo = yo;
+			yr = tempR; yi = tempI; yo = tempO;
+
+			n = m;
+			s *= p;
+		}
+
+		//odd number of stages: result is in the work buffer
+		if( ( radices.length & 1 ) == 1 ) {
+
+			System.arraycopy( xr, xo, real, offset, dimension );
+			System.arraycopy( xi, xo, imag, offset, dimension );
+		}
+	}
+
+	protected void radix2( double[] xr, double[] xi, int xo, double[] yr, double[] yi, int yo,
+			int s, int m, double[] tr, double[] ti ) {
+
+		radix2( xr, xi, xo, yr, yi, yo, s, m, tr, ti, 0 );
+	}
+
+	/**
+	 * @param rotation 0, or 1 to write output k to slot 1 - k
+	 */
+	protected void radix2( double[] xr, double[] xi, int xo, double[] yr, double[] yi, int yo,
+			int s, int m, double[] tr, double[] ti, int rotation ) {
+
+		int sm = s * m;
+		int slot0 = rotation * s, slot1 = ( 1 - rotation ) * s;
+
+		for( int j = 0; j < m; j++ ) {
+
+			double wr = tr[j], wi = ti[j];
+			int in0 = xo + s * j;
+			int out0 = yo + s * 2 * j;
+
+			for( int q = 0; q < s; q++ ) {
+
+				int a = in0 + q, b = a + sm;
+				double ar = xr[a], ai = xi[a], br = xr[b], bi = xi[b];
+
+				double dr = ar - br, di = ai - bi;
+
+				int o = out0 + q;
+				yr[o + slot0] = ar + br;
+				yi[o + slot0] = ai + bi;
+				yr[o + slot1] = dr * wr - di * wi;
+				yi[o + slot1] = dr * wi + di * wr;
+			}
+		}
+	}
+
+	protected void radix3( double[] xr, double[] xi, int xo, double[] yr, double[] yi, int yo,
+			int s, int m, double[] tr, double[] ti ) {
+
+		int sm = s * m;
+		double s3 = sign * Math.sqrt( 3.0 ) / 2.0;
+
+		for( int j = 0; j < m; j++ ) {
+
+			double w1r = tr[2 * j], w1i = ti[2 * j];
+			double w2r = tr[2 * j + 1], w2i = ti[2 * j + 1];
+			int in0 = xo + s * j;
+			int out0 = yo + s * 3 * j;
+
+			for( int q = 0; q < s; q++ ) {
+
+				int a0 = in0 + q, a1 = a0 + sm, a2 = a1 + sm;
+
+				double tr0 = xr[a1] + xr[a2], ti0 = xi[a1] + xi[a2];
+				double dr = xr[a1] - xr[a2], di = xi[a1] - xi[a2];
+
+				double mr = xr[a0] - 0.5 * tr0, mi = xi[a0] - 0.5 * ti0;
+
+				//i * s3 * d
+				double nr = -s3 * di, ni = s3 * dr;
+
+				double b1r = mr + nr, b1i = mi + ni;
+				double b2r = mr - nr, b2i = mi - ni;
+
+				int o = out0 + q;
+				yr[o] = xr[a0] + tr0;
+				yi[o] = xi[a0] + ti0;
+				yr[o + s] = b1r * w1r - b1i * w1i;
+				yi[o + s] = b1r * w1i + b1i * w1r;
+				yr[o + 2 * s] = b2r * w2r - b2i * w2i;
+				yi[o + 2 * s] = b2r * w2i + b2i * w2r;
+			}
+		}
+	}
+
+	protected void radix4( double[] xr, double[] xi, int xo, double[] yr, double[] yi, int yo,
+			int s, int m, double[] tr, double[] ti ) {
+
+		radix4( xr, xi, xo, yr, yi, yo, s, m, tr, ti, 0 );
+	}
+
+	/**
+	 * @param rotation 0, or 2 to write output k to slot (k + 2) mod 4
+	 */
+	protected void radix4( double[] xr, double[] xi, int xo, double[] yr, double[] yi, int yo,
+			int s, int m, double[] tr, double[] ti, int rotation ) {
+
+		int sm = s * m;
+		int slot0 = rotation * s, slot1 = ( ( 1 + rotation ) & 3 ) * s;
+		int slot2 = ( ( 2 + rotation ) & 3 ) * s, slot3 = ( ( 3 + rotation ) & 3 ) * s;
+
+		for( int j = 0; j < m; j++ ) {
+
+			double w1r = tr[3 * j], w1i = ti[3 * j];
+			double w2r = tr[3 * j + 1], w2i = ti[3 * j + 1];
+			double w3r = tr[3 * j + 2], w3i = ti[3 * j + 2];
+			int in0 = xo + s * j;
+			int out0 = yo + s * 4 * j;
+
+			for( int q = 0; q < s; q++ ) {
+
+				int a0 = in0 + q, a1 = a0 + sm, a2 = a1 + sm, a3 = a2 + sm;
+
+				double t0r = xr[a0] + xr[a2], t0i = xi[a0] + xi[a2];
+				double t1r = xr[a0] - xr[a2], t1i = xi[a0] - xi[a2];
+				double t2r = xr[a1] + xr[a3], t2i = xi[a1] + xi[a3];
+
+				//(a1 - a3) times -i (forward) or +i (inverse)
+				double dr = xr[a1] - xr[a3], di = xi[a1] - xi[a3];
+				double t3r = -sign * di, t3i = sign * dr;
+
+				double b1r = t1r + t3r, b1i = t1i + t3i;
+				double b2r = t0r - t2r, b2i = t0i - t2i;
+				double b3r = t1r - t3r, b3i = t1i - t3i;
+
+				int o = out0 + q;
+				yr[o + slot0] = t0r + t2r;
+				yi[o + slot0] = t0i + t2i;
+				yr[o + slot1] = b1r * w1r - b1i * w1i;
+				yi[o + slot1] = b1r * w1i + b1i * w1r;
+				yr[o + slot2] = b2r * w2r - b2i * w2i;
+				yi[o + slot2] = b2r * w2i + b2i * w2r;
+				yr[o + slot3] = b3r * w3r - b3i * w3i;
+				yi[o + slot3] = b3r * w3i + b3i * w3r;
+			}
+		}
+	}
+
+	protected void radix5( double[] xr, double[] xi, int xo, double[] yr, double[] yi, int yo,
+			int s, int m, double[] tr, double[] ti ) {
+
+		int sm = s * m;
+		double c1 = Math.cos( 2 * Math.PI / 5 ), c2 = Math.cos( 4 * Math.PI / 5 );
+		double s1 = Math.sin( 2 * Math.PI / 5 ), s2 = Math.sin( 4 * Math.PI / 5 );
+
+		for( int j = 0; j < m; j++ ) {
+
+			int w = 4 * j;
+			int in0 = xo + s * j;
+			int out0 = yo + s * 5 * j;
+
+			for( int q = 0; q < s; q++ ) {
+
+				int a0 = in0 + q, a1 = a0 + sm, a2 = a1 + sm, a3 = a2 + sm, a4 = a3 + sm;
+
+				double t1r = xr[a1] + xr[a4], t1i = xi[a1] + xi[a4];
+				double t2r = xr[a2] + xr[a3], t2i = xi[a2] + xi[a3];
+				double t3r = xr[a1] - xr[a4], t3i = xi[a1] - xi[a4];
+				double t4r = xr[a2] - xr[a3], t4i = xi[a2] - xi[a3];
+
+				double m1r = xr[a0] + c1 * t1r + c2 * t2r, m1i = xi[a0] + c1 * t1i + c2 * t2i;
+				double m2r = xr[a0] + c2 * t1r + c1 * t2r, m2i = xi[a0] + c2 * t1i + c1 * t2i;
+
+				//sign * i * (s1 t3 + s2 t4) and sign * i * (s2 t3 - s1 t4)
+				double n1r = -sign * ( s1 * t3i + s2 * t4i ), n1i = sign * ( s1 * t3r + s2 * t4r );
+				double n2r = -sign * ( s2 * t3i - s1 * t4i ), n2i = sign * ( s2 * t3r - s1 * t4r );
+
+				double b1r = m1r + n1r, b1i = m1i + n1i;
+				double b2r = m2r + n2r, b2i = m2i + n2i;
+				double b3r = m2r - n2r, b3i = m2i - n2i;
+				double b4r = m1r - n1r, b4i = m1i - n1i;
+
+				int o = out0 + q;
+				yr[o] = xr[a0] + t1r + t2r;
+				yi[o] = xi[a0] + t1i + t2i;
+				yr[o + s] = b1r * tr[w] - b1i * ti[w];
+				yi[o + s] = b1r * ti[w] + b1i * tr[w];
+				yr[o + 2 * s] = b2r * tr[w + 1] - b2i * ti[w + 1];
+				yi[o + 2 * s] = b2r * ti[w + 1] + b2i * tr[w + 1];
+				yr[o + 3 * s] = b3r * tr[w + 2] - b3i * ti[w + 2];
+				yi[o + 3 * s] = b3r * ti[w + 2] + b3i * tr[w + 2];
+				yr[o + 4 * s] = b4r * tr[w + 3] - b4i * ti[w + 3];
+				yi[o + 4 * s] = b4r * ti[w + 3] + b4i * tr[w + 3];
+			}
+		}
+	}
+
+	protected void radixGeneric( double[] xr, double[] xi, int xo, double[] yr, double[] yi, int yo,
+			int s, int m, int p, double[] tr, double[] ti, double[] rr, double[] ri ) {
+
+		int sm = s * m;
+
+		for( int j = 0; j < m; j++ ) {
+
+			int w = ( p - 1 ) * j;
+			int in0 = xo + s * j;
+			int out0 = yo + s * p * j;
+
+			for( int q = 0; q < s; q++ ) {
+
+				int a0 = in0 + q;
+				int o = out0 + q;
+
+				for( int k = 0; k < p; k++ ) {
+
+					//direct p-point DFT: b_k = sum_i a_i * root^(i*k)
+					double br = 0, bi = 0;
+					int r = 0;
+
+					for( int i = 0, a = a0; i < p; i++, a += sm ) {
+
+						br += xr[a] * rr[r] - xi[a] * ri[r];
+						bi += xr[a] * ri[r] + xi[a] * rr[r];
+						r += k;
+						if( r >= p ) r -= p;
+					}
+
+					if( k == 0 ) {
+
+						yr[o] = br;
+						yi[o] = bi;
+
+					} else {
+
+						double wr = tr[w + k - 1], wi = ti[w + k - 1];
+						yr[o + k * s] = br * wr - bi * wi;
+						yi[o + k * s] = br * wi + bi * wr;
+					}
+				}
+			}
+		}
+	}
+
+}
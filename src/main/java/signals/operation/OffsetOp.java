@@ -7,14 +7,13 @@ import signals.core.CombineOpsRule;
 import signals.core.Core;
 import signals.core.DataGeneratorTypeModel;
 import signals.core.Function;
-import signals.core.Function1D;
-import signals.core.Function2D;
-import signals.core.FunctionFactory;
+import signals.core.PointwiseExpression;
+import signals.core.PointwiseOperation;
 import signals.core.UnaryOperation;
 import signals.gui.operation.ParameterOptionsPanel;
 import signals.gui.operation.OperationOptionsPanel;
 
-public class OffsetOp extends UnaryOperation implements ParametricOperation {
+public class OffsetOp extends UnaryOperation implements PointwiseOperation, ParametricOperation {
 	
 	public OffsetOp() {
 		super();
@@ -45,38 +44,39 @@ public class OffsetOp extends UnaryOperation implements ParametricOperation {
 	
 	
 	@Override
-	public Function create(Function input) {
-		
-		double[] real = input.getReal(); 
-		double[] imag = input.getImaginary(); 
-		
-		boolean zeroCentered = input.isZeroCentered();
-		
-		NumberFormat format = Core.getDisplayOptions().getFormat(); 
-		
-		String name = "(" + format.format(offsetReal) + "+ i"+ format.format(offsetImag) 
-							+ ") + "+ input.getCompactDescriptor(); 
-		
-		double[] realOut = new double[real.length]; 
-		double[] imagOut = new double[real.length]; 
-		
-		for( int i = 0; i < real.length; ++i ) {
-			
-			realOut[i] = real[i] + offsetReal;
-			imagOut[i] = imag[i] + offsetImag; 
+	public Function create( Function input ) {
+
+		return PointwiseExpression.apply( this, PointwiseExpression.of( input ) ).toFunction();
+	}
+
+	public void apply( double[] real, double[] imag, double[] realB, double[] imagB, int length ) {
+
+		for( int i = 0; i < length; ++i ) {
+
+			real[i] += offsetReal;
+			imag[i] += offsetImag;
 		}
-		
-		if( input instanceof Function1D ) {
-			
-			return FunctionFactory.createFunction1D( realOut, imagOut, zeroCentered, name ); 
-			
-		} 
-		
-		int x_dimension = ((Function2D)input).getDimensionX();
-		int y_dimension = ((Function2D)input).getDimensionY();
+	}
+
+	public boolean keepsReal() {
+
+		return offsetImag == 0;
+	}
+
+	public void applyReal( double[] real, double[] realB, int length ) {
+
+		for( int i = 0; i < length; ++i ) {
+
+			real[i] += offsetReal;
+		}
+	}
+
+	public String describe( String operandA, String operandB ) {
+
+		NumberFormat format = Core.getDisplayOptions().getFormat(); 
 
-		return FunctionFactory.createFunction2D( realOut, imagOut, zeroCentered, name, 
-				x_dimension, y_dimension ); 
+		return "(" + format.format(offsetReal) + "+ i"+ format.format(offsetImag) 
+							+ ") + "+ operandA;
 	}
 
 	/* (non-Javadoc)
@@ -0,0 +1,333 @@
+package signals.operation;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * A thread-safe cache of FFT tables and plans, or of any other data, bounded by an approximate byte budget.
+ *
+ * Each key is built at most once at a time: the first thread to ask builds the value
+ * outside the cache lock while later threads asking for the same key wait for it.
+ * When the completed entries exceed the budget, the least recently used ones are evicted.
+ * Callers keep whatever they already hold; an evicted entry is simply rebuilt on its next use.
+ *
+ * Entries may be weighted by how expensive they are to rebuild. Eviction is then GreedyDual:
+ * an entry's priority is set to the current clock plus its weight whenever it is used, the entry
+ * with the lowest priority is evicted and the clock advances to that priority. With equal weights
+ * this is plain LRU; an entry of weight 4 outlives about four rounds of evictions of weight 1 entries.
+ *
+ * A key's group is the part before its first space. The entries of a pinned group, such as the data
+ * of a function on display, are never evicted, even if that leaves the cache over budget.
+ */
+public class PlanCache {
+
+	protected static class Entry {
+
+		protected FutureTask<Object> task;
+
+		//size of the value, or -1 while it is being built
+		protected long bytes = -1;
+
+		protected final double weight;
+		protected double priority;
+
+		protected final String group;
+
+		protected Entry( FutureTask<Object> task, String key, double weight ) {
+			this.task = task;
+			this.weight = weight;
+			int space = key.indexOf( ' ' );
+			group = ( space < 0 ) ? key : key.substring( 0, space );
+		}
+	}
+
+	/**
+	 * Weight of an entry that is as cheap to rebuild as it is to allocate
+	 */
+	public static final double DEFAULT_WEIGHT = 1.0;
+
+	//access order, so iteration starts at the least recently used entry
+	protected LinkedHashMap<String, Entry> entries;
+
+	protected HashSet<String> pinned;
+
+	protected long budget;
+	protected long bytes;
+	protected long hits, misses, evictions;
+
+	//priority of the last evicted entry
+	protected double clock;
+
+	public PlanCache( long budget ) {
+
+		this.budget = budget;
+		entries = new LinkedHashMap<String, Entry>( 16, 0.75f, true );
+		pinned = new HashSet<String>();
+	}
+
+	/**
+	 * @param key identifies the value; must be unique across all value types
+	 * @param factory builds the value on a miss
+	 * @param sizer estimates the memory held by the value, in bytes
+	 */
+	public <T> T get( String key, Supplier<T> factory, ToLongFunction<T> sizer ) {
+
+		return get( key, factory, sizer, DEFAULT_WEIGHT );
+	}
+
+	/**
+	 * @param weight the relative cost of rebuilding the value; see DEFAULT_WEIGHT
+	 */
+	@SuppressWarnings( "unchecked" )
+	public <T> T get( String key, Supplier<T> factory, ToLongFunction<T> sizer, double weight ) {
+
+		Entry entry;
+		boolean owner = false;
+
+		synchronized( this ) {
+
+			entry = entries.get( key );
+
+			if( entry == null ) {
+
+				entry = new Entry( new FutureTask<Object>( factory::get ), key, weight );
+				entries.put( key, entry );
+				owner = true;
+				++misses;
+
+			} else {
+
+				++hits;
+			}
+
+			entry.priority = clock + entry.weight;
+		}
+
+		if( !owner ) return (T) await( entry );
+
+		entry.task.run();
+
+		T value;
+
+		try {
+			value = (T) await( entry );
+		} catch( RuntimeException | Error e ) {
+
+			//let the next caller try again
+			synchronized( this ) {
+				if( entries.get( key ) == entry ) entries.remove( key );
+			}
+
+			throw e;
+		}
+
+		long size = sizer.applyAsLong( value );
+
+		synchronized( this ) {
+
+			//the cache may have been cleared while the value was built
+			if( entries.get( key ) == entry ) {
+
+				entry.bytes = size;
+				bytes += size;
+				evict( entry );
+			}
+		}
+
+		return value;
+	}
+
+	/**
+	 * Stores a value that has already been computed, replacing any entry under the key
+	 * @param bytes the estimated memory held by the value
+	 * @param weight the relative cost of rebuilding the value; see DEFAULT_WEIGHT
+	 */
+	public synchronized void put( String key, Object value, long bytes, double weight ) {
+
+		FutureTask<Object> task = new FutureTask<Object>( () -> value );
+		task.run();
+
+		Entry entry = new Entry( task, key, weight );
+		entry.bytes = bytes;
+		entry.priority = clock + weight;
+
+		Entry previous = entries.put( key, entry );
+		if( previous != null && previous.bytes > 0 ) this.bytes -= previous.bytes;
+
+		this.bytes += bytes;
+		evict( entry );
+	}
+
+	/**
+	 * @return the completed value under the key, or null if there is none; counts as a use of the entry
+	 */
+	public synchronized Object peek( String key ) {
+
+		Entry entry = entries.get( key );
+
+		if( entry == null || entry.bytes < 0 ) {
+
+			++misses;
+			return null;
+		}
+
+		++hits;
+		entry.priority = clock + entry.weight;
+		return await( entry );
+	}
+
+	/**
+	 * Evicts completed, unpinned entries, never the one just added, until within budget:
+	 * the lowest priority first, and the least recently used of those
+	 */
+	protected void evict( Entry keep ) {
+
+		while( bytes > budget ) {
+
+			Entry victim = null;
+			String victimKey = null;
+
+			for( Map.Entry<String, Entry> candidate : entries.entrySet() ) {
+
+				Entry entry = candidate.getValue();
+
+				if( entry == keep || entry.bytes < 0 || pinned.contains( entry.group ) ) continue;
+
+				if( victim == null || entry.priority < victim.priority ) {
+
+					victim = entry;
+					victimKey = candidate.getKey();
+				}
+			}
+
+			if( victim == null ) return;
+
+			entries.remove( victimKey );
+			bytes -= victim.bytes;
+			clock = Math.max( clock, victim.priority );
+			++evictions;
+		}
+	}
+
+	//waits for the value, without giving up on interrupts since another thread may be waiting too
+	protected static Object await( Entry entry ) {
+
+		boolean interrupted = false;
+
+		try {
+			while( true ) {
+
+				try {
+					return entry.task.get();
+				} catch( InterruptedException e ) {
+					interrupted = true;
+				} catch( ExecutionException e ) {
+
+					Throwable cause = e.getCause();
+					if( cause instanceof RuntimeException ) throw (RuntimeException) cause;
+					if( cause instanceof Error ) throw (Error) cause;
+					throw new IllegalStateException( cause );
+				}
+			}
+		} finally {
+			if( interrupted ) Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Drops every entry whose key matches, including entries still being built
+	 */
+	public synchronized void removeIf( Predicate<String> filter ) {
+
+		Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+
+		while( iterator.hasNext() ) {
+
+			Map.Entry<String, Entry> entry = iterator.next();
+
+			if( !filter.test( entry.getKey() ) ) continue;
+
+			iterator.remove();
+			if( entry.getValue().bytes > 0 ) bytes -= entry.getValue().bytes;
+		}
+	}
+
+	public synchronized void remove( String key ) {
+
+		Entry entry = entries.remove( key );
+		if( entry != null && entry.bytes > 0 ) bytes -= entry.bytes;
+	}
+
+	public synchronized void clear() {
+
+		entries.clear();
+		bytes = 0;
+	}
+
+	/**
+	 * Pins or unpins a group of keys: the part of a key before its first space
+	 */
+	public synchronized void setPinned( String group, boolean pin ) {
+
+		if( pin ) {
+
+			pinned.add( group );
+
+		} else if( pinned.remove( group ) ) {
+
+			evict( null );
+		}
+	}
+
+	public synchronized boolean isPinned( String group ) {
+		return pinned.contains( group );
+	}
+
+	public synchronized long getBudget() {
+		return budget;
+	}
+
+	public synchronized void setBudget( long budget ) {
+
+		this.budget = budget;
+		evict( null );
+	}
+
+	/**
+	 * @return the estimated bytes held by completed entries
+	 */
+	public synchronized long getBytes() {
+		return bytes;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	@Override
+	public synchronized String toString() {
+
+		return "PlanCache[entries=" + entries.size() + ", bytes=" + bytes + "/" + budget
+				+ ", pinned=" + pinned.size() + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "]";
+	}
+
+}
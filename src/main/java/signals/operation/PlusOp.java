@@ -6,11 +6,10 @@ import signals.core.BinaryOperation;
 import signals.core.CombineOpsRule;
 import signals.core.DataGeneratorTypeModel;
 import signals.core.Function;
-import signals.core.Function1D;
-import signals.core.Function2D;
-import signals.core.FunctionFactory;
+import signals.core.PointwiseExpression;
+import signals.core.PointwiseOperation;
 
-public class PlusOp extends BinaryOperation {
+public class PlusOp extends BinaryOperation implements PointwiseOperation {
 
 	public PlusOp() {
 		super();
@@ -29,37 +28,35 @@ public class PlusOp extends BinaryOperation {
 	@Override
 	public Function create(Function inputA, Function inputB) {
 
-		double[] realA = inputA.getReal();
-		double[] imagA = inputA.getImaginary();
-
-		double[] realB = inputB.getReal();
-		double[] imagB = inputB.getImaginary();
+		return PointwiseExpression.apply( this, PointwiseExpression.of( inputA ),
+				PointwiseExpression.of( inputB ) ).toFunction();
+	}
 
-		boolean zeroCentered = inputA.isZeroCentered();
+	public void apply( double[] real, double[] imag, double[] realB, double[] imagB, int length ) {
 
-		String name = inputA.getCompactDescriptor() + " + " + inputB.getCompactDescriptor();
+		for( int i = 0; i < length; ++i ) {
 
-		double[] real = new double[realA.length];
-		double[] imag = new double[realA.length];
+			real[i] += realB[i];
+			imag[i] += imagB[i];
+		}
+	}
 
-		for (int i = 0; i < realA.length; ++i) {
+	public boolean keepsReal() {
 
-			real[i] = realA[i] + realB[i];
-			imag[i] = imagA[i] + imagB[i];
-		}
+		return true;
+	}
 
-		if (inputA instanceof Function1D) {
+	public void applyReal( double[] real, double[] realB, int length ) {
 
-			return FunctionFactory.createFunction1D(real, imag, zeroCentered, name);
+		for( int i = 0; i < length; ++i ) {
 
+			real[i] += realB[i];
 		}
+	}
 
-		int x_dimension = ((Function2D) inputA).getDimensionX();
-		int y_dimension = ((Function2D) inputA).getDimensionY();
-
-		return FunctionFactory.createFunction2D(real, imag, zeroCentered, name,
-				x_dimension, y_dimension);
+	public String describe( String operandA, String operandB ) {
 
+		return operandA + " + " + operandB;
 	}
 
 	/*
@@ -0,0 +1,236 @@
+package signals.operation;
+
+/**
+ * FFT of purely real data. A real signal of even length N is packed into N/2 complex
+ * values, transformed at half length and untangled, so a real transform costs about half
+ * of a complex one. Only the non-redundant half of the spectrum (bins 0..N/2) is produced;
+ * the other half follows from Hermitian symmetry, X[N-k] = conj( X[k] ).
+ *
+ * Transforms are unnormalized and uncentered. Odd lengths fall back to a full complex transform.
+ */
+public class RealFFTPlan {
+
+	protected int dimension;
+	protected int halfDimension;
+	protected boolean even;
+
+	//half-length kernels for even lengths, full-length kernels for odd lengths
+	protected FFTKernel forwardKernel, inverseKernel;
+
+	//W^k = exp( -2 pi i k / N ) for k in [0, N/2)
+	protected double[] twiddleReal, twiddleImag;
+
+	//per-thread workspace used when the caller does not supply one
+	protected ThreadLocal<double[][]> workspace;
+
+	public RealFFTPlan( int dimension ) {
+
+		this.dimension = dimension;
+		halfDimension = dimension / 2;
+		even = ( dimension % 2 == 0 );
+
+		int kernelDimension = even ? halfDimension : dimension;
+		forwardKernel = FFTCoefficients.getKernel( kernelDimension, false );
+		inverseKernel = FFTCoefficients.getKernel( kernelDimension, true );
+
+		if( even ) {
+
+			twiddleReal = new double[halfDimension];
+			twiddleImag = new double[halfDimension];
+
+			for( int k = 0; k < halfDimension; k++ ) {
+
+				double phase = -2 * Math.PI * k / dimension;
+				twiddleReal[k] = Math.cos( phase );
+				twiddleImag[k] = Math.sin( phase );
+			}
+		}
+
+		//the initializer captures the length, not the plan under construction
+		final int workLength = getWorkLength();
+		workspace = ThreadLocal.withInitial( () -> createWorkspace( workLength ) );
+	}
+
+	/**
+	 * @return a shared plan
+	 */
+	public static RealFFTPlan get( int dimension ) {
+
+		return FFTCoefficients.getRealPlan( dimension );
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * @return the number of stored spectrum values, N/2 + 1
+	 */
+	public int getSpectrumLength() {
+		return halfDimension + 1;
+	}
+
+	public final int getWorkLength() {
+
+		int packedLength = even ? halfDimension : dimension;
+		return packedLength + Math.max( forwardKernel.getWorkLength(), inverseKernel.getWorkLength() );
+	}
+
+	/**
+	 * @return the approximate memory held by the twiddles and one per-thread workspace, in bytes;
+	 * the kernels are shared and counted separately
+	 */
+	public long getTableBytes() {
+
+		long twiddles = even ? halfDimension : 0;
+		return 16L * ( twiddles + getWorkLength() );
+	}
+
+	/**
+	 * @return a new workspace { real, imag } for use with this plan
+	 */
+	public double[][] createWorkspace() {
+
+		return createWorkspace( getWorkLength() );
+	}
+
+	private static double[][] createWorkspace( int workLength ) {
+
+		double[][] work = { new double[workLength], new double[workLength] };
+		return work;
+	}
+
+	public void forward( double[] input, int inputOffset, double[] spectrumReal, double[] spectrumImag,
+			int spectrumOffset ) {
+
+		forward( input, inputOffset, spectrumReal, spectrumImag, spectrumOffset, workspace.get() );
+	}
+
+	public void inverse( double[] spectrumReal, double[] spectrumImag, int spectrumOffset,
+			double[] output, int outputOffset ) {
+
+		inverse( spectrumReal, spectrumImag, spectrumOffset, output, outputOffset, workspace.get() );
+	}
+
+	/**
+	 * Forward transform of dimension real values into bins 0..N/2. The input may alias spectrumReal.
+	 * @param input real samples, not modified
+	 * @param spectrumReal receives getSpectrumLength() values starting at spectrumOffset
+	 * @param spectrumImag receives getSpectrumLength() values starting at spectrumOffset
+	 */
+	public void forward( double[] input, int inputOffset, double[] spectrumReal, double[] spectrumImag,
+			int spectrumOffset, double[][] work ) {
+
+		double[] zr = work[0], zi = work[1];
+
+		if( !even ) {
+
+			System.arraycopy( input, inputOffset, zr, 0, dimension );
+			java.util.Arrays.fill( zi, 0, dimension, 0.0 );
+			forwardKernel.transform( zr, zi, 0, zr, zi, dimension );
+			System.arraycopy( zr, 0, spectrumReal, spectrumOffset, halfDimension + 1 );
+			System.arraycopy( zi, 0, spectrumImag, spectrumOffset, halfDimension + 1 );
+			return;
+		}
+
+		int h = halfDimension;
+
+		//pack even samples into the real part and odd samples into the imaginary part
+		for( int n = 0, i = inputOffset; n < h; n++, i += 2 ) {
+
+			zr[n] = input[i];
+			zi[n] = input[i + 1];
+		}
+
+		forwardKernel.transform( zr, zi, 0, zr, zi, h );
+
+		//untangle: X[k] = E[k] + W^k O[k], with E and O the spectra of the even and odd samples
+		for( int k = 0; k <= h; k++ ) {
+
+			int a = ( k == h ) ? 0 : k;
+			int b = ( k == 0 ) ? 0 : h - k;
+
+			double ar = zr[a], ai = zi[a];
+			double br = zr[b], bi = -zi[b];
+
+			double er = 0.5 * ( ar + br ), ei = 0.5 * ( ai + bi );
+
+			//O = -i ( Z[k] - conj( Z[h-k] ) ) / 2
+			double or = 0.5 * ( ai - bi ), oi = -0.5 * ( ar - br );
+
+			double wr, wi;
+
+			if( k == h ) {
+
+				wr = -1;
+				wi = 0;
+
+			} else {
+
+				wr = twiddleReal[k];
+				wi = twiddleImag[k];
+			}
+
+			spectrumReal[spectrumOffset + k] = er + wr * or - wi * oi;
+			spectrumImag[spectrumOffset + k] = ei + wr * oi + wi * or;
+		}
+	}
+
+	/**
+	 * Unnormalized inverse transform of a Hermitian spectrum, given by its bins 0..N/2,
+	 * into dimension real values. The result is N times the signal whose forward transform is the spectrum.
+	 */
+	public void inverse( double[] spectrumReal, double[] spectrumImag, int spectrumOffset,
+			double[] output, int outputOffset, double[][] work ) {
+
+		double[] zr = work[0], zi = work[1];
+
+		if( !even ) {
+
+			for( int k = 0; k <= halfDimension; k++ ) {
+
+				zr[k] = spectrumReal[spectrumOffset + k];
+				zi[k] = spectrumImag[spectrumOffset + k];
+			}
+
+			for( int k = 1; k <= halfDimension; k++ ) {
+
+				zr[dimension - k] = zr[k];
+				zi[dimension - k] = -zi[k];
+			}
+
+			inverseKernel.transform( zr, zi, 0, zr, zi, dimension );
+			System.arraycopy( zr, 0, output, outputOffset, dimension );
+			return;
+		}
+
+		int h = halfDimension;
+
+		//retangle: Z[k] = ( X[k] + conj( X[h-k] ) ) + i W^-k ( X[k] - conj( X[h-k] ) )
+		for( int k = 0; k < h; k++ ) {
+
+			double ar = spectrumReal[spectrumOffset + k], ai = spectrumImag[spectrumOffset + k];
+			double br = spectrumReal[spectrumOffset + h - k], bi = -spectrumImag[spectrumOffset + h - k];
+
+			double er = ar + br, ei = ai + bi;
+			double dr = ar - br, di = ai - bi;
+
+			//O = W^-k ( X[k] - conj( X[h-k] ) )
+			double wr = twiddleReal[k], wi = -twiddleImag[k];
+			double or = dr * wr - di * wi, oi = dr * wi + di * wr;
+
+			zr[k] = er - oi;
+			zi[k] = ei + or;
+		}
+
+		inverseKernel.transform( zr, zi, 0, zr, zi, h );
+
+		//unpack
+		for( int n = 0, i = outputOffset; n < h; n++, i += 2 ) {
+
+			output[i] = zr[n];
+			output[i + 1] = zi[n];
+		}
+	}
+
+}
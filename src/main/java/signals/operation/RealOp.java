@@ -9,6 +9,7 @@ import signals.core.Function1D;
 import signals.core.Function2D;
 import signals.core.FunctionFactory;
 import signals.core.UnaryOperation;
+import signals.core.Zeros;
 
 public class RealOp extends UnaryOperation {
 
@@ -32,7 +33,7 @@ public class RealOp extends UnaryOperation {
 	public Function create( Function input ) {
 		
 		double[] realOut = input.getReal(); 
-		double[] imagOut = new double[realOut.length]; 
+		double[] imagOut = Zeros.zeros(realOut.length); 
 		
 		boolean zeroCentered = input.isZeroCentered();
 		
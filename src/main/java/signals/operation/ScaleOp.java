@@ -7,14 +7,14 @@ import signals.core.CombineOpsRule;
 import signals.core.Core;
 import signals.core.DataGeneratorTypeModel;
 import signals.core.Function;
-import signals.core.Function1D;
-import signals.core.Function2D;
-import signals.core.FunctionFactory;
+import signals.core.PointwiseExpression;
+import signals.core.PointwiseOperation;
+import signals.core.SeparableFactors;
 import signals.core.UnaryOperation;
 import signals.gui.operation.OperationOptionsPanel;
 import signals.gui.operation.ParameterOptionsPanel;
 
-public class ScaleOp extends UnaryOperation implements ParametricOperation {
+public class ScaleOp extends UnaryOperation implements PointwiseOperation, ParametricOperation {
 	
 	public ScaleOp() {
 		super();
@@ -45,38 +45,45 @@ public class ScaleOp extends UnaryOperation implements ParametricOperation {
 	
 	
 	@Override
-	public Function create(Function input) {
-		
-		double[] real = input.getReal(); 
-		double[] imag = input.getImaginary(); 
-		
-		boolean zeroCentered = input.isZeroCentered();
-		
-		NumberFormat format = Core.getDisplayOptions().getFormat(); 
-		
-		String name = "(" + format.format(scaleFactorReal) + "+ i"+ format.format(scaleFactorImag) 
-							+ ")* "+ input.getCompactDescriptor(); 
-		
-		double[] realOut = new double[real.length]; 
-		double[] imagOut = new double[real.length]; 
-		
-		for( int i = 0; i < real.length; ++i ) {
-			
-			realOut[i] = real[i]*scaleFactorReal - imag[i]*scaleFactorImag;
-			imagOut[i] = imag[i]*scaleFactorReal + real[i]*scaleFactorImag; 
+	public Function create( Function input ) {
+
+		return PointwiseExpression.apply( this, PointwiseExpression.of( input ) ).toFunction();
+	}
+
+	public void apply( double[] real, double[] imag, double[] realB, double[] imagB, int length ) {
+
+		for( int i = 0; i < length; ++i ) {
+
+			double re = real[i];
+			real[i] = re*scaleFactorReal - imag[i]*scaleFactorImag;
+			imag[i] = imag[i]*scaleFactorReal + re*scaleFactorImag;
 		}
-		
-		if( input instanceof Function1D ) {
-			
-			return FunctionFactory.createFunction1D( realOut, imagOut, zeroCentered, name ); 
-			
-		} 
-		
-		int x_dimension = ((Function2D)input).getDimensionX();
-		int y_dimension = ((Function2D)input).getDimensionY();
+	}
+
+	public boolean keepsReal() {
+
+		return scaleFactorImag == 0;
+	}
+
+	public void applyReal( double[] real, double[] realB, int length ) {
+
+		for( int i = 0; i < length; ++i ) {
+
+			real[i] *= scaleFactorReal;
+		}
+	}
+
+	public String describe( String operandA, String operandB ) {
+
+		NumberFormat format = Core.getDisplayOptions().getFormat(); 
+
+		return "(" + format.format(scaleFactorReal) + "+ i"+ format.format(scaleFactorImag) 
+							+ ")* "+ operandA;
+	}
+
+	public SeparableFactors applyFactors( SeparableFactors factorsA, SeparableFactors factorsB ) {
 
-		return FunctionFactory.createFunction2D( realOut, imagOut, zeroCentered, name, 
-				x_dimension, y_dimension ); 
+		return factorsA.scale( scaleFactorReal, scaleFactorImag );
 	}
 
 	/* (non-Javadoc)
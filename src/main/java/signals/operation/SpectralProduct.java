@@ -0,0 +1,205 @@
+package signals.operation;
+
+import java.util.function.Supplier;
+
+import signals.core.DataCache;
+import signals.core.Function;
+import signals.core.Function2D;
+import signals.core.FunctionFactory;
+import signals.core.Zeros;
+
+/**
+ * Convolution, correlation and autocorrelation as a product of spectra:
+ * IFFT( FFT(a) · FFT(b) ), or IFFT( FFT(a) · conj( FFT(b) ) ) for correlation.
+ *
+ * Forward spectra of functions are cached by Function.getID(), which changes whenever
+ * a function's values do, so a fixed filter applied to a changing input is transformed once.
+ * The same cache holds the spectra returned by Function.getSpectrum; it is the application's DataCache,
+ * where spectra are weighted as expensive to rebuild.
+ * When both inputs are real only the non-redundant half spectra are computed and multiplied.
+ * The product is written straight into the buffers the inverse FFT then transforms in place.
+ *
+ * Cached spectra are shared and must not be modified.
+ */
+public class SpectralProduct {
+
+	/**
+	 * @return the cache of forward spectra, for its hit, miss and memory counters
+	 */
+	public static PlanCache getCache() {
+		return DataCache.getCache();
+	}
+
+	public static Function convolve( Function inputA, Function inputB, String name ) {
+
+		return product( inputA, inputB, false, name );
+	}
+
+	/**
+	 * Roger Easton's definition: f ⋆ m = IFFT( FFT(f) · conj( FFT(m) ) ), with inputB the reference m
+	 */
+	public static Function correlate( Function inputA, Function inputB, String name ) {
+
+		return product( inputA, inputB, true, name );
+	}
+
+	public static Function autoCorrelate( Function input, String name ) {
+
+		return product( input, input, true, name );
+	}
+
+	/**
+	 * @param conjugate multiply by the conjugate of inputB's spectrum
+	 * @return a function shaped like inputA
+	 */
+	public static Function product( Function inputA, Function inputB, boolean conjugate, String name ) {
+
+		boolean zeroCentered = inputA.isZeroCentered();
+		boolean half = Transforms.isReal( inputA ) && Transforms.isReal( inputB );
+
+		double[][] spectrumA = spectrum( inputA, half );
+		double[][] spectrumB = ( inputB == inputA ) ? spectrumA : spectrum( inputB, half );
+
+		double[][] product = multiply( spectrumA, spectrumB, conjugate );
+
+		if( half ) return Transforms.inverseRealFFT( product[0], product[1], inputA, name );
+
+		if( inputA instanceof Function2D ) {
+
+			int dimensionX = ( (Function2D) inputA ).getDimensionX();
+			int dimensionY = ( (Function2D) inputA ).getDimensionY();
+
+			Transforms.transform2D( product[0], product[1], zeroCentered, true,
+					dimensionX, dimensionY, Transforms.NORMALIZE_N );
+			return FunctionFactory.createFunction2D( product[0], product[1], zeroCentered,
+					name, dimensionX, dimensionY );
+		}
+
+		FFTPlan.get( product[0].length, true, Transforms.NORMALIZE_N, zeroCentered ).transform( product[0], product[1] );
+		return FunctionFactory.createFunction1D( product[0], product[1], zeroCentered, name );
+	}
+
+	/**
+	 * Unnormalized forward spectrum of a function, shared through the cache
+	 * @param half the half spectrum of Transforms.realFFT, for real functions; otherwise the full spectrum
+	 */
+	public static double[][] spectrum( Function input, boolean half ) {
+
+		if( !half ) return spectrum( input, Transforms.NORMALIZE_NONE, false );
+
+		return spectrum( input.getID() + " half", () -> Transforms.realFFT( input ) );
+	}
+
+	/**
+	 * The FFT of a function, shared through the cache; see Function.getSpectrum
+	 */
+	public static double[][] spectrum( Function input, int normalization, boolean inverse ) {
+
+		String key = input.getID() + " fft " + normalization + ( inverse ? " inverse" : "" );
+
+		return spectrum( key, () -> Transforms.computeSpectrum( input, normalization, inverse ) );
+	}
+
+	/**
+	 * Drops the cached spectra of the function with this ID, once its values have changed
+	 */
+	public static void evict( long id ) {
+
+		DataCache.evict( String.valueOf( id ) );
+	}
+
+	protected static double[][] spectrum( String key, Supplier<double[][]> factory ) {
+
+		return DataCache.get( key, factory, spectrum -> 8L * ( spectrum[0].length + spectrum[1].length ),
+				DataCache.WEIGHT_TRANSFORM );
+	}
+
+	/**
+	 * Pointwise a · b, or a · conj( b ), into new arrays
+	 */
+	public static double[][] multiply( double[][] a, double[][] b, boolean conjugate ) {
+
+		double[] realA = a[0], imagA = a[1];
+		double[] realB = b[0], imagB = b[1];
+
+		int length = realA.length;
+		double[] real = new double[length];
+		double[] imag = new double[length];
+
+		if( conjugate ) {
+
+			for( int i = 0; i < length; ++i ) {
+
+				real[i] = realA[i] * realB[i] + imagA[i] * imagB[i];
+				imag[i] = imagA[i] * realB[i] - realA[i] * imagB[i];
+			}
+
+		} else {
+
+			for( int i = 0; i < length; ++i ) {
+
+				real[i] = realA[i] * realB[i] - imagA[i] * imagB[i];
+				imag[i] = realA[i] * imagB[i] + imagA[i] * realB[i];
+			}
+		}
+
+		double[][] output = { real, imag };
+		return output;
+	}
+
+	/**
+	 * Uncached 1D convolution (or correlation, if conjugate) of equal-length arrays, normalized by N
+	 * @return { real, imaginary }
+	 */
+	public static double[][] computeProduct1D( double[] realA, double[] imagA, double[] realB, double[] imagB,
+			boolean zeroCentered, boolean conjugate ) {
+
+		int dimension = realA.length;
+
+		if( Zeros.isZero( imagA ) && Zeros.isZero( imagB ) ) {
+
+			double[][] product = multiply( Transforms.computeRealFFT1D( realA, zeroCentered ),
+					Transforms.computeRealFFT1D( realB, zeroCentered ), conjugate );
+
+			double[] real = Transforms.computeInverseRealFFT1D( product[0], product[1], dimension,
+					zeroCentered, Transforms.NORMALIZE_N );
+			double[][] output = { real, Zeros.zeros( dimension ) };
+			return output;
+		}
+
+		double[][] product = multiply(
+				Transforms.computeFFT1D( realA, imagA, zeroCentered, false, Transforms.NORMALIZE_NONE ),
+				Transforms.computeFFT1D( realB, imagB, zeroCentered, false, Transforms.NORMALIZE_NONE ), conjugate );
+
+		FFTPlan.get( dimension, true, Transforms.NORMALIZE_N, zeroCentered ).transform( product[0], product[1] );
+		return product;
+	}
+
+	/**
+	 * Uncached 2D convolution (or correlation, if conjugate) of flat row-major arrays, normalized by N
+	 * @return { real, imaginary }
+	 */
+	public static double[][] computeProduct2D( double[] realA, double[] imagA, double[] realB, double[] imagB,
+			boolean zeroCentered, boolean conjugate, int x_dimension, int y_dimension ) {
+
+		if( Zeros.isZero( imagA ) && Zeros.isZero( imagB ) ) {
+
+			double[][] product = multiply( Transforms.computeRealFFT2D( realA, zeroCentered, x_dimension, y_dimension ),
+					Transforms.computeRealFFT2D( realB, zeroCentered, x_dimension, y_dimension ), conjugate );
+
+			double[] real = Transforms.computeInverseRealFFT2D( product[0], product[1], zeroCentered,
+					x_dimension, y_dimension, Transforms.NORMALIZE_N );
+			double[][] output = { real, Zeros.zeros( real.length ) };
+			return output;
+		}
+
+		double[][] product = multiply(
+				Transforms.computeFFT2D( realA, imagA, zeroCentered, false, x_dimension, y_dimension, Transforms.NORMALIZE_NONE ),
+				Transforms.computeFFT2D( realB, imagB, zeroCentered, false, x_dimension, y_dimension, Transforms.NORMALIZE_NONE ),
+				conjugate );
+
+		Transforms.transform2D( product[0], product[1], zeroCentered, true, x_dimension, y_dimension, Transforms.NORMALIZE_N );
+		return product;
+	}
+
+}
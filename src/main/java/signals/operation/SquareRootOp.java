@@ -9,6 +9,7 @@ import signals.core.Function1D;
 import signals.core.Function2D;
 import signals.core.FunctionFactory;
 import signals.core.UnaryOperation;
+import signals.core.Zeros;
 
 public class SquareRootOp extends UnaryOperation {
 
@@ -39,7 +40,7 @@ public class SquareRootOp extends UnaryOperation {
 		String name = "\u221A(" + input.getCompactDescriptor() + ")"; 
 	
 		double[] realOut = ArrayMath.sqrt(real);
-		double[] imagOut = ArrayMath.sqrt(imag);
+		double[] imagOut = Zeros.isZero(imag) ? imag : ArrayMath.sqrt(imag);
 		
 		if( input instanceof Function1D ) {
 			
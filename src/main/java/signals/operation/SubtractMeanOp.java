@@ -9,6 +9,7 @@ import signals.core.Function1D;
 import signals.core.Function2D;
 import signals.core.FunctionFactory;
 import signals.core.UnaryOperation;
+import signals.core.Zeros;
 
 public class SubtractMeanOp extends UnaryOperation {
 
@@ -39,7 +40,7 @@ public class SubtractMeanOp extends UnaryOperation {
 		String name = input.getCompactDescriptor() + "-mean"; 
 	
 		double[] realOut = ArrayMath.subtractMean(real);
-		double[] imagOut = ArrayMath.subtractMean(imag);
+		double[] imagOut = Zeros.isZero(imag) ? imag : ArrayMath.subtractMean(imag);
 		
 		if( input instanceof Function1D ) {
 			
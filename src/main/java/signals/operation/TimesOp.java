@@ -6,11 +6,11 @@ import signals.core.BinaryOperation;
 import signals.core.CombineOpsRule;
 import signals.core.DataGeneratorTypeModel;
 import signals.core.Function;
-import signals.core.Function1D;
-import signals.core.Function2D;
-import signals.core.FunctionFactory;
+import signals.core.PointwiseExpression;
+import signals.core.PointwiseOperation;
+import signals.core.SeparableFactors;
 
-public class TimesOp extends BinaryOperation {
+public class TimesOp extends BinaryOperation implements PointwiseOperation {
 
 	public TimesOp() {
 		super();
@@ -29,37 +29,41 @@ public class TimesOp extends BinaryOperation {
 	@Override
 	public Function create(Function inputA, Function inputB) {
 
-		double[] realA = inputA.getReal();
-		double[] imagA = inputA.getImaginary();
-
-		double[] realB = inputB.getReal();
-		double[] imagB = inputB.getImaginary();
+		return PointwiseExpression.apply( this, PointwiseExpression.of( inputA ),
+				PointwiseExpression.of( inputB ) ).toFunction();
+	}
 
-		boolean zeroCentered = inputA.isZeroCentered();
+	public void apply( double[] real, double[] imag, double[] realB, double[] imagB, int length ) {
 
-		String name = inputA.getCompactDescriptor() + " x " + inputB.getCompactDescriptor();
+		for( int i = 0; i < length; ++i ) {
 
-		double[] real = new double[realA.length];
-		double[] imag = new double[realA.length];
+			double re = real[i];
+			real[i] = re * realB[i] - imag[i] * imagB[i];
+			imag[i] = re * imagB[i] + imag[i] * realB[i];
+		}
+	}
 
-		for (int i = 0; i < realA.length; ++i) {
+	public boolean keepsReal() {
 
-			real[i] = realA[i] * realB[i] - imagA[i] * imagB[i];
-			imag[i] = realA[i] * imagB[i] + imagA[i] * realB[i];
-		}
+		return true;
+	}
 
-		if (inputA instanceof Function1D) {
+	public void applyReal( double[] real, double[] realB, int length ) {
 
-			return FunctionFactory.createFunction1D(real, imag, zeroCentered, name);
+		for( int i = 0; i < length; ++i ) {
 
+			real[i] *= realB[i];
 		}
+	}
 
-		int x_dimension = ((Function2D) inputA).getDimensionX();
-		int y_dimension = ((Function2D) inputA).getDimensionY();
+	public String describe( String operandA, String operandB ) {
+
+		return operandA + " x " + operandB;
+	}
 
-		return FunctionFactory.createFunction2D(real, imag, zeroCentered, name,
-				x_dimension, y_dimension);
+	public SeparableFactors applyFactors( SeparableFactors factorsA, SeparableFactors factorsB ) {
 
+		return factorsB == null ? null : factorsA.times( factorsB );
 	}
 
 	/*
@@ -3,88 +3,106 @@ package signals.operation;
 import signals.core.Function;
 import signals.core.Function2D;
 import signals.core.FunctionFactory;
+import signals.core.ParallelExecutor;
+import signals.core.SeparableFactors;
+import signals.core.Zeros;
 
 public class Transforms {
 	
 	public static final int NORMALIZE_ROOT_N = 0; 
 	public static final int NORMALIZE_N = 1; 
 	public static final int NORMALIZE_NONE = 2; 
+	
+	//columns gathered per tile by the 2D column passes
+	protected static final int COLUMN_BLOCK = FFTPlan.BATCH_BLOCK; 
 
 	public static Function fft1D( Function input, boolean inverse, int normalization ) {
 
-		double[] real = input.getReal(); 
-		double[] imag = input.getImaginary(); 
+		//the cached spectrum is shared, so the new function gets its own copy
+		double[][] spectrum = input.getSpectrum( normalization, inverse ); 
 		boolean zeroCentered = input.isZeroCentered(); 
 
-		double[][] output = computeFFT1D( real, imag, zeroCentered, inverse, normalization );
 		String name = "FFT{ " + input.getCompactDescriptor() + " }"; 
-		return FunctionFactory.createFunction1D( output[0], output[1], zeroCentered, name ); 
+		return FunctionFactory.createFunction1D( ArrayUtilities.clone( spectrum[0] ), ArrayUtilities.clone( spectrum[1] ), 
+				zeroCentered, name ); 
 
 	}
 
 	public static Function fft2D( Function input, boolean inverse, int normalization ) {
 
-		double[] real = input.getReal(); 
-		double[] imag = input.getImaginary(); 
+		String name = "FFT{ " + input.getCompactDescriptor() + " }"; 
+
+		//the spectrum of a separable function is separable: two 1D transforms, and no image yet
+		SeparableFactors factors = ((Function2D)input).getFactors(); 
+		if( factors != null ) {
+
+			return FunctionFactory.createSeparableFunction2D( factors.transform( input.isZeroCentered(), inverse, normalization ), 
+					input.isZeroCentered(), name ); 
+		}
+
+		double[][] spectrum = input.getSpectrum( normalization, inverse ); 
 		boolean zeroCentered = input.isZeroCentered(); 
 		int x_dimension = ((Function2D)input).getDimensionX();
 		int y_dimension = ((Function2D)input).getDimensionY();
 
-		double[][] output = computeFFT2D( real, imag, zeroCentered, inverse, x_dimension, y_dimension, normalization );
-		String name = "FFT{ " + input.getCompactDescriptor() + " }"; 
-		return FunctionFactory.createFunction2D( output[0], output[1], zeroCentered, name, x_dimension, y_dimension ); 
+		return FunctionFactory.createFunction2D( ArrayUtilities.clone( spectrum[0] ), ArrayUtilities.clone( spectrum[1] ), 
+				zeroCentered, name, x_dimension, y_dimension ); 
 	}
 	
-	//DCT assumes range of indices is [0, N-1]
-	public static double[][] computeDCT1D( double[] real, double[] imaginary ) {
+	/**
+	 * Uncached FFT of a 1D or 2D function, laid out like the function
+	 * @return { real, imaginary }
+	 */
+	public static double[][] computeSpectrum( Function input, int normalization, boolean inverse ) {
 		
-		//create complex variable flipped, whose first half is real and imaginary, and whose second half
-		// is the flipped version of real and imaginary
+		if( input instanceof Function2D ) {
+			
+			Function2D input2D = (Function2D) input; 
+			SeparableFactors factors = input2D.getFactors(); 
+			if( factors != null ) return factors.transform( input.isZeroCentered(), inverse, normalization ).materialize(); 
+
+			return computeFFT2D( input.getReal(), input.getImaginary(), input.isZeroCentered(), inverse, 
+					input2D.getDimensionX(), input2D.getDimensionY(), normalization ); 
+		}
 		
-		int dimension = real.length; 
-		int twoN = 2 * dimension; 
+		return computeFFT1D( input.getReal(), input.getImaginary(), input.isZeroCentered(), inverse, normalization ); 
+	}
+	
+	public static Function dct1D( Function input, boolean inverse ) {
 		
-		double[] flippedR = new double[twoN]; 
-		double[] flippedI = new double[twoN]; 
+		double[][] output = inverse ? computeInverseDCT1D( input.getReal(), input.getImaginary() ) : 
+					computeDCT1D( input.getReal(), input.getImaginary() ); 
+		String name = ( inverse ? "IDCT{ " : "DCT{ " ) + input.getCompactDescriptor() + " }"; 
+		return FunctionFactory.createFunction1D( output[0], output[1], input.isZeroCentered(), name ); 
+	}
+	
+	public static Function dct2D( Function input, boolean inverse ) {
 		
-		double piOver2N = Math.PI / (double)( twoN ); 
+		int x_dimension = ((Function2D)input).getDimensionX(); 
+		int y_dimension = ((Function2D)input).getDimensionY(); 
 		
-		double[] multiplierR = new double[dimension]; 
-		double[] multiplierI = new double[dimension];
-
-		//create "flipped" arrays. These are even-dimensioned (size 2 N)
-		for( int i = 0; i < dimension; i++ ) {
-			
-			//calculate "first half forward, second half flipped" arrays
-			flippedR[twoN - 1 - i] = flippedR[i] = real[i]; 
-			flippedI[twoN - 1- i] = flippedI[i] = imaginary[i]; 
-			
-			//calculate multiplier arrays
-			multiplierR[i] = Math.cos( piOver2N * i ); 
-			multiplierI[i] = -Math.sin( piOver2N * i ); 
-		}
+		double[][] output = computeDCT2D( input.getReal(), input.getImaginary(), inverse, x_dimension, y_dimension ); 
+		String name = ( inverse ? "IDCT{ " : "DCT{ " ) + input.getCompactDescriptor() + " }"; 
+		return FunctionFactory.createFunction2D( output[0], output[1], input.isZeroCentered(), name, 
+				x_dimension, y_dimension ); 
+	}
 	
-		//perform the forward FFT on flippedR and flippedI. Don't checkerboard (assume 0 start). Don't normalize.
-		double[][] transformed = computeFFT1D(flippedR, flippedI, false, false, NORMALIZE_NONE); 
-		
-		//must call in this order!
-		double[][] product = ArrayMath.multiply( multiplierR, multiplierI, transformed[0], transformed[1] );
+	//DCT assumes range of indices is [0, N-1]
+	//X[k] = 2 c(k) sum x[n] cos( pi k (2n+1) / 2N ), c(0) = 1, c(k) = sqrt(2)
+	public static double[][] computeDCT1D( double[] real, double[] imaginary ) {
 		
-		double[] productR = product[0];
-		double[] productI = product[1];
+		//the DCT has a real kernel, so the real and imaginary parts transform separately
+		DCTPlan plan = DCTPlan.get( real.length ); 
 		
-		double[] outputR = new double[dimension]; 
-		double[] outputI = new double[dimension]; 
+		double[] outputR = new double[real.length]; 
+		plan.forward( real, 0, outputR, 0 ); 
 		
-		outputR[0] = productR[0]; 
-		outputI[0] = productI[0];
-	
-		double sqrt2 = Math.sqrt( 2.0 ); 
+		double[] outputI = imaginary; 
 		
-		for( int i = 1; i < dimension; i++ ) {
+		if( !Zeros.isZero( imaginary ) ) {
 			
-			outputR[i] = sqrt2 * productR[i]; 
-			outputI[i] = sqrt2 * productI[i];
+			outputI = new double[real.length]; 
+			plan.forward( imaginary, 0, outputI, 0 ); 
 		}
 		
 		double[][] output = { outputR, outputI }; 
@@ -95,65 +113,89 @@ public class Transforms {
 	
 	public static double[][] computeInverseDCT1D( double[] real, double[] imaginary ) {
 		
-		int dimension = real.length; 
-		int twoN = 2 * dimension; 
-		
-		double[] multiplierR = new double[twoN]; 
-		double[] multiplierI = new double[twoN]; 
+		DCTPlan plan = DCTPlan.get( real.length ); 
 		
-		double piOver2N = Math.PI / (double)( twoN ); 
+		double[] outputR = new double[real.length]; 
+		plan.inverse( real, 0, outputR, 0 ); 
 		
-		double[] inputR = new double[twoN]; 
-		double[] inputI = new double[twoN]; 
+		double[] outputI = imaginary; 
 		
-		double a = 1.0 / Math.sqrt( 2.0 ); 
-		
-		for( int i = 0; i < dimension; i++ ) {
+		if( !Zeros.isZero( imaginary ) ) {
 			
-			//create multiplier
-			multiplierR[i] = Math.cos( piOver2N * i ); 
-			multiplierI[i] = Math.sin( piOver2N * i ); 
+			outputI = new double[real.length]; 
+			plan.inverse( imaginary, 0, outputI, 0 ); 
 		}
 		
-		for( int i = dimension; i < twoN; i++ ) {
-			
-			//create multiplier
-			multiplierR[i] = -Math.cos( piOver2N * i ); 
-			multiplierI[i] = -Math.sin( piOver2N * i ); 
-		}
+		double[][] output = { outputR, outputI }; 
+		return output; 
 		
-		//special cases
-		inputR[0] = real[0]; 
-		inputI[0] = imaginary[0]; 
+	}//IDCT
+	
+	/**
+	 * Separable 2D DCT (or its inverse) of the flat row-major arrays, with the same scaling 
+	 * as computeDCT1D along each axis. Rows are taken in storage order, top row first, 
+	 * as in image compression.
+	 */
+	public static double[][] computeDCT2D( double[] real, double[] imaginary, boolean inverse, 
+			int x_dimension, int y_dimension ) {
 		
-		for( int i = 1; i < dimension; i++ ) {
-			
-			//create input
-			inputR[twoN - i] = inputR[i] = a * real[i]; 
-			inputI[twoN - i] = inputI[i] = a * imaginary[i]; //0 at N
-			
-		}
+		double[] outputR = dct2D( real, inverse, x_dimension, y_dimension ); 
+		double[] outputI = Zeros.isZero( imaginary ) ? imaginary : dct2D( imaginary, inverse, x_dimension, y_dimension ); 
 		
-		//multiply
-		double[][] product = ArrayMath.multiply( multiplierR, multiplierI, inputR, inputI );
+		double[][] output = { outputR, outputI }; 
+		return output; 
+	}
+	
+	private static double[] dct2D( double[] input, boolean inverse, int x_dimension, int y_dimension ) {
 		
-		//ifft
-		double[][] transformed = computeFFT1D(product[0], product[1], false, true, NORMALIZE_NONE);
+		double[] output = new double[x_dimension * y_dimension]; 
 		
-		//another normalization question
-		double[] outputR = new double[dimension]; 
-		double[] outputI = new double[dimension]; 
+		DCTPlan rowPlan = DCTPlan.get( x_dimension ); 
 		
-		for( int i = 0; i < dimension; i++ ) {
+		ParallelExecutor.forEach( y_dimension, x_dimension * y_dimension, ( start, end ) -> {
 			
-			outputR[i] = transformed[0][i] / twoN; 
-			outputI[i] = transformed[1][i] / twoN; 
-		}
+			for( int r = start; r < end; ++r ) {
+				
+				if( inverse ) rowPlan.inverse( input, r * x_dimension, output, r * x_dimension ); 
+				else rowPlan.forward( input, r * x_dimension, output, r * x_dimension ); 
+			}
+		} ); 
 		
-		double[][] output = { outputR, outputI }; 
-		return output; 
+		DCTPlan columnPlan = DCTPlan.get( y_dimension ); 
+		int blocks = ( x_dimension + COLUMN_BLOCK - 1 ) / COLUMN_BLOCK; 
 		
-	}//IDCT
+		//columns through tiles, as in FFTPlan.transformBatch
+		ParallelExecutor.forEach( blocks, x_dimension * y_dimension, ( start, end ) -> {
+			
+			double[] tile = new double[COLUMN_BLOCK * y_dimension]; 
+			
+			for( int block = start; block < end; ++block ) {
+				
+				int firstColumn = block * COLUMN_BLOCK; 
+				int columns = Math.min( COLUMN_BLOCK, x_dimension - firstColumn ); 
+				
+				for( int r = 0; r < y_dimension; ++r ) {
+					
+					int source = r * x_dimension + firstColumn; 
+					for( int c = 0, t = r; c < columns; ++c, t += y_dimension ) tile[t] = output[source + c]; 
+				}
+				
+				for( int c = 0; c < columns; ++c ) {
+					
+					if( inverse ) columnPlan.inverse( tile, c * y_dimension, tile, c * y_dimension ); 
+					else columnPlan.forward( tile, c * y_dimension, tile, c * y_dimension ); 
+				}
+				
+				for( int r = 0; r < y_dimension; ++r ) {
+					
+					int destination = r * x_dimension + firstColumn; 
+					for( int c = 0, t = r; c < columns; ++c, t += y_dimension ) output[destination + c] = tile[t]; 
+				}
+			}
+		} ); 
+		
+		return output; 
+	}
 	
 	/**
 	* Cepstrum
@@ -186,91 +228,68 @@ public class Transforms {
 	public static double[][] computeFFT2D( double[] re, double[] im, boolean zeroCentered, boolean inverse,
 			int x_dimension, int y_dimension, int normalization ) {
 
-		double[][] real = ArrayUtilities.y_swap_expand( re, x_dimension, y_dimension );
-		double[][] imaginary = ArrayUtilities.y_swap_expand( im, x_dimension, y_dimension );
-
-		if( zeroCentered ) { 
-
-			real = ArrayUtilities.checkerBoard( real );
-			imaginary = ArrayUtilities.checkerBoard( imaginary );
-		}
-		
-		int lg_x_dimension = (int)( Math.log( x_dimension ) / Math.log( 2 ) ); 
-		int lg_y_dimension = (int)( Math.log( y_dimension ) / Math.log( 2 ) ); 
-
-		//
-		// FFT of each row
-		//
-
-		double[] realCoef = FFTCoefficients.getReal(x_dimension, inverse);
-		double[] imagCoef = FFTCoefficients.getImaginary(x_dimension, inverse);
-
-		double[][] temp; 
-		
-		for( int i = 0; i < y_dimension; ++i ) {
-
-			temp = butterfly(real[i], imaginary[i], realCoef, 
-					imagCoef, lg_x_dimension, x_dimension); 
-
-			real[i] = temp[0]; 
-			imaginary[i] = temp[1];
+		if( Zeros.isZero( im ) ) {
+			
+			return realFFT2D( re, zeroCentered, inverse, x_dimension, y_dimension, normalization ); 
 		}
 
-		//transpose
-		real = ArrayUtilities.transpose( real ); 
-		imaginary = ArrayUtilities.transpose( imaginary ); 
+		//transform copies of the flat row-major arrays in place
+		double[] real = ArrayUtilities.clone( re ); 
+		double[] imaginary = ArrayUtilities.clone( im ); 
 
-		//
-		// FFT of each column (rows of transposed array)
-		//
+		transform2D( real, imaginary, zeroCentered, inverse, x_dimension, y_dimension, normalization ); 
 
-		if( x_dimension != y_dimension ) {
-
-			realCoef = FFTCoefficients.getReal(y_dimension, inverse);
-			imagCoef = FFTCoefficients.getImaginary(y_dimension, inverse);
-		}
+		double[][] output = { real, imaginary }; 
+		return output;
+ 
+	}
 
-		for( int i = 0; i < x_dimension; ++i ) {
+	/**
+	 * Complex 2D FFT of flat row-major arrays, in place. Unlike computeFFT2D the imaginary 
+	 * part must be a writable array, not a shared zero array. 
+	 */
+	public static void transform2D( double[] real, double[] imaginary, boolean zeroCentered, boolean inverse,
+			int x_dimension, int y_dimension, int normalization ) {
 
-			temp = butterfly(real[i], imaginary[i], realCoef, 
-					imagCoef, lg_y_dimension, y_dimension); 
+		transformRows( real, imaginary, x_dimension, y_dimension, 
+				FFTPlan.get( x_dimension, inverse, normalization, zeroCentered ) ); 
 
-			real[i] = temp[0]; 
-			imaginary[i] = temp[1];
-		}
+		//rows are stored top (largest y) first, so the columns are read and written flipped
+		transformColumns( real, imaginary, x_dimension, y_dimension, 
+				FFTPlan.get( y_dimension, inverse, normalization, zeroCentered ), true ); 
+	}
 
-		//transpose
-		real = ArrayUtilities.transpose( real ); 
-		imaginary = ArrayUtilities.transpose( imaginary );
+	//transforms every row of a flat row-major array in place
+	private static void transformRows( double[] real, double[] imaginary, int width, int height, FFTPlan plan ) {
 		
-		if( zeroCentered ) { 
+		plan.transformBatch( real, imaginary, 0, height, width, 1 ); 
+	}
 
-			real = ArrayUtilities.checkerBoard( real );
-			imaginary = ArrayUtilities.checkerBoard( imaginary );
-		}
+	//transforms every column of a flat row-major array in place; if flipped, columns are read bottom up
+	private static void transformColumns( double[] real, double[] imaginary, int width, int height, 
+			FFTPlan plan, boolean flipped ) {
+		
+		if( flipped ) plan.transformBatch( real, imaginary, ( height - 1 ) * width, width, 1, -width ); 
+		else plan.transformBatch( real, imaginary, 0, width, 1, width ); 
+	}
 
-		re = ArrayUtilities.y_swap_flatten( real );
-		real = null; //set to null to conserve memory
-		im = ArrayUtilities.y_swap_flatten( imaginary );
-		imaginary = null; 
+	/**
+	 * FFT of count equal-length signals stored one after another in real and imaginary, 
+	 * sharing one plan. The inputs are not modified. 
+	 * @return { real, imaginary } of the transformed signals, in the same layout
+	 */
+	public static double[][] computeBatchFFT1D( double[] real, double[] imaginary, int count, 
+			boolean zeroCentered, boolean inverse, int normalization ) {
 		
-		if( normalization == NORMALIZE_N ) { 
-			
-			double normalizer = x_dimension*y_dimension;
-			re = ArrayUtilities.normalize( re, normalizer ); 
-			im = ArrayUtilities.normalize( im, normalizer ); 
-			
-		} else if ( normalization == NORMALIZE_ROOT_N ) {
+		int dimension = real.length / count; 
 		
-			Double normalizer = Math.sqrt(x_dimension)*Math.sqrt(y_dimension);
-			re = ArrayUtilities.normalize( re, normalizer ); 
-			im = ArrayUtilities.normalize( im, normalizer );
-			
-		}
-
-		double[][] output = { re, im }; 
+		real = ArrayUtilities.clone( real ); 
+		imaginary = Zeros.isZero( imaginary ) ? new double[real.length] : ArrayUtilities.clone( imaginary ); 
+		
+		FFTPlan.get( dimension, inverse, normalization, zeroCentered ).transformBatch( real, imaginary, 0, count ); 
+		
+		double[][] output = { real, imaginary }; 
 		return output;
- 
 	}
 
 	public static double[][] bitReverseCopy( double[][] array, int numBitsCol, int numBitsRow ) {
@@ -300,46 +319,298 @@ public class Transforms {
 	public static double[][] computeFFT1D( double[] real, double[] imaginary, 
 			boolean zeroCentered, boolean inverse, int normalization ) {
 
-		int dimension = real.length;
-
-		double[] realCoef = FFTCoefficients.getReal(dimension, inverse);
-		double[] imagCoef = FFTCoefficients.getImaginary(dimension, inverse);
-
-		int lgDimension = (int)( Math.log( dimension ) / Math.log( 2 ) ); 
+		if( Zeros.isZero( imaginary ) ) {
+			
+			return realFFT1D( real, zeroCentered, inverse, normalization ); 
+		}
 
-		//checkerboard if necessary
-		if( zeroCentered ) { 
+		//copy so the inputs are never modified
+		real = ArrayUtilities.clone( real ); 
+		imaginary = ArrayUtilities.clone( imaginary ); 
 
-			real = swapHalves( real ); 
-			imaginary = swapHalves( imaginary );
-		}
+		FFTPlan.get( real.length, inverse, normalization, zeroCentered ).transform( real, imaginary );
 
-		double[][] temp = butterfly( real, imaginary, realCoef, imagCoef, lgDimension, dimension );
-		real = temp[0]; 
-		imaginary = temp[1];
+		double[][] output = { real, imaginary }; 
+		return output;
 
-		//checkerboard if necessary
-		if( zeroCentered ) { 
+	}
 
-			real = swapHalves( real ); 
-			imaginary = swapHalves( imaginary );
+	/**
+	 * True if the function has no imaginary part, so the real FFT paths apply
+	 */
+	public static boolean isReal( Function input ) {
+		
+		return input.isReal(); 
+	}
+	
+	/**
+	 * Unnormalized half spectrum of a real 1D or 2D function, see computeRealFFT1D and computeRealFFT2D
+	 */
+	public static double[][] realFFT( Function input ) {
+		
+		if( input instanceof Function2D ) {
+			
+			Function2D input2D = (Function2D) input; 
+			return computeRealFFT2D( input.getReal(), input.isZeroCentered(), 
+					input2D.getDimensionX(), input2D.getDimensionY() ); 
 		}
 		
-		if( normalization == NORMALIZE_N ) { 
+		return computeRealFFT1D( input.getReal(), input.isZeroCentered() ); 
+	}
+	
+	/**
+	 * Inverts a half spectrum from realFFT( like ), normalized by N, into a real function shaped like the given one
+	 */
+	public static Function inverseRealFFT( double[] spectrumReal, double[] spectrumImag, Function like, String name ) {
+		
+		boolean zeroCentered = like.isZeroCentered(); 
+		
+		if( like instanceof Function2D ) {
 			
-			real = ArrayUtilities.normalize( real, dimension ); 
-			imaginary = ArrayUtilities.normalize( imaginary, dimension ); 
+			Function2D like2D = (Function2D) like; 
+			int dimensionX = like2D.getDimensionX(); 
+			int dimensionY = like2D.getDimensionY(); 
 			
-		} else if ( normalization == NORMALIZE_ROOT_N ) {
+			double[] output = computeInverseRealFFT2D( spectrumReal, spectrumImag, zeroCentered, 
+					dimensionX, dimensionY, NORMALIZE_N ); 
+			return FunctionFactory.createFunction2D( output, Zeros.zeros( output.length ), zeroCentered, 
+					name, dimensionX, dimensionY ); 
+		}
+		
+		int dimension = like.getReal().length; 
+		double[] output = computeInverseRealFFT1D( spectrumReal, spectrumImag, dimension, zeroCentered, NORMALIZE_N ); 
+		return FunctionFactory.createFunction1D( output, Zeros.zeros( dimension ), zeroCentered, name ); 
+	}
+	
+	/**
+	 * Forward FFT of real 1D data. Only bins 0..N/2 of the spectrum are returned, since 
+	 * the rest follow from Hermitian symmetry. The spectrum is unnormalized and uncentered 
+	 * (bin 0 first); zeroCentered describes the input only. 
+	 * @return { real, imaginary }, each of length N/2 + 1
+	 */
+	public static double[][] computeRealFFT1D( double[] real, boolean zeroCentered ) {
 		
-			real = ArrayUtilities.normalize( real, Math.sqrt( dimension ) ); 
-			imaginary = ArrayUtilities.normalize( imaginary, Math.sqrt( dimension ) ); 
+		int dimension = real.length; 
+		RealFFTPlan plan = RealFFTPlan.get( dimension ); 
+		
+		double[] input = real; 
+		
+		if( zeroCentered ) {
 			
+			input = ArrayUtilities.clone( real ); 
+			FFTPlan.rotate( input, 0, dimension, dimension >> 1 ); 
 		}
-
-		double[][] output = { real, imaginary }; 
+		
+		double[] spectrumReal = new double[plan.getSpectrumLength()]; 
+		double[] spectrumImag = new double[plan.getSpectrumLength()]; 
+		plan.forward( input, 0, spectrumReal, spectrumImag, 0 ); 
+		
+		double[][] output = { spectrumReal, spectrumImag }; 
+		return output;
+	}
+	
+	/**
+	 * Inverse of computeRealFFT1D: transforms a half spectrum whose full spectrum is Hermitian 
+	 * back to dimension real values
+	 */
+	public static double[] computeInverseRealFFT1D( double[] spectrumReal, double[] spectrumImag, int dimension, 
+			boolean zeroCentered, int normalization ) {
+		
+		double[] output = new double[dimension]; 
+		RealFFTPlan.get( dimension ).inverse( spectrumReal, spectrumImag, 0, output, 0 ); 
+		
+		if( zeroCentered ) FFTPlan.rotate( output, 0, dimension, dimension - ( dimension >> 1 ) ); 
+		
+		scale( output, normalizationScale( normalization, dimension, 1 ) ); 
+		return output; 
+	}
+	
+	/**
+	 * Forward FFT of real 2D data. The rows are transformed as real data, so only the 
+	 * x_dimension/2 + 1 non-redundant columns of the spectrum are computed and stored. 
+	 * The spectrum is unnormalized and uncentered, with row 0 the lowest y frequency; 
+	 * zeroCentered describes the input only. 
+	 * @return { real, imaginary }, each of length y_dimension * ( x_dimension/2 + 1 )
+	 */
+	public static double[][] computeRealFFT2D( double[] real, boolean zeroCentered, 
+			int x_dimension, int y_dimension ) {
+		
+		RealFFTPlan rowPlan = RealFFTPlan.get( x_dimension ); 
+		int spectrumWidth = rowPlan.getSpectrumLength(); 
+		
+		double[] spectrumReal = new double[spectrumWidth * y_dimension]; 
+		double[] spectrumImag = new double[spectrumWidth * y_dimension]; 
+		
+		int rowShift = zeroCentered ? ( y_dimension >> 1 ) : 0; 
+		
+		ParallelExecutor.forEach( y_dimension, x_dimension * y_dimension, ( start, end ) -> {
+			
+			double[] row = new double[x_dimension]; 
+			
+			for( int r = start; r < end; ++r ) {
+				
+				//rows are stored top (largest y) first
+				int sourceRow = y_dimension - 1 - ( ( r + rowShift ) % y_dimension ); 
+				System.arraycopy( real, sourceRow * x_dimension, row, 0, x_dimension ); 
+				if( zeroCentered ) FFTPlan.rotate( row, 0, x_dimension, x_dimension >> 1 ); 
+				
+				rowPlan.forward( row, 0, spectrumReal, spectrumImag, r * spectrumWidth ); 
+			}
+		} ); 
+		
+		transformColumns( spectrumReal, spectrumImag, spectrumWidth, y_dimension, 
+				FFTPlan.get( y_dimension, false, NORMALIZE_NONE, false ), false ); 
+		
+		double[][] output = { spectrumReal, spectrumImag }; 
+		return output;
+	}
+	
+	/**
+	 * Inverse of computeRealFFT2D: transforms a half spectrum whose full spectrum is Hermitian 
+	 * back to real 2D data
+	 */
+	public static double[] computeInverseRealFFT2D( double[] spectrumReal, double[] spectrumImag, 
+			boolean zeroCentered, int x_dimension, int y_dimension, int normalization ) {
+		
+		RealFFTPlan rowPlan = RealFFTPlan.get( x_dimension ); 
+		int spectrumWidth = rowPlan.getSpectrumLength(); 
+		
+		double[] columnsReal = ArrayUtilities.clone( spectrumReal ); 
+		double[] columnsImag = ArrayUtilities.clone( spectrumImag ); 
+		transformColumns( columnsReal, columnsImag, spectrumWidth, y_dimension, 
+				FFTPlan.get( y_dimension, true, NORMALIZE_NONE, false ), false ); 
+		
+		double[] output = new double[x_dimension * y_dimension]; 
+		
+		int rowShift = zeroCentered ? ( y_dimension >> 1 ) : 0; 
+		
+		ParallelExecutor.forEach( y_dimension, x_dimension * y_dimension, ( start, end ) -> {
+			
+			double[] row = new double[x_dimension]; 
+			
+			for( int r = start; r < end; ++r ) {
+				
+				rowPlan.inverse( columnsReal, columnsImag, r * spectrumWidth, row, 0 ); 
+				if( zeroCentered ) FFTPlan.rotate( row, 0, x_dimension, x_dimension - ( x_dimension >> 1 ) ); 
+				
+				int destinationRow = y_dimension - 1 - ( ( r + rowShift ) % y_dimension ); 
+				System.arraycopy( row, 0, output, destinationRow * x_dimension, x_dimension ); 
+			}
+		} ); 
+		
+		scale( output, normalizationScale( normalization, x_dimension, y_dimension ) ); 
+		return output; 
+	}
+	
+	//computeFFT1D for real input: half spectrum, then Hermitian symmetry for the rest
+	private static double[][] realFFT1D( double[] real, boolean zeroCentered, boolean inverse, int normalization ) {
+		
+		int dimension = real.length; 
+		int half = dimension >> 1; 
+		
+		double[] outputReal = ArrayUtilities.clone( real ); 
+		double[] outputImag = new double[dimension]; 
+		
+		if( zeroCentered ) FFTPlan.rotate( outputReal, 0, dimension, half ); 
+		
+		//the input may share storage with the spectrum
+		RealFFTPlan.get( dimension ).forward( outputReal, 0, outputReal, outputImag, 0 ); 
+		
+		for( int k = half + 1; k < dimension; ++k ) {
+			
+			outputReal[k] = outputReal[dimension - k]; 
+			outputImag[k] = -outputImag[dimension - k]; 
+		}
+		
+		//the inverse transform of real data is the conjugate of the forward transform
+		if( inverse ) {
+			
+			for( int k = 0; k < dimension; ++k ) outputImag[k] = -outputImag[k]; 
+		}
+		
+		if( zeroCentered ) {
+			
+			FFTPlan.rotate( outputReal, 0, dimension, dimension - half ); 
+			FFTPlan.rotate( outputImag, 0, dimension, dimension - half ); 
+		}
+		
+		double scale = normalizationScale( normalization, dimension, 1 ); 
+		scale( outputReal, scale ); 
+		scale( outputImag, scale ); 
+		
+		double[][] output = { outputReal, outputImag }; 
 		return output;
-
+	}
+	
+	//computeFFT2D for real input: half spectrum, then Hermitian symmetry for the rest
+	private static double[][] realFFT2D( double[] real, boolean zeroCentered, boolean inverse, 
+			int x_dimension, int y_dimension, int normalization ) {
+		
+		double[][] spectrum = computeRealFFT2D( real, zeroCentered, x_dimension, y_dimension ); 
+		double[] spectrumReal = spectrum[0]; 
+		double[] spectrumImag = spectrum[1]; 
+		int spectrumWidth = ( x_dimension >> 1 ) + 1; 
+		
+		double[] outputReal = new double[x_dimension * y_dimension]; 
+		double[] outputImag = new double[x_dimension * y_dimension]; 
+		
+		double scale = normalizationScale( normalization, x_dimension, y_dimension ); 
+		double conjugate = inverse ? -scale : scale; 
+		int rowShift = zeroCentered ? ( y_dimension >> 1 ) : 0; 
+		int columnShift = zeroCentered ? ( x_dimension >> 1 ) : 0; 
+		
+		for( int r = 0; r < y_dimension; ++r ) {
+			
+			int mirrorRow = ( y_dimension - r ) % y_dimension; 
+			int destinationRow = y_dimension - 1 - ( ( r + rowShift ) % y_dimension ); 
+			int rowStart = destinationRow * x_dimension; 
+			
+			for( int c = 0; c < x_dimension; ++c ) {
+				
+				double valueReal, valueImag; 
+				
+				if( c < spectrumWidth ) {
+					
+					valueReal = spectrumReal[r * spectrumWidth + c]; 
+					valueImag = spectrumImag[r * spectrumWidth + c]; 
+					
+				} else {
+					
+					valueReal = spectrumReal[mirrorRow * spectrumWidth + x_dimension - c]; 
+					valueImag = -spectrumImag[mirrorRow * spectrumWidth + x_dimension - c]; 
+				}
+				
+				int destination = rowStart + ( c + columnShift ) % x_dimension; 
+				outputReal[destination] = scale * valueReal; 
+				outputImag[destination] = conjugate * valueImag; 
+			}
+		}
+		
+		double[][] output = { outputReal, outputImag }; 
+		return output;
+	}
+	
+	protected static double normalizationScale( int normalization, int x_dimension, int y_dimension ) {
+		
+		switch( normalization ) {
+		
+		case NORMALIZE_N: 
+			return 1.0 / ( (double) x_dimension * y_dimension ); 
+		case NORMALIZE_ROOT_N: 
+			return 1.0 / ( Math.sqrt( x_dimension ) * Math.sqrt( y_dimension ) ); 
+		default: 
+			return 1.0; 
+		}
+	}
+	
+	private static void scale( double[] array, double scale ) {
+		
+		if( scale == 1.0 ) return; 
+		
+		for( int i = 0; i < array.length; ++i ) {
+			
+			array[i] *= scale; 
+		}
 	}
 
 	public static double[][] butterfly( double[] real, double[] imaginary, double[] realCoef, 
@@ -392,15 +663,19 @@ public class Transforms {
 	}
 
 
+	/**
+	 * Rotates a zero-centered array so that its origin (index length/2) moves to index 0
+	 */
 	public static double[] swapHalves( double[] input ) {
 
-		int half_dimension = input.length >> 1;
-			double[] output = new double[input.length];
+		int dimension = input.length; 
+		int half_dimension = dimension >> 1;
+		double[] output = new double[dimension];
 
-			System.arraycopy( input, 0, output, half_dimension, half_dimension ); 
-			System.arraycopy(input, half_dimension, output, 0, half_dimension );
+		System.arraycopy( input, half_dimension, output, 0, dimension - half_dimension );
+		System.arraycopy( input, 0, output, dimension - half_dimension, half_dimension ); 
 
-			return output;
+		return output;
 	}
 
 	public static double[] bitReverseCopy( double[] array, int numBits ) {
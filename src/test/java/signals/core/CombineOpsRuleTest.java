@@ -0,0 +1,369 @@
+package signals.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeAll;
+
+import signals.gui.Colors;
+import signals.operation.MagnitudeOp;
+import signals.operation.PlusOp;
+import signals.operation.TimesOp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the expression tree behind memoized operator systems.
+ */
+public class CombineOpsRuleTest {
+
+  private static final int F = CombineOpsRule.FUNCTION;
+
+  @BeforeAll
+  static void functionOptions() {
+    // functions take their IDs and thumbnail colors from the options the GUI would create
+    if (Core.getFunctionCreationOptions() == null) {
+      Core.get().functionCreationOptions = new FunctionCreationOptions();
+    }
+    if (Core.getColors() == null) {
+      Core.get().colors = new Colors();
+    }
+  }
+
+  private static Function function(double... real) {
+    return FunctionFactory.createFunction1D(real, new double[real.length], false, "");
+  }
+
+  /** An input whose version changes only when told to */
+  private static class FakeProducer implements FunctionProducer {
+    final ProducerListeners listeners = new ProducerListeners();
+    Function function;
+    long version;
+
+    FakeProducer(double... real) {
+      function = function(real);
+    }
+
+    void change(double... real) {
+      function = function(real);
+      version++;
+      listeners.fire(this);
+    }
+
+    public Function getFunction() {
+      return function;
+    }
+
+    public long getVersion() {
+      return version;
+    }
+
+    public void addProducerListener(ProducerListener listener) {
+      listeners.add(listener);
+    }
+
+    public void removeProducerListener(ProducerListener listener) {
+      listeners.remove(listener);
+    }
+  }
+
+  /** Doubles its input, counting the times it is computed; not pointwise, so it is memoized */
+  private static class CountingUnary extends UnaryOperation {
+    int creates;
+
+    public Function create(Function input) {
+      creates++;
+      double[] real = input.getReal().clone();
+      for (int i = 0; i < real.length; i++) {
+        real[i] *= 2;
+      }
+      return function(real);
+    }
+
+    public String getOpIconPath() {
+      return "";
+    }
+  }
+
+  /** Adds its inputs, counting the times it is computed; not pointwise, so it is memoized */
+  private static class CountingBinary extends BinaryOperation {
+    int creates;
+
+    public Function create(Function inputA, Function inputB) {
+      creates++;
+      double[] real = inputA.getReal().clone();
+      double[] b = inputB.getReal();
+      for (int i = 0; i < real.length; i++) {
+        real[i] += b[i];
+      }
+      return function(real);
+    }
+
+    public String getOpIconPath() {
+      return "";
+    }
+  }
+
+  private final CountingUnary unary = new CountingUnary();
+  private final CountingBinary binary = new CountingBinary();
+
+  /** U(A) + (B ~ C), with U the counting unary and ~ the counting binary operation */
+  private CombineOpsRule memoRule() {
+    int[] infix = { CombineOpsRule.UNARY_OP_TIER_2, CombineOpsRule.LEFT_PAREN, F, CombineOpsRule.RIGHT_PAREN,
+        CombineOpsRule.BINARY_OP_TIER_1, CombineOpsRule.LEFT_PAREN, F, CombineOpsRule.BINARY_OP_TIER_3, F,
+        CombineOpsRule.RIGHT_PAREN };
+    ArrayList<Operation> ops = new ArrayList<Operation>();
+    ops.add(unary);
+    ops.add(new PlusOp());
+    ops.add(binary);
+    return new CombineOpsRule(infix, ops);
+  }
+
+  private static ArrayList<FunctionProducer> inputs(FunctionProducer... producers) {
+    ArrayList<FunctionProducer> list = new ArrayList<FunctionProducer>();
+    for (FunctionProducer producer : producers) {
+      list.add(producer);
+    }
+    return list;
+  }
+
+  @Test
+  @DisplayName("Each operation knows its operands and the range of inputs below it")
+  void treeCoversInputRanges() {
+    // A + |B x C|
+    int[] infix = { F, CombineOpsRule.BINARY_OP_TIER_1, CombineOpsRule.UNARY_OP_TIER_2, CombineOpsRule.LEFT_PAREN,
+        F, CombineOpsRule.BINARY_OP_TIER_2, F, CombineOpsRule.RIGHT_PAREN };
+    ArrayList<Operation> ops = new ArrayList<Operation>();
+    ops.add(new PlusOp());
+    ops.add(new MagnitudeOp());
+    ops.add(new TimesOp());
+    CombineOpsRule rule = new CombineOpsRule(infix, ops);
+
+    // postfix: A B C x |.| +
+    int root = rule.root;
+    assertEquals(5, root);
+    assertTrue(rule.nodeOps[root] instanceof PlusOp);
+    assertEquals(0, rule.firstTerm[root]);
+    assertEquals(2, rule.lastTerm[root]);
+
+    int magnitude = rule.operandB[root];
+    assertTrue(rule.nodeOps[magnitude] instanceof MagnitudeOp);
+    assertEquals(-1, rule.operandB[magnitude]);
+    assertEquals(1, rule.firstTerm[magnitude]);
+    assertEquals(2, rule.lastTerm[magnitude]);
+
+    int product = rule.operandA[magnitude];
+    assertTrue(rule.nodeOps[product] instanceof TimesOp);
+    assertNull(rule.nodeOps[rule.operandA[root]]);
+  }
+
+  @Test
+  @DisplayName("A malformed or empty rule has no root")
+  void malformedRule() {
+    ArrayList<Operation> ops = new ArrayList<Operation>();
+    ops.add(new PlusOp());
+    assertEquals(-1, new CombineOpsRule(new int[] { F, CombineOpsRule.BINARY_OP_TIER_1 }, ops).root);
+    assertNull(new CombineOpsRule(new int[] {}, new ArrayList<Operation>()).combine(new ArrayList<FunctionProducer>()));
+  }
+
+  @Test
+  @DisplayName("Operations that are not pointwise are reused while their inputs keep their versions")
+  void memoReusedWhileInputsUnchanged() {
+    FakeProducer a = new FakeProducer(1, 2, 3, 4);
+    FakeProducer b = new FakeProducer(10, 20, 30, 40);
+    FakeProducer c = new FakeProducer(100, 200, 300, 400);
+    CombineOpsRule rule = memoRule();
+    ArrayList<FunctionProducer> terms = inputs(a, b, c);
+
+    assertArrayEquals(new double[] { 112, 224, 336, 448 }, rule.combine(terms).getReal(), 0.0);
+    assertEquals(1, unary.creates);
+    assertEquals(1, binary.creates);
+
+    assertArrayEquals(new double[] { 112, 224, 336, 448 }, rule.combine(terms).getReal(), 0.0);
+    assertEquals(1, unary.creates);
+    assertEquals(1, binary.creates);
+    rule.clearMemo();
+  }
+
+  @Test
+  @DisplayName("A change to one input recomputes only the operations that depend on it")
+  void changeRecomputesOnlyItsSubtree() {
+    FakeProducer a = new FakeProducer(1, 2);
+    FakeProducer b = new FakeProducer(10, 20);
+    FakeProducer c = new FakeProducer(100, 200);
+    CombineOpsRule rule = memoRule();
+    ArrayList<FunctionProducer> terms = inputs(a, b, c);
+    rule.combine(terms);
+
+    a.change(5, 6);
+    assertArrayEquals(new double[] { 120, 232 }, rule.combine(terms).getReal(), 0.0);
+    assertEquals(2, unary.creates);
+    assertEquals(1, binary.creates);
+
+    c.change(1, 1);
+    assertArrayEquals(new double[] { 21, 33 }, rule.combine(terms).getReal(), 0.0);
+    assertEquals(2, unary.creates);
+    assertEquals(2, binary.creates);
+
+    // the same versions from a different producer are a different input
+    FakeProducer other = new FakeProducer(0, 0);
+    other.version = a.version;
+    assertArrayEquals(new double[] { 11, 21 }, rule.combine(inputs(other, b, c)).getReal(), 0.0);
+    assertEquals(3, unary.creates);
+    assertEquals(2, binary.creates);
+    rule.clearMemo();
+  }
+
+  @Test
+  @DisplayName("Clearing the memo forgets every remembered result")
+  void clearMemoForgets() {
+    FakeProducer a = new FakeProducer(1);
+    FakeProducer b = new FakeProducer(2);
+    FakeProducer c = new FakeProducer(3);
+    CombineOpsRule rule = memoRule();
+    ArrayList<FunctionProducer> terms = inputs(a, b, c);
+    rule.combine(terms);
+
+    rule.clearMemo();
+    assertEquals(7.0, rule.combine(terms).getReal()[0], 0.0);
+    assertEquals(2, unary.creates);
+    assertEquals(2, binary.creates);
+    rule.clearMemo();
+  }
+
+  private static int memoEntries(CombineOpsRule rule) {
+    int entries = 0;
+    for (int node = 0; node < rule.postfix_rule_length; node++) {
+      if (DataCache.getCache().peek(rule.memoGroup + " " + node) != null) {
+        entries++;
+      }
+    }
+    return entries;
+  }
+
+  @Test
+  @DisplayName("Replacing a system's rule drops the old rule's remembered results from the cache")
+  void replacedRuleIsCleared() {
+    FakeProducer a = new FakeProducer(1, 2);
+    FakeProducer b = new FakeProducer(10, 20);
+    FakeProducer c = new FakeProducer(100, 200);
+    CombineOpsRule old = memoRule();
+    OperatorSystem system = new OperatorSystem1D(old, inputs(a, b, c), new ArrayList<Operation>());
+    system.getFunction();
+    assertTrue(memoEntries(old) > 0);
+
+    system.setCombineOpsRule(old);
+    assertTrue(memoEntries(old) > 0, "setting the same rule keeps its results");
+
+    CombineOpsRule replacement = memoRule();
+    system.setCombineOpsRule(replacement);
+    assertEquals(0, memoEntries(old));
+    system.freeMemory();
+  }
+
+  @Test
+  @DisplayName("Invalidating a system passes the change on to the systems that depend on it")
+  void invalidatePropagates() {
+    FakeProducer a = new FakeProducer(1, 2);
+    FakeProducer b = new FakeProducer(10, 20);
+    FakeProducer c = new FakeProducer(100, 200);
+    OperatorSystem first = new OperatorSystem1D(memoRule(), inputs(a, b, c), new ArrayList<Operation>());
+
+    // |first|, over the first system
+    ArrayList<Operation> ops = new ArrayList<Operation>();
+    ops.add(new MagnitudeOp());
+    int[] infix = { CombineOpsRule.UNARY_OP_TIER_2, CombineOpsRule.LEFT_PAREN, F, CombineOpsRule.RIGHT_PAREN };
+    OperatorSystem second = new OperatorSystem1D(new CombineOpsRule(infix, ops), inputs(first), ops);
+    Counter counter = new Counter();
+    second.addProducerListener(counter);
+
+    assertArrayEquals(new double[] { 112, 224 }, second.getFunction().getReal(), 0.0);
+    long firstVersion = first.getVersion();
+    long secondVersion = second.getVersion();
+
+    a.change(2, 3);
+    assertEquals(1, counter.changes);
+    assertNotEquals(firstVersion, first.getVersion());
+    assertNotEquals(secondVersion, second.getVersion());
+    assertArrayEquals(new double[] { 114, 226 }, second.getFunction().getReal(), 0.0);
+    assertEquals(2, unary.creates);
+    assertEquals(1, binary.creates);
+
+    // without a change, asking again computes nothing
+    second.getFunction();
+    assertEquals(2, unary.creates);
+    second.freeMemory();
+    first.freeMemory();
+  }
+
+  /** |input|, as a system of its own */
+  private static OperatorSystem magnitudeOf(FunctionProducer input) {
+    ArrayList<Operation> ops = new ArrayList<Operation>();
+    ops.add(new MagnitudeOp());
+    int[] infix = { CombineOpsRule.UNARY_OP_TIER_2, CombineOpsRule.LEFT_PAREN, F, CombineOpsRule.RIGHT_PAREN };
+    return new OperatorSystem1D(new CombineOpsRule(infix, ops), inputs(input), ops);
+  }
+
+  @Test
+  @DisplayName("Chained systems queued for evaluation dependent first finish without deadlock")
+  void chainedEvaluationsQueuedDependentFirst() throws Exception {
+    FakeProducer a = new FakeProducer(-1, 2);
+    OperatorSystem first = magnitudeOf(a);
+    OperatorSystem second = magnitudeOf(first);
+    OperatorSystem third = magnitudeOf(second);
+
+    // hold every evaluation thread, so the three systems are queued in order: third, second, first
+    int threads = Math.max(1, Integer.getInteger(EvaluationScheduler.THREADS_PROPERTY, EvaluationScheduler.DEFAULT_THREADS));
+    CountDownLatch held = new CountDownLatch(threads);
+    CountDownLatch release = new CountDownLatch(1);
+    for (int i = 0; i < threads; i++) {
+      EvaluationScheduler.submit(() -> {
+        held.countDown();
+        return release.await(10, TimeUnit.SECONDS);
+      }, null);
+    }
+    assertTrue(held.await(10, TimeUnit.SECONDS));
+
+    assertNull(third.getFunctionLater());
+    assertNull(second.getFunctionLater());
+    assertNull(first.getFunctionLater());
+    Future<Function> task = third.pending;
+    release.countDown();
+
+    // the threads take third and second, and second would wait on first, queued behind them
+    assertArrayEquals(new double[] { 1, 2 }, task.get(10, TimeUnit.SECONDS).getReal(), 0.0);
+    assertArrayEquals(new double[] { 1, 2 }, third.getFunction().getReal(), 0.0);
+    third.freeMemory();
+    second.freeMemory();
+    first.freeMemory();
+  }
+
+  private static class Counter implements ProducerListener {
+    int changes;
+
+    public void producerChanged(FunctionProducer producer) {
+      changes++;
+    }
+  }
+
+  @Test
+  @DisplayName("Listeners are told of changes once each and can be removed")
+  void listenersFire() {
+    ProducerListeners listeners = new ProducerListeners();
+    Counter counter = new Counter();
+    listeners.add(counter);
+    listeners.add(counter);
+    listeners.fire(null);
+    assertEquals(1, counter.changes);
+
+    listeners.remove(counter);
+    listeners.fire(null);
+    assertEquals(1, counter.changes);
+    assertEquals(0, listeners.size());
+  }
+}
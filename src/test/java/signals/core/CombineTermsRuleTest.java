@@ -0,0 +1,98 @@
+package signals.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.renderable.ParameterBlock;
+import java.util.Random;
+
+import signals.functionterm.GaussianFunctionTerm1D;
+import signals.functionterm.SineFunctionTerm1D;
+import signals.functionterm.XYFunctionTerm2D;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static signals.operation.SignalTestUtils.createRandomSignal;
+
+/**
+ * Tests for combining function terms block by block.
+ */
+public class CombineTermsRuleTest {
+
+  private static final int A = CombineTermsRule.FUNCTION_TERM;
+
+  private static CombineTermsRule.TermBlocks blocks(double[] data) {
+    return (start, count, output) -> System.arraycopy(data, start, output, 0, count);
+  }
+
+  @Test
+  @DisplayName("Block-by-block combination matches combining whole terms, and leaves the terms unchanged")
+  void blocksMatchWholeTerms() {
+    int[][] rules = {
+        { A, CombineTermsRule.ADD, A, CombineTermsRule.MULTIPLY, A, CombineTermsRule.SUBTRACT, A },
+        { CombineTermsRule.LEFT_PAREN, A, CombineTermsRule.SUBTRACT, A, CombineTermsRule.RIGHT_PAREN,
+            CombineTermsRule.MULTIPLY, A, CombineTermsRule.ADD, A },
+    };
+    Random random = new Random(27);
+    // below and above the parallel threshold, not a multiple of the block size
+    for (int dimension : new int[] { 7, 1000, 50001 }) {
+      for (int[] infix : rules) {
+        CombineTermsRule rule = new CombineTermsRule(infix);
+        double[][] terms = new double[4][];
+        double[][] copies = new double[4][];
+        CombineTermsRule.TermBlocks[] termBlocks = new CombineTermsRule.TermBlocks[4];
+        for (int t = 0; t < 4; t++) {
+          terms[t] = createRandomSignal(dimension, random);
+          copies[t] = terms[t].clone();
+          termBlocks[t] = blocks(terms[t]);
+        }
+
+        double[] blocked = rule.combine(termBlocks, dimension, 640);
+        for (int t = 0; t < 4; t++) {
+          assertArrayEquals(copies[t], terms[t], 0.0);
+        }
+
+        // combining whole terms works in place on the copies
+        double[] expected = rule.combine(copies, dimension);
+
+        assertArrayEquals(expected, blocked, 1e-12, "dimension = " + dimension);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("An XY term computes any block directly")
+  void xyBlocksMatchCreate() {
+    ParameterBlock gaussian = new ParameterBlock();
+    gaussian.add(1.0);
+    gaussian.add(3.0);
+    gaussian.add(8.0);
+    gaussian.add(2);
+    ParameterBlock sine = new ParameterBlock();
+    sine.add(2.0);
+    sine.add(0.0);
+    sine.add(16.0);
+    sine.add(0.5);
+
+    ParameterBlock pb = new ParameterBlock();
+    pb.addSource(new GaussianFunctionTerm1D(gaussian));
+    pb.addSource(new SineFunctionTerm1D(sine));
+    XYFunctionTerm2D term = new XYFunctionTerm2D(pb);
+
+    int x = 33;
+    int y = 20;
+    for (boolean zeroCentered : new boolean[] { false, true }) {
+      double[] expected = term.create(x, y, zeroCentered);
+      CombineTermsRule.TermBlocks blocks = term.createBlocks(x, y, zeroCentered);
+
+      // blocks that start and end partway through rows
+      double[] output = new double[x * y];
+      double[] buffer = new double[50];
+      for (int start = 0; start < x * y; start += 50) {
+        int count = Math.min(50, x * y - start);
+        blocks.fill(start, count, buffer);
+        System.arraycopy(buffer, 0, output, start, count);
+      }
+      assertArrayEquals(expected, output, 0.0, "centered = " + zeroCentered);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package signals.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.SwingUtilities;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for background evaluation with results delivered on the event dispatch thread.
+ */
+public class EvaluationSchedulerTest {
+
+  @Test
+  @DisplayName("Results are computed off the event dispatch thread and delivered on it")
+  void resultOnEventDispatchThread() throws Exception {
+    AtomicBoolean computedOnEDT = new AtomicBoolean(true);
+    AtomicBoolean deliveredOnEDT = new AtomicBoolean(false);
+    AtomicReference<String> delivered = new AtomicReference<String>();
+    CountDownLatch latch = new CountDownLatch(1);
+
+    Future<String> future = EvaluationScheduler.submit(() -> {
+      computedOnEDT.set(SwingUtilities.isEventDispatchThread());
+      return "done";
+    }, result -> {
+      deliveredOnEDT.set(SwingUtilities.isEventDispatchThread());
+      delivered.set(result);
+      latch.countDown();
+    });
+
+    assertEquals("done", future.get(10, TimeUnit.SECONDS));
+    assertTrue(latch.await(10, TimeUnit.SECONDS));
+    assertFalse(computedOnEDT.get());
+    assertTrue(deliveredOnEDT.get());
+    assertEquals("done", delivered.get());
+  }
+
+  @Test
+  @DisplayName("A cancelled evaluation stops at its next check and delivers nothing")
+  void cancellation() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch stopped = new CountDownLatch(1);
+    AtomicBoolean delivered = new AtomicBoolean(false);
+
+    Future<Integer> future = EvaluationScheduler.submit(() -> {
+      started.countDown();
+      try {
+        while (true) {
+          EvaluationScheduler.checkCancelled();
+          Thread.onSpinWait();
+        }
+      } catch (CancellationException e) {
+        stopped.countDown();
+        throw e;
+      }
+    }, result -> delivered.set(true));
+
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+    assertTrue(future.cancel(true));
+    assertTrue(stopped.await(10, TimeUnit.SECONDS));
+    assertThrows(CancellationException.class, future::get);
+
+    // let any stray delivery reach the event queue before checking
+    SwingUtilities.invokeAndWait(() -> { });
+    assertFalse(delivered.get());
+  }
+}
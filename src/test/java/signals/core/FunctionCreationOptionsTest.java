@@ -0,0 +1,56 @@
+package signals.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that function IDs, which key a function's cached data, stay unique across threads.
+ */
+public class FunctionCreationOptionsTest {
+
+  @Test
+  @DisplayName("IDs taken from several threads at once are all different")
+  void uniqueIDsAcrossThreads() throws Exception {
+    FunctionCreationOptions options = new FunctionCreationOptions();
+    int threads = 4;
+    int perThread = 250000;
+    long[][] ids = new long[threads][perThread];
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch done = new CountDownLatch(threads);
+
+    for (int t = 0; t < threads; t++) {
+      long[] mine = ids[t];
+      new Thread(() -> {
+        try {
+          start.await();
+          for (int i = 0; i < perThread; i++) {
+            mine[i] = options.getNextID();
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          done.countDown();
+        }
+      }).start();
+    }
+
+    start.countDown();
+    assertTrue(done.await(30, TimeUnit.SECONDS));
+
+    // IDs count up from zero, so each one in range must be seen exactly once
+    boolean[] seen = new boolean[threads * perThread];
+    for (long[] mine : ids) {
+      for (long id : mine) {
+        assertTrue(id >= 0 && id < seen.length, "ID " + id + " out of range");
+        assertFalse(seen[(int) id], "duplicate ID " + id);
+        seen[(int) id] = true;
+      }
+    }
+    assertEquals(threads * perThread, options.getNextID());
+  }
+}
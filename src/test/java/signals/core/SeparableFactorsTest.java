@@ -0,0 +1,175 @@
+package signals.core;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.renderable.ParameterBlock;
+import java.util.ArrayList;
+import java.util.Random;
+
+import signals.functionterm.CosineFunctionTerm1D;
+import signals.functionterm.GaussianFunctionTerm1D;
+import signals.functionterm.SincFunctionTerm1D;
+import signals.functionterm.XYFunctionTerm2D;
+import signals.gui.Colors;
+import signals.operation.ArrayMath;
+import signals.operation.TimesOp;
+import signals.operation.Transforms;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static signals.operation.SignalTestUtils.assertSignalsClose;
+import static signals.operation.SignalTestUtils.createRandomSignal;
+import static signals.operation.SignalTestUtils.params;
+
+/**
+ * Tests that separable functions give, through their 1D factors, the images and spectra of the dense paths.
+ */
+public class SeparableFactorsTest {
+
+  private static final int X = 48, Y = 40;
+
+  @BeforeAll
+  static void functionOptions() {
+    // functions take their IDs and thumbnail colors from the options the GUI would create
+    if (Core.getFunctionCreationOptions() == null) {
+      Core.get().functionCreationOptions = new FunctionCreationOptions();
+    }
+    if (Core.getColors() == null) {
+      Core.get().colors = new Colors();
+    }
+  }
+
+  private static XYFunctionTerm2D xy(FunctionTerm1D x, FunctionTerm1D y) {
+    ParameterBlock pb = new ParameterBlock();
+    pb.addSource(x);
+    pb.addSource(y);
+    return new XYFunctionTerm2D(pb);
+  }
+
+  private static SeparableFactors complexFactors(long seed) {
+    Random random = new Random(seed);
+    return new SeparableFactors(createRandomSignal(X, random), createRandomSignal(X, random),
+        createRandomSignal(Y, random), createRandomSignal(Y, random));
+  }
+
+  @Test
+  @DisplayName("The materialized image of real factors matches the XY term and shares the zero array")
+  void materializeMatchesXYTerm() {
+    XYFunctionTerm2D term = xy(new GaussianFunctionTerm1D(params(1.5, 3.25, 12.0, 2)),
+        new CosineFunctionTerm1D(params(1.0, 2.0, 10.0, 30.0)));
+
+    for (boolean zeroCentered : new boolean[] { false, true }) {
+      double[][] factors = term.createFactors(X, Y, zeroCentered);
+      double[][] image = SeparableFactors.real(factors[0], factors[1]).materialize();
+      assertArrayEquals(term.create(X, Y, zeroCentered), image[0], 0.0);
+      assertTrue(Zeros.isZero(image[1]));
+    }
+  }
+
+  @Test
+  @DisplayName("The 2D transform of the factors matches the FFT of the dense image")
+  void transformMatchesDenseFFT() {
+    SeparableFactors factors = complexFactors(3);
+    double[][] image = factors.materialize();
+
+    for (boolean zeroCentered : new boolean[] { false, true }) {
+      for (boolean inverse : new boolean[] { false, true }) {
+        for (int normalization : new int[] { Transforms.NORMALIZE_ROOT_N, Transforms.NORMALIZE_N, Transforms.NORMALIZE_NONE }) {
+          String message = "centered = " + zeroCentered + ", inverse = " + inverse + ", normalization = " + normalization;
+          double[][] expected = Transforms.computeFFT2D(image[0], image[1], zeroCentered, inverse, X, Y, normalization);
+          double[][] actual = factors.transform(zeroCentered, inverse, normalization).materialize();
+          assertSignalsClose(expected[0], actual[0], 1e-10, message);
+          assertSignalsClose(expected[1], actual[1], 1e-10, message);
+        }
+      }
+    }
+
+    // real factors take the real FFT paths
+    Random random = new Random(4);
+    SeparableFactors real = SeparableFactors.real(createRandomSignal(X, random), createRandomSignal(Y, random));
+    image = real.materialize();
+    double[][] expected = Transforms.computeFFT2D(image[0], image[1], true, false, X, Y, Transforms.NORMALIZE_ROOT_N);
+    double[][] actual = real.transform(true, false, Transforms.NORMALIZE_ROOT_N).materialize();
+    assertSignalsClose(expected[0], actual[0], 1e-10, "real");
+    assertSignalsClose(expected[1], actual[1], 1e-10, "real");
+  }
+
+  @Test
+  @DisplayName("Products, scaling and conjugation of the factors match the dense operations")
+  void operationsMatchDense() {
+    SeparableFactors a = complexFactors(5);
+    SeparableFactors b = complexFactors(6);
+    double[][] imageA = a.materialize();
+    double[][] imageB = b.materialize();
+
+    double[][] product = ArrayMath.multiply(imageA[0], imageA[1], imageB[0], imageB[1]);
+    double[][] actual = a.times(b).materialize();
+    assertSignalsClose(product[0], actual[0], 1e-10, "times");
+    assertSignalsClose(product[1], actual[1], 1e-10, "times");
+
+    actual = a.scale(2.0, -0.5).materialize();
+    for (int i = 0; i < X * Y; i++) {
+      assertEquals(2.0 * imageA[0][i] + 0.5 * imageA[1][i], actual[0][i], 1e-10);
+      assertEquals(2.0 * imageA[1][i] - 0.5 * imageA[0][i], actual[1][i], 1e-10);
+    }
+
+    actual = a.conjugate().materialize();
+    assertSignalsClose(imageA[0], actual[0], 1e-10, "conjugate");
+    for (int i = 0; i < X * Y; i++) {
+      assertEquals(-imageA[1][i], actual[1][i], 1e-10);
+    }
+
+    assertNull(a.times(SeparableFactors.real(new double[X], new double[Y + 1])));
+  }
+
+  @Test
+  @DisplayName("A product of XY terms has factors that give its image; a sum has none")
+  void functionPartFactors() {
+    int t = CombineTermsRule.FUNCTION_TERM;
+    ArrayList<FunctionTerm2D> terms = new ArrayList<>();
+    terms.add(xy(new GaussianFunctionTerm1D(params(1.5, 3.25, 12.0, 2)), new SincFunctionTerm1D(params(1.0, 2.0, 6.0))));
+    terms.add(xy(new CosineFunctionTerm1D(params(1.0, 0.0, 12.0, 30.0)), new GaussianFunctionTerm1D(params(2.0, 1.0, 9.0, 2))));
+
+    FunctionPart2D product = new FunctionPart2D(terms, new CombineTermsRule(new int[] { t, CombineTermsRule.MULTIPLY, t }));
+    double[][] factors = product.getFactors(X, Y, true);
+    assertNotNull(factors);
+    assertSignalsClose(product.create(X, Y, true), SeparableFactors.real(factors[0], factors[1]).materialize()[0], 1e-10,
+        "product");
+
+    FunctionPart2D sum = new FunctionPart2D(terms, new CombineTermsRule(new int[] { t, CombineTermsRule.ADD, t }));
+    assertNull(sum.getFactors(X, Y, true));
+  }
+
+  @Test
+  @DisplayName("The XY parts of a separable function reproduce its factors")
+  void dataTermsReproduceFactors() {
+    Random random = new Random(7);
+    for (boolean zeroCentered : new boolean[] { false, true }) {
+      for (int length : new int[] { X, 41 }) {
+        double[] data = createRandomSignal(length, random);
+        assertArrayEquals(data, FunctionFactory.createDataTerm1D(data, zeroCentered).create(length, zeroCentered), 0.0,
+            "centered = " + zeroCentered + ", length = " + length);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("A product of separable functions is found from the factors, without computing either input's image")
+  void productLeavesInputsUnsampled() {
+    Random random = new Random(8);
+    Function a = FunctionFactory.createSeparableFunction2D(
+        SeparableFactors.real(createRandomSignal(X, random), createRandomSignal(Y, random)), true, "a");
+    Function b = FunctionFactory.createSeparableFunction2D(
+        SeparableFactors.real(createRandomSignal(X, random), createRandomSignal(Y, random)), true, "b");
+
+    Function product = new TimesOp().create(a, b);
+    assertNotNull(((Function2D) product).getFactors());
+    assertNull(DataCache.getCache().peek(a.getID() + " real"));
+    assertNull(DataCache.getCache().peek(b.getID() + " real"));
+    assertNull(DataCache.getCache().peek(a.getID() + " imaginary"));
+
+    double[] expected = ArrayMath.multiply(a.getReal(), a.getImaginary(), b.getReal(), b.getImaginary())[0];
+    assertSignalsClose(expected, product.getReal(), 1e-10, "product");
+  }
+}
@@ -0,0 +1,148 @@
+package signals.functionterm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import signals.core.CombineTermsRule;
+import signals.core.FunctionPart1D;
+import signals.core.FunctionTerm1D;
+import signals.core.Zeros;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static signals.operation.SignalTestUtils.assertSignalsClose;
+import static signals.operation.SignalTestUtils.params;
+
+/**
+ * Tests that filling a range of a 1D term, with no index array, gives the values of create( double[] ).
+ */
+public class AnalyticFillTest {
+
+  private static List<AnalyticFunctionTerm1D> pointwiseTerms() {
+    List<AnalyticFunctionTerm1D> terms = new ArrayList<>();
+    terms.add(new AbsMonomialFunctionTerm1D(params(1.5, 3.25, 12.0, 3)));
+    terms.add(new BesincFunctionTerm1D(params(1.5, 3.0, 12.0)));
+    terms.add(new BesselFunctionTerm1D(params(1.5, 3.25, 12.0, 0)));
+    terms.add(new BesselFunctionTerm1D(params(1.5, 3.25, 12.0, 3)));
+    terms.add(new ChirpFunctionTerm1D(params(1.5, 3.25, 12.0, 30.0, 2)));
+    terms.add(new CombFunctionTerm1D(params(1.5, 3.0, 4.0)));
+    terms.add(new ConstantFunctionTerm1D(params(1.5, 3.25, 12.0)));
+    terms.add(new CosineFunctionTerm1D(params(1.5, 3.25, 12.0, 30.0)));
+    terms.add(new DoubleSlitFunctionTerm1D(params(1.5, 3.0, 10.0, 4.0)));
+    terms.add(new ExtCosBellWindowFunctionTerm1D(params(1.5, 3.25, 12.0)));
+    terms.add(new GaussianDoubleSlitFunctionTerm1D(params(1.5, 3.25, 12.0, 4.0, 2)));
+    terms.add(new GaussianFunctionTerm1D(params(1.5, 3.25, 12.0, 2)));
+    terms.add(new GaussianFunctionTerm1D(params(1.5, 3.25, 12.0, 5)));
+    terms.add(new HammingWindowFunctionTerm1D(params(1.5, 3.25, 12.0)));
+    terms.add(new HanningWindowFunctionTerm1D(params(1.5, 3.25, 12.0)));
+    terms.add(new LineFunctionTerm1D(params(1.5, 3.25, 12.0)));
+    terms.add(new LorentzianFunctionTerm1D(params(1.5, 3.25, 12.0)));
+    terms.add(new MonomialFunctionTerm1D(params(1.5, 3.25, 12.0, 4)));
+    terms.add(new MonomialFunctionTerm1D(params(1.5, 3.25, 12.0, -2)));
+    terms.add(new ParzenWindowFunctionTerm1D(params(1.5, 3.25, 12.0)));
+    terms.add(new RectangleFunctionTerm1D(params(1.5, 3.0, 12.0)));
+    terms.add(new SignumFunctionTerm1D(params(1.5, 3.0, 12.0)));
+    terms.add(new SincFunctionTerm1D(params(1.5, 3.0, 12.0)));
+    terms.add(new SincSquaredFunctionTerm1D(params(1.5, 3.0, 12.0)));
+    terms.add(new SineChirpFunctionTerm1D(params(1.5, 3.25, 12.0, 30.0, 3)));
+    terms.add(new SineFunctionTerm1D(params(1.5, 3.25, 12.0, 30.0)));
+    terms.add(new SquareWaveFunctionTerm1D(params(1.5, 3.25, 12.0, 30.0)));
+    terms.add(new StairstepFunctionTerm1D(params(1.5, 3.25, 12.0)));
+    terms.add(new StepExponentialFunctionTerm1D(params(1.5, 3.0, 12.0)));
+    terms.add(new StepFunctionTerm1D(params(1.5, 3.0, 12.0)));
+    terms.add(new TriangleFunctionTerm1D(params(1.5, 3.25, 12.0)));
+    terms.add(new WelchWindowFunctionTerm1D(params(1.5, 3.25, 12.0)));
+    terms.add(new HighPassFunctionTerm1D(new GaussianFunctionTerm1D(params(1.5, 3.25, 12.0, 2))));
+    return terms;
+  }
+
+  @Test
+  @DisplayName("fill over any range and step matches create on the same indices")
+  void fillMatchesCreate() {
+    for (AnalyticFunctionTerm1D term : pointwiseTerms()) {
+      assertTrue(term.isPointwise(), term.getClass().getSimpleName());
+      for (double step : new double[] { 1, 0.5 }) {
+        int count = 101;
+        double firstIndex = -50 * step;
+        double[] indices = new double[count];
+        for (int i = 0; i < count; i++) {
+          indices[i] = firstIndex + i * step;
+        }
+        double[] expected = term.create(indices);
+
+        // into the middle of a larger array, in two pieces
+        double[] out = new double[count + 10];
+        term.fill(out, 5, 40, firstIndex, step);
+        term.fill(out, 45, count - 40, firstIndex + 40 * step, step);
+
+        double[] actual = new double[count];
+        System.arraycopy(out, 5, actual, 0, count);
+        assertSignalsClose(expected, actual, 1e-12, term.getClass().getSimpleName() + ", step = " + step);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("create( dimension ) fills in parallel chunks and matches create on the indices")
+  void parallelCreate() {
+    // above the parallel threshold, not a multiple of the chunk size
+    int dimension = 50001;
+    for (boolean zeroCentered : new boolean[] { false, true }) {
+      double[] indices = new double[dimension];
+      int firstIndex = zeroCentered ? -dimension / 2 : 0;
+      for (int i = 0; i < dimension; i++) {
+        indices[i] = firstIndex + i;
+      }
+      for (AnalyticFunctionTerm1D term : pointwiseTerms()) {
+        assertSignalsClose(term.create(indices), term.create(dimension, zeroCentered), 1e-12,
+            term.getClass().getSimpleName() + ", centered = " + zeroCentered);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Terms that are not pointwise keep their whole-array behaviour")
+  void notPointwise() {
+    DeltaFunctionTerm1D delta = new DeltaFunctionTerm1D(params(2.0, 3.0, 1.0));
+    assertFalse(delta.isPointwise());
+    double[] data = delta.create(64, true);
+    assertEquals(2.0, data[32 + 3], 0.0);
+
+    ZeroFunctionTerm1D zero = new ZeroFunctionTerm1D(params());
+    assertTrue(Zeros.isZero(zero.create(64, true)));
+  }
+
+  @Test
+  @DisplayName("Integer powers match Math.pow")
+  void integerPower() {
+    for (double x : new double[] { 0, -0.0, 0.3, -1.7, 2.5, 1e10 }) {
+      for (int n = -6; n <= 12; n++) {
+        double expected = Math.pow(x, n);
+        assertEquals(expected, AnalyticFunctionTerm1D.power(x, n), 1e-14 * Math.max(1, Math.abs(expected)),
+            x + "^" + n);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("A sum of terms is combined block by block, as it would be from the whole terms")
+  void functionPartBlocks() {
+    int a = CombineTermsRule.FUNCTION_TERM;
+    CombineTermsRule rule = new CombineTermsRule(new int[] { a, CombineTermsRule.ADD, a, CombineTermsRule.MULTIPLY, a });
+    ArrayList<FunctionTerm1D> terms = new ArrayList<>();
+    terms.add(new GaussianFunctionTerm1D(params(1.5, 3.25, 120.0, 2)));
+    terms.add(new UniformNoiseFunctionTerm1D(params(0.0, 1.0, 7)));
+    terms.add(new SineFunctionTerm1D(params(1.5, 3.25, 12.0, 30.0)));
+
+    int dimension = 20001;
+    double[][] whole = new double[3][];
+    for (int t = 0; t < 3; t++) {
+      whole[t] = terms.get(t).create(dimension, true);
+    }
+    double[] expected = rule.combine(whole, dimension);
+
+    assertSignalsClose(expected, new FunctionPart1D(terms, rule).create(dimension, true), 1e-12, "part");
+  }
+}
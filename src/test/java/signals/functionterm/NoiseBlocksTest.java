@@ -0,0 +1,118 @@
+package signals.functionterm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import signals.core.CombineTermsRule;
+import signals.core.ParallelExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static signals.operation.SignalTestUtils.params;
+
+/**
+ * Tests that noise is generated block by block with the same samples whatever the range and thread count.
+ */
+public class NoiseBlocksTest {
+
+  private final int defaultParallelism = ParallelExecutor.getParallelism();
+
+  @AfterEach
+  void restoreParallelism() {
+    ParallelExecutor.setParallelism(defaultParallelism);
+  }
+
+  private static List<NoiseFunctionTerm1D> noiseTerms(int seed) {
+    List<NoiseFunctionTerm1D> terms = new ArrayList<>();
+    terms.add(new BinomialNoiseFunctionTerm1D(params(2.0, 4, seed)));
+    terms.add(new ExponentialNoiseFunctionTerm1D(params(2.0, seed)));
+    terms.add(new GaussianNoiseFunctionTerm1D(params(1.0, 2.0, seed)));
+    terms.add(new LorentzNoiseFunctionTerm1D(params(1.0, 2.0, seed)));
+    terms.add(new PoissonNoiseFunctionTerm1D(params(3.0, seed)));
+    terms.add(new RandomPhaseFunctionTerm1D(params(seed)));
+    terms.add(new RayleighNoiseFunctionTerm1D(params(2.0, seed)));
+    terms.add(new SaltAndPepperNoiseFunctionTerm1D(params(0.0, 1.0, 0.2, seed)));
+    terms.add(new UniformNoiseFunctionTerm1D(params(1.0, 2.0, seed)));
+    return terms;
+  }
+
+  @Test
+  @DisplayName("For a given seed the noise does not depend on the number of threads")
+  void sameForAnyParallelism() {
+    // above the parallel threshold, not a multiple of the block size
+    int dimension = 70001;
+    for (NoiseFunctionTerm1D term : noiseTerms(5)) {
+      ParallelExecutor.setParallelism(1);
+      double[] sequential = term.create(dimension);
+      ParallelExecutor.setParallelism(4);
+      double[] parallel = term.create(dimension);
+      assertArrayEquals(sequential, parallel, 0.0, term.getClass().getSimpleName());
+    }
+  }
+
+  @Test
+  @DisplayName("Any range of samples, and any shorter signal, gives the same samples as the whole")
+  void rangesMatchWhole() {
+    int dimension = 3 * NoiseFunctionTerm1D.BLOCK_SIZE + 17;
+    int[][] ranges = { { 0, 10 }, { 5, 4000 }, { 4090, 20 }, { 100, 3 * NoiseFunctionTerm1D.BLOCK_SIZE - 100 }, { dimension - 1, 1 } };
+    for (NoiseFunctionTerm1D term : noiseTerms(9)) {
+      String name = term.getClass().getSimpleName();
+      double[] whole = term.create(dimension);
+      for (int[] range : ranges) {
+        double[] part = new double[range[1]];
+        term.fillSamples(part, range[0], range[1]);
+        for (int i = 0; i < range[1]; i++) {
+          assertEquals(whole[range[0] + i], part[i], 0.0, name + ", sample " + (range[0] + i));
+        }
+      }
+
+      double[] shorter = term.create(5000);
+      for (int i = 0; i < shorter.length; i++) {
+        assertEquals(whole[i], shorter[i], 0.0, name + ", sample " + i);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Blocks of noise requested when combining terms match the whole noise")
+  void combinedBlocks() {
+    int dimension = 20001;
+    GaussianNoiseFunctionTerm1D noise = new GaussianNoiseFunctionTerm1D(params(0.0, 1.0, 3));
+    CombineTermsRule.TermBlocks blocks = noise.createBlocks(dimension, true);
+    double[] whole = noise.create(dimension, true);
+
+    double[] buffer = new double[640];
+    for (int start = 0; start < dimension; start += 640) {
+      int count = Math.min(640, dimension - start);
+      blocks.fill(start, count, buffer);
+      for (int i = 0; i < count; i++) {
+        assertEquals(whole[start + i], buffer[i], 0.0);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Seeds and blocks give independent-looking Gaussian samples")
+  void gaussianStatistics() {
+    int dimension = 1 << 18;
+    double[] a = new GaussianNoiseFunctionTerm1D(params(1.0, 2.0, 1)).create(dimension);
+    double[] b = new GaussianNoiseFunctionTerm1D(params(1.0, 2.0, 2)).create(dimension);
+
+    double sum = 0, sumSquares = 0, crossSeeds = 0, crossBlocks = 0;
+    int block = NoiseFunctionTerm1D.BLOCK_SIZE;
+    for (int i = 0; i < dimension; i++) {
+      sum += a[i];
+      sumSquares += (a[i] - 1) * (a[i] - 1);
+      crossSeeds += (a[i] - 1) * (b[i] - 1);
+      crossBlocks += (a[i] - 1) * (a[(i + block) % dimension] - 1);
+    }
+
+    assertEquals(1.0, sum / dimension, 0.02);
+    assertEquals(4.0, sumSquares / dimension, 0.05);
+    assertEquals(0.0, crossSeeds / dimension / 4, 0.02);
+    assertEquals(0.0, crossBlocks / dimension / 4, 0.02);
+  }
+}
@@ -0,0 +1,164 @@
+package signals.functionterm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.renderable.ParameterBlock;
+import java.util.Arrays;
+import java.util.Random;
+
+import signals.core.CombineTermsRule;
+import signals.core.Constants;
+import signals.core.FunctionTerm1D;
+import signals.core.FunctionTerm2D;
+import signals.gui.plot.Indices;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static signals.operation.SignalTestUtils.createRandomSignal;
+import static signals.operation.SignalTestUtils.params;
+
+/**
+ * Tests that polar terms and apertures, built from an eighth of the plane or from row spans,
+ * match the images evaluated pixel by pixel, and that they and the data terms give the same
+ * samples a block at a time.
+ */
+public class RadialTermsTest {
+
+  private static PolarFunctionTerm2D polar(FunctionTerm1D radial, FunctionTerm1D angular) {
+    ParameterBlock pb = new ParameterBlock();
+    pb.addSource(radial);
+    pb.addSource(angular);
+    return new PolarFunctionTerm2D(pb);
+  }
+
+  /** The distance of each pixel from the origin, rows stored from the largest y down */
+  private static double[] pixelRadius(int xDimension, int yDimension, boolean zeroCentered) {
+    int centerX = zeroCentered ? xDimension / 2 : 0;
+    int centerY = zeroCentered ? yDimension / 2 - 1 : yDimension - 1;
+    double[] radius = new double[xDimension * yDimension];
+    for (int row = 0; row < yDimension; row++) {
+      for (int i = 0; i < xDimension; i++) {
+        double dx = i - centerX, dy = centerY - row;
+        radius[row * xDimension + i] = Math.sqrt(dx * dx + dy * dy);
+      }
+    }
+    return radius;
+  }
+
+  @Test
+  @DisplayName("A polar term matches its radial and angular parts evaluated at every pixel")
+  void polarMatchesPixelByPixel() {
+    FunctionTerm1D besinc = new BesincFunctionTerm1D(params(1.5, 0.0, 6.0));
+    FunctionTerm1D constant = new ConstantFunctionTerm1D(params(2.0, 0.0, 1.0));
+    FunctionTerm1D cosine = new CosineFunctionTerm1D(params(1.0, 0.0, 1.0, 90.0));
+
+    // above the parallel threshold, and not square
+    int[][] dimensions = { { 256, 192 }, { 160, 224 } };
+    for (int[] dimension : dimensions) {
+      int x = dimension[0], y = dimension[1];
+      for (boolean zeroCentered : new boolean[] { false, true }) {
+        String message = x + " x " + y + ", centered = " + zeroCentered;
+        double[] radial = besinc.create(pixelRadius(x, y, zeroCentered));
+
+        double[] image = polar(besinc, constant).create(x, y, zeroCentered);
+        for (int p = 0; p < image.length; p++) {
+          assertEquals(2.0 * radial[p], image[p], 0.0, message + ", pixel " + p);
+        }
+
+        double[] angular = cosine.create(Indices.angleIndices(x, y, zeroCentered));
+        image = polar(besinc, cosine).create(x, y, zeroCentered);
+        for (int p = 0; p < image.length; p++) {
+          assertEquals(radial[p] * angular[p], image[p], 0.0, message + ", pixel " + p);
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Filled and Cassegrain apertures set exactly the pixels the per-pixel test would")
+  void aperturesMatchPixelTest() {
+    int x = 96, y = 80;
+    double[][] cases = {
+        // x center, y center, radius, inner radius
+        { 0, 0, 20, 0 }, { 3.3, -7.6, 17.5, 6.2 }, { -40, 30, 25, 10 }, { 0.5, 0.5, 5, 3 }, { 200, 0, 10, 0 }, { 10, 4, 12, 15 } };
+
+    for (boolean zeroCentered : new boolean[] { false, true }) {
+      int offsetX = zeroCentered ? x / 2 : 0, offsetY = zeroCentered ? y / 2 : 0;
+      for (double[] c : cases) {
+        double[] filled = new double[x * y];
+        double[] cassegrain = new double[x * y];
+        Apertures.setFilledAperture(filled, x, y, zeroCentered, c[0], c[1], c[2], 2.0);
+        Apertures.setCassegrainAperture(cassegrain, x, y, zeroCentered, c[0], c[1], c[2], c[3], 2.0);
+
+        for (int row = 0; row < y; row++) {
+          for (int i = 0; i < x; i++) {
+            double xShift = i - c[0] - offsetX;
+            double yShift = (y - 1 - row) - c[1] - offsetY;
+            double r = Math.sqrt(xShift * xShift + yShift * yShift);
+            String message = "case " + c[0] + ", " + c[1] + ", centered = " + zeroCentered + ", (" + i + ", " + row + ")";
+            assertEquals(r <= c[2] ? 2.0 : 0.0, filled[row * x + i], 0.0, message);
+            assertEquals(r >= c[3] && r <= c[2] ? 2.0 : 0.0, cassegrain[row * x + i], 0.0, message);
+          }
+        }
+      }
+    }
+  }
+
+  /** The term assembled from its blocks, each filled into a buffer holding the previous block */
+  private static double[] fromBlocks(FunctionTerm2D term, int x, int y, boolean zeroCentered, int blockSize) {
+    CombineTermsRule.TermBlocks blocks = term.createBlocks(x, y, zeroCentered);
+    double[] output = new double[x * y];
+    double[] buffer = new double[blockSize];
+    Arrays.fill(buffer, Double.NaN);
+    for (int start = 0; start < x * y; start += blockSize) {
+      int count = Math.min(blockSize, x * y - start);
+      blocks.fill(start, count, buffer);
+      System.arraycopy(buffer, 0, output, start, count);
+    }
+    return output;
+  }
+
+  @Test
+  @DisplayName("Polar, aperture and data terms give their samples a block of rows at a time")
+  void blocksMatchCreate() {
+    int x = 72, y = 60;
+    ParameterBlock data = params(1.0, 0.0, 0.0, (double) x, (double) y);
+    data.addSource(createRandomSignal(x * y, new Random(9)));
+    data.addSource(x);
+    data.addSource(y);
+
+    FunctionTerm2D[] terms = {
+        polar(new BesincFunctionTerm1D(params(1.5, 0.0, 6.0)), new ConstantFunctionTerm1D(params(2.0, 0.0, 1.0))),
+        polar(new BesincFunctionTerm1D(params(1.5, 0.0, 6.0)), new CosineFunctionTerm1D(params(1.0, 0.0, 1.0, 90.0))),
+        new CylinderFunctionTerm2D(params(2.0, 3.5, -4.0, 20.0)),
+        new CassegrainFunctionTerm2D(params(1.0, -30.0, 12.0, 17.5, 6.2)),
+        new CassegrainMultiArmFunctionTerm2D(params(1.0, 0.0, 0.0, 5.0, 2.0, 9.0, 3, 3)),
+        new MultiArmFunctionTerm2D(params(1.0, 2.0, 1.0, 4.0, 8.0, 4, 2)),
+        new RectApertureFunctionTerm2D(params(3.0, 10.0, -20.0, 12.0, 30.0)),
+        new EApertureFunctionTerm2D(params(1.0, 0.0, 0.0, 20.0, 25.0)),
+        new DataFunctionTerm2D(data) };
+
+    for (FunctionTerm2D term : terms) {
+      for (boolean zeroCentered : new boolean[] { false, true }) {
+        String message = term.getClass().getSimpleName() + ", centered = " + zeroCentered;
+        double[] expected = term.create(x, y, zeroCentered);
+        // whole rows, and blocks that start and end partway through rows
+        assertArrayEquals(expected, fromBlocks(term, x, y, zeroCentered, 5 * x), 0.0, message);
+        assertArrayEquals(expected, fromBlocks(term, x, y, zeroCentered, 100), 0.0, message);
+      }
+    }
+
+    // data at another size is read from the scaled image, padded or cropped
+    DataFunctionTerm2D resized = new DataFunctionTerm2D(data);
+    for (int mode : new int[] { Constants.SCALE_AND_PAD_MODE, Constants.CROP_MODE }) {
+      resized.setMode(mode);
+      for (boolean zeroCentered : new boolean[] { false, true }) {
+        String message = "mode = " + mode + ", centered = " + zeroCentered;
+        double[] expected = resized.create(96, 70, zeroCentered);
+        assertTrue(Arrays.stream(expected).anyMatch(v -> v != 0), message);
+        assertArrayEquals(expected, fromBlocks(resized, 96, 70, zeroCentered, 7 * 96), 0.0, message);
+        assertArrayEquals(expected, fromBlocks(resized, 96, 70, zeroCentered, 100), 0.0, message);
+      }
+    }
+  }
+}
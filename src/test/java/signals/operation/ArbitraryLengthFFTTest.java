@@ -0,0 +1,202 @@
+package signals.operation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static signals.operation.SignalTestUtils.*;
+
+/**
+ * Tests for FFTs of lengths that are not powers of two.
+ *
+ * Mixed-radix lengths (products of 2, 3, 4, 5, 7, ...) and Bluestein lengths
+ * (large prime factors) are compared against a direct O(N^2) DFT.
+ */
+public class ArbitraryLengthFFTTest {
+
+  private static final int[] SIZES = { 1, 2, 3, 5, 6, 7, 9, 10, 12, 15, 30, 49, 97, 100, 121, 210, 480, 1000, 1009 };
+
+  /**
+   * Direct DFT: X[k] = sum_n x[n] exp(-+ 2 pi i n k / N)
+   */
+  private static double[][] directDFT(double[] real, double[] imag, boolean inverse) {
+    int n = real.length;
+    double sign = inverse ? 1 : -1;
+    double[] outR = new double[n];
+    double[] outI = new double[n];
+    for (int k = 0; k < n; k++) {
+      for (int j = 0; j < n; j++) {
+        double phase = sign * 2 * Math.PI * (((long) j * k) % n) / n;
+        outR[k] += real[j] * Math.cos(phase) - imag[j] * Math.sin(phase);
+        outI[k] += real[j] * Math.sin(phase) + imag[j] * Math.cos(phase);
+      }
+    }
+    return new double[][] { outR, outI };
+  }
+
+  @Nested
+  @DisplayName("Kernels")
+  class Kernels {
+
+    @Test
+    @DisplayName("Kernel selection by largest prime factor")
+    void kernelSelection() {
+      assertTrue(FFTKernel.create(3000, false) instanceof MixedRadixFFT);
+      assertTrue(FFTKernel.create(7 * 31, false) instanceof MixedRadixFFT);
+      assertTrue(FFTKernel.create(1009, false) instanceof BluesteinFFT);
+      assertTrue(FFTKernel.create(2 * 37, true) instanceof BluesteinFFT);
+    }
+
+    @Test
+    @DisplayName("Next fast size only has factors 2, 3, 5 and 7")
+    void nextFastSize() {
+      assertEquals(1, FFTKernel.nextFastSize(1));
+      assertEquals(12, FFTKernel.nextFastSize(11));
+      assertEquals(1024, FFTKernel.nextFastSize(1024));
+      assertEquals(2025, FFTKernel.nextFastSize(2017));
+      for (int n = 2; n < 5000; n += 37) {
+        int fast = FFTKernel.nextFastSize(n);
+        assertTrue(fast >= n);
+        assertTrue(FFTKernel.largestPrimeFactor(fast) <= 7, "fast size " + fast);
+      }
+    }
+
+    @Test
+    @DisplayName("Vectorized kernel is bit-identical to the scalar kernel")
+    void vectorKernelMatchesScalar() {
+      assumeTrue(FFTKernel.isVectorized(), "jdk.incubator.vector is not available");
+      Random random = new Random(8);
+      for (int n : new int[] { 16, 64, 96, 360, 1024, 4096 }) {
+        double[] real = createRandomSignal(n, random);
+        double[] imag = createRandomSignal(n, random);
+        double[] vectorReal = real.clone();
+        double[] vectorImag = imag.clone();
+
+        new MixedRadixFFT(n, false).transform(real, imag);
+        FFTKernel.createMixedRadix(n, false).transform(vectorReal, vectorImag);
+
+        assertArrayEquals(real, vectorReal, 0.0, "real part, N = " + n);
+        assertArrayEquals(imag, vectorImag, 0.0, "imaginary part, N = " + n);
+      }
+    }
+
+    @Test
+    @DisplayName("Forward and inverse kernels match the direct DFT")
+    void matchesDirectDFT() {
+      Random random = new Random(42);
+      for (int n : SIZES) {
+        for (boolean inverse : new boolean[] { false, true }) {
+          double[] real = createRandomSignal(n, random);
+          double[] imag = createRandomSignal(n, random);
+          double[][] expected = directDFT(real, imag, inverse);
+
+          FFTKernel.create(n, inverse).transform(real, imag);
+
+          assertArrayEquals(expected[0], real, 1e-9 * n, "real part, N = " + n);
+          assertArrayEquals(expected[1], imag, 1e-9 * n, "imaginary part, N = " + n);
+        }
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Transforms")
+  class TransformsAnyLength {
+
+    @Test
+    @DisplayName("computeFFT1D matches the direct DFT and leaves its inputs unchanged")
+    void computeFFT1DMatchesDirectDFT() {
+      Random random = new Random(7);
+      for (int n : SIZES) {
+        double[] real = createRandomSignal(n, random);
+        double[] imag = createRandomSignal(n, random);
+        double[] realCopy = real.clone();
+        double[][] expected = directDFT(real, imag, false);
+
+        double[][] fft = Transforms.computeFFT1D(real, imag, false, false, Transforms.NORMALIZE_NONE);
+
+        assertArrayEquals(expected[0], fft[0], 1e-9 * n, "real part, N = " + n);
+        assertArrayEquals(expected[1], fft[1], 1e-9 * n, "imaginary part, N = " + n);
+        assertArrayEquals(realCopy, real, 0.0, "input must not be modified, N = " + n);
+      }
+    }
+
+    @Test
+    @DisplayName("Zero-centered delta at the origin transforms to a constant for odd lengths")
+    void zeroCenteredDeltaOddLength() {
+      for (int n : new int[] { 5, 9, 15, 97 }) {
+        double[] delta = createDelta(n, 0, true);
+        double[][] fft = Transforms.computeFFT1D(delta, new double[n], true, false, Transforms.NORMALIZE_NONE);
+
+        assertSignalsEqual(createConstant(n, 1.0), fft[0], "real part, N = " + n);
+        assertSignalIsZero(fft[1], "imaginary part, N = " + n);
+      }
+    }
+
+    @Test
+    @DisplayName("Zero-centered constant transforms to a delta at the center for odd lengths")
+    void zeroCenteredConstantOddLength() {
+      int n = 15;
+      double[][] fft = Transforms.computeFFT1D(createConstant(n, 1.0), new double[n], true, false,
+          Transforms.NORMALIZE_N);
+
+      assertSignalsEqual(createDelta(n, 0, true), fft[0], "real part");
+    }
+
+    @Test
+    @DisplayName("1D forward then inverse FFT recovers the input")
+    void roundTrip1D() {
+      Random random = new Random(3);
+      for (int n : SIZES) {
+        for (boolean zeroCentered : new boolean[] { false, true }) {
+          double[] real = createRandomSignal(n, random);
+          double[] imag = createRandomSignal(n, random);
+
+          double[][] fft = Transforms.computeFFT1D(real, imag, zeroCentered, false, Transforms.NORMALIZE_ROOT_N);
+          double[][] back = Transforms.computeFFT1D(fft[0], fft[1], zeroCentered, true, Transforms.NORMALIZE_ROOT_N);
+
+          assertArrayEquals(real, back[0], 1e-9, "real part, N = " + n);
+          assertArrayEquals(imag, back[1], 1e-9, "imaginary part, N = " + n);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("2D forward then inverse FFT recovers the input for non-power-of-two sizes")
+    void roundTrip2D() {
+      Random random = new Random(11);
+      int[][] dimensions = { { 12, 10 }, { 9, 15 }, { 7, 37 }, { 40, 30 } };
+      for (int[] dimension : dimensions) {
+        for (boolean zeroCentered : new boolean[] { false, true }) {
+          int size = dimension[0] * dimension[1];
+          double[] real = createRandomSignal(size, random);
+          double[] imag = createRandomSignal(size, random);
+
+          double[][] fft = Transforms.computeFFT2D(real, imag, zeroCentered, false,
+              dimension[0], dimension[1], Transforms.NORMALIZE_NONE);
+          double[][] back = Transforms.computeFFT2D(fft[0], fft[1], zeroCentered, true,
+              dimension[0], dimension[1], Transforms.NORMALIZE_N);
+
+          assertArrayEquals(real, back[0], 1e-9, "real part, " + dimension[0] + "x" + dimension[1]);
+          assertArrayEquals(imag, back[1], 1e-9, "imaginary part, " + dimension[0] + "x" + dimension[1]);
+        }
+      }
+    }
+
+    @Test
+    @DisplayName("2D zero-centered FFT of a constant is a delta for odd sizes")
+    void zeroCenteredConstant2D() {
+      int x = 9;
+      int y = 15;
+      double[][] fft = Transforms.computeFFT2D(createConstant(x * y, 1.0), new double[x * y], true, false,
+          x, y, Transforms.NORMALIZE_N);
+
+      assertEquals(1.0, findMax(fft[0]), TOLERANCE);
+      assertEquals(1.0, sum(fft[0]), TOLERANCE);
+    }
+  }
+}
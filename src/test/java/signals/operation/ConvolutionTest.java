@@ -0,0 +1,373 @@
+package signals.operation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import signals.core.Zeros;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static signals.operation.SignalTestUtils.*;
+
+/**
+ * Tests for choosing between direct, overlap-add and FFT convolution.
+ */
+public class ConvolutionTest {
+
+  private static final int[] METHODS = { Convolution.DIRECT, Convolution.OVERLAP_ADD, Convolution.FFT };
+
+  /** A signal that is zero except for a run of taps starting at start, wrapping around the end */
+  private static double[] sparseSignal(int size, int start, int taps, Random random) {
+    double[] signal = new double[size];
+    for (int t = 0; t < taps; t++) {
+      signal[(start + t) % size] = random.nextGaussian();
+    }
+    return signal;
+  }
+
+  @Test
+  @DisplayName("Support is the shortest circular run holding every nonzero sample")
+  void circularSupport() {
+    double[] signal = new double[16];
+    signal[14] = 1;
+    signal[1] = 2;
+    signal[2] = 3;
+    Convolution.Support support = Convolution.support(signal, Zeros.zeros(16));
+    assertEquals(3, support.count);
+    assertEquals(14, support.start);
+    assertEquals(5, support.length);
+
+    assertEquals(0, Convolution.support(new double[8], Zeros.zeros(8)).count);
+  }
+
+  @Test
+  @DisplayName("All methods agree on real 1D convolution and correlation")
+  void realMethodsAgree() {
+    Random random = new Random(9);
+    for (int n : new int[] { 5, 64, 100, 301 }) {
+      for (boolean zeroCentered : new boolean[] { false, true }) {
+        for (boolean conjugate : new boolean[] { false, true }) {
+          double[] signal = createRandomSignal(n, random);
+          double[] kernel = sparseSignal(n, n - 2, Math.min(n, 5), random);
+
+          double[][] reference = SpectralProduct.computeProduct1D(signal, Zeros.zeros(n), kernel, Zeros.zeros(n),
+              zeroCentered, conjugate);
+
+          for (int method : METHODS) {
+            String message = Convolution.METHOD_NAMES[method] + ", N = " + n + ", centered = " + zeroCentered
+                + ", conjugate = " + conjugate;
+            double[][] output = Convolution.compute1D(signal, Zeros.zeros(n), kernel, Zeros.zeros(n), zeroCentered,
+                conjugate, method);
+            assertArrayEquals(reference[0], output[0], 1e-9, message);
+            assertTrue(Zeros.isZero(output[1]), message);
+
+            // the sparse input may come first as well
+            double[][] swapped = Convolution.compute1D(kernel, Zeros.zeros(n), signal, Zeros.zeros(n), zeroCentered,
+                conjugate, method);
+            double[][] swappedReference = SpectralProduct.computeProduct1D(kernel, Zeros.zeros(n), signal,
+                Zeros.zeros(n), zeroCentered, conjugate);
+            assertArrayEquals(swappedReference[0], swapped[0], 1e-9, "swapped, " + message);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("All methods agree on complex 1D convolution and correlation")
+  void complexMethodsAgree() {
+    Random random = new Random(11);
+    int n = 90;
+    for (boolean zeroCentered : new boolean[] { false, true }) {
+      for (boolean conjugate : new boolean[] { false, true }) {
+        double[] realA = createRandomSignal(n, random);
+        double[] imagA = createRandomSignal(n, random);
+        double[] realB = sparseSignal(n, 40, 7, random);
+        double[] imagB = sparseSignal(n, 40, 7, random);
+
+        double[][] reference = SpectralProduct.computeProduct1D(realA, imagA, realB, imagB, zeroCentered, conjugate);
+
+        for (int method : METHODS) {
+          String message = Convolution.METHOD_NAMES[method] + ", centered = " + zeroCentered
+              + ", conjugate = " + conjugate;
+          double[][] output = Convolution.compute1D(realA, imagA, realB, imagB, zeroCentered, conjugate, method);
+          assertArrayEquals(reference[0], output[0], 1e-9, message);
+          assertArrayEquals(reference[1], output[1], 1e-9, message);
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Direct 2D convolution matches the FFT, including flipped rows and wrap-around")
+  void direct2DMatchesFFT() {
+    Random random = new Random(13);
+    int x = 24;
+    int y = 10;
+    for (boolean zeroCentered : new boolean[] { false, true }) {
+      for (boolean conjugate : new boolean[] { false, true }) {
+        double[] signal = createRandomSignal(x * y, random);
+        double[] kernel = new double[x * y];
+        kernel[0] = 1.5;
+        kernel[x + 3] = -2;
+        kernel[(y - 1) * x + x - 1] = 0.5;
+        double[] kernelImag = new double[x * y];
+        kernelImag[x + 3] = 0.25;
+
+        String message = "centered = " + zeroCentered + ", conjugate = " + conjugate;
+        double[][] reference = SpectralProduct.computeProduct2D(signal, Zeros.zeros(x * y), kernel, Zeros.zeros(x * y),
+            zeroCentered, conjugate, x, y);
+        double[][] direct = Convolution.compute2D(signal, Zeros.zeros(x * y), kernel, Zeros.zeros(x * y),
+            zeroCentered, conjugate, Convolution.DIRECT, x, y);
+        assertArrayEquals(reference[0], direct[0], 1e-9, message);
+
+        reference = SpectralProduct.computeProduct2D(signal, Zeros.zeros(x * y), kernel, kernelImag,
+            zeroCentered, conjugate, x, y);
+        direct = Convolution.compute2D(signal, Zeros.zeros(x * y), kernel, kernelImag,
+            zeroCentered, conjugate, Convolution.DIRECT, x, y);
+        assertArrayEquals(reference[0], direct[0], 1e-9, "complex, " + message);
+        assertArrayEquals(reference[1], direct[1], 1e-9, "complex, " + message);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("The cost model picks direct for short kernels, overlap-add for medium ones and FFT for wide ones")
+  void costModel() {
+    Random random = new Random(15);
+    int n = 1 << 16;
+    assertEquals(Convolution.DIRECT,
+        Convolution.choose1D(n, Convolution.support(sparseSignal(n, 0, 5, random), Zeros.zeros(n)), true));
+    assertEquals(Convolution.OVERLAP_ADD,
+        Convolution.choose1D(n, Convolution.support(sparseSignal(n, 0, 200, random), Zeros.zeros(n)), true));
+    assertEquals(Convolution.FFT,
+        Convolution.choose1D(n, Convolution.support(createRandomSignal(n, random), Zeros.zeros(n)), true));
+
+    int x = 256;
+    double[] small = new double[x * x];
+    small[0] = small[1] = small[x] = 1;
+    assertEquals(Convolution.DIRECT, Convolution.choose2D(x, x, Convolution.support(small, Zeros.zeros(x * x)), true));
+    assertEquals(Convolution.FFT,
+        Convolution.choose2D(x, x, Convolution.support(createRandomSignal(x * x, random), Zeros.zeros(x * x)), true));
+  }
+
+  /**
+   * Convolution, or correlation with conjugate, without wrap-around, of flat row-major arrays whose
+   * rows are stored top (largest y) first. A 1D signal is a single row.
+   */
+  private static double[][] directLinear(double[] realA, double[] imagA, double[] realB, double[] imagB,
+      int width, int height, boolean zeroCentered, boolean conjugate) {
+    int originX = zeroCentered ? width / 2 : 0;
+    int originY = zeroCentered ? height / 2 : 0;
+    double[] real = new double[width * height];
+    double[] imag = new double[width * height];
+    for (int i = 0; i < width * height; i++) {
+      int px = i % width - originX;
+      int py = height - 1 - i / width - originY;
+      for (int k = 0; k < width * height; k++) {
+        int qx = k % width - originX;
+        int qy = height - 1 - k / width - originY;
+        // position of the b sample paired with a[k]
+        int bx = (conjugate ? qx - px : px - qx) + originX;
+        int by = (conjugate ? qy - py : py - qy) + originY;
+        if (bx < 0 || bx >= width || by < 0 || by >= height) {
+          continue;
+        }
+        int j = (height - 1 - by) * width + bx;
+        double br = realB[j];
+        double bi = conjugate ? -imagB[j] : imagB[j];
+        real[i] += realA[k] * br - imagA[k] * bi;
+        imag[i] += realA[k] * bi + imagA[k] * br;
+      }
+    }
+    return new double[][] { real, imag };
+  }
+
+  @Test
+  @DisplayName("Linear 1D convolution and correlation do not wrap around, by every method")
+  void linear1D() {
+    Random random = new Random(17);
+    for (int n : new int[] { 1, 8, 33, 50 }) {
+      for (boolean zeroCentered : new boolean[] { false, true }) {
+        for (boolean conjugate : new boolean[] { false, true }) {
+          double[] realA = createRandomSignal(n, random);
+          double[] realB = sparseSignal(n, n / 3, Math.min(n, 4), random);
+          double[] imagB = createRandomSignal(n, random);
+
+          double[][] expected = directLinear(realA, new double[n], realB, new double[n], n, 1, zeroCentered, conjugate);
+          double[][] complexExpected = directLinear(realA, new double[n], realB, imagB, n, 1, zeroCentered, conjugate);
+
+          for (int method : METHODS) {
+            String message = Convolution.METHOD_NAMES[method] + ", N = " + n + ", centered = " + zeroCentered
+                + ", conjugate = " + conjugate;
+            double[][] output = Convolution.computeLinear1D(realA, Zeros.zeros(n), realB, Zeros.zeros(n),
+                zeroCentered, conjugate, method);
+            assertEquals(n, output[0].length);
+            assertArrayEquals(expected[0], output[0], 1e-9, message);
+            assertTrue(Zeros.isZero(output[1]), message);
+
+            output = Convolution.computeLinear1D(realA, Zeros.zeros(n), realB, imagB, zeroCentered, conjugate, method);
+            assertArrayEquals(complexExpected[0], output[0], 1e-9, "complex, " + message);
+            assertArrayEquals(complexExpected[1], output[1], 1e-9, "complex, " + message);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Linear 2D convolution and correlation do not wrap around")
+  void linear2D() {
+    Random random = new Random(19);
+    int x = 12;
+    int y = 9;
+    for (boolean zeroCentered : new boolean[] { false, true }) {
+      for (boolean conjugate : new boolean[] { false, true }) {
+        double[] realA = createRandomSignal(x * y, random);
+        double[] realB = createRandomSignal(x * y, random);
+        double[] expected = directLinear(realA, new double[x * y], realB, new double[x * y], x, y,
+            zeroCentered, conjugate)[0];
+
+        for (int method : new int[] { Convolution.DIRECT, Convolution.FFT }) {
+          String message = Convolution.METHOD_NAMES[method] + ", centered = " + zeroCentered
+              + ", conjugate = " + conjugate;
+          double[][] output = Convolution.computeLinear2D(realA, Zeros.zeros(x * y), realB, Zeros.zeros(x * y),
+              zeroCentered, conjugate, method, x, y);
+          assertArrayEquals(expected, output[0], 1e-9, message);
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Linear convolution pads to a fast length of at most 2N - 1, or none when an input is zero")
+  void paddedSize() {
+    Random random = new Random(29);
+    for (int n : new int[] { 1, 8, 100, 1000 }) {
+      double[] full = createRandomSignal(n, random);
+      for (boolean zeroCentered : new boolean[] { false, true }) {
+        for (boolean conjugate : new boolean[] { false, true }) {
+          int[] padded = Convolution.paddedSizes(full, Zeros.zeros(n), full, Zeros.zeros(n), zeroCentered, conjugate, n, 1);
+          assertTrue(padded[0] >= n && padded[0] <= FFTKernel.nextFastSize(2 * n - 1), "N = " + n);
+          assertEquals(1, padded[1]);
+          assertArrayEquals(new int[] { n, 1 },
+              Convolution.paddedSizes(full, Zeros.zeros(n), new double[n], Zeros.zeros(n), zeroCentered, conjugate, n, 1));
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("A short kernel pads to N + M - 1 and is exact next to the edges")
+  void shortKernelNearEdge() {
+    Random random = new Random(31);
+    int n = 64;
+    int x = 20;
+    int y = 15;
+    for (boolean zeroCentered : new boolean[] { false, true }) {
+      for (boolean conjugate : new boolean[] { false, true }) {
+        String message = "centered = " + zeroCentered + ", conjugate = " + conjugate;
+
+        // three taps from the origin, or around it when centered, and an input nonzero only next to its ends
+        int first = zeroCentered ? -1 : 0;
+        double[] kernel = sparseSignal(n, (zeroCentered ? n / 2 : 0) + first, 3, random);
+        double[] signal = new double[n];
+        signal[0] = random.nextGaussian();
+        signal[1] = random.nextGaussian();
+        signal[n - 2] = random.nextGaussian();
+        signal[n - 1] = random.nextGaussian();
+
+        int[] padded = Convolution.paddedSizes(signal, Zeros.zeros(n), kernel, Zeros.zeros(n), zeroCentered, conjugate, n, 1);
+        assertTrue(padded[0] <= FFTKernel.nextFastSize(n + 2), message);
+        double[] expected = directLinear(signal, new double[n], kernel, new double[n], n, 1, zeroCentered, conjugate)[0];
+        for (int method : METHODS) {
+          double[][] output = Convolution.computeLinear1D(signal, Zeros.zeros(n), kernel, Zeros.zeros(n),
+              zeroCentered, conjugate, method);
+          assertArrayEquals(expected, output[0], 1e-9, Convolution.METHOD_NAMES[method] + ", " + message);
+        }
+
+        // the same 3 x 3 in 2D, and an input along the border; rows are stored top (largest y) first
+        int originX = zeroCentered ? x / 2 : 0;
+        int originRow = y - 1 - (zeroCentered ? y / 2 : 0);
+        double[] kernel2D = new double[x * y];
+        for (int dy = first; dy < first + 3; dy++) {
+          for (int dx = first; dx < first + 3; dx++) {
+            kernel2D[(originRow - dy) * x + originX + dx] = random.nextGaussian();
+          }
+        }
+        double[] signal2D = new double[x * y];
+        for (int i = 0; i < x * y; i++) {
+          int column = i % x;
+          int row = i / x;
+          if (column == 0 || column == x - 1 || row == 0 || row == y - 1) {
+            signal2D[i] = random.nextGaussian();
+          }
+        }
+
+        padded = Convolution.paddedSizes(signal2D, Zeros.zeros(x * y), kernel2D, Zeros.zeros(x * y),
+            zeroCentered, conjugate, x, y);
+        assertTrue(padded[0] <= FFTKernel.nextFastSize(x + 2), message);
+        assertTrue(padded[1] <= FFTKernel.nextFastSize(y + 2), message);
+        expected = directLinear(signal2D, new double[x * y], kernel2D, new double[x * y], x, y, zeroCentered, conjugate)[0];
+        for (int method : new int[] { Convolution.DIRECT, Convolution.FFT }) {
+          double[][] output = Convolution.computeLinear2D(signal2D, Zeros.zeros(x * y), kernel2D, Zeros.zeros(x * y),
+              zeroCentered, conjugate, method, x, y);
+          assertArrayEquals(expected, output[0], 1e-9, "2D " + Convolution.METHOD_NAMES[method] + ", " + message);
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("An all-zero kernel gives zeros by every method, circular and linear")
+  void zeroKernel() {
+    Random random = new Random(23);
+    for (int n : new int[] { 2, 7, 64 }) {
+      double[] signal = createRandomSignal(n, random);
+      double[] imag = createRandomSignal(n, random);
+      for (boolean conjugate : new boolean[] { false, true }) {
+        for (int method : METHODS) {
+          String message = Convolution.METHOD_NAMES[method] + ", N = " + n + ", conjugate = " + conjugate;
+          double[][] circular = Convolution.compute1D(signal, Zeros.zeros(n), new double[n], Zeros.zeros(n),
+              true, conjugate, method);
+          double[][] linear = Convolution.computeLinear1D(signal, imag, new double[n], new double[n],
+              false, conjugate, method);
+          for (double[] part : new double[][] { circular[0], circular[1], linear[0], linear[1] }) {
+            assertArrayEquals(new double[n], part, 0.0, message);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("The use counter advances for the method that runs, including the one chosen automatically")
+  void usesCounted() {
+    Random random = new Random(37);
+    int n = 256;
+    double[] signal = createRandomSignal(n, random);
+    double[] kernel = sparseSignal(n, 0, 3, random);
+
+    for (int method : METHODS) {
+      long before = Convolution.getUses(method);
+      Convolution.compute1D(signal, Zeros.zeros(n), kernel, Zeros.zeros(n), false, false, method);
+      assertEquals(before + 1, Convolution.getUses(method), Convolution.METHOD_NAMES[method]);
+    }
+
+    int chosen = Convolution.choose1D(n, Convolution.support(kernel, Zeros.zeros(n)), true);
+    long before = Convolution.getUses(chosen);
+    long automatic = Convolution.getUses(Convolution.AUTOMATIC);
+    Convolution.compute1D(signal, Zeros.zeros(n), kernel, Zeros.zeros(n), false, false, Convolution.AUTOMATIC);
+    assertEquals(before + 1, Convolution.getUses(chosen));
+    assertEquals(automatic, Convolution.getUses(Convolution.AUTOMATIC));
+
+    // overlap-add runs as FFT in 2D
+    int x = 8;
+    long fft = Convolution.getUses(Convolution.FFT);
+    Convolution.compute2D(createRandomSignal(x * x, random), Zeros.zeros(x * x), createRandomSignal(x * x, random),
+        Zeros.zeros(x * x), false, false, Convolution.OVERLAP_ADD, x, x);
+    assertEquals(fft + 1, Convolution.getUses(Convolution.FFT));
+    assertTrue(Convolution.describeUses().contains(Convolution.METHOD_NAMES[Convolution.FFT] + " " + (fft + 1)));
+  }
+}
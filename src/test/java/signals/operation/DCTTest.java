@@ -0,0 +1,105 @@
+package signals.operation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import signals.core.Zeros;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static signals.operation.SignalTestUtils.*;
+
+/**
+ * Tests for the N-point DCT and its inverse.
+ */
+public class DCTTest {
+
+  private static final int[] SIZES = { 1, 2, 3, 4, 5, 8, 15, 16, 64, 97, 100 };
+
+  /**
+   * Direct DCT-II: X[k] = 2 c(k) sum x[n] cos(pi k (2n+1) / 2N)
+   */
+  private static double[] directDCT(double[] x) {
+    int n = x.length;
+    double[] output = new double[n];
+    for (int k = 0; k < n; k++) {
+      double sum = 0;
+      for (int i = 0; i < n; i++) {
+        sum += x[i] * Math.cos(Math.PI * k * (2 * i + 1) / (2.0 * n));
+      }
+      output[k] = 2 * (k == 0 ? 1 : Math.sqrt(2)) * sum;
+    }
+    return output;
+  }
+
+  @Test
+  @DisplayName("1D DCT matches the direct sum for real and imaginary parts")
+  void matchesDirectDCT() {
+    Random random = new Random(4);
+    for (int n : SIZES) {
+      double[] real = createRandomSignal(n, random);
+      double[] imag = createRandomSignal(n, random);
+
+      double[][] dct = Transforms.computeDCT1D(real, imag);
+
+      assertArrayEquals(directDCT(real), dct[0], 1e-9 * n, "real part, N = " + n);
+      assertArrayEquals(directDCT(imag), dct[1], 1e-9 * n, "imaginary part, N = " + n);
+    }
+  }
+
+  @Test
+  @DisplayName("Inverse DCT recovers the input")
+  void roundTrip1D() {
+    Random random = new Random(6);
+    for (int n : SIZES) {
+      double[] real = createRandomSignal(n, random);
+      double[] imag = createRandomSignal(n, random);
+
+      double[][] dct = Transforms.computeDCT1D(real, imag);
+      double[][] back = Transforms.computeInverseDCT1D(dct[0], dct[1]);
+
+      assertArrayEquals(real, back[0], 1e-9, "real part, N = " + n);
+      assertArrayEquals(imag, back[1], 1e-9, "imaginary part, N = " + n);
+    }
+  }
+
+  @Test
+  @DisplayName("Real input keeps a zero imaginary part")
+  void realInputStaysReal() {
+    int n = 32;
+    double[][] dct = Transforms.computeDCT1D(createRandomSignal(n, new Random(2)), Zeros.zeros(n));
+    assertTrue(Zeros.isZero(dct[1]));
+  }
+
+  @Test
+  @DisplayName("2D DCT is the 1D DCT of every row, then of every column")
+  void separable2D() {
+    int x = 20;
+    int y = 7;
+    double[] real = createRandomSignal(x * y, new Random(8));
+
+    double[] expected = new double[x * y];
+    for (int r = 0; r < y; r++) {
+      double[] row = new double[x];
+      System.arraycopy(real, r * x, row, 0, x);
+      System.arraycopy(directDCT(row), 0, expected, r * x, x);
+    }
+    for (int c = 0; c < x; c++) {
+      double[] column = new double[y];
+      for (int r = 0; r < y; r++) {
+        column[r] = expected[r * x + c];
+      }
+      double[] transformed = directDCT(column);
+      for (int r = 0; r < y; r++) {
+        expected[r * x + c] = transformed[r];
+      }
+    }
+
+    double[][] dct = Transforms.computeDCT2D(real, Zeros.zeros(x * y), false, x, y);
+    assertArrayEquals(expected, dct[0], 1e-9);
+
+    double[][] back = Transforms.computeDCT2D(dct[0], dct[1], true, x, y);
+    assertArrayEquals(real, back[0], 1e-9);
+  }
+}
@@ -0,0 +1,185 @@
+package signals.operation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for reusable in-place FFT plans.
+ */
+public class FFTPlanTest {
+
+  @Test
+  @DisplayName("Plan transform in place matches computeFFT1D for every option")
+  void matchesComputeFFT1D() {
+    Random random = new Random(5);
+    int[] normalizations = { Transforms.NORMALIZE_NONE, Transforms.NORMALIZE_N, Transforms.NORMALIZE_ROOT_N };
+    for (int n : new int[] { 8, 15, 64, 100 }) {
+      for (int normalization : normalizations) {
+        for (boolean zeroCentered : new boolean[] { false, true }) {
+          for (boolean inverse : new boolean[] { false, true }) {
+            double[] real = new double[n];
+            double[] imag = new double[n];
+            for (int i = 0; i < n; i++) {
+              real[i] = random.nextGaussian();
+              imag[i] = random.nextGaussian();
+            }
+            double[][] expected = Transforms.computeFFT1D(real, imag, zeroCentered, inverse, normalization);
+
+            FFTPlan plan = FFTPlan.get(n, inverse, normalization, zeroCentered);
+            plan.transform(real, imag, plan.createWorkspace());
+
+            assertArrayEquals(expected[0], real, 1e-12);
+            assertArrayEquals(expected[1], imag, 1e-12);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Plan transforms a segment at an offset without touching its neighbours")
+  void transformAtOffset() {
+    int n = 12;
+    double[] real = new double[3 * n];
+    double[] imag = new double[3 * n];
+    java.util.Arrays.fill(real, 7.0);
+    real[n + n / 2] = 1.0;
+    for (int i = n; i < 2 * n; i++) {
+      if (i != n + n / 2) {
+        real[i] = 0.0;
+      }
+    }
+
+    FFTPlan plan = FFTPlan.get(n, false, Transforms.NORMALIZE_NONE, true);
+    double[][] work = plan.createWorkspace();
+    plan.transform(real, imag, n, work);
+
+    for (int i = 0; i < 3 * n; i++) {
+      double expected = (i >= n && i < 2 * n) ? 1.0 : 7.0;
+      assertEquals(expected, real[i], SignalTestUtils.TOLERANCE, "real[" + i + "]");
+      assertEquals(0.0, imag[i], SignalTestUtils.TOLERANCE, "imag[" + i + "]");
+    }
+  }
+
+  @Test
+  @DisplayName("Plans are shared per size, direction, normalization and centering")
+  void plansAreShared() {
+    assertSame(FFTPlan.get(64, false, Transforms.NORMALIZE_N, true),
+        FFTPlan.get(64, false, Transforms.NORMALIZE_N, true));
+    assertNotSame(FFTPlan.get(64, false, Transforms.NORMALIZE_N, true),
+        FFTPlan.get(64, true, Transforms.NORMALIZE_N, true));
+  }
+
+  @Test
+  @DisplayName("Batch of contiguous signals matches one transform per signal")
+  void contiguousBatch() {
+    Random random = new Random(12);
+    int n = 24;
+    int count = 40;
+    double[] real = new double[n * count];
+    double[] imag = new double[n * count];
+    for (int i = 0; i < real.length; i++) {
+      real[i] = random.nextGaussian();
+      imag[i] = random.nextGaussian();
+    }
+
+    double[][] batch = Transforms.computeBatchFFT1D(real, imag, count, true, false, Transforms.NORMALIZE_ROOT_N);
+
+    for (int i = 0; i < count; i++) {
+      double[] signalReal = java.util.Arrays.copyOfRange(real, i * n, (i + 1) * n);
+      double[] signalImag = java.util.Arrays.copyOfRange(imag, i * n, (i + 1) * n);
+      double[][] expected = Transforms.computeFFT1D(signalReal, signalImag, true, false, Transforms.NORMALIZE_ROOT_N);
+
+      assertArrayEquals(expected[0], java.util.Arrays.copyOfRange(batch[0], i * n, (i + 1) * n), 0.0);
+      assertArrayEquals(expected[1], java.util.Arrays.copyOfRange(batch[1], i * n, (i + 1) * n), 0.0);
+    }
+  }
+
+  @Test
+  @DisplayName("Strided batch transforms columns, bottom up for a negative stride")
+  void stridedBatch() {
+    Random random = new Random(13);
+    int width = 37;
+    int height = 12;
+    double[] real = new double[width * height];
+    double[] imag = new double[width * height];
+    for (int i = 0; i < real.length; i++) {
+      real[i] = random.nextGaussian();
+      imag[i] = random.nextGaussian();
+    }
+    double[] batchReal = real.clone();
+    double[] batchImag = imag.clone();
+
+    FFTPlan plan = FFTPlan.get(height, false, Transforms.NORMALIZE_NONE, false);
+    plan.transformBatch(batchReal, batchImag, (height - 1) * width, width, 1, -width);
+
+    for (int c = 0; c < width; c++) {
+      double[] columnReal = new double[height];
+      double[] columnImag = new double[height];
+      for (int r = 0; r < height; r++) {
+        columnReal[r] = real[(height - 1 - r) * width + c];
+        columnImag[r] = imag[(height - 1 - r) * width + c];
+      }
+      plan.transform(columnReal, columnImag);
+
+      for (int r = 0; r < height; r++) {
+        assertEquals(columnReal[r], batchReal[(height - 1 - r) * width + c], 0.0);
+        assertEquals(columnImag[r], batchImag[(height - 1 - r) * width + c], 0.0);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Centered plans match explicit half-length rotations around an uncentered transform")
+  void centeredMatchesRotation() {
+    Random random = new Random(12);
+    int[] sizes = { 1, 2, 3, 4, 6, 8, 10, 12, 16, 24, 40, 48, 64, 90, 100, 128, 97, 194, 1024 };
+    for (int n : sizes) {
+      for (boolean inverse : new boolean[] { false, true }) {
+        double[] real = new double[n];
+        double[] imag = new double[n];
+        for (int i = 0; i < n; i++) {
+          real[i] = random.nextGaussian();
+          imag[i] = random.nextGaussian();
+        }
+
+        double[] expectedReal = real.clone();
+        double[] expectedImag = imag.clone();
+        FFTPlan.rotate(expectedReal, 0, n, n / 2);
+        FFTPlan.rotate(expectedImag, 0, n, n / 2);
+        FFTPlan.get(n, inverse, Transforms.NORMALIZE_NONE, false).transform(expectedReal, expectedImag);
+        FFTPlan.rotate(expectedReal, 0, n, n - n / 2);
+        FFTPlan.rotate(expectedImag, 0, n, n - n / 2);
+
+        FFTPlan.get(n, inverse, Transforms.NORMALIZE_NONE, true).transform(real, imag);
+
+        assertArrayEquals(expectedReal, real, 1e-10 * n, "real, N = " + n + ", inverse = " + inverse);
+        assertArrayEquals(expectedImag, imag, 1e-10 * n, "imag, N = " + n + ", inverse = " + inverse);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Centered kernels fold both rotations when N is a multiple of four")
+  void centeredKernelsFoldRotations() {
+    assertArrayEquals(new int[] { 2, 3, 2 }, MixedRadixFFT.factorCentered(12));
+    assertArrayEquals(new int[] { 4, 3, 4 }, MixedRadixFFT.factorCentered(48));
+    assertArrayEquals(new int[] { 4, 5, 2 }, MixedRadixFFT.factorCentered(40));
+    assertArrayEquals(new int[] { 2, 3 }, MixedRadixFFT.factorCentered(6));
+
+    for (int n : new int[] { 4, 12, 40, 48, 1024 }) {
+      FFTKernel kernel = FFTCoefficients.getCenteredKernel(n, false);
+      assertTrue(kernel.isInputRotated() && kernel.isOutputRotated(), "N = " + n);
+    }
+
+    FFTKernel twiceOdd = FFTCoefficients.getCenteredKernel(90, false);
+    assertTrue(twiceOdd.isInputRotated());
+    assertFalse(twiceOdd.isOutputRotated());
+    assertFalse(FFTCoefficients.getCenteredKernel(97, false).isInputRotated());
+    assertFalse(FFTCoefficients.getKernel(1024, false).isInputRotated());
+  }
+}
@@ -0,0 +1,69 @@
+package signals.operation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import signals.core.ParallelExecutor;
+import signals.core.Zeros;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static signals.operation.SignalTestUtils.*;
+
+/**
+ * Tests that 2D FFTs split across threads give exactly the sequential result.
+ */
+public class ParallelFFTTest {
+
+  // large enough to be split across the pool
+  private static final int X = 256;
+  private static final int Y = 96;
+
+  private final int defaultParallelism = ParallelExecutor.getParallelism();
+
+  @AfterEach
+  void restoreParallelism() {
+    ParallelExecutor.setParallelism(defaultParallelism);
+  }
+
+  private static double[][] transform(double[] real, double[] imag, int parallelism) {
+    ParallelExecutor.setParallelism(parallelism);
+    return Transforms.computeFFT2D(real, imag, true, false, X, Y, Transforms.NORMALIZE_ROOT_N);
+  }
+
+  @Test
+  @DisplayName("Parallel complex 2D FFT is bit-identical to the sequential one")
+  void complexBitIdentical() {
+    Random random = new Random(1);
+    double[] real = createRandomSignal(X * Y, random);
+    double[] imag = createRandomSignal(X * Y, random);
+
+    double[][] sequential = transform(real, imag, 1);
+    double[][] parallel = transform(real, imag, 4);
+
+    assertArrayEquals(sequential[0], parallel[0], 0.0);
+    assertArrayEquals(sequential[1], parallel[1], 0.0);
+  }
+
+  @Test
+  @DisplayName("Parallel real 2D FFT is bit-identical to the sequential one")
+  void realBitIdentical() {
+    double[] real = createRandomSignal(X * Y, new Random(2));
+
+    double[][] sequential = transform(real, Zeros.zeros(X * Y), 1);
+    double[][] parallel = transform(real, Zeros.zeros(X * Y), 4);
+
+    assertArrayEquals(sequential[0], parallel[0], 0.0);
+    assertArrayEquals(sequential[1], parallel[1], 0.0);
+  }
+
+  @Test
+  @DisplayName("Parallelism of zero leaves one processor free")
+  void automaticParallelism() {
+    ParallelExecutor.setParallelism(0);
+    int expected = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    assertEquals(expected, ParallelExecutor.getParallelism());
+  }
+}
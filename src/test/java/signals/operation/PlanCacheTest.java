@@ -0,0 +1,191 @@
+package signals.operation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bounded, thread-safe FFT table cache.
+ */
+public class PlanCacheTest {
+
+  @Test
+  @DisplayName("Concurrent requests for one key build it once")
+  void singleFlight() throws Exception {
+    PlanCache cache = new PlanCache(1 << 20);
+    AtomicInteger builds = new AtomicInteger();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    Future<?>[] results = new Future<?>[16];
+    for (int i = 0; i < results.length; i++) {
+      results[i] = executor.submit(() -> {
+        start.await();
+        return cache.get("key", () -> {
+          builds.incrementAndGet();
+          sleep(50);
+          return new double[16];
+        }, array -> 8L * array.length);
+      });
+    }
+    start.countDown();
+
+    Object first = results[0].get();
+    for (Future<?> result : results) {
+      assertSame(first, result.get());
+    }
+    executor.shutdown();
+    assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+    assertEquals(1, builds.get());
+    assertEquals(1, cache.getMisses());
+    assertEquals(results.length - 1, cache.getHits());
+    assertEquals(128, cache.getBytes());
+  }
+
+  @Test
+  @DisplayName("Least recently used entries are evicted to stay within the budget")
+  void lruEviction() {
+    PlanCache cache = new PlanCache(3 * 800);
+    double[] a = cache.get("a", () -> new double[100], array -> 8L * array.length);
+    cache.get("b", () -> new double[100], array -> 8L * array.length);
+    cache.get("c", () -> new double[100], array -> 8L * array.length);
+
+    // touch a, so b is the least recently used
+    assertSame(a, cache.get("a", () -> new double[100], array -> 8L * array.length));
+    cache.get("d", () -> new double[100], array -> 8L * array.length);
+
+    assertEquals(3, cache.size());
+    assertEquals(2400, cache.getBytes());
+    assertEquals(1, cache.getEvictions());
+    assertSame(a, cache.get("a", () -> new double[100], array -> 8L * array.length));
+
+    long misses = cache.getMisses();
+    cache.get("b", () -> new double[100], array -> 8L * array.length);
+    assertEquals(misses + 1, cache.getMisses(), "evicted entry is rebuilt");
+  }
+
+  @Test
+  @DisplayName("Expensive entries outlive cheap ones that were used more recently")
+  void weightedEviction() {
+    PlanCache cache = new PlanCache(3 * 800);
+    double[] spectrum = cache.get("spectrum", () -> new double[100], array -> 8L * array.length, 4.0);
+    cache.get("a", () -> new double[100], array -> 8L * array.length);
+    cache.get("b", () -> new double[100], array -> 8L * array.length);
+
+    // each new entry evicts the cheapest, least recently used one
+    cache.get("c", () -> new double[100], array -> 8L * array.length);
+    cache.get("d", () -> new double[100], array -> 8L * array.length);
+    cache.get("e", () -> new double[100], array -> 8L * array.length);
+
+    assertEquals(3, cache.getEvictions());
+    assertSame(spectrum, cache.peek("spectrum"));
+    assertNull(cache.peek("a"));
+    assertNull(cache.peek("b"));
+  }
+
+  @Test
+  @DisplayName("Pinned groups are never evicted, and are released once unpinned")
+  void pinnedGroups() {
+    PlanCache cache = new PlanCache(2 * 800);
+    cache.setPinned("7", true);
+    double[] real = cache.get("7 real", () -> new double[100], array -> 8L * array.length);
+    double[] imaginary = cache.get("7 imaginary", () -> new double[100], array -> 8L * array.length);
+    cache.get("8 real", () -> new double[100], array -> 8L * array.length);
+
+    // over budget, but everything left is pinned or just added
+    assertEquals(3, cache.size());
+    assertEquals(2400, cache.getBytes());
+    assertSame(real, cache.peek("7 real"));
+    assertSame(imaginary, cache.peek("7 imaginary"));
+
+    cache.setPinned("7", false);
+    assertEquals(2, cache.size());
+    assertEquals(1600, cache.getBytes());
+  }
+
+  @Test
+  @DisplayName("A stored value replaces the entry under its key")
+  void putReplaces() {
+    PlanCache cache = new PlanCache(1 << 20);
+    long misses = cache.getMisses();
+    assertNull(cache.peek("image 1"));
+    assertEquals(misses + 1, cache.getMisses());
+
+    cache.put("image 1", "first", 100, 4.0);
+    cache.put("image 1", "second", 300, 4.0);
+
+    assertEquals("second", cache.peek("image 1"));
+    assertEquals(1, cache.size());
+    assertEquals(300, cache.getBytes());
+
+    cache.remove("image 1");
+    assertEquals(0, cache.getBytes());
+  }
+
+  @Test
+  @DisplayName("A failed build is not cached")
+  void failedBuildIsRetried() {
+    PlanCache cache = new PlanCache(1 << 20);
+    assertThrows(IllegalStateException.class, () -> cache.get("bad", () -> {
+      throw new IllegalStateException("failed");
+    }, value -> 0L));
+
+    assertEquals(0, cache.size());
+    assertEquals("ok", cache.get("bad", () -> "ok", value -> 0L));
+  }
+
+  @Test
+  @DisplayName("Matching entries are removed and their bytes released")
+  void removeIf() {
+    PlanCache cache = new PlanCache(1 << 20);
+    cache.get("7 fft", () -> new double[10], array -> 8L * array.length);
+    cache.get("7 half", () -> new double[20], array -> 8L * array.length);
+    cache.get("70 fft", () -> new double[30], array -> 8L * array.length);
+
+    cache.removeIf(key -> key.startsWith("7 "));
+
+    assertEquals(1, cache.size());
+    assertEquals(240, cache.getBytes());
+  }
+
+  @Test
+  @DisplayName("Spectra of a function are evicted when its ID changes")
+  void spectraEvictedById() {
+    double[][] spectrum = SpectralProduct.spectrum("123456789 fft 2", () -> new double[][] { new double[4], new double[4] });
+    assertSame(spectrum, SpectralProduct.spectrum("123456789 fft 2", () -> null));
+
+    SpectralProduct.evict(123456789);
+
+    double[][] rebuilt = SpectralProduct.spectrum("123456789 fft 2", () -> new double[][] { new double[4], new double[4] });
+    assertNotSame(spectrum, rebuilt);
+  }
+
+  @Test
+  @DisplayName("Shared FFT kernels are counted by the cache")
+  void sharedKernelsAreCounted() {
+    PlanCache cache = FFTCoefficients.getCache();
+    FFTKernel kernel = FFTCoefficients.getKernel(4 * 9 * 25, false);
+    long hits = cache.getHits();
+
+    assertSame(kernel, FFTCoefficients.getKernel(4 * 9 * 25, false));
+    assertEquals(hits + 1, cache.getHits());
+    assertTrue(cache.getBytes() > 0);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package signals.operation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import signals.core.PointwiseExpression;
+import signals.core.Zeros;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static signals.operation.SignalTestUtils.*;
+
+/**
+ * Tests for fused evaluation of runs of pointwise operations.
+ */
+public class PointwiseExpressionTest {
+
+  private static ScaleOp scale(double real, double imag) {
+    ScaleOp op = new ScaleOp();
+    op.setValue(0, real);
+    op.setValue(1, imag);
+    return op;
+  }
+
+  @Test
+  @DisplayName("(2+i)*(A+B) x C - D matches the per-sample formula across chunk boundaries")
+  void fusedMatchesFormula() {
+    Random random = new Random(21);
+    // below and above the parallel threshold, not a multiple of the chunk size
+    for (int n : new int[] { 1, 5000, 40001 }) {
+      double[] realA = createRandomSignal(n, random), imagA = createRandomSignal(n, random);
+      double[] realB = createRandomSignal(n, random), imagB = createRandomSignal(n, random);
+      double[] realC = createRandomSignal(n, random), imagC = createRandomSignal(n, random);
+      double[] realD = createRandomSignal(n, random);
+
+      PointwiseExpression sum = PointwiseExpression.apply(new PlusOp(),
+          PointwiseExpression.of(realA, imagA), PointwiseExpression.of(realB, imagB));
+      PointwiseExpression product = PointwiseExpression.apply(new TimesOp(),
+          PointwiseExpression.apply(scale(2, 1), sum), PointwiseExpression.of(realC, imagC));
+      PointwiseExpression expression = PointwiseExpression.apply(new MinusOp(),
+          product, PointwiseExpression.of(realD, Zeros.zeros(n)));
+
+      assertEquals(4, expression.getSize());
+      double[][] output = expression.compute();
+
+      for (int i = 0; i < n; i++) {
+        double sumReal = realA[i] + realB[i];
+        double sumImag = imagA[i] + imagB[i];
+        double scaledReal = 2 * sumReal - sumImag;
+        double scaledImag = 2 * sumImag + sumReal;
+        double real = scaledReal * realC[i] - scaledImag * imagC[i] - realD[i];
+        double imag = scaledReal * imagC[i] + scaledImag * realC[i];
+        assertEquals(real, output[0][i], 1e-12, "N = " + n + ", i = " + i);
+        assertEquals(imag, output[1][i], 1e-12, "N = " + n + ", i = " + i);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Operand B may itself be a deep expression")
+  void rightNestedOperands() {
+    Random random = new Random(23);
+    int n = 3000;
+    double[] realA = createRandomSignal(n, random), imagA = createRandomSignal(n, random);
+    double[] realB = createRandomSignal(n, random), imagB = createRandomSignal(n, random);
+
+    OffsetOp offset = new OffsetOp();
+    offset.setValue(0, 1.5);
+    offset.setValue(1, -0.5);
+
+    // A - ( -( conj( B ) + (1.5 - 0.5i) ) )
+    PointwiseExpression right = PointwiseExpression.apply(new NegateOp(),
+        PointwiseExpression.apply(offset,
+            PointwiseExpression.apply(new ConjugateOp(), PointwiseExpression.of(realB, imagB))));
+    double[][] output = PointwiseExpression.apply(new MinusOp(),
+        PointwiseExpression.of(realA, imagA), right).compute();
+
+    for (int i = 0; i < n; i++) {
+      assertEquals(realA[i] + realB[i] + 1.5, output[0][i], 1e-12);
+      assertEquals(imagA[i] - imagB[i] - 0.5, output[1][i], 1e-12);
+    }
+  }
+
+  @Test
+  @DisplayName("Inputs, including shared zero arrays, are left untouched")
+  void inputsUnchanged() {
+    int n = 100;
+    double[] real = createRandomSignal(n, new Random(25));
+    double[] copy = real.clone();
+
+    double[][] output = PointwiseExpression.apply(new NegateOp(),
+        PointwiseExpression.of(real, Zeros.zeros(n))).compute();
+
+    assertArrayEquals(copy, real);
+    assertEquals(-real[7], output[0][7]);
+    for (int i = 0; i < n; i++) {
+      assertEquals(0, Zeros.zeros(n)[i]);
+      assertEquals(0, output[1][i], 0.0);
+    }
+  }
+}
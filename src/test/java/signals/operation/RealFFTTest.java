@@ -0,0 +1,134 @@
+package signals.operation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import signals.core.Zeros;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static signals.operation.SignalTestUtils.*;
+
+/**
+ * Tests for the real-input FFT paths.
+ *
+ * A real signal passed with the shared zero array as its imaginary part takes the
+ * half-spectrum path; the results must match the general complex path, which is
+ * taken when the imaginary part is a separate array of zeros.
+ */
+public class RealFFTTest {
+
+  private static final int[] SIZES = { 1, 2, 3, 4, 5, 8, 9, 12, 15, 64, 97, 100, 1009 };
+
+  private static final int[][] DIMENSIONS = { { 8, 8 }, { 12, 10 }, { 9, 15 }, { 7, 6 }, { 1, 4 } };
+
+  @Test
+  @DisplayName("Half spectrum matches the first N/2 + 1 bins of the complex FFT")
+  void halfSpectrumMatchesComplexFFT() {
+    Random random = new Random(5);
+    for (int n : SIZES) {
+      double[] real = createRandomSignal(n, random);
+      double[][] expected = Transforms.computeFFT1D(real, new double[n], false, false, Transforms.NORMALIZE_NONE);
+      double[][] half = Transforms.computeRealFFT1D(real, false);
+
+      assertEquals(n / 2 + 1, half[0].length);
+      for (int k = 0; k < half[0].length; k++) {
+        assertEquals(expected[0][k], half[0][k], 1e-9 * n, "real part, N = " + n + ", k = " + k);
+        assertEquals(expected[1][k], half[1][k], 1e-9 * n, "imaginary part, N = " + n + ", k = " + k);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("1D real path matches the complex path for all options")
+  void realPathMatchesComplexPath1D() {
+    Random random = new Random(9);
+    for (int n : SIZES) {
+      for (boolean zeroCentered : new boolean[] { false, true }) {
+        for (boolean inverse : new boolean[] { false, true }) {
+          for (int normalization = 0; normalization <= 2; normalization++) {
+            double[] real = createRandomSignal(n, random);
+            double[][] expected = Transforms.computeFFT1D(real, new double[n], zeroCentered, inverse, normalization);
+            double[][] actual = Transforms.computeFFT1D(real, Zeros.zeros(n), zeroCentered, inverse, normalization);
+
+            String message = "N = " + n + ", zeroCentered = " + zeroCentered + ", inverse = " + inverse;
+            assertArrayEquals(expected[0], actual[0], 1e-9 * n, "real part, " + message);
+            assertArrayEquals(expected[1], actual[1], 1e-9 * n, "imaginary part, " + message);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("2D real path matches the complex path")
+  void realPathMatchesComplexPath2D() {
+    Random random = new Random(13);
+    for (int[] dimension : DIMENSIONS) {
+      int size = dimension[0] * dimension[1];
+      for (boolean zeroCentered : new boolean[] { false, true }) {
+        for (boolean inverse : new boolean[] { false, true }) {
+          double[] real = createRandomSignal(size, random);
+          double[][] expected = Transforms.computeFFT2D(real, new double[size], zeroCentered, inverse,
+              dimension[0], dimension[1], Transforms.NORMALIZE_ROOT_N);
+          double[][] actual = Transforms.computeFFT2D(real, Zeros.zeros(size), zeroCentered, inverse,
+              dimension[0], dimension[1], Transforms.NORMALIZE_ROOT_N);
+
+          String message = dimension[0] + "x" + dimension[1] + ", zeroCentered = " + zeroCentered;
+          assertArrayEquals(expected[0], actual[0], 1e-9, "real part, " + message);
+          assertArrayEquals(expected[1], actual[1], 1e-9, "imaginary part, " + message);
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Forward then inverse real FFT recovers the input")
+  void roundTrip() {
+    Random random = new Random(17);
+    for (int n : SIZES) {
+      for (boolean zeroCentered : new boolean[] { false, true }) {
+        double[] real = createRandomSignal(n, random);
+        double[][] half = Transforms.computeRealFFT1D(real, zeroCentered);
+        double[] back = Transforms.computeInverseRealFFT1D(half[0], half[1], n, zeroCentered, Transforms.NORMALIZE_N);
+
+        assertArrayEquals(real, back, 1e-9, "N = " + n + ", zeroCentered = " + zeroCentered);
+      }
+    }
+    for (int[] dimension : DIMENSIONS) {
+      for (boolean zeroCentered : new boolean[] { false, true }) {
+        double[] real = createRandomSignal(dimension[0] * dimension[1], random);
+        double[][] half = Transforms.computeRealFFT2D(real, zeroCentered, dimension[0], dimension[1]);
+        double[] back = Transforms.computeInverseRealFFT2D(half[0], half[1], zeroCentered,
+            dimension[0], dimension[1], Transforms.NORMALIZE_N);
+
+        assertArrayEquals(real, back, 1e-9, dimension[0] + "x" + dimension[1] + ", zeroCentered = " + zeroCentered);
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("Product of half spectra gives the same convolution as full spectra")
+  void halfSpectrumConvolution() {
+    Random random = new Random(21);
+    int x = 12;
+    int y = 9;
+    int size = x * y;
+    double[] a = createRandomSignal(size, random);
+    double[] b = createRandomSignal(size, random);
+
+    double[][] fa = Transforms.computeFFT2D(a, new double[size], true, false, x, y, Transforms.NORMALIZE_NONE);
+    double[][] fb = Transforms.computeFFT2D(b, new double[size], true, false, x, y, Transforms.NORMALIZE_NONE);
+    double[][] product = SignalTestUtils.complexMultiply(fa[0], fa[1], fb[0], fb[1]);
+    double[][] expected = Transforms.computeFFT2D(product[0], product[1], true, true, x, y, Transforms.NORMALIZE_N);
+
+    double[][] ha = Transforms.computeRealFFT2D(a, true, x, y);
+    double[][] hb = Transforms.computeRealFFT2D(b, true, x, y);
+    double[][] halfProduct = SignalTestUtils.complexMultiply(ha[0], ha[1], hb[0], hb[1]);
+    double[] actual = Transforms.computeInverseRealFFT2D(halfProduct[0], halfProduct[1], true, x, y,
+        Transforms.NORMALIZE_N);
+
+    assertArrayEquals(expected[0], actual, 1e-9);
+  }
+}
@@ -0,0 +1,120 @@
+package signals.operation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import signals.core.PointwiseExpression;
+import signals.core.Zeros;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that real inputs, marked by the shared zero imaginary array, take the real-only paths
+ * and give the same values as the complex ones.
+ */
+public class RealFastPathTest {
+
+  private static final int N = 257;
+
+  /** Random values mixed with zeros, values near the phase threshold, and values out of exp's range */
+  private static double[] realSignal(Random random) {
+    double[] signal = new double[N];
+    for (int i = 0; i < N; i++) {
+      switch (i % 8) {
+        case 0: signal[i] = 0; break;
+        case 1: signal[i] = -1e-11; break;
+        case 2: signal[i] = 800 * (random.nextBoolean() ? 1 : -1); break;
+        default: signal[i] = 4 * random.nextGaussian();
+      }
+    }
+    return signal;
+  }
+
+  private static void assertRealResult(double[][] expected, double[][] actual) {
+    assertArrayEquals(expected[0], actual[0], 0.0);
+    assertTrue(Zeros.isZero(actual[1]), "imaginary part is the shared zero array");
+    for (double value : expected[1]) {
+      assertEquals(0, value, 0.0);
+    }
+  }
+
+  @Test
+  @DisplayName("ArrayMath gives the complex results for real inputs, sharing the zero array")
+  void arrayMathMatchesComplexPath() {
+    Random random = new Random(31);
+    double[] a = realSignal(random);
+    double[] b = realSignal(random);
+    double[] zeros = Zeros.zeros(N);
+    // equal to zero, but not the shared array, so the complex path is taken
+    double[] complexZeros = new double[N];
+
+    assertRealResult(ArrayMath.multiply(a, complexZeros, b, complexZeros), ArrayMath.multiply(a, zeros, b, zeros));
+    assertRealResult(ArrayMath.divide(a, complexZeros, b, complexZeros), ArrayMath.divide(a, zeros, b, zeros));
+    assertRealResult(ArrayMath.invert(a, complexZeros), ArrayMath.invert(a, zeros));
+    assertRealResult(ArrayMath.exponent(a, complexZeros), ArrayMath.exponent(a, zeros));
+    assertRealResult(ArrayMath.logarithm(a, complexZeros), ArrayMath.logarithm(a, zeros));
+    assertRealResult(ArrayMath.complexPower(a, complexZeros, 2.5, 0), ArrayMath.complexPower(a, zeros, 2.5, 0));
+
+    assertArrayEquals(ArrayMath.magnitude(a, complexZeros), ArrayMath.magnitude(a, zeros), 0.0);
+    assertArrayEquals(ArrayMath.squaredMagnitude(a, complexZeros), ArrayMath.squaredMagnitude(a, zeros), 0.0);
+    assertArrayEquals(ArrayMath.phase(a, complexZeros), ArrayMath.phase(a, zeros), 0.0);
+
+    for (double value : zeros) {
+      assertEquals(0, value, 0.0);
+    }
+  }
+
+  @Test
+  @DisplayName("Divide by a real divisor with zeros uses the neighbouring samples, as the complex path does")
+  void divideZeroDivisor() {
+    double[] a = { 1, 2, 3, 4, 5 };
+    double[] b = { 1, 2, 0, 6, 0 };
+    double[][] output = ArrayMath.divide(a, Zeros.zeros(5), b, Zeros.zeros(5));
+
+    assertEquals(0.5, output[0][2], 0.0);
+    assertEquals(0, output[0][4], 0.0);
+    assertTrue(Zeros.isZero(output[1]));
+  }
+
+  @Test
+  @DisplayName("A pointwise expression over real data stays real unless an operation adds an imaginary part")
+  void pointwiseExpressionStaysReal() {
+    Random random = new Random(33);
+    // above the parallel threshold
+    int n = 20000;
+    double[] realA = new double[n], realB = new double[n], realC = new double[n];
+    for (int i = 0; i < n; i++) {
+      realA[i] = random.nextGaussian();
+      realB[i] = random.nextGaussian();
+      realC[i] = random.nextGaussian();
+    }
+
+    ScaleOp scale = new ScaleOp();
+    scale.setValue(0, 3);
+    scale.setValue(1, 0);
+
+    // -( 3 * (A + B) x C )
+    PointwiseExpression expression = PointwiseExpression.apply(new NegateOp(),
+        PointwiseExpression.apply(new TimesOp(),
+            PointwiseExpression.apply(scale, PointwiseExpression.apply(new PlusOp(),
+                PointwiseExpression.of(realA, Zeros.zeros(n)), PointwiseExpression.of(realB, Zeros.zeros(n)))),
+            PointwiseExpression.of(realC, Zeros.zeros(n))));
+    assertTrue(expression.isReal());
+
+    double[][] output = expression.compute();
+    assertTrue(Zeros.isZero(output[1]));
+    for (int i = 0; i < n; i++) {
+      assertEquals(-(3 * (realA[i] + realB[i]) * realC[i]), output[0][i], 1e-12);
+    }
+
+    // an imaginary scale factor makes the result complex
+    scale.setValue(1, 1);
+    PointwiseExpression complex = PointwiseExpression.apply(scale, PointwiseExpression.of(realA, Zeros.zeros(n)));
+    assertFalse(complex.isReal());
+    output = complex.compute();
+    assertFalse(Zeros.isZero(output[1]));
+    assertEquals(realA[5], output[1][5], 0.0);
+  }
+}
@@ -1,5 +1,8 @@
 package signals.operation;
 
+import java.awt.image.renderable.ParameterBlock;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -116,6 +119,28 @@ public class SignalTestUtils {
     return new double[size];
   }
 
+  /**
+   * Creates a signal of independent standard Gaussian samples.
+   */
+  public static double[] createRandomSignal(int size, Random random) {
+    double[] signal = new double[size];
+    for (int i = 0; i < size; i++) {
+      signal[i] = random.nextGaussian();
+    }
+    return signal;
+  }
+
+  /**
+   * Creates the parameter block a generator or operation is constructed from, one value per parameter.
+   */
+  public static ParameterBlock params(Object... values) {
+    ParameterBlock pb = new ParameterBlock();
+    for (Object value : values) {
+      pb.add(value);
+    }
+    return pb;
+  }
+
   // ========== Signal Properties ==========
 
   /**
@@ -311,6 +336,18 @@ public class SignalTestUtils {
     }
   }
 
+  /**
+   * Asserts two signals are equal to within a tolerance relative to the magnitude of each
+   * expected sample, or absolute where that magnitude is below 1.
+   */
+  public static void assertSignalsClose(double[] expected, double[] actual, double tolerance, String message) {
+    assertEquals(expected.length, actual.length, message + " (length mismatch)");
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], actual[i], tolerance * Math.max(1, Math.abs(expected[i])),
+          message + " (mismatch at index " + i + ")");
+    }
+  }
+
   /**
    * Asserts a signal is all zeros (within tolerance).
    */
@@ -0,0 +1,99 @@
+package signals.operation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import signals.core.Zeros;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static signals.operation.SignalTestUtils.*;
+
+/**
+ * Tests for the shared spectral product behind convolution and correlation.
+ */
+public class SpectralProductTest {
+
+  /**
+   * Circular complex convolution, or correlation with the conjugate of b, around origin index
+   */
+  private static double[][] direct(double[] realA, double[] imagA, double[] realB, double[] imagB,
+      int origin, boolean conjugate) {
+    int n = realA.length;
+    double[] real = new double[n];
+    double[] imag = new double[n];
+    for (int i = 0; i < n; i++) {
+      for (int k = 0; k < n; k++) {
+        int j = conjugate ? (k - i + origin + 2 * n) % n : (i - k + origin + n) % n;
+        double br = realB[j];
+        double bi = conjugate ? -imagB[j] : imagB[j];
+        real[i] += realA[k] * br - imagA[k] * bi;
+        imag[i] += realA[k] * bi + imagA[k] * br;
+      }
+    }
+    return new double[][] { real, imag };
+  }
+
+  @Test
+  @DisplayName("Real products match circular convolution and correlation")
+  void realMatchesTimeDomain() {
+    Random random = new Random(3);
+    for (int n : new int[] { 1, 7, 16, 30 }) {
+      double[] f = createRandomSignal(n, random);
+      double[] g = createRandomSignal(n, random);
+
+      double[][] convolved = SpectralProduct.computeProduct1D(f, Zeros.zeros(n), g, Zeros.zeros(n), false, false);
+      double[][] correlated = SpectralProduct.computeProduct1D(f, Zeros.zeros(n), g, Zeros.zeros(n), false, true);
+
+      assertArrayEquals(SignalTestUtils.timeDomainConvolve(f, g, false), convolved[0], 1e-10, "N = " + n);
+      assertArrayEquals(SignalTestUtils.timeDomainCorrelate(f, g, false), correlated[0], 1e-10, "N = " + n);
+      assertTrue(Zeros.isZero(convolved[1]));
+    }
+  }
+
+  @Test
+  @DisplayName("Complex and zero-centered products match the direct sums")
+  void complexMatchesDirect() {
+    Random random = new Random(5);
+    for (int n : new int[] { 6, 9, 16 }) {
+      for (boolean zeroCentered : new boolean[] { false, true }) {
+        for (boolean conjugate : new boolean[] { false, true }) {
+          double[] realA = createRandomSignal(n, random);
+          double[] imagA = createRandomSignal(n, random);
+          double[] realB = createRandomSignal(n, random);
+          double[] imagB = createRandomSignal(n, random);
+
+          double[][] expected = direct(realA, imagA, realB, imagB, zeroCentered ? n / 2 : 0, conjugate);
+          double[][] actual = SpectralProduct.computeProduct1D(realA, imagA, realB, imagB, zeroCentered, conjugate);
+
+          String message = "N = " + n + ", centered = " + zeroCentered + ", conjugate = " + conjugate;
+          assertArrayEquals(expected[0], actual[0], 1e-10, message);
+          assertArrayEquals(expected[1], actual[1], 1e-10, message);
+        }
+      }
+    }
+  }
+
+  @Test
+  @DisplayName("A spectrum is computed once per key")
+  void spectraAreCached() {
+    AtomicInteger builds = new AtomicInteger();
+    PlanCache cache = SpectralProduct.getCache();
+    long hits = cache.getHits();
+
+    double[][] first = SpectralProduct.spectrum("test spectrum", () -> {
+      builds.incrementAndGet();
+      return new double[][] { new double[8], new double[8] };
+    });
+    double[][] second = SpectralProduct.spectrum("test spectrum", () -> {
+      builds.incrementAndGet();
+      return new double[][] { new double[8], new double[8] };
+    });
+
+    assertSame(first, second);
+    assertEquals(1, builds.get());
+    assertEquals(hits + 1, cache.getHits());
+  }
+}
@@ -0,0 +1,176 @@
+package signals.operation;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * MixedRadixFFT with its radix-4 and radix-2 stages written against the incubating Vector API.
+ * A Stockham stage with stride s does s butterflies per twiddle that read and write contiguous
+ * runs of memory, so once s is at least one vector long those butterflies are done a vector at
+ * a time with the twiddles broadcast. The first stages, with shorter strides, and all other
+ * radices use the scalar butterflies.
+ *
+ * Every lane performs the same IEEE operations as the scalar code (no fused multiply-add),
+ * so results are bit-identical to MixedRadixFFT.
+ *
+ * This class is only compiled by the vector profile and needs --add-modules jdk.incubator.vector
+ * at run time; FFTKernel picks it up when both are present.
+ */
+public class VectorMixedRadixFFT extends MixedRadixFFT {
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	private static final int LANES = SPECIES.length();
+
+	public VectorMixedRadixFFT( int dimension, boolean inverse ) {
+
+		super( dimension, inverse );
+	}
+
+	public VectorMixedRadixFFT( int dimension, boolean inverse, boolean centered ) {
+
+		super( dimension, inverse, centered );
+	}
+
+	@Override
+	protected void radix2( double[] xr, double[] xi, int xo, double[] yr, double[] yi, int yo,
+			int s, int m, double[] tr, double[] ti, int rotation ) {
+
+		if( s < LANES ) {
+
+			super.radix2( xr, xi, xo, yr, yi, yo, s, m, tr, ti, rotation );
+			return;
+		}
+
+		int sm = s * m;
+		int bound = SPECIES.loopBound( s );
+		int slot0 = rotation * s, slot1 = ( 1 - rotation ) * s;
+
+		for( int j = 0; j < m; j++ ) {
+
+			double wr = tr[j], wi = ti[j];
+			int in0 = xo + s * j;
+			int out0 = yo + s * 2 * j;
+			int q = 0;
+
+			for( ; q < bound; q += LANES ) {
+
+				int a = in0 + q, b = a + sm;
+				DoubleVector ar = DoubleVector.fromArray( SPECIES, xr, a );
+				DoubleVector ai = DoubleVector.fromArray( SPECIES, xi, a );
+				DoubleVector br = DoubleVector.fromArray( SPECIES, xr, b );
+				DoubleVector bi = DoubleVector.fromArray( SPECIES, xi, b );
+
+				DoubleVector dr = ar.sub( br ), di = ai.sub( bi );
+
+				int o = out0 + q;
+				ar.add( br ).intoArray( yr, o + slot0 );
+				ai.add( bi ).intoArray( yi, o + slot0 );
+				dr.mul( wr ).sub( di.mul( wi ) ).intoArray( yr, o + slot1 );
+				dr.mul( wi ).add( di.mul( wr ) ).intoArray( yi, o + slot1 );
+			}
+
+			for( ; q < s; q++ ) {
+
+				int a = in0 + q, b = a + sm;
+				double ar = xr[a], ai = xi[a], br = xr[b], bi = xi[b];
+
+				double dr = ar - br, di = ai - bi;
+
+				int o = out0 + q;
+				yr[o + slot0] = ar + br;
+				yi[o + slot0] = ai + bi;
+				yr[o + slot1] = dr * wr - di * wi;
+				yi[o + slot1] = dr * wi + di * wr;
+			}
+		}
+	}
+
+	@Override
+	protected void radix4( double[] xr, double[] xi, int xo, double[] yr, double[] yi, int yo,
+			int s, int m, double[] tr, double[] ti, int rotation ) {
+
+		if( s < LANES ) {
+
+			super.radix4( xr, xi, xo, yr, yi, yo, s, m, tr, ti, rotation );
+			return;
+		}
+
+		int sm = s * m;
+		int bound = SPECIES.loopBound( s );
+		int slot0 = rotation * s, slot1 = ( ( 1 + rotation ) & 3 ) * s;
+		int slot2 = ( ( 2 + rotation ) & 3 ) * s, slot3 = ( ( 3 + rotation ) & 3 ) * s;
+
+		for( int j = 0; j < m; j++ ) {
+
+			double w1r = tr[3 * j], w1i = ti[3 * j];
+			double w2r = tr[3 * j + 1], w2i = ti[3 * j + 1];
+			double w3r = tr[3 * j + 2], w3i = ti[3 * j + 2];
+			int in0 = xo + s * j;
+			int out0 = yo + s * 4 * j;
+			int q = 0;
+
+			for( ; q < bound; q += LANES ) {
+
+				int a0 = in0 + q, a1 = a0 + sm, a2 = a1 + sm, a3 = a2 + sm;
+
+				DoubleVector x0r = DoubleVector.fromArray( SPECIES, xr, a0 );
+				DoubleVector x0i = DoubleVector.fromArray( SPECIES, xi, a0 );
+				DoubleVector x1r = DoubleVector.fromArray( SPECIES, xr, a1 );
+				DoubleVector x1i = DoubleVector.fromArray( SPECIES, xi, a1 );
+				DoubleVector x2r = DoubleVector.fromArray( SPECIES, xr, a2 );
+				DoubleVector x2i = DoubleVector.fromArray( SPECIES, xi, a2 );
+				DoubleVector x3r = DoubleVector.fromArray( SPECIES, xr, a3 );
+				DoubleVector x3i = DoubleVector.fromArray( SPECIES, xi, a3 );
+
+				DoubleVector t0r = x0r.add( x2r ), t0i = x0i.add( x2i );
+				DoubleVector t1r = x0r.sub( x2r ), t1i = x0i.sub( x2i );
+				DoubleVector t2r = x1r.add( x3r ), t2i = x1i.add( x3i );
+
+				//(a1 - a3) times -i (forward) or +i (inverse)
+				DoubleVector dr = x1r.sub( x3r ), di = x1i.sub( x3i );
+				DoubleVector t3r = di.mul( -sign ), t3i = dr.mul( sign );
+
+				DoubleVector b1r = t1r.add( t3r ), b1i = t1i.add( t3i );
+				DoubleVector b2r = t0r.sub( t2r ), b2i = t0i.sub( t2i );
+				DoubleVector b3r = t1r.sub( t3r ), b3i = t1i.sub( t3i );
+
+				int o = out0 + q;
+				t0r.add( t2r ).intoArray( yr, o + slot0 );
+				t0i.add( t2i ).intoArray( yi, o + slot0 );
+				b1r.mul( w1r ).sub( b1i.mul( w1i ) ).intoArray( yr, o + slot1 );
+				b1r.mul( w1i ).add( b1i.mul( w1r ) ).intoArray( yi, o + slot1 );
+				b2r.mul( w2r ).sub( b2i.mul( w2i ) ).intoArray( yr, o + slot2 );
+				b2r.mul( w2i ).add( b2i.mul( w2r ) ).intoArray( yi, o + slot2 );
+				b3r.mul( w3r ).sub( b3i.mul( w3i ) ).intoArray( yr, o + slot3 );
+				b3r.mul( w3i ).add( b3i.mul( w3r ) ).intoArray( yi, o + slot3 );
+			}
+
+			for( ; q < s; q++ ) {
+
+				int a0 = in0 + q, a1 = a0 + sm, a2 = a1 + sm, a3 = a2 + sm;
+
+				double t0r = xr[a0] + xr[a2], t0i = xi[a0] + xi[a2];
+				double t1r = xr[a0] - xr[a2], t1i = xi[a0] - xi[a2];
+				double t2r = xr[a1] + xr[a3], t2i = xi[a1] + xi[a3];
+
+				double dr = xr[a1] - xr[a3], di = xi[a1] - xi[a3];
+				double t3r = -sign * di, t3i = sign * dr;
+
+				double b1r = t1r + t3r, b1i = t1i + t3i;
+				double b2r = t0r - t2r, b2i = t0i - t2i;
+				double b3r = t1r - t3r, b3i = t1i - t3i;
+
+				int o = out0 + q;
+				yr[o + slot0] = t0r + t2r;
+				yi[o + slot0] = t0i + t2i;
+				yr[o + slot1] = b1r * w1r - b1i * w1i;
+				yi[o + slot1] = b1r * w1i + b1i * w1r;
+				yr[o + slot2] = b2r * w2r - b2i * w2i;
+				yi[o + slot2] = b2r * w2i + b2i * w2r;
+				yr[o + slot3] = b3r * w3r - b3i * w3i;
+				yi[o + slot3] = b3r * w3i + b3i * w3r;
+			}
+		}
+	}
+
+}